@@ -0,0 +1,78 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.hive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.hadoop.hive.serde2.typeinfo.StructTypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfo;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.Writable;
+import org.opensearch.hadoop.util.FieldAlias;
+
+/**
+ * Row backed by a document read from OpenSearch. The document is kept as returned by the reader and each column is
+ * converted (through {@link OpenSearchSerDe#hiveFromWritable(TypeInfo, Writable, FieldAlias)}) only when Hive asks
+ * for it, so columns not used by the query are never decoded.
+ *
+ * Instances are reused across rows by the SerDe.
+ */
+class HiveLazyStruct {
+
+    private final TypeInfo[] types;
+    private final Text[][] paths;
+    private final FieldAlias alias;
+
+    private final Object[] values;
+    private final boolean[] decoded;
+    private Writable document;
+
+    HiveLazyStruct(StructTypeInfo type, FieldAlias alias) {
+        List<String> names = type.getAllStructFieldNames();
+        this.types = type.getAllStructFieldTypeInfos().toArray(new TypeInfo[names.size()]);
+        this.alias = alias;
+        this.paths = new Text[names.size()][];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = HiveUtils.fieldPath(alias.toES(names.get(i)));
+        }
+        this.values = new Object[paths.length];
+        this.decoded = new boolean[paths.length];
+    }
+
+    HiveLazyStruct init(Writable document) {
+        this.document = document;
+        Arrays.fill(decoded, false);
+        return this;
+    }
+
+    Object getField(int index) {
+        if (!decoded[index]) {
+            values[index] = OpenSearchSerDe.hiveFromWritable(types[index], HiveUtils.fieldValue(document, paths[index]), alias);
+            decoded[index] = true;
+        }
+        return values[index];
+    }
+
+    List<Object> getFieldsAsList() {
+        List<Object> list = new ArrayList<Object>(values.length);
+        for (int i = 0; i < values.length; i++) {
+            list.add(getField(i));
+        }
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        return getFieldsAsList().toString();
+    }
+}
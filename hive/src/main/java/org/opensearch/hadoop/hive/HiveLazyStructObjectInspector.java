@@ -0,0 +1,66 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.hive;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.StandardStructObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.StructField;
+
+/**
+ * Struct inspector that reads {@link HiveLazyStruct} rows field by field. Other (standard) struct representations are
+ * handled as before, so the inspector remains usable for serialization.
+ */
+class HiveLazyStructObjectInspector extends StandardStructObjectInspector {
+
+    // used by Kryo when the plan is serialized
+    protected HiveLazyStructObjectInspector() {
+        super();
+    }
+
+    HiveLazyStructObjectInspector(StandardStructObjectInspector inspector) {
+        super(names(inspector), inspectors(inspector));
+    }
+
+    private static List<String> names(StandardStructObjectInspector inspector) {
+        List<String> names = new ArrayList<String>();
+        for (StructField field : inspector.getAllStructFieldRefs()) {
+            names.add(field.getFieldName());
+        }
+        return names;
+    }
+
+    private static List<ObjectInspector> inspectors(StandardStructObjectInspector inspector) {
+        List<ObjectInspector> inspectors = new ArrayList<ObjectInspector>();
+        for (StructField field : inspector.getAllStructFieldRefs()) {
+            inspectors.add(field.getFieldObjectInspector());
+        }
+        return inspectors;
+    }
+
+    @Override
+    public Object getStructFieldData(Object data, StructField fieldRef) {
+        if (data instanceof HiveLazyStruct) {
+            return ((HiveLazyStruct) data).getField(fieldRef.getFieldID());
+        }
+        return super.getStructFieldData(data, fieldRef);
+    }
+
+    @Override
+    public List<Object> getStructFieldsDataAsList(Object data) {
+        if (data instanceof HiveLazyStruct) {
+            return ((HiveLazyStruct) data).getFieldsAsList();
+        }
+        return super.getStructFieldsDataAsList(data);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.hive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import org.apache.hadoop.io.Writable;
+
+/**
+ * Reference to a Hive row (and its inspector) handed over by {@link OpenSearchSerDe} to the
+ * {@link OpenSearchHiveOutputFormat.OpenSearchHiveRecordWriter}, which serializes it straight into the bulk buffer.
+ * Only valid until the next row is serialized and, as it is never meant to leave the task, not serializable itself.
+ */
+public class HiveRowWritable implements Writable {
+
+    private HiveType row;
+
+    public HiveType getRow() {
+        return row;
+    }
+
+    public void setRow(HiveType row) {
+        this.row = row;
+    }
+
+    @Override
+    public void write(DataOutput out) throws IOException {
+        throw new UnsupportedOperationException("Hive rows are written directly to OpenSearch and cannot be serialized");
+    }
+
+    @Override
+    public void readFields(DataInput in) throws IOException {
+        throw new UnsupportedOperationException("Hive rows are written directly to OpenSearch and cannot be serialized");
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(row);
+    }
+}
@@ -34,6 +34,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -41,6 +42,8 @@ import java.util.Properties;
 import java.util.Set;
 
 import org.apache.commons.logging.Log;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.serde2.ColumnProjectionUtils;
 import org.apache.hadoop.hive.serde2.io.TimestampWritable;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
@@ -49,6 +52,9 @@ import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
 import org.apache.hadoop.hive.serde2.typeinfo.StructTypeInfo;
 import org.apache.hadoop.hive.serde2.typeinfo.TypeInfo;
 import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoUtils;
+import org.apache.hadoop.io.MapWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.Writable;
 import org.opensearch.hadoop.cfg.Settings;
 import org.opensearch.hadoop.rest.InitializationUtils;
 import org.opensearch.hadoop.util.Assert;
@@ -111,6 +117,61 @@ abstract class HiveUtils {
         return columnNames;
     }
 
+    /**
+     * Same as {@link #columnToAlias(Settings)} but restricted to the columns read by the current query, as pushed down
+     * by Hive through {@link ColumnProjectionUtils}.
+     * @param settings Settings to pull hive column names and user name mappings from.
+     * @param cfg Configuration holding the Hive projection
+     * @return The OpenSearch field names of the projected columns (empty if no column is read) or of all the columns
+     * if there is no projection
+     */
+    static Collection<String> projectedColumnToAlias(Settings settings, Configuration cfg) {
+        if (ColumnProjectionUtils.isReadAllColumns(cfg)) {
+            return columnToAlias(settings);
+        }
+
+        FieldAlias fa = alias(settings);
+        List<String> columnNames = StringUtils.tokenize(settings.getProperty(HiveConstants.COLUMNS), ",");
+        Set<String> virtualColumns = new HashSet<String>(HiveConstants.VIRTUAL_COLUMNS.length);
+        Collections.addAll(virtualColumns, HiveConstants.VIRTUAL_COLUMNS);
+
+        Set<String> projected = new LinkedHashSet<String>();
+        for (Integer id : ColumnProjectionUtils.getReadColumnIDs(cfg)) {
+            if (id < columnNames.size() && !virtualColumns.contains(columnNames.get(id))) {
+                String original = columnNames.get(id);
+                String alias = fa.toES(original);
+                projected.add(alias != null ? alias : original);
+            }
+        }
+        return projected;
+    }
+
+    /**
+     * Splits the given OpenSearch field name into its (multi-level) path, for use with {@link #fieldValue(Writable, Text[])}.
+     */
+    static Text[] fieldPath(String field) {
+        List<String> levels = StringUtils.tokenize(field, ".");
+        Text[] path = new Text[levels.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = new Text(levels.get(i));
+        }
+        return path;
+    }
+
+    /**
+     * Returns the value found under the given path inside the given document, or null if there is none.
+     */
+    static Writable fieldValue(Writable document, Text[] path) {
+        Writable result = document;
+        for (Text level : path) {
+            if (!(result instanceof MapWritable)) {
+                return null;
+            }
+            result = ((MapWritable) result).get(level);
+        }
+        return result;
+    }
+
     /**
      * Reads the current aliases, and then the set of hive column names. Remaps the raw hive column names (_col1, _col2)
      * to the names used in the hive table, or, if the mappings exist, the names in the mappings instead.
@@ -45,8 +45,8 @@ import org.opensearch.hadoop.util.FieldAlias;
 import org.opensearch.hadoop.serialization.builder.ValueWriter;
 
 /**
- * Main value writer for hive. However since Hive expects a Writable type to be passed to the record reader,
- * the raw JSON data needs to be wrapped (and unwrapped by {@link HiveBytesArrayWritable}).
+ * Main value writer for hive. Used by the record writer to serialize the rows handed over by {@link OpenSearchSerDe}
+ * (wrapped in a {@link HiveRowWritable}) straight into the bulk request.
  */
 public class HiveValueWriter extends FilteringValueWriter<HiveType> {
 
@@ -0,0 +1,275 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.hive;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DecimalColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ListColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.MapColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.StructColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.serde2.io.TimestampWritable;
+import org.apache.hadoop.hive.serde2.typeinfo.ListTypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.MapTypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.PrimitiveTypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.StructTypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfo;
+import org.apache.hadoop.io.ArrayWritable;
+import org.apache.hadoop.io.BooleanWritable;
+import org.apache.hadoop.io.BytesWritable;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.Writable;
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.opensearch.hadoop.util.FieldAlias;
+import org.opensearch.hadoop.util.ObjectUtils;
+import org.opensearch.hadoop.util.StringUtils;
+
+/**
+ * Assigns the documents read from OpenSearch (as returned by {@link HiveValueReader}) straight into the column vectors
+ * of a {@link VectorizedRowBatch}, driven by the Hive type of each column. Counterpart of
+ * {@link OpenSearchSerDe#hiveFromWritable(TypeInfo, Writable, FieldAlias)} for vectorized execution; no row objects
+ * are created in between.
+ */
+class HiveVectorizedRowAssigner {
+
+    private static final boolean TIMESTAMP_V2_AVAILABLE = ObjectUtils.isClassPresent(HiveConstants.TIMESTAMP_WRITABLE_V2,
+            HiveVectorizedRowAssigner.class.getClassLoader());
+
+    private static final long MILLIS_PER_DAY = 24 * 60 * 60 * 1000L;
+
+    private final TypeInfo[] types;
+    private final Text[][] paths;
+    private final boolean[] included;
+    private final FieldAlias alias;
+
+    /**
+     * @param names the names of the (data) columns, in batch order
+     * @param types the types of the (data) columns, in batch order
+     * @param projection the indices of the columns to fill in; null for all
+     * @param alias the mapping of the Hive column names to the OpenSearch fields
+     */
+    HiveVectorizedRowAssigner(String[] names, TypeInfo[] types, List<Integer> projection, FieldAlias alias) {
+        this.types = types;
+        this.alias = alias;
+        this.paths = new Text[names.length][];
+        this.included = new boolean[names.length];
+
+        for (int i = 0; i < names.length; i++) {
+            included[i] = (projection == null || projection.contains(i));
+            // multi-level aliases are resolved once
+            paths[i] = HiveUtils.fieldPath(alias.toES(names[i]));
+        }
+    }
+
+    /**
+     * Marks the columns that are not read as entirely null. To be called once per (reset) batch.
+     */
+    void prepare(VectorizedRowBatch batch) {
+        for (int i = 0; i < included.length; i++) {
+            if (!included[i]) {
+                ColumnVector vector = batch.cols[i];
+                vector.noNulls = false;
+                vector.isNull[0] = true;
+                vector.isRepeating = true;
+            }
+        }
+    }
+
+    /**
+     * Adds the given document as the next row of the batch.
+     */
+    void addRow(VectorizedRowBatch batch, Writable document) {
+        int row = batch.size;
+        for (int i = 0; i < included.length; i++) {
+            if (included[i]) {
+                assign(batch.cols[i], row, types[i], HiveUtils.fieldValue(document, paths[i]));
+            }
+        }
+        batch.size++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assign(ColumnVector vector, int row, TypeInfo type, Writable value) {
+        if (value == null || value instanceof NullWritable) {
+            vector.noNulls = false;
+            vector.isNull[row] = true;
+            return;
+        }
+        vector.isNull[row] = false;
+
+        switch (type.getCategory()) {
+        case LIST: {
+            ListColumnVector list = (ListColumnVector) vector;
+            TypeInfo elementType = ((ListTypeInfo) type).getListElementTypeInfo();
+            // a single value is a list of one
+            Writable[] elements = (value instanceof ArrayWritable ? ((ArrayWritable) value).get() : new Writable[] { value });
+
+            int offset = list.childCount;
+            list.offsets[row] = offset;
+            list.lengths[row] = elements.length;
+            list.childCount += elements.length;
+            list.child.ensureSize(list.childCount, true);
+            for (int i = 0; i < elements.length; i++) {
+                assign(list.child, offset + i, elementType, elements[i]);
+            }
+            return;
+        }
+        case MAP: {
+            MapColumnVector map = (MapColumnVector) vector;
+            MapTypeInfo mapType = (MapTypeInfo) type;
+            Map<Writable, Writable> entries = (Map<Writable, Writable>) value;
+
+            int offset = map.childCount;
+            map.offsets[row] = offset;
+            map.lengths[row] = entries.size();
+            map.childCount += entries.size();
+            map.keys.ensureSize(map.childCount, true);
+            map.values.ensureSize(map.childCount, true);
+            int index = offset;
+            for (Entry<Writable, Writable> entry : entries.entrySet()) {
+                assign(map.keys, index, mapType.getMapKeyTypeInfo(), entry.getKey());
+                assign(map.values, index, mapType.getMapValueTypeInfo(), entry.getValue());
+                index++;
+            }
+            return;
+        }
+        case STRUCT: {
+            StructColumnVector struct = (StructColumnVector) vector;
+            StructTypeInfo structType = (StructTypeInfo) type;
+            List<String> names = structType.getAllStructFieldNames();
+            List<TypeInfo> fieldTypes = structType.getAllStructFieldTypeInfos();
+            for (int i = 0; i < names.size(); i++) {
+                assign(struct.fields[i], row, fieldTypes.get(i), HiveUtils.fieldValue(value, HiveUtils.fieldPath(alias.toES(names.get(i)))));
+            }
+            return;
+        }
+        case PRIMITIVE:
+            assignPrimitive(vector, row, (PrimitiveTypeInfo) type, value);
+            return;
+        case UNION:
+        default:
+            throw new UnsupportedOperationException("union not yet supported");
+        }
+    }
+
+    private static void assignPrimitive(ColumnVector vector, int row, PrimitiveTypeInfo type, Writable value) {
+        switch (type.getPrimitiveCategory()) {
+        case BOOLEAN:
+            ((LongColumnVector) vector).vector[row] = (value instanceof BooleanWritable ?
+                    ((BooleanWritable) value).get() : Boolean.parseBoolean(value.toString())) ? 1 : 0;
+            return;
+        case BYTE:
+        case SHORT:
+        case INT:
+        case LONG:
+            ((LongColumnVector) vector).vector[row] = toLong(value);
+            return;
+        case FLOAT:
+        case DOUBLE:
+            ((DoubleColumnVector) vector).vector[row] = Double.parseDouble(value.toString());
+            return;
+        case DECIMAL:
+            ((DecimalColumnVector) vector).set(row, HiveDecimal.create(new BigDecimal(value.toString())));
+            return;
+        case DATE:
+            ((LongColumnVector) vector).vector[row] = Math.floorDiv(toMillis(value), MILLIS_PER_DAY);
+            return;
+        case TIMESTAMP:
+            ((TimestampColumnVector) vector).set(row, toTimestamp(value));
+            return;
+        case BINARY:
+            if (value instanceof BytesWritable) {
+                BytesWritable bytes = (BytesWritable) value;
+                ((BytesColumnVector) vector).setVal(row, bytes.getBytes(), 0, bytes.getLength());
+            } else {
+                // not read as bytes; keep its textual form
+                assignString((BytesColumnVector) vector, row, value);
+            }
+            return;
+        case STRING:
+        case VARCHAR:
+        case CHAR:
+        default:
+            assignString((BytesColumnVector) vector, row, value);
+        }
+    }
+
+    private static void assignString(BytesColumnVector vector, int row, Writable value) {
+        if (value instanceof Text) {
+            Text text = (Text) value;
+            vector.setVal(row, text.getBytes(), 0, text.getLength());
+        } else {
+            byte[] bytes = StringUtils.toUTF(value.toString());
+            vector.setVal(row, bytes, 0, bytes.length);
+        }
+    }
+
+    private static long toLong(Writable value) {
+        if (value instanceof LongWritable) {
+            return ((LongWritable) value).get();
+        }
+        if (value instanceof IntWritable) {
+            return ((IntWritable) value).get();
+        }
+        // byte, short and (lenient) string values
+        return Long.parseLong(value.toString());
+    }
+
+    private static long toMillis(Writable value) {
+        if (value instanceof LongWritable || value instanceof IntWritable) {
+            return toLong(value);
+        }
+        return toTimestamp(value).getTime();
+    }
+
+    private static Timestamp toTimestamp(Writable value) {
+        if (TIMESTAMP_V2_AVAILABLE && TimestampV2Reader.isTimestampV2(value)) {
+            return TimestampV2Reader.toTimestamp(value);
+        }
+        if (value instanceof TimestampWritable) {
+            return ((TimestampWritable) value).getTimestamp();
+        }
+        if (value instanceof LongWritable || value instanceof IntWritable) {
+            return new Timestamp(toLong(value));
+        }
+        if (value instanceof Text) {
+            return new Timestamp(DatatypeConverter.parseDateTime(value.toString()).getTimeInMillis());
+        }
+        throw new OpenSearchHadoopIllegalArgumentException(String.format("Cannot convert [%s] to a timestamp", value));
+    }
+
+    // isolates the Hive 3 classes
+    private static class TimestampV2Reader {
+        static boolean isTimestampV2(Writable value) {
+            return value instanceof org.apache.hadoop.hive.serde2.io.TimestampWritableV2;
+        }
+
+        static Timestamp toTimestamp(Writable value) {
+            return ((org.apache.hadoop.hive.serde2.io.TimestampWritableV2) value).getTimestamp().toSqlTimestamp();
+        }
+    }
+}
@@ -31,10 +31,22 @@ package org.opensearch.hadoop.hive;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.ql.exec.Utilities;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedInputFormatInterface;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatchCtx;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedSupport;
+import org.apache.hadoop.hive.serde2.ColumnProjectionUtils;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfo;
+import org.apache.hadoop.io.MapWritable;
+import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.Writable;
 import org.apache.hadoop.mapred.FileInputFormat;
@@ -48,6 +60,7 @@ import org.opensearch.hadoop.cfg.Settings;
 import org.opensearch.hadoop.mr.OpenSearchInputFormat;
 import org.opensearch.hadoop.mr.security.HadoopUserProvider;
 import org.opensearch.hadoop.rest.InitializationUtils;
+import org.opensearch.hadoop.util.FieldAlias;
 import org.opensearch.hadoop.util.StringUtils;
 
 /**
@@ -58,7 +71,7 @@ import org.opensearch.hadoop.util.StringUtils;
 // A quick example would be {@link org.apache.hadoop.hive.ql.io.HiveInputFormat.HiveInputSplit#getPath()} which, in case the actual InputSplit is not a
 // {@link org.apache.hadoop.mapred.FileSplit}, returns an invalid Path.
 
-public class OpenSearchHiveInputFormat extends OpenSearchInputFormat<Text, Writable> {
+public class OpenSearchHiveInputFormat extends OpenSearchInputFormat<Text, Writable> implements VectorizedInputFormatInterface {
 
     static class OpenSearchHiveSplit extends FileSplit {
         InputSplit delegate;
@@ -116,7 +129,13 @@ public class OpenSearchHiveInputFormat extends OpenSearchInputFormat<Text, Writa
         InitializationUtils.setUserProviderIfNotSet(settings, HadoopUserProvider.class, log);
         if (settings.getOutputAsJson() == false) {
             // Only set the fields if we aren't asking for raw JSON
-            settings.setProperty(InternalConfigurationOptions.INTERNAL_OPENSEARCH_TARGET_FIELDS, StringUtils.concatenate(HiveUtils.columnToAlias(settings), ","));
+            // restricted to the columns read by the query (if known) so that _source filtering happens server-side
+            Collection<String> fields = HiveUtils.projectedColumnToAlias(settings, job);
+            if (fields.isEmpty() && !StringUtils.hasText(settings.getReadSourceFilter())) {
+                // no column is read (such as count(*)) - skip the document source altogether
+                settings.setProperty(InternalConfigurationOptions.INTERNAL_OPENSEARCH_EXCLUDE_SOURCE, Boolean.TRUE.toString());
+            }
+            settings.setProperty(InternalConfigurationOptions.INTERNAL_OPENSEARCH_TARGET_FIELDS, StringUtils.concatenate(fields, ","));
         }
 
         HiveUtils.init(settings, log);
@@ -131,10 +150,91 @@ public class OpenSearchHiveInputFormat extends OpenSearchInputFormat<Text, Writa
         return wrappers;
     }
 
+    /**
+     * Record reader used under vectorized execution; fills in whole batches of rows instead of one document at a time.
+     */
+    static class VectorizedOpenSearchHiveRecordReader extends OpenSearchInputRecordReader<NullWritable, VectorizedRowBatch> {
+
+        private final VectorizedRowBatchCtx batchContext;
+        private final HiveVectorizedRowAssigner assigner;
+        // raw JSON is exposed through a single column, as done by the SerDe
+        private final Text jsonFieldName;
+        private final MapWritable jsonDocument;
+
+        VectorizedOpenSearchHiveRecordReader(InputSplit split, JobConf job, Reporter reporter) {
+            super(split, job, reporter);
+
+            Settings settings = HadoopSettingsManager.loadFrom(job);
+            FieldAlias alias = HiveUtils.alias(settings);
+            batchContext = Utilities.getVectorizedRowBatchCtx(job);
+
+            int dataColumns = batchContext.getDataColumnCount();
+            String[] names = Arrays.copyOf(batchContext.getRowColumnNames(), dataColumns);
+            TypeInfo[] types = Arrays.copyOf(batchContext.getRowColumnTypeInfos(), dataColumns);
+            List<Integer> projection = (ColumnProjectionUtils.isReadAllColumns(job) ? null : ColumnProjectionUtils.getReadColumnIDs(job));
+            assigner = new HiveVectorizedRowAssigner(names, types, projection, alias);
+
+            if (settings.getOutputAsJson()) {
+                jsonFieldName = new Text(HiveUtils.discoverJsonFieldName(settings, alias));
+                jsonDocument = new MapWritable();
+            } else {
+                jsonFieldName = null;
+                jsonDocument = null;
+            }
+        }
+
+        @Override
+        public NullWritable createKey() {
+            return NullWritable.get();
+        }
+
+        @Override
+        public VectorizedRowBatch createValue() {
+            return batchContext.createVectorizedRowBatch();
+        }
+
+        @Override
+        public boolean next(NullWritable key, VectorizedRowBatch batch) throws IOException {
+            batch.reset();
+            assigner.prepare(batch);
+            int maxSize = batch.getMaxSize();
+            while (batch.size < maxSize && super.next(key, batch)) {
+                // each document is added to the batch as it is read
+            }
+            return batch.size > 0;
+        }
+
+        @Override
+        protected NullWritable setCurrentKey(NullWritable hadoopKey, Object object) {
+            return hadoopKey;
+        }
+
+        @Override
+        protected VectorizedRowBatch setCurrentValue(VectorizedRowBatch batch, Object object) {
+            Writable document;
+            if (jsonFieldName != null) {
+                jsonDocument.put(jsonFieldName, (object instanceof Text ? (Text) object : new Text(object.toString())));
+                document = jsonDocument;
+            } else {
+                document = (Writable) object;
+            }
+            assigner.addRow(batch, document);
+            return batch;
+        }
+    }
+
+    @Override
+    public VectorizedSupport.Support[] getSupportedFeatures() {
+        return new VectorizedSupport.Support[0];
+    }
+
     @SuppressWarnings({ "unchecked", "rawtypes" })
     @Override
-    public AbstractWritableOpenSearchInputRecordReader getRecordReader(InputSplit split, JobConf job, Reporter reporter) {
+    public OpenSearchInputRecordReader getRecordReader(InputSplit split, JobConf job, Reporter reporter) {
         InputSplit delegate = ((OpenSearchHiveSplit) split).delegate;
+        if (Utilities.getIsVectorized(job)) {
+            return new VectorizedOpenSearchHiveRecordReader(delegate, job, reporter);
+        }
         return isOutputAsJson(job) ? new JsonWritableOpenSearchInputRecordReader(delegate, job, reporter) : new WritableOpenSearchInputRecordReader(delegate, job, reporter);
     }
 }
\ No newline at end of file
@@ -69,13 +69,17 @@ public class OpenSearchHiveOutputFormat extends OpenSearchOutputFormat implement
                 init();
             }
 
-            if (w instanceof HiveBytesArrayWritable) {
+            if (w instanceof HiveRowWritable) {
+                // serialized straight into the bulk buffer
+                repository.writeToIndex(((HiveRowWritable) w).getRow());
+            }
+            else if (w instanceof HiveBytesArrayWritable) {
                 HiveBytesArrayWritable hbaw = ((HiveBytesArrayWritable) w);
                 repository.writeProcessedToIndex(hbaw.getContent());
             }
             else {
                 // we could allow custom BAs
-                throw new OpenSearchHadoopIllegalArgumentException(String.format("Unexpected type; expected [%s], received [%s]", HiveBytesArrayWritable.class, w));
+                throw new OpenSearchHadoopIllegalArgumentException(String.format("Unexpected type; expected [%s], received [%s]", HiveRowWritable.class, w));
             }
         }
 
@@ -94,7 +98,7 @@ public class OpenSearchHiveOutputFormat extends OpenSearchOutputFormat implement
         Log log = LogFactory.getLog(getClass());
 
         // NB: ESSerDe is already initialized at this stage but should still have a reference to the same cfg object
-        // NB: the value writer is not needed by Hive but it's set for consistency and debugging purposes
+        // NB: the value writer serializes the rows handed over by the SerDe (see HiveRowWritable)
 
         InitializationUtils.setValueWriterIfNotSet(settings, HiveValueWriter.class, log);
         InitializationUtils.setBytesConverterIfNeeded(settings, HiveBytesConverter.class, log);
@@ -42,6 +42,7 @@ import org.apache.hadoop.hive.serde2.AbstractSerDe;
 import org.apache.hadoop.hive.serde2.SerDeException;
 import org.apache.hadoop.hive.serde2.SerDeStats;
 import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.StandardStructObjectInspector;
 import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
 import org.apache.hadoop.hive.serde2.typeinfo.ListTypeInfo;
 import org.apache.hadoop.hive.serde2.typeinfo.MapTypeInfo;
@@ -56,13 +57,7 @@ import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException;
 import org.opensearch.hadoop.cfg.CompositeSettings;
 import org.opensearch.hadoop.cfg.HadoopSettingsManager;
 import org.opensearch.hadoop.cfg.Settings;
-import org.opensearch.hadoop.mr.security.HadoopUserProvider;
-import org.opensearch.hadoop.rest.InitializationUtils;
-import org.opensearch.hadoop.serialization.bulk.BulkCommand;
-import org.opensearch.hadoop.serialization.bulk.BulkCommands;
 import org.opensearch.hadoop.util.Assert;
-import org.opensearch.hadoop.util.BytesArray;
-import org.opensearch.hadoop.util.ClusterInfo;
 import org.opensearch.hadoop.util.FieldAlias;
 import org.opensearch.hadoop.util.StringUtils;
 
@@ -75,14 +70,12 @@ public class OpenSearchSerDe extends AbstractSerDe {
     private StructObjectInspector inspector;
 
     // serialization artifacts
-    private final BytesArray scratchPad = new BytesArray(512);
     private final HiveType hiveType = new HiveType(null, null);
-    private final HiveBytesArrayWritable result = new HiveBytesArrayWritable();
+    private final HiveRowWritable result = new HiveRowWritable();
     private StructTypeInfo structTypeInfo;
     private FieldAlias alias;
-    private BulkCommand command;
+    private HiveLazyStruct row;
 
-    private boolean writeInitialized = false;
     private boolean trace = false;
     private boolean outputJSON = false;
     private Text jsonFieldName = null;
@@ -92,8 +85,10 @@ public class OpenSearchSerDe extends AbstractSerDe {
     // implemented to actually get access to the raw properties
     @Override
     public void initialize(Configuration conf, Properties tbl, Properties partitionProperties) throws SerDeException {
-        inspector = HiveUtils.structObjectInspector(tbl);
-        structTypeInfo = HiveUtils.typeInfo(inspector);
+        StandardStructObjectInspector standardInspector = HiveUtils.structObjectInspector(tbl);
+        structTypeInfo = HiveUtils.typeInfo(standardInspector);
+        // rows are decoded lazily, column by column
+        inspector = new HiveLazyStructObjectInspector(standardInspector);
         cfg = conf;
         List<Settings> settingSources = new ArrayList<>();
         settingSources.add(HadoopSettingsManager.loadFrom(tbl));
@@ -102,6 +97,7 @@ public class OpenSearchSerDe extends AbstractSerDe {
         }
         settings = new CompositeSettings(settingSources);
         alias = HiveUtils.alias(settings);
+        row = new HiveLazyStruct(structTypeInfo, alias);
 
         HiveUtils.fixHive13InvalidComments(settings, tbl);
 
@@ -129,7 +125,7 @@ public class OpenSearchSerDe extends AbstractSerDe {
             deserialize = wrapJsonData(blob);
         }
 
-        Object des = hiveFromWritable(structTypeInfo, deserialize, alias);
+        Object des = row.init(deserialize);
 
         if (trace) {
             log.trace(String.format("Deserialized [%s] to [%s]", blob, des));
@@ -164,41 +160,20 @@ public class OpenSearchSerDe extends AbstractSerDe {
 
     @Override
     public Class<? extends Writable> getSerializedClass() {
-        return HiveBytesArrayWritable.class;
+        return HiveRowWritable.class;
     }
 
     @Override
     public Writable serialize(Object data, ObjectInspector objInspector) throws SerDeException {
-        lazyInitializeWrite();
-
-        // serialize the type directly to json (to avoid converting to Writable and then serializing)
-        scratchPad.reset();
+        // hand over the row as is; the record writer serializes it directly into the bulk buffer (instead of
+        // serializing it here and copying the result around). See FileSinkOperator#process() for more info of how this
+        // is used with the output format.
         hiveType.setObjectInspector(objInspector);
         hiveType.setObject(data);
-
-        // We use the command directly instead of the bulk entry writer since there is no close() method on SerDes.
-        // See FileSinkOperator#process() for more info of how this is used with the output format.
-        command.write(hiveType).copyTo(scratchPad);
-        result.setContent(scratchPad);
+        result.setRow(hiveType);
         return result;
     }
 
-    private void lazyInitializeWrite() {
-        if (writeInitialized) {
-            return;
-        }
-        writeInitialized = true;
-
-        InitializationUtils.setUserProviderIfNotSet(settings, HadoopUserProvider.class, log);
-        ClusterInfo clusterInfo = InitializationUtils.discoverClusterInfo(settings, log);
-
-        InitializationUtils.setValueWriterIfNotSet(settings, HiveValueWriter.class, log);
-        InitializationUtils.setFieldExtractorIfNotSet(settings, HiveFieldExtractor.class, log);
-        InitializationUtils.setBytesConverterIfNeeded(settings, HiveBytesConverter.class, log);
-        this.command = BulkCommands.create(settings, null, clusterInfo.getMajorVersion());
-    }
-
-
     @SuppressWarnings("unchecked")
     static Object hiveFromWritable(TypeInfo type, Writable data, FieldAlias alias) {
         if (data == null || data instanceof NullWritable) {
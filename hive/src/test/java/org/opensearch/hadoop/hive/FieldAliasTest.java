@@ -28,10 +28,15 @@
  */
 package org.opensearch.hadoop.hive;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.Properties;
 
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.serde2.ColumnProjectionUtils;
 import org.opensearch.hadoop.cfg.PropertiesSettings;
 import org.opensearch.hadoop.hive.HiveConstants;
 import org.opensearch.hadoop.hive.HiveUtils;
@@ -77,4 +82,23 @@ public class FieldAliasTest {
         assertEquals("123foo", iterator.next());
         assertEquals("&foo", iterator.next());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testProjectedColumnToAlias() throws Exception {
+        Properties tableProperties = new Properties();
+        tableProperties.put(HiveConstants.MAPPING_NAMES, "timestamp:@timestamp , foo:123foo");
+        tableProperties.put(HiveConstants.COLUMNS, "id,name,timestamp,foo");
+        PropertiesSettings settings = new PropertiesSettings(tableProperties);
+
+        Configuration cfg = new Configuration(false);
+        assertEquals(4, HiveUtils.projectedColumnToAlias(settings, cfg).size());
+
+        ColumnProjectionUtils.appendReadColumns(cfg, Arrays.asList(2, 0));
+        Collection<String> projected = HiveUtils.projectedColumnToAlias(settings, cfg);
+        assertEquals(Arrays.asList("@timestamp", "id"), new ArrayList<String>(projected));
+
+        cfg = new Configuration(false);
+        ColumnProjectionUtils.setReadColumns(cfg, Collections.<Integer>emptyList());
+        assertTrue(HiveUtils.projectedColumnToAlias(settings, cfg).isEmpty());
+    }
+}
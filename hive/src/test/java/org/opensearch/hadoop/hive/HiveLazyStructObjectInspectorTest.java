@@ -0,0 +1,83 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.hive;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.hadoop.hive.serde2.objectinspector.StructField;
+import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
+import org.apache.hadoop.io.ArrayWritable;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.MapWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.Writable;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class HiveLazyStructObjectInspectorTest {
+
+    private static MapWritable map(Object... entries) {
+        MapWritable map = new MapWritable();
+        for (int i = 0; i < entries.length; i += 2) {
+            map.put(new Text((String) entries[i]), (Writable) entries[i + 1]);
+        }
+        return map;
+    }
+
+    private static OpenSearchSerDe serDe() throws Exception {
+        Properties tbl = new Properties();
+        tbl.put(HiveConstants.COLUMNS, "id,name,tags");
+        tbl.put(HiveConstants.COLUMNS_TYPES, "int:string:array<string>");
+        tbl.put(HiveConstants.MAPPING_NAMES, "name:user.name");
+        OpenSearchSerDe serDe = new OpenSearchSerDe();
+        serDe.initialize(null, tbl);
+        return serDe;
+    }
+
+    @Test
+    public void testLazyFields() throws Exception {
+        OpenSearchSerDe serDe = serDe();
+        StructObjectInspector inspector = (StructObjectInspector) serDe.getObjectInspector();
+        assertTrue(inspector instanceof HiveLazyStructObjectInspector);
+
+        IntWritable id = new IntWritable(1);
+        Object row = serDe.deserialize(map("id", id, "user", map("name", new Text("joe")),
+                "tags", new ArrayWritable(Text.class, new Writable[] { new Text("a") })));
+        assertTrue(row instanceof HiveLazyStruct);
+
+        StructField name = inspector.getStructFieldRef("name");
+        assertEquals(new Text("joe"), inspector.getStructFieldData(row, name));
+        assertSame(id, inspector.getStructFieldData(row, inspector.getStructFieldRef("id")));
+
+        List<Object> fields = inspector.getStructFieldsDataAsList(row);
+        assertEquals(3, fields.size());
+        assertEquals(Arrays.<Object>asList(new Text("a")), fields.get(2));
+
+        // the struct is reused for the next row
+        Object next = serDe.deserialize(map("id", new IntWritable(2)));
+        assertSame(row, next);
+        assertEquals(new IntWritable(2), inspector.getStructFieldData(next, inspector.getStructFieldRef("id")));
+        assertNull(inspector.getStructFieldData(next, name));
+    }
+
+    @Test
+    public void testStandardStruct() throws Exception {
+        StructObjectInspector inspector = (StructObjectInspector) serDe().getObjectInspector();
+        List<Object> row = Arrays.<Object>asList(new IntWritable(3), new Text("ann"), null);
+        assertEquals(new Text("ann"), inspector.getStructFieldData(row, inspector.getStructFieldRef("name")));
+    }
+}
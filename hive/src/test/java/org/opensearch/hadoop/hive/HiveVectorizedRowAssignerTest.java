@@ -0,0 +1,127 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.hive;
+
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.apache.hadoop.hive.common.type.Timestamp;
+import org.apache.hadoop.hive.ql.exec.vector.BytesColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.DoubleColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.ListColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.LongColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.StructColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.TimestampColumnVector;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedBatchUtil;
+import org.apache.hadoop.hive.ql.exec.vector.VectorizedRowBatch;
+import org.apache.hadoop.hive.serde2.io.DoubleWritable;
+import org.apache.hadoop.hive.serde2.io.TimestampWritableV2;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfo;
+import org.apache.hadoop.hive.serde2.typeinfo.TypeInfoUtils;
+import org.apache.hadoop.io.ArrayWritable;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.MapWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.Writable;
+import org.junit.Test;
+import org.opensearch.hadoop.cfg.PropertiesSettings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HiveVectorizedRowAssignerTest {
+
+    private static final String[] NAMES = { "id", "name", "score", "created", "tags", "owner", "skipped" };
+    private static final TypeInfo[] TYPES = new TypeInfo[NAMES.length];
+
+    static {
+        String[] types = { "bigint", "string", "double", "timestamp", "array<string>", "struct<login:string,uid:int>", "string" };
+        for (int i = 0; i < types.length; i++) {
+            TYPES[i] = TypeInfoUtils.getTypeInfoFromTypeString(types[i]);
+        }
+    }
+
+    private static VectorizedRowBatch batch() throws Exception {
+        VectorizedRowBatch batch = new VectorizedRowBatch(NAMES.length);
+        for (int i = 0; i < NAMES.length; i++) {
+            batch.cols[i] = VectorizedBatchUtil.createColumnVector(TYPES[i]);
+        }
+        return batch;
+    }
+
+    private static MapWritable map(Object... entries) {
+        MapWritable map = new MapWritable();
+        for (int i = 0; i < entries.length; i += 2) {
+            map.put(new Text((String) entries[i]), (Writable) entries[i + 1]);
+        }
+        return map;
+    }
+
+    private static String string(BytesColumnVector vector, int row) {
+        return new String(vector.vector[row], vector.start[row], vector.length[row]);
+    }
+
+    @Test
+    public void testAssign() throws Exception {
+        Properties properties = new Properties();
+        properties.put(HiveConstants.MAPPING_NAMES, "name:user.name");
+        properties.put(HiveConstants.COLUMNS, "id,name,score,created,tags,owner,skipped");
+        HiveVectorizedRowAssigner assigner = new HiveVectorizedRowAssigner(NAMES, TYPES, Arrays.asList(0, 1, 2, 3, 4, 5),
+                HiveUtils.alias(new PropertiesSettings(properties)));
+
+        VectorizedRowBatch batch = batch();
+        batch.reset();
+        assigner.prepare(batch);
+
+        ArrayWritable tags = new ArrayWritable(Text.class, new Writable[] { new Text("a"), new Text("b") });
+        assigner.addRow(batch, map("id", new LongWritable(1), "user", map("name", new Text("joe")),
+                "score", new DoubleWritable(1.5), "created", new TimestampWritableV2(Timestamp.ofEpochMilli(1000L)),
+                "tags", tags, "owner", map("login", new Text("root"), "uid", new IntWritable(0))));
+        // missing fields and a single value for an array
+        assigner.addRow(batch, map("id", new IntWritable(2), "tags", new Text("c")));
+
+        assertEquals(2, batch.size);
+
+        LongColumnVector id = (LongColumnVector) batch.cols[0];
+        assertEquals(1L, id.vector[0]);
+        assertEquals(2L, id.vector[1]);
+
+        BytesColumnVector name = (BytesColumnVector) batch.cols[1];
+        assertEquals("joe", string(name, 0));
+        assertTrue(name.isNull[1]);
+        assertFalse(name.noNulls);
+
+        assertEquals(1.5, ((DoubleColumnVector) batch.cols[2]).vector[0], 0.0);
+        assertEquals(1000L, ((TimestampColumnVector) batch.cols[3]).getTime(0));
+        assertTrue(batch.cols[3].isNull[1]);
+
+        ListColumnVector list = (ListColumnVector) batch.cols[4];
+        assertEquals(0L, list.offsets[0]);
+        assertEquals(2L, list.lengths[0]);
+        assertEquals(2L, list.offsets[1]);
+        assertEquals(1L, list.lengths[1]);
+        BytesColumnVector elements = (BytesColumnVector) list.child;
+        assertEquals("a", string(elements, 0));
+        assertEquals("b", string(elements, 1));
+        assertEquals("c", string(elements, 2));
+
+        StructColumnVector owner = (StructColumnVector) batch.cols[5];
+        assertEquals("root", string((BytesColumnVector) owner.fields[0], 0));
+        assertEquals(0L, ((LongColumnVector) owner.fields[1]).vector[0]);
+        assertTrue(owner.isNull[1]);
+
+        // not projected
+        assertTrue(batch.cols[6].isRepeating);
+        assertTrue(batch.cols[6].isNull[0]);
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.hive;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.opensearch.hadoop.rest.RestRepository;
+import org.opensearch.hadoop.util.BytesArray;
+
+public class OpenSearchHiveOutputFormatTest {
+
+    private static OpenSearchHiveOutputFormat.OpenSearchHiveRecordWriter writer(final RestRepository mock) {
+        return new OpenSearchHiveOutputFormat.OpenSearchHiveRecordWriter(new Configuration(false), null) {
+            {
+                // skip the discovery of the target shard
+                this.initialized = true;
+                this.repository = mock;
+            }
+        };
+    }
+
+    @Test
+    public void testWriteRow() throws Exception {
+        RestRepository repository = Mockito.mock(RestRepository.class);
+        HiveType row = new HiveType(new Text("value"), PrimitiveObjectInspectorFactory.writableStringObjectInspector);
+        HiveRowWritable writable = new HiveRowWritable();
+        writable.setRow(row);
+
+        writer(repository).write(writable);
+        Mockito.verify(repository).writeToIndex(row);
+        Mockito.verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testWriteSerializedContent() throws Exception {
+        RestRepository repository = Mockito.mock(RestRepository.class);
+        BytesArray content = new BytesArray("{\"field\":\"value\"}");
+        HiveBytesArrayWritable writable = new HiveBytesArrayWritable();
+        writable.setContent(content);
+
+        writer(repository).write(writable);
+        Mockito.verify(repository).writeProcessedToIndex(content);
+        Mockito.verifyNoMoreInteractions(repository);
+    }
+
+    @Test(expected = OpenSearchHadoopIllegalArgumentException.class)
+    public void testWriteUnexpectedType() throws Exception {
+        writer(Mockito.mock(RestRepository.class)).write(new Text("{}"));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.hive;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.Writable;
+import org.junit.Test;
+import org.opensearch.hadoop.serialization.builder.ContentBuilder;
+import org.opensearch.hadoop.util.FastByteArrayOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class OpenSearchSerDeTest {
+
+    private static OpenSearchSerDe serDe() throws Exception {
+        Properties tbl = new Properties();
+        tbl.put(HiveConstants.COLUMNS, "id,name");
+        tbl.put(HiveConstants.COLUMNS_TYPES, "int:string");
+        OpenSearchSerDe serDe = new OpenSearchSerDe();
+        serDe.initialize(null, tbl);
+        return serDe;
+    }
+
+    private static ObjectInspector inspector() {
+        return ObjectInspectorFactory.getStandardStructObjectInspector(Arrays.asList("id", "name"),
+                Arrays.<ObjectInspector>asList(PrimitiveObjectInspectorFactory.writableIntObjectInspector,
+                        PrimitiveObjectInspectorFactory.writableStringObjectInspector));
+    }
+
+    private static String json(HiveType type) {
+        FastByteArrayOutputStream out = new FastByteArrayOutputStream();
+        ContentBuilder.generate(out, new HiveValueWriter()).value(type).flush().close();
+        return out.bytes().toString();
+    }
+
+    @Test
+    public void testSerializeHandsOverRow() throws Exception {
+        OpenSearchSerDe serDe = serDe();
+        assertEquals(HiveRowWritable.class, serDe.getSerializedClass());
+
+        ObjectInspector inspector = inspector();
+        List<Object> row = Arrays.<Object>asList(new IntWritable(1), new Text("joe"));
+        Writable serialized = serDe.serialize(row, inspector);
+        assertTrue(serialized instanceof HiveRowWritable);
+
+        // the row is not copied, only referenced
+        HiveType type = ((HiveRowWritable) serialized).getRow();
+        assertSame(row, type.getObject());
+        assertSame(inspector, type.getObjectInspector());
+        assertEquals("{\"id\":1,\"name\":\"joe\"}", json(type));
+    }
+
+    @Test
+    public void testSerializeReusesWritable() throws Exception {
+        OpenSearchSerDe serDe = serDe();
+        ObjectInspector inspector = inspector();
+        Writable first = serDe.serialize(Arrays.<Object>asList(new IntWritable(1), new Text("joe")), inspector);
+        Writable second = serDe.serialize(Arrays.<Object>asList(new IntWritable(2), null), inspector);
+        assertSame(first, second);
+        assertEquals("{\"id\":2,\"name\":null}", json(((HiveRowWritable) second).getRow()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRowIsNotSerializable() throws Exception {
+        serDe().serialize(Arrays.<Object>asList(new IntWritable(1), new Text("joe")), inspector()).write(null);
+    }
+}
@@ -77,6 +77,19 @@ public interface ConfigurationOptions {
 
     String OPENSEARCH_NODES_RESOLVE_HOST_NAME = "opensearch.nodes.resolve.hostname";
 
+    /** Health-scored node selection, with a circuit breaker per node (shared by all the clients within a JVM) */
+    String OPENSEARCH_NODES_HEALTH = "opensearch.nodes.health";
+    String OPENSEARCH_NODES_HEALTH_DEFAULT = "false";
+    // consecutive failures opening the circuit of a node
+    String OPENSEARCH_NODES_HEALTH_FAILURES = "opensearch.nodes.health.failures";
+    String OPENSEARCH_NODES_HEALTH_FAILURES_DEFAULT = "3";
+    // time before a node with an open circuit is probed again
+    String OPENSEARCH_NODES_HEALTH_COOLDOWN = "opensearch.nodes.health.cooldown";
+    String OPENSEARCH_NODES_HEALTH_COOLDOWN_DEFAULT = "30s";
+    // latency ratio (to the fastest healthy node) past which a node is moved away from (0 disables it)
+    String OPENSEARCH_NODES_HEALTH_SLOW_FACTOR = "opensearch.nodes.health.slow.factor";
+    String OPENSEARCH_NODES_HEALTH_SLOW_FACTOR_DEFAULT = "3";
+
     /** Secure Settings Keystore */
     String OPENSEARCH_KEYSTORE_LOCATION = "opensearch.keystore.location";
 
@@ -88,6 +101,12 @@ public interface ConfigurationOptions {
     String OPENSEARCH_BATCH_SIZE_ENTRIES = "opensearch.batch.size.entries";
     String OPENSEARCH_BATCH_SIZE_ENTRIES_DEFAULT = "1000";
 
+    /** Recycles the bulk buffers across the writers of a JVM, through a pool (shared with the readers) retaining up to the largest configured size */
+    String OPENSEARCH_BATCH_BUFFER_POOL_ENABLED = "opensearch.batch.buffer.pool.enabled";
+    String OPENSEARCH_BATCH_BUFFER_POOL_ENABLED_DEFAULT = "false";
+    String OPENSEARCH_BATCH_BUFFER_POOL_SIZE = "opensearch.batch.buffer.pool.size";
+    String OPENSEARCH_BATCH_BUFFER_POOL_SIZE_DEFAULT = "256mb";
+
     /** OpenSearch disable auto-flush on batch overflow */
     String OPENSEARCH_BATCH_FLUSH_MANUAL = "opensearch.batch.flush.manual";
     String OPENSEARCH_BATCH_FLUSH_MANUAL_DEFAULT = "false";
@@ -96,6 +115,22 @@ public interface ConfigurationOptions {
     String OPENSEARCH_BATCH_WRITE_REFRESH = "opensearch.batch.write.refresh";
     String OPENSEARCH_BATCH_WRITE_REFRESH_DEFAULT = "true";
 
+    /** Bulk-load mode - disables refreshes on the target index for the duration of the write job (restored at the end) */
+    String OPENSEARCH_BATCH_WRITE_BULK_LOAD = "opensearch.batch.write.bulk.load";
+    String OPENSEARCH_BATCH_WRITE_BULK_LOAD_DEFAULT = "false";
+
+    /** Number of replicas to use while bulk-loading (negative means unchanged) */
+    String OPENSEARCH_BATCH_WRITE_BULK_LOAD_REPLICAS = "opensearch.batch.write.bulk.load.replicas";
+    String OPENSEARCH_BATCH_WRITE_BULK_LOAD_REPLICAS_DEFAULT = "-1";
+
+    /** Whether to use async translog durability while bulk-loading */
+    String OPENSEARCH_BATCH_WRITE_BULK_LOAD_TRANSLOG_ASYNC = "opensearch.batch.write.bulk.load.translog.async";
+    String OPENSEARCH_BATCH_WRITE_BULK_LOAD_TRANSLOG_ASYNC_DEFAULT = "false";
+
+    /** Max number of segments to force-merge the index to once the bulk-load completes (negative means no force-merge) */
+    String OPENSEARCH_BATCH_WRITE_BULK_LOAD_MAX_SEGMENTS = "opensearch.batch.write.bulk.load.max.segments";
+    String OPENSEARCH_BATCH_WRITE_BULK_LOAD_MAX_SEGMENTS_DEFAULT = "-1";
+
     /** HTTP bulk retries **/
     String OPENSEARCH_BATCH_WRITE_RETRY_COUNT = "opensearch.batch.write.retry.count";
     String OPENSEARCH_BATCH_WRITE_RETRY_COUNT_DEFAULT = "3";
@@ -111,6 +146,24 @@ public interface ConfigurationOptions {
     String OPENSEARCH_BATCH_WRITE_RETRY_POLICY_SIMPLE = "simple";
     String OPENSEARCH_BATCH_WRITE_RETRY_POLICY_DEFAULT = OPENSEARCH_BATCH_WRITE_RETRY_POLICY_SIMPLE;
 
+    /** Back-pressure - shared by all the writers within a JVM (executor) */
+    // max number of in-flight bulk requests per node (0 means unlimited)
+    String OPENSEARCH_BATCH_WRITE_CONCURRENCY_PER_NODE = "opensearch.batch.write.concurrency.per.node";
+    String OPENSEARCH_BATCH_WRITE_CONCURRENCY_PER_NODE_DEFAULT = "0";
+    // max number of documents per second written by the job (0 means unlimited)
+    String OPENSEARCH_BATCH_WRITE_RATE_DOCS = "opensearch.batch.write.rate.docs";
+    String OPENSEARCH_BATCH_WRITE_RATE_DOCS_DEFAULT = "0";
+    // max number of bytes per second written by the job (0 means unlimited)
+    String OPENSEARCH_BATCH_WRITE_RATE_BYTES = "opensearch.batch.write.rate.bytes";
+    String OPENSEARCH_BATCH_WRITE_RATE_BYTES_DEFAULT = "0";
+    // whether all the writers pause (with exponential backoff and jitter) once the cluster rejects documents
+    String OPENSEARCH_BATCH_WRITE_BACKOFF = "opensearch.batch.write.backoff";
+    String OPENSEARCH_BATCH_WRITE_BACKOFF_DEFAULT = "false";
+    String OPENSEARCH_BATCH_WRITE_BACKOFF_INITIAL = "opensearch.batch.write.backoff.initial";
+    String OPENSEARCH_BATCH_WRITE_BACKOFF_INITIAL_DEFAULT = "200ms";
+    String OPENSEARCH_BATCH_WRITE_BACKOFF_MAX = "opensearch.batch.write.backoff.max";
+    String OPENSEARCH_BATCH_WRITE_BACKOFF_MAX_DEFAULT = "30s";
+
     /** HTTP connection timeout */
     String OPENSEARCH_HTTP_TIMEOUT = "opensearch.http.timeout";
     String OPENSEARCH_HTTP_TIMEOUT_DEFAULT = "1m";
@@ -162,6 +215,28 @@ public interface ConfigurationOptions {
     String OPENSEARCH_INDEX_READ_ALLOW_RED_STATUS = "opensearch.index.read.allow.red.status";
     String OPENSEARCH_INDEX_READ_ALLOW_RED_STATUS_DEFAULT = "false";
 
+    /** Executor-side cache of scan results, replayed while the index does not change */
+    String OPENSEARCH_READ_CACHE_ENABLED = "opensearch.read.cache.enabled";
+    String OPENSEARCH_READ_CACHE_ENABLED_DEFAULT = "false";
+    String OPENSEARCH_READ_CACHE_DIR = "opensearch.read.cache.dir";
+    String OPENSEARCH_READ_CACHE_SIZE = "opensearch.read.cache.size";
+    String OPENSEARCH_READ_CACHE_SIZE_DEFAULT = "1gb";
+
+    /** Recycles the buffers holding scroll responses across the readers of a JVM, through a pool (shared with the writers) retaining up to the largest configured size */
+    String OPENSEARCH_READ_BUFFER_POOL_ENABLED = "opensearch.read.buffer.pool.enabled";
+    String OPENSEARCH_READ_BUFFER_POOL_ENABLED_DEFAULT = "false";
+    String OPENSEARCH_READ_BUFFER_POOL_SIZE = "opensearch.read.buffer.pool.size";
+    String OPENSEARCH_READ_BUFFER_POOL_SIZE_DEFAULT = "256mb";
+
+    /** Driver-side cache of index mappings, refreshed only for the indices not seen before */
+    String OPENSEARCH_READ_MAPPING_CACHE_ENABLED = "opensearch.read.mapping.cache.enabled";
+    String OPENSEARCH_READ_MAPPING_CACHE_ENABLED_DEFAULT = "false";
+    String OPENSEARCH_READ_MAPPING_CACHE_DIR = "opensearch.read.mapping.cache.dir";
+    String OPENSEARCH_READ_MAPPING_CACHE_TTL = "opensearch.read.mapping.cache.ttl";
+    String OPENSEARCH_READ_MAPPING_CACHE_TTL_DEFAULT = "1h";
+    String OPENSEARCH_READ_MAPPING_CACHE_CONCURRENCY = "opensearch.read.mapping.cache.concurrency";
+    String OPENSEARCH_READ_MAPPING_CACHE_CONCURRENCY_DEFAULT = "4";
+
     /** OpenSearch shard search preference */
     String OPENSEARCH_READ_SHARD_PREFERENCE = "opensearch.read.shard.preference";
     String OPENSEARCH_READ_SHARD_PREFERENCE_DEFAULT = "";
@@ -236,6 +311,14 @@ public interface ConfigurationOptions {
 
     String OPENSEARCH_READ_SOURCE_FILTER = "opensearch.read.source.filter";
 
+    /** Lookup (joins by id) */
+    String OPENSEARCH_READ_LOOKUP_BATCH_SIZE = "opensearch.read.lookup.batch.size";
+    String OPENSEARCH_READ_LOOKUP_BATCH_SIZE_DEFAULT = "1000";
+    String OPENSEARCH_READ_LOOKUP_CONCURRENCY = "opensearch.read.lookup.concurrency";
+    String OPENSEARCH_READ_LOOKUP_CONCURRENCY_DEFAULT = "1";
+    String OPENSEARCH_READ_LOOKUP_CACHE_SIZE = "opensearch.read.lookup.cache.size";
+    String OPENSEARCH_READ_LOOKUP_CACHE_SIZE_DEFAULT = "10000";
+
     /** Metadata */
     String OPENSEARCH_READ_METADATA = "opensearch.read.metadata";
     String OPENSEARCH_READ_METADATA_DEFAULT = "false";
@@ -256,6 +339,24 @@ public interface ConfigurationOptions {
     String OPENSEARCH_OPERATION_DELETE = "delete";
     String OPENSEARCH_WRITE_OPERATION_DEFAULT = OPENSEARCH_OPERATION_INDEX;
 
+    /** How existing data is replaced when overwriting a resource (Spark SQL SaveMode.Overwrite) */
+    String OPENSEARCH_WRITE_OVERWRITE_STRATEGY = "opensearch.write.overwrite.strategy";
+    // delete all the documents in place, then write
+    String OPENSEARCH_WRITE_OVERWRITE_STRATEGY_DELETE = "delete";
+    // write into a new index and swap it behind the resource (alias) once done
+    String OPENSEARCH_WRITE_OVERWRITE_STRATEGY_SWAP = "swap";
+    String OPENSEARCH_WRITE_OVERWRITE_STRATEGY_DEFAULT = OPENSEARCH_WRITE_OVERWRITE_STRATEGY_DELETE;
+
+    /** Whether index/create operations skip documents already written (same _id and content) by the task */
+    String OPENSEARCH_WRITE_DEDUP = "opensearch.write.dedup";
+    String OPENSEARCH_WRITE_DEDUP_DEFAULT = "false";
+    /** Whether deduplication also checks the target (through _mget) for documents written by previous runs */
+    String OPENSEARCH_WRITE_DEDUP_CHECK = "opensearch.write.dedup.check";
+    String OPENSEARCH_WRITE_DEDUP_CHECK_DEFAULT = "false";
+    /** Max number of documents remembered by the task for deduplication (two longs each); older ones are forgotten */
+    String OPENSEARCH_WRITE_DEDUP_MAX_DOCS = "opensearch.write.dedup.max.docs";
+    String OPENSEARCH_WRITE_DEDUP_MAX_DOCS_DEFAULT = "250000";
+
     String OPENSEARCH_UPDATE_RETRY_ON_CONFLICT = "opensearch.update.retry.on.conflict";
     String OPENSEARCH_UPDATE_RETRY_ON_CONFLICT_DEFAULT = "0";
 
@@ -269,6 +370,12 @@ public interface ConfigurationOptions {
     String OPENSEARCH_UPDATE_SCRIPT_PARAMS = "opensearch.update.script.params";
     String OPENSEARCH_UPDATE_SCRIPT_PARAMS_JSON = "opensearch.update.script.params.json";
 
+    /** Whether updates/upserts targeting the same document within a batch are combined into one before being sent */
+    String OPENSEARCH_UPDATE_COMBINE = "opensearch.update.combine";
+    String OPENSEARCH_UPDATE_COMBINE_DEFAULT = "false";
+    /** How the params of combined scripted updates are folded (param:sum|min|max|last); scripted updates are not combined otherwise */
+    String OPENSEARCH_UPDATE_COMBINE_SCRIPT_PARAMS = "opensearch.update.combine.script.params";
+
     /** Output options **/
     String OPENSEARCH_OUTPUT_JSON = "opensearch.output.json";
     String OPENSEARCH_OUTPUT_JSON_DEFAULT = "no";
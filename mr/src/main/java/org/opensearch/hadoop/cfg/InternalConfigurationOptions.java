@@ -48,6 +48,9 @@ public interface InternalConfigurationOptions extends ConfigurationOptions {
     // used for isolating connection pools of multiple spark streaming jobs in the same app.
     String INTERNAL_TRANSPORT_POOLING_KEY = "opensearch.internal.transport.pooling.key";
 
+    // original index settings of a bulk-load, restored once the job completes
+    String INTERNAL_OPENSEARCH_BULK_LOAD_ORIGINALS = "opensearch.internal.bulk.load.originals";
+
     // don't fetch _source field during scroll queries
     String INTERNAL_OPENSEARCH_EXCLUDE_SOURCE = "opensearch.internal.exclude.source";
     String INTERNAL_OPENSEARCH_EXCLUDE_SOURCE_DEFAULT = "false";
@@ -147,6 +147,60 @@ public abstract class Settings {
 
     public String getShardPreference() { return getProperty(OPENSEARCH_READ_SHARD_PREFERENCE, OPENSEARCH_READ_SHARD_PREFERENCE_DEFAULT); }
 
+    public boolean getReadCacheEnabled() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_READ_CACHE_ENABLED, OPENSEARCH_READ_CACHE_ENABLED_DEFAULT));
+    }
+
+    public String getReadCacheDir() {
+        // per user, the directory being private to its owner
+        return getProperty(OPENSEARCH_READ_CACHE_DIR, System.getProperty("java.io.tmpdir") + "/opensearch-hadoop-read-cache-"
+                + System.getProperty("user.name"));
+    }
+
+    public long getReadCacheSize() {
+        return ByteSizeValue.parseBytesSizeValue(getProperty(OPENSEARCH_READ_CACHE_SIZE, OPENSEARCH_READ_CACHE_SIZE_DEFAULT)).getBytes();
+    }
+
+    public boolean getReadBufferPoolEnabled() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_READ_BUFFER_POOL_ENABLED, OPENSEARCH_READ_BUFFER_POOL_ENABLED_DEFAULT));
+    }
+
+    public long getReadBufferPoolSize() {
+        return ByteSizeValue.parseBytesSizeValue(getProperty(OPENSEARCH_READ_BUFFER_POOL_SIZE, OPENSEARCH_READ_BUFFER_POOL_SIZE_DEFAULT)).getBytes();
+    }
+
+    public boolean getReadMappingCacheEnabled() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_READ_MAPPING_CACHE_ENABLED, OPENSEARCH_READ_MAPPING_CACHE_ENABLED_DEFAULT));
+    }
+
+    public String getReadMappingCacheDir() {
+        return getProperty(OPENSEARCH_READ_MAPPING_CACHE_DIR);
+    }
+
+    public long getReadMappingCacheTtl() {
+        return TimeValue.parseTimeValue(getProperty(OPENSEARCH_READ_MAPPING_CACHE_TTL, OPENSEARCH_READ_MAPPING_CACHE_TTL_DEFAULT)).getMillis();
+    }
+
+    public int getReadMappingCacheConcurrency() {
+        return Integer.valueOf(getProperty(OPENSEARCH_READ_MAPPING_CACHE_CONCURRENCY, OPENSEARCH_READ_MAPPING_CACHE_CONCURRENCY_DEFAULT));
+    }
+
+    public boolean getNodesHealth() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_NODES_HEALTH, OPENSEARCH_NODES_HEALTH_DEFAULT));
+    }
+
+    public int getNodesHealthFailures() {
+        return Integer.valueOf(getProperty(OPENSEARCH_NODES_HEALTH_FAILURES, OPENSEARCH_NODES_HEALTH_FAILURES_DEFAULT));
+    }
+
+    public long getNodesHealthCooldown() {
+        return TimeValue.parseTimeValue(getProperty(OPENSEARCH_NODES_HEALTH_COOLDOWN, OPENSEARCH_NODES_HEALTH_COOLDOWN_DEFAULT)).getMillis();
+    }
+
+    public double getNodesHealthSlowFactor() {
+        return Double.parseDouble(getProperty(OPENSEARCH_NODES_HEALTH_SLOW_FACTOR, OPENSEARCH_NODES_HEALTH_SLOW_FACTOR_DEFAULT));
+    }
+
     public String getNodesPathPrefix() {
         return getProperty(OPENSEARCH_NODES_PATH_PREFIX, OPENSEARCH_NODES_PATH_PREFIX_DEFAULT);
     }
@@ -180,6 +234,14 @@ public abstract class Settings {
         return ByteSizeValue.parseBytesSizeValue(getProperty(OPENSEARCH_BATCH_SIZE_BYTES, OPENSEARCH_BATCH_SIZE_BYTES_DEFAULT)).bytesAsInt();
     }
 
+    public boolean getBatchBufferPoolEnabled() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_BATCH_BUFFER_POOL_ENABLED, OPENSEARCH_BATCH_BUFFER_POOL_ENABLED_DEFAULT));
+    }
+
+    public long getBatchBufferPoolSize() {
+        return ByteSizeValue.parseBytesSizeValue(getProperty(OPENSEARCH_BATCH_BUFFER_POOL_SIZE, OPENSEARCH_BATCH_BUFFER_POOL_SIZE_DEFAULT)).getBytes();
+    }
+
     public int getBatchSizeInEntries() {
         return Integer.valueOf(getProperty(OPENSEARCH_BATCH_SIZE_ENTRIES, OPENSEARCH_BATCH_SIZE_ENTRIES_DEFAULT));
     }
@@ -196,6 +258,30 @@ public abstract class Settings {
         return TimeValue.parseTimeValue(getProperty(OPENSEARCH_BATCH_WRITE_RETRY_WAIT, OPENSEARCH_BATCH_WRITE_RETRY_WAIT_DEFAULT)).getMillis();
     }
 
+    public int getBatchWriteConcurrencyPerNode() {
+        return Integer.valueOf(getProperty(OPENSEARCH_BATCH_WRITE_CONCURRENCY_PER_NODE, OPENSEARCH_BATCH_WRITE_CONCURRENCY_PER_NODE_DEFAULT));
+    }
+
+    public long getBatchWriteRateDocs() {
+        return Long.valueOf(getProperty(OPENSEARCH_BATCH_WRITE_RATE_DOCS, OPENSEARCH_BATCH_WRITE_RATE_DOCS_DEFAULT));
+    }
+
+    public long getBatchWriteRateBytes() {
+        return ByteSizeValue.parseBytesSizeValue(getProperty(OPENSEARCH_BATCH_WRITE_RATE_BYTES, OPENSEARCH_BATCH_WRITE_RATE_BYTES_DEFAULT)).getBytes();
+    }
+
+    public boolean getBatchWriteBackoff() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_BATCH_WRITE_BACKOFF, OPENSEARCH_BATCH_WRITE_BACKOFF_DEFAULT));
+    }
+
+    public long getBatchWriteBackoffInitial() {
+        return TimeValue.parseTimeValue(getProperty(OPENSEARCH_BATCH_WRITE_BACKOFF_INITIAL, OPENSEARCH_BATCH_WRITE_BACKOFF_INITIAL_DEFAULT)).getMillis();
+    }
+
+    public long getBatchWriteBackoffMax() {
+        return TimeValue.parseTimeValue(getProperty(OPENSEARCH_BATCH_WRITE_BACKOFF_MAX, OPENSEARCH_BATCH_WRITE_BACKOFF_MAX_DEFAULT)).getMillis();
+    }
+
     public String getBatchWriteRetryPolicy() {
         return getProperty(OPENSEARCH_BATCH_WRITE_RETRY_POLICY, OPENSEARCH_BATCH_WRITE_RETRY_POLICY_DEFAULT);
     }
@@ -204,6 +290,22 @@ public abstract class Settings {
         return Booleans.parseBoolean(getProperty(OPENSEARCH_BATCH_WRITE_REFRESH, OPENSEARCH_BATCH_WRITE_REFRESH_DEFAULT));
     }
 
+    public boolean getBatchWriteBulkLoad() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_BATCH_WRITE_BULK_LOAD, OPENSEARCH_BATCH_WRITE_BULK_LOAD_DEFAULT));
+    }
+
+    public int getBatchWriteBulkLoadReplicas() {
+        return Integer.valueOf(getProperty(OPENSEARCH_BATCH_WRITE_BULK_LOAD_REPLICAS, OPENSEARCH_BATCH_WRITE_BULK_LOAD_REPLICAS_DEFAULT));
+    }
+
+    public boolean getBatchWriteBulkLoadTranslogAsync() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_BATCH_WRITE_BULK_LOAD_TRANSLOG_ASYNC, OPENSEARCH_BATCH_WRITE_BULK_LOAD_TRANSLOG_ASYNC_DEFAULT));
+    }
+
+    public int getBatchWriteBulkLoadMaxSegments() {
+        return Integer.valueOf(getProperty(OPENSEARCH_BATCH_WRITE_BULK_LOAD_MAX_SEGMENTS, OPENSEARCH_BATCH_WRITE_BULK_LOAD_MAX_SEGMENTS_DEFAULT));
+    }
+
     public boolean getBatchFlushManual() {
         return Booleans.parseBoolean(getProperty(OPENSEARCH_BATCH_FLUSH_MANUAL, OPENSEARCH_BATCH_FLUSH_MANUAL_DEFAULT));
     }
@@ -265,6 +367,24 @@ public abstract class Settings {
         return getProperty(OPENSEARCH_WRITE_OPERATION, OPENSEARCH_WRITE_OPERATION_DEFAULT).toLowerCase(Locale.ROOT);
     }
 
+    public boolean getWriteDedup() {
+        String op = getOperation();
+        return (ConfigurationOptions.OPENSEARCH_OPERATION_INDEX.equals(op) || ConfigurationOptions.OPENSEARCH_OPERATION_CREATE.equals(op))
+                && Booleans.parseBoolean(getProperty(OPENSEARCH_WRITE_DEDUP, OPENSEARCH_WRITE_DEDUP_DEFAULT));
+    }
+
+    public boolean getWriteDedupCheck() {
+        return Booleans.parseBoolean(getProperty(OPENSEARCH_WRITE_DEDUP_CHECK, OPENSEARCH_WRITE_DEDUP_CHECK_DEFAULT));
+    }
+
+    public int getWriteDedupMaxDocs() {
+        return Integer.valueOf(getProperty(OPENSEARCH_WRITE_DEDUP_MAX_DOCS, OPENSEARCH_WRITE_DEDUP_MAX_DOCS_DEFAULT));
+    }
+
+    public String getWriteOverwriteStrategy() {
+        return getProperty(OPENSEARCH_WRITE_OVERWRITE_STRATEGY, OPENSEARCH_WRITE_OVERWRITE_STRATEGY_DEFAULT).toLowerCase(Locale.ROOT);
+    }
+
     public String getMappingId() {
         return getProperty(OPENSEARCH_MAPPING_ID);
     }
@@ -404,6 +524,16 @@ public abstract class Settings {
         return getProperty(OPENSEARCH_UPDATE_SCRIPT_PARAMS_JSON);
     }
 
+    public boolean getUpdateCombine() {
+        String op = getOperation();
+        return (ConfigurationOptions.OPENSEARCH_OPERATION_UPDATE.equals(op) || ConfigurationOptions.OPENSEARCH_OPERATION_UPSERT.equals(op))
+                && Booleans.parseBoolean(getProperty(OPENSEARCH_UPDATE_COMBINE, OPENSEARCH_UPDATE_COMBINE_DEFAULT));
+    }
+
+    public String getUpdateCombineScriptParams() {
+        return getProperty(OPENSEARCH_UPDATE_COMBINE_SCRIPT_PARAMS);
+    }
+
     public boolean hasUpdateScript() {
         String op = getOperation();
         boolean hasScript = false;
@@ -465,6 +595,18 @@ public abstract class Settings {
         return getProperty(OPENSEARCH_READ_SOURCE_FILTER, StringUtils.EMPTY);
     }
 
+    public int getReadLookupBatchSize() {
+        return Integer.valueOf(getProperty(OPENSEARCH_READ_LOOKUP_BATCH_SIZE, OPENSEARCH_READ_LOOKUP_BATCH_SIZE_DEFAULT));
+    }
+
+    public int getReadLookupConcurrency() {
+        return Integer.valueOf(getProperty(OPENSEARCH_READ_LOOKUP_CONCURRENCY, OPENSEARCH_READ_LOOKUP_CONCURRENCY_DEFAULT));
+    }
+
+    public int getReadLookupCacheSize() {
+        return Integer.valueOf(getProperty(OPENSEARCH_READ_LOOKUP_CACHE_SIZE, OPENSEARCH_READ_LOOKUP_CACHE_SIZE_DEFAULT));
+    }
+
     public TimeValue getHeartBeatLead() {
         return TimeValue.parseTimeValue(getProperty(OPENSEARCH_HEART_BEAT_LEAD, OPENSEARCH_HEART_BEAT_LEAD_DEFAULT));
     }
@@ -139,6 +139,12 @@ public enum Counter {
         public long get(Stats stats) {
             return stats.scrollTotalTime;
         }
+    },
+    DOCS_SKIPPED {
+        @Override
+        public long get(Stats stats) {
+            return stats.docsSkipped;
+        }
     };
 
     public static final Set<Counter> ALL = EnumSet.allOf(Counter.class);
@@ -74,6 +74,10 @@ public abstract class HadoopCfgUtils {
         set(cfg, value, "mapreduce.output.fileoutputformat.outputdir", "mapred.output.dir");
     }
 
+    public static String getJobDir(Configuration cfg) {
+        return get(cfg, "mapreduce.job.dir", null);
+    }
+
     public static String getOutputCommitterClass(Configuration cfg) {
         return get(cfg, "mapred.output.committer.class", null);
     }
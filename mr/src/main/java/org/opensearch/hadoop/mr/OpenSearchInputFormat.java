@@ -389,7 +389,12 @@ public class OpenSearchInputFormat<K, V> extends InputFormat<K, V> implements or
         @Override
         protected Text setCurrentValue(Text hadoopValue, Object object) {
             if (hadoopValue != null) {
-                hadoopValue.set(object.toString());
+                // raw json is returned as Text already so copy the bytes directly
+                if (object instanceof Text) {
+                    hadoopValue.set((Text) object);
+                } else {
+                    hadoopValue.set(object.toString());
+                }
             }
             return hadoopValue;
         }
@@ -29,15 +29,21 @@
 package org.opensearch.hadoop.mr;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapred.TaskID;
 import org.apache.hadoop.mapreduce.JobContext;
+import org.apache.hadoop.mapreduce.JobStatus;
 import org.apache.hadoop.mapreduce.OutputFormat;
 import org.apache.hadoop.mapreduce.RecordWriter;
 import org.apache.hadoop.mapreduce.TaskAttemptContext;
@@ -46,15 +52,20 @@ import org.opensearch.hadoop.cfg.HadoopSettingsManager;
 import org.opensearch.hadoop.cfg.Settings;
 import org.opensearch.hadoop.mr.compat.CompatHandler;
 import org.opensearch.hadoop.mr.security.HadoopUserProvider;
+import org.opensearch.hadoop.rest.BulkLoad;
 import org.opensearch.hadoop.rest.InitializationUtils;
 import org.opensearch.hadoop.rest.Resource;
 import org.opensearch.hadoop.rest.RestRepository;
 import org.opensearch.hadoop.rest.RestService;
 import org.opensearch.hadoop.rest.RestService.PartitionWriter;
 import org.opensearch.hadoop.serialization.field.MapWritableFieldExtractor;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.ObjectMapper;
 import org.opensearch.hadoop.util.Assert;
+import org.opensearch.hadoop.util.IOUtils;
+import org.opensearch.hadoop.util.StringUtils;
 
 import static org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_RESOURCE;
+import static org.opensearch.hadoop.cfg.InternalConfigurationOptions.INTERNAL_OPENSEARCH_BULK_LOAD_ORIGINALS;
 
 /**
  * OpenSearch {@link OutputFormat} (old and new API) for adding data to an index inside OpenSearch.
@@ -65,12 +76,30 @@ public class OpenSearchOutputFormat extends OutputFormat implements org.apache.h
 
     private static Log log = LogFactory.getLog(OpenSearchOutputFormat.class);
     private static final int NO_TASK_ID = -1;
+    private static final String BULK_LOAD_FILE = "opensearch-bulk-load.json";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
 
     // don't use mapred.OutputCommitter as it performs mandatory casts to old API resulting in CCE
     public static class OpenSearchOutputCommitter extends org.apache.hadoop.mapreduce.OutputCommitter {
 
+        private BulkLoad bulkLoad;
+
+        @Override
+        public void setupJob(JobContext jobContext) throws IOException {
+            bulkLoad = beginBulkLoad(CompatHandler.jobContext(jobContext).getConfiguration());
+        }
+
+        @Override
+        public void commitJob(JobContext jobContext) throws IOException {
+            endBulkLoad(CompatHandler.jobContext(jobContext).getConfiguration(), bulkLoad, true);
+            bulkLoad = null;
+        }
+
         @Override
-        public void setupJob(JobContext jobContext) throws IOException {}
+        public void abortJob(JobContext jobContext, JobStatus.State state) throws IOException {
+            endBulkLoad(CompatHandler.jobContext(jobContext).getConfiguration(), bulkLoad, false);
+            bulkLoad = null;
+        }
 
         // compatibility check with Hadoop 0.20.2
         @Override
@@ -102,9 +131,23 @@ public class OpenSearchOutputFormat extends OutputFormat implements org.apache.h
 
     public static class OpenSearchOldAPIOutputCommitter extends org.apache.hadoop.mapred.OutputCommitter {
 
+        private BulkLoad bulkLoad;
+
         @Override
         public void setupJob(org.apache.hadoop.mapred.JobContext jobContext) throws IOException {
-            //no-op
+            bulkLoad = beginBulkLoad(jobContext.getJobConf());
+        }
+
+        @Override
+        public void commitJob(org.apache.hadoop.mapred.JobContext jobContext) throws IOException {
+            endBulkLoad(jobContext.getJobConf(), bulkLoad, true);
+            bulkLoad = null;
+        }
+
+        @Override
+        public void abortJob(org.apache.hadoop.mapred.JobContext jobContext, int status) throws IOException {
+            endBulkLoad(jobContext.getJobConf(), bulkLoad, false);
+            bulkLoad = null;
         }
 
         @Override
@@ -263,6 +306,105 @@ public class OpenSearchOutputFormat extends OutputFormat implements org.apache.h
         init(cfg);
     }
 
+    // tunes the target index for the duration of the job if bulk-load mode is enabled
+    private static BulkLoad beginBulkLoad(Configuration cfg) throws IOException {
+        Settings settings = bulkLoadSettings(cfg);
+        if (settings == null) {
+            return null;
+        }
+        // a previous attempt of the job (e.g. before an application master restart) already tuned the index;
+        // pick up its original settings instead of recording the tuned ones
+        Map<String, Map<String, Object>> originals = readBulkLoadOriginals(cfg);
+        if (originals != null) {
+            BulkLoad bulkLoad = new BulkLoad(settings, new Resource(settings, false).index(), log);
+            bulkLoad.resume(originals);
+            return bulkLoad;
+        }
+
+        BulkLoad bulkLoad = BulkLoad.begin(settings, log);
+        if (bulkLoad.originals() != null) {
+            // the committer ending the job is not necessarily this one (e.g. after an application master restart)
+            // so keep the original settings with the configuration and the job files
+            writeBulkLoadOriginals(cfg, bulkLoad.originals());
+        }
+        return bulkLoad;
+    }
+
+    // commits or aborts the bulk-load started by this or, failing that, by a previous committer
+    private static void endBulkLoad(Configuration cfg, BulkLoad bulkLoad, boolean commit) throws IOException {
+        if (bulkLoad == null) {
+            Settings settings = bulkLoadSettings(cfg);
+            if (settings == null) {
+                return;
+            }
+            Map<String, Map<String, Object>> originals = readBulkLoadOriginals(cfg);
+            if (originals == null) {
+                return;
+            }
+            bulkLoad = new BulkLoad(settings, new Resource(settings, false).index(), log);
+            bulkLoad.resume(originals);
+        }
+
+        if (commit) {
+            bulkLoad.commit();
+        }
+        else {
+            bulkLoad.abort();
+        }
+        cfg.unset(INTERNAL_OPENSEARCH_BULK_LOAD_ORIGINALS);
+        Path file = bulkLoadFile(cfg);
+        if (file != null) {
+            file.getFileSystem(cfg).delete(file, false);
+        }
+    }
+
+    // stores the original settings (as JSON) in the configuration and, if available, the job directory
+    static void writeBulkLoadOriginals(Configuration cfg, Map<String, Map<String, Object>> originals) throws IOException {
+        String json = MAPPER.writeValueAsString(originals);
+        cfg.set(INTERNAL_OPENSEARCH_BULK_LOAD_ORIGINALS, json);
+        Path file = bulkLoadFile(cfg);
+        if (file != null) {
+            FSDataOutputStream out = file.getFileSystem(cfg).create(file, true);
+            try {
+                out.write(StringUtils.toUTF(json));
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    // returns the original settings stored by a previous committer or null if there are none
+    @SuppressWarnings("unchecked")
+    static Map<String, Map<String, Object>> readBulkLoadOriginals(Configuration cfg) throws IOException {
+        String json = cfg.get(INTERNAL_OPENSEARCH_BULK_LOAD_ORIGINALS);
+        Path file = bulkLoadFile(cfg);
+        if (json == null && file != null && file.getFileSystem(cfg).exists(file)) {
+            FSDataInputStream in = file.getFileSystem(cfg).open(file);
+            try {
+                json = IOUtils.asString(in);
+            } finally {
+                in.close();
+            }
+        }
+        return (StringUtils.hasText(json) ? MAPPER.readValue(json, LinkedHashMap.class) : null);
+    }
+
+    private static Settings bulkLoadSettings(Configuration cfg) {
+        Settings settings = HadoopSettingsManager.loadFrom(cfg).copy();
+        if (!settings.getBatchWriteBulkLoad()) {
+            return null;
+        }
+        InitializationUtils.setUserProviderIfNotSet(settings, HadoopUserProvider.class, log);
+        InitializationUtils.discoverClusterInfo(settings, log);
+        return settings;
+    }
+
+    // the staging directory of the job, shared by all its attempts
+    private static Path bulkLoadFile(Configuration cfg) {
+        String jobDir = HadoopCfgUtils.getJobDir(cfg);
+        return (StringUtils.hasText(jobDir) ? new Path(jobDir, BULK_LOAD_FILE) : null);
+    }
+
     // NB: all changes to the config objects are discarded before the job is submitted if _the old MR api_ is used
     private void init(Configuration cfg) throws IOException {
         Settings settings = HadoopSettingsManager.loadFrom(cfg);
@@ -34,6 +34,7 @@ import java.util.Map;
 import org.apache.hadoop.io.*;
 import org.opensearch.hadoop.serialization.FieldType;
 import org.opensearch.hadoop.serialization.builder.JdkValueReader;
+import org.opensearch.hadoop.util.BytesArray;
 
 public class WritableValueReader extends JdkValueReader {
 
@@ -198,6 +199,14 @@ public class WritableValueReader extends JdkValueReader {
         return new Text(value);
     }
 
+    @Override
+    public Object wrapJson(BytesArray json) {
+        // Text is UTF-8 already - copy the bytes as is, no need to decode them
+        Text text = new Text();
+        text.set(json.bytes(), json.offset(), json.length());
+        return text;
+    }
+
     @Override
     protected Object nullValue() {
         return NullWritable.get();
@@ -0,0 +1,170 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.JsonParser;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.JsonToken;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.ObjectMapper;
+
+/**
+ * Streaming parser for bulk responses. Instead of deserializing every item into a map, the items are read token by token
+ * and only the status is tracked; the error object is materialized only for the failed items. Successful items are
+ * returned as shared, immutable maps containing just the status.
+ *
+ * If the response indicates that no item failed (<code>"errors": false</code>), the items are not read at all.
+ */
+public class BulkActionResponseParser {
+
+    private final ObjectMapper mapper;
+
+    public BulkActionResponseParser(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    @SuppressWarnings("rawtypes")
+    public RestClient.BulkActionResponse parse(InputStream content, int responseCode, long timeSpent) throws IOException {
+        JsonParser parser = mapper.getJsonFactory().createJsonParser(content);
+
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("errors".equals(name) && token == JsonToken.VALUE_FALSE) {
+                    // every item succeeded, no need to look at them
+                    return new RestClient.BulkActionResponse(Collections.<Map>emptyList().iterator(), false, responseCode, timeSpent);
+                }
+                if ("items".equals(name) && token == JsonToken.START_ARRAY) {
+                    return new RestClient.BulkActionResponse(new ItemIterator(parser), true, responseCode, timeSpent);
+                }
+                parser.skipChildren();
+            }
+        }
+
+        return new RestClient.BulkActionResponse(Collections.<Map>emptyList().iterator(), responseCode, timeSpent);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private class ItemIterator implements Iterator<Map> {
+
+        private final JsonParser parser;
+        // successful items only differ through their operation and status
+        private final Map<String, Map<Integer, Map>> successes = new HashMap<String, Map<Integer, Map>>();
+
+        private JsonToken next;
+        private boolean advanced = false;
+
+        ItemIterator(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!advanced) {
+                try {
+                    next = parser.nextToken();
+                } catch (IOException ex) {
+                    throw new OpenSearchHadoopParsingException(ex);
+                }
+                advanced = true;
+            }
+            return next == JsonToken.START_OBJECT;
+        }
+
+        @Override
+        public Map next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            advanced = false;
+            try {
+                return readItem();
+            } catch (IOException ex) {
+                throw new OpenSearchHadoopParsingException(ex);
+            }
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        // {"<operation>" : { ..., "status" : 201, "error" : { ... } }}
+        private Map readItem() throws IOException {
+            Map item = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String operation = parser.getCurrentName();
+                if (parser.nextToken() == JsonToken.START_OBJECT) {
+                    item = readOperation(operation);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (item == null) {
+                throw new OpenSearchHadoopParsingException("Invalid bulk response item; no operation found");
+            }
+            return item;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Map readOperation(String operation) throws IOException {
+            Integer status = null;
+            Object error = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                JsonToken token = parser.nextToken();
+                if ("status".equals(name) && token == JsonToken.VALUE_NUMBER_INT) {
+                    status = parser.getIntValue();
+                } else if ("error".equals(name) && token != JsonToken.VALUE_NULL) {
+                    error = mapper.readValue(parser, Object.class);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            if (error == null) {
+                return success(operation, status);
+            }
+
+            Map values = new LinkedHashMap(4);
+            if (status != null) {
+                values.put("status", status);
+            }
+            values.put("error", error);
+            return Collections.singletonMap(operation, values);
+        }
+
+        private Map success(String operation, Integer status) {
+            Map<Integer, Map> byStatus = successes.get(operation);
+            if (byStatus == null) {
+                byStatus = new HashMap<Integer, Map>();
+                successes.put(operation, byStatus);
+            }
+            Map item = byStatus.get(status);
+            if (item == null) {
+                Map<String, Object> values = (status != null ? Collections.<String, Object>singletonMap("status", status)
+                        : Collections.<String, Object>emptyMap());
+                item = Collections.singletonMap(operation, values);
+                byStatus.put(status, item);
+            }
+            return item;
+        }
+    }
+}
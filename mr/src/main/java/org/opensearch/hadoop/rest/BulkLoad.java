@@ -0,0 +1,178 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.logging.Log;
+import org.opensearch.hadoop.OpenSearchHadoopException;
+import org.opensearch.hadoop.cfg.Settings;
+
+/**
+ * Job-level handling of the bulk-load mode ({@link org.opensearch.hadoop.cfg.ConfigurationOptions#OPENSEARCH_BATCH_WRITE_BULK_LOAD}).
+ * Meant to be driven by the component coordinating the write job (output committer, Spark driver): {@link #begin()}
+ * disables refreshes (and optionally lowers the replicas and the translog durability) on the target index,
+ * {@link #commit()} refreshes the index once, restores the original settings and optionally force-merges it while
+ * {@link #abort()} only restores the settings.
+ *
+ * The tasks themselves skip the refresh after writing when the mode is enabled.
+ */
+public class BulkLoad {
+
+    static final String REFRESH_INTERVAL = "index.refresh_interval";
+    static final String NUMBER_OF_REPLICAS = "index.number_of_replicas";
+    static final String TRANSLOG_DURABILITY = "index.translog.durability";
+
+    private final Settings settings;
+    private final String index;
+    private final Log log;
+
+    // original values of the changed settings (null if not set), per concrete index
+    private Map<String, Map<String, Object>> originals;
+
+    public BulkLoad(Settings settings, String index, Log log) {
+        this.settings = settings;
+        this.index = index;
+        this.log = log;
+    }
+
+    /**
+     * Starts a bulk-load against the write resource, if the mode is enabled.
+     *
+     * @return the bulk-load to commit or abort once the job completes
+     */
+    public static BulkLoad begin(Settings settings, Log log) {
+        String index = (settings.getBatchWriteBulkLoad() ? new Resource(settings, false).index() : null);
+        BulkLoad bulkLoad = new BulkLoad(settings, index, log);
+        bulkLoad.begin();
+        return bulkLoad;
+    }
+
+    protected RestClient createClient() {
+        return new RestClient(settings);
+    }
+
+    public void begin() {
+        if (index == null) {
+            return;
+        }
+        if (index.contains("{")) {
+            log.warn(String.format("Bulk-load mode is not supported for dynamic resource [%s]; ignoring...", index));
+            return;
+        }
+
+        Map<String, Object> tuned = new LinkedHashMap<String, Object>();
+        tuned.put(REFRESH_INTERVAL, "-1");
+        int replicas = settings.getBatchWriteBulkLoadReplicas();
+        if (replicas >= 0) {
+            tuned.put(NUMBER_OF_REPLICAS, String.valueOf(replicas));
+        }
+        if (settings.getBatchWriteBulkLoadTranslogAsync()) {
+            tuned.put(TRANSLOG_DURABILITY, "async");
+        }
+
+        RestClient client = createClient();
+        try {
+            // create the index upfront so its settings can be tuned
+            if (settings.getIndexAutoCreate() && !client.indexExists(index)) {
+                client.touch(index);
+            }
+
+            Map<String, Map<String, Object>> saved = new LinkedHashMap<String, Map<String, Object>>();
+            for (Entry<String, Map<String, Object>> entry : client.getIndexSettings(index).entrySet()) {
+                Map<String, Object> values = new LinkedHashMap<String, Object>();
+                for (String setting : tuned.keySet()) {
+                    values.put(setting, entry.getValue().get(setting));
+                }
+                saved.put(entry.getKey(), values);
+            }
+            // record the originals first so a partial update can still be restored
+            originals = saved;
+
+            client.updateIndexSettings(index, tuned);
+            if (log.isInfoEnabled()) {
+                log.info(String.format("Bulk-loading index [%s] with settings %s", index, tuned));
+            }
+        } finally {
+            client.close();
+        }
+    }
+
+    /**
+     * Picks up a bulk-load begun elsewhere (such as by a previous instance of the job coordinator) from its original
+     * settings, so that it can still be committed or aborted.
+     */
+    public void resume(Map<String, Map<String, Object>> originals) {
+        this.originals = originals;
+    }
+
+    /**
+     * Returns the original values of the changed settings, per concrete index, or null if nothing was changed.
+     */
+    public Map<String, Map<String, Object>> originals() {
+        return originals;
+    }
+
+    public void commit() {
+        if (originals == null) {
+            return;
+        }
+
+        RestClient client = createClient();
+        try {
+            // a single refresh for the whole job
+            if (settings.getBatchRefreshAfterWrite()) {
+                client.refreshIndex(index);
+            }
+            restore(client);
+
+            int maxSegments = settings.getBatchWriteBulkLoadMaxSegments();
+            if (maxSegments > 0) {
+                try {
+                    client.forceMerge(index, maxSegments);
+                } catch (OpenSearchHadoopException ex) {
+                    // the merge keeps running on the cluster even if the request times out
+                    log.warn(String.format("Force-merge of index [%s] did not complete", index), ex);
+                }
+            }
+        } finally {
+            client.close();
+        }
+    }
+
+    public void abort() {
+        if (originals == null) {
+            return;
+        }
+
+        RestClient client = createClient();
+        try {
+            restore(client);
+        } catch (OpenSearchHadoopException ex) {
+            // don't mask the failure that caused the abort
+            log.error(String.format("Cannot restore the settings of index [%s]; restore %s manually", index, originals), ex);
+        } finally {
+            client.close();
+        }
+    }
+
+    private void restore(RestClient client) {
+        for (Entry<String, Map<String, Object>> entry : originals.entrySet()) {
+            client.updateIndexSettings(entry.getKey(), entry.getValue());
+        }
+        if (log.isInfoEnabled()) {
+            log.info(String.format("Restored settings of index [%s] to %s", index, originals));
+        }
+        originals = null;
+    }
+}
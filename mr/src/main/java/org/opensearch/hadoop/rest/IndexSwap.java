@@ -0,0 +1,201 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TimeZone;
+
+import org.apache.commons.logging.Log;
+import org.opensearch.hadoop.OpenSearchHadoopException;
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+
+/**
+ * Build-then-swap overwrite of a resource ({@link ConfigurationOptions#OPENSEARCH_WRITE_OVERWRITE_STRATEGY_SWAP}).
+ * Instead of deleting the existing documents and writing in place, {@link #begin()} creates a new (timestamped)
+ * staging index with the mappings and settings of the current one and bulk-loads it (no replicas, no refreshes);
+ * {@link #commit()} restores its settings, refreshes it and atomically points the resource (alias) at it while
+ * dropping the indices previously behind it. {@link #abort()} deletes the staging index, leaving the live data untouched.
+ *
+ * If the resource is a concrete index, it is replaced by an alias of the same name (in the same atomic operation).
+ */
+public class IndexSwap {
+
+    // index settings that are either managed by the cluster or would get in the way of the write
+    private static final String[] PRIVATE_SETTINGS = { "index.uuid", "index.creation_date", "index.provided_name",
+            "index.version.", "index.history.uuid", "index.resize.", "index.routing.allocation.initial_recovery.",
+            "index.blocks." };
+
+    private final Settings settings;
+    private final String alias;
+    private final Log log;
+
+    private String staging;
+    private List<String> live = Collections.emptyList();
+    private BulkLoad bulkLoad;
+
+    public IndexSwap(Settings settings, String alias, Log log) {
+        this.settings = settings;
+        this.alias = alias;
+        this.log = log;
+    }
+
+    protected RestClient createClient() {
+        return new RestClient(settings);
+    }
+
+    protected String stagingName() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyyMMddHHmmssSSS", Locale.ROOT);
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return alias + "_" + format.format(new Date());
+    }
+
+    /**
+     * Creates the staging index.
+     *
+     * @return the name of the index to write into
+     */
+    @SuppressWarnings("unchecked")
+    public String begin() {
+        if (alias.contains("{") || alias.contains(",") || alias.contains("*")) {
+            throw new OpenSearchHadoopIllegalArgumentException(String.format(
+                    "Overwrite strategy [%s] requires a single, static resource; [%s] is not",
+                    ConfigurationOptions.OPENSEARCH_WRITE_OVERWRITE_STRATEGY_SWAP, alias));
+        }
+
+        staging = stagingName();
+
+        RestClient client = createClient();
+        try {
+            Map<String, Object> definition = new LinkedHashMap<String, Object>();
+            if (client.indexExists(alias)) {
+                Map<String, Map<String, Object>> current = client.getIndexSettings(alias);
+                live = new ArrayList<String>(current.keySet());
+
+                if (!live.isEmpty()) {
+                    // copy the definition of the (first) index currently behind the resource
+                    String source = live.get(0);
+                    Map<String, Object> copied = new LinkedHashMap<String, Object>();
+                    for (Entry<String, Object> entry : current.get(source).entrySet()) {
+                        if (!isPrivate(entry.getKey())) {
+                            copied.put(entry.getKey(), entry.getValue());
+                        }
+                    }
+                    definition.put("settings", copied);
+
+                    Map<String, Object> mappings = client.get(source + "/_mapping", null);
+                    Map<String, Object> indexMappings = (Map<String, Object>) mappings.get(source);
+                    if (indexMappings != null && indexMappings.get("mappings") != null) {
+                        definition.put("mappings", indexMappings.get("mappings"));
+                    }
+                }
+            }
+
+            client.createIndex(staging, definition);
+        } finally {
+            client.close();
+        }
+
+        if (log.isInfoEnabled()) {
+            log.info(String.format("Overwriting [%s] through staging index [%s] (replacing %s)", alias, staging, live));
+        }
+
+        // write-only until the swap; the settings copied above are restored on commit
+        Settings bulkLoadSettings = settings.copy();
+        bulkLoadSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_BULK_LOAD_REPLICAS, "0");
+        bulkLoadSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_REFRESH, "true");
+        bulkLoad = createBulkLoad(bulkLoadSettings, staging);
+        try {
+            bulkLoad.begin();
+        } catch (RuntimeException ex) {
+            abort();
+            throw ex;
+        }
+        return staging;
+    }
+
+    protected BulkLoad createBulkLoad(Settings bulkLoadSettings, String index) {
+        return new BulkLoad(bulkLoadSettings, index, log);
+    }
+
+    private static boolean isPrivate(String setting) {
+        for (String prefix : PRIVATE_SETTINGS) {
+            if (setting.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Makes the staging index live.
+     */
+    public void commit() {
+        if (staging == null) {
+            return;
+        }
+
+        // restore the settings and refresh before exposing the index
+        bulkLoad.commit();
+
+        List<Map<String, Object>> actions = new ArrayList<Map<String, Object>>();
+        for (String index : live) {
+            // dropping the index removes it from the alias as well
+            actions.add(Collections.<String, Object>singletonMap("remove_index",
+                    Collections.singletonMap("index", index)));
+        }
+        Map<String, Object> add = new LinkedHashMap<String, Object>();
+        add.put("index", staging);
+        add.put("alias", alias);
+        actions.add(Collections.<String, Object>singletonMap("add", add));
+
+        RestClient client = createClient();
+        try {
+            client.updateAliases(actions);
+        } finally {
+            client.close();
+        }
+
+        if (log.isInfoEnabled()) {
+            log.info(String.format("Swapped [%s] to index [%s]; dropped %s", alias, staging, live));
+        }
+        staging = null;
+    }
+
+    /**
+     * Discards the staging index.
+     */
+    public void abort() {
+        if (staging == null) {
+            return;
+        }
+
+        RestClient client = createClient();
+        try {
+            client.delete(staging);
+        } catch (OpenSearchHadoopException ex) {
+            // don't mask the failure that caused the abort
+            log.error(String.format("Cannot delete staging index [%s]; remove it manually", staging), ex);
+        } finally {
+            client.close();
+        }
+        staging = null;
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.opensearch.hadoop.OpenSearchHadoopException;
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.serialization.dto.mapping.FieldParser;
+import org.opensearch.hadoop.serialization.dto.mapping.Mapping;
+import org.opensearch.hadoop.serialization.dto.mapping.MappingSet;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.ObjectMapper;
+import org.opensearch.hadoop.util.StringUtils;
+
+/**
+ * Cache of the mappings of the indices behind a read resource, shared by the whole JVM and optionally persisted to a
+ * directory so that it survives restarts. Mappings are kept per concrete index and uuid: resolving a resource only
+ * lists its indices and fetches, concurrently, the mappings of the ones not seen before (or expired), while a recreated
+ * index is treated as a new one. The combined mapping is kept as well for as long as the set of indices does not change.
+ * Mapping updates of an existing index are only picked up once its entry expires. Mappings are persisted as returned
+ * by OpenSearch and parsed again when loaded.
+ */
+class MappingCache {
+
+    private static final Log LOG = LogFactory.getLog(MappingCache.class);
+
+    private static final String SUFFIX = ".mapping";
+    // bounds the length of the request uri
+    private static final int INDICES_PER_REQUEST = 100;
+    private static final int MAX_RESOLVED = 16;
+    private static final ConcurrentMap<String, MappingCache> CACHES = new ConcurrentHashMap<String, MappingCache>();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    // shared by all the caches, its idle threads going away on their own
+    private static final ExecutorService FETCHERS = Executors.newCachedThreadPool(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "opensearch-mapping-fetch");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final File dir;
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<String, Entry>();
+    // combined mappings of the most recently used index sets
+    private final Map<String, MappingSet> resolved = new LinkedHashMap<String, MappingSet>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, MappingSet> eldest) {
+            return size() > MAX_RESOLVED;
+        }
+    };
+
+    private static class Entry {
+        private final Mapping mapping;
+        private final long created;
+
+        private Entry(Mapping mapping, long created) {
+            this.mapping = mapping;
+            this.created = created;
+        }
+    }
+
+    MappingCache(File dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Returns the cache configured by the given settings or null if caching is disabled.
+     */
+    static MappingCache get(Settings settings) {
+        if (!settings.getReadMappingCacheEnabled()) {
+            return null;
+        }
+        String dir = settings.getReadMappingCacheDir();
+        String id = (StringUtils.hasText(dir) ? dir : "");
+        MappingCache cache = CACHES.get(id);
+        if (cache == null) {
+            cache = new MappingCache(StringUtils.hasText(dir) ? new File(dir) : null);
+            MappingCache existing = CACHES.putIfAbsent(id, cache);
+            if (existing != null) {
+                cache = existing;
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the mappings of the indices behind the given (typeless) resource or null if there are none.
+     */
+    MappingSet getMappings(Settings settings, RestClient client, Resource resource) {
+        long ttl = settings.getReadMappingCacheTtl();
+        Map<String, String> uuids = client.indexUuids(resource.index());
+        if (uuids.isEmpty()) {
+            return null;
+        }
+
+        long now = System.currentTimeMillis();
+        Map<String, Mapping> mappings = new TreeMap<String, Mapping>();
+        List<String> missing = new ArrayList<String>();
+        for (Map.Entry<String, String> index : uuids.entrySet()) {
+            Mapping mapping = lookup(index.getKey(), index.getValue(), now, ttl);
+            if (mapping != null) {
+                mappings.put(index.getKey(), mapping);
+            } else {
+                missing.add(index.getKey());
+            }
+        }
+
+        String key = ScanCache.key(resource.index(), uuids.toString());
+        if (missing.isEmpty()) {
+            synchronized (resolved) {
+                MappingSet mappingSet = resolved.get(key);
+                if (mappingSet != null) {
+                    return mappingSet;
+                }
+            }
+        } else {
+            Map<String, Object> fetched = fetch(settings, client, missing);
+            for (Map.Entry<String, Object> mapping : fetched.entrySet()) {
+                String index = mapping.getKey();
+                Mapping parsed = store(index, uuids.get(index), mapping.getValue(), now);
+                if (parsed != null) {
+                    mappings.put(index, parsed);
+                }
+            }
+            prune(now, ttl);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(String.format("Fetched the mappings of [%d] out of [%d] indices of [%s]", fetched.size(),
+                        uuids.size(), resource));
+            }
+        }
+
+        if (mappings.isEmpty()) {
+            // the indices were all deleted in the meantime
+            return null;
+        }
+        MappingSet mappingSet = new MappingSet(new ArrayList<Mapping>(mappings.values()));
+        synchronized (resolved) {
+            resolved.put(key, mappingSet);
+        }
+        return mappingSet;
+    }
+
+    private Mapping lookup(String index, String uuid, long now, long ttl) {
+        Entry entry = entries.get(index + "/" + uuid);
+        if (entry == null && dir != null) {
+            entry = load(index, uuid);
+            if (entry != null) {
+                entries.put(index + "/" + uuid, entry);
+            }
+        }
+        return (entry != null && now - entry.created <= ttl ? entry.mapping : null);
+    }
+
+    /**
+     * Returns the raw mapping of each of the given indices still around.
+     */
+    private Map<String, Object> fetch(final Settings settings, final RestClient client, List<String> indices) {
+        int concurrency = settings.getReadMappingCacheConcurrency();
+        if (concurrency < 1) {
+            throw new OpenSearchHadoopIllegalArgumentException(String.format("Invalid mapping fetch concurrency [%d]; check [%s]",
+                    concurrency, ConfigurationOptions.OPENSEARCH_READ_MAPPING_CACHE_CONCURRENCY));
+        }
+
+        // spread the indices evenly across the requests
+        int perRequest = Math.min(INDICES_PER_REQUEST, (indices.size() + concurrency - 1) / concurrency);
+        final List<List<String>> requests = new ArrayList<List<String>>();
+        for (int i = 0; i < indices.size(); i += perRequest) {
+            requests.add(indices.subList(i, Math.min(i + perRequest, indices.size())));
+        }
+
+        final Map<String, Object> fetched = new ConcurrentHashMap<String, Object>();
+        final int workers = Math.min(concurrency, requests.size());
+        if (workers == 1) {
+            fetch(client, requests, 0, workers, fetched);
+            return fetched;
+        }
+
+        List<Future<Void>> pending = new ArrayList<Future<Void>>();
+        try {
+            for (int i = 1; i < workers; i++) {
+                final int worker = i;
+                pending.add(FETCHERS.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() {
+                        RestClient workerClient = newClient(settings);
+                        try {
+                            fetch(workerClient, requests, worker, workers, fetched);
+                        } finally {
+                            workerClient.close();
+                        }
+                        return null;
+                    }
+                }));
+            }
+            // the calling thread takes its share as well
+            fetch(client, requests, 0, workers, fetched);
+            for (Future<Void> future : pending) {
+                future.get();
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new OpenSearchHadoopException("Cannot fetch mappings", ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new OpenSearchHadoopException("Interrupted while fetching mappings", ex);
+        } finally {
+            // the remaining requests are of no use once one failed
+            for (Future<Void> future : pending) {
+                future.cancel(true);
+            }
+        }
+        return fetched;
+    }
+
+    private void fetch(RestClient client, List<List<String>> requests, int worker, int workers, Map<String, Object> fetched) {
+        for (int i = worker; i < requests.size(); i += workers) {
+            List<String> indices = requests.get(i);
+            Map<String, Object> mappings = client.get(StringUtils.concatenate(indices, ",") + "/_mapping?ignore_unavailable=true", null);
+            if (mappings == null) {
+                continue;
+            }
+            for (String index : indices) {
+                Object mapping = mappings.get(index);
+                // missing if deleted since listed
+                if (mapping != null) {
+                    fetched.put(index, mapping);
+                }
+            }
+        }
+    }
+
+    private static Mapping parse(String index, Object raw) {
+        MappingSet mappings = FieldParser.parseTypelessMappings(Collections.singletonMap(index, raw));
+        return mappings.getMapping(index, MappingSet.TYPELESS_MAPPING_NAME);
+    }
+
+    RestClient newClient(Settings settings) {
+        return new RestClient(settings);
+    }
+
+    private Mapping store(String index, String uuid, Object raw, long now) {
+        Mapping mapping = parse(index, raw);
+        entries.put(index + "/" + uuid, new Entry(mapping, now));
+        if (dir == null || mapping == null) {
+            return mapping;
+        }
+        File tmp = null;
+        try {
+            ScanCache.createPrivateDir(dir);
+            String key = ScanCache.key(index, uuid);
+            tmp = Files.createTempFile(dir.toPath(), "." + key + "-", ".tmp").toFile();
+            MAPPER.writeValue(tmp, raw);
+            File file = new File(dir, key + SUFFIX);
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            file.setLastModified(now);
+        } catch (IOException ex) {
+            LOG.warn(String.format("Cannot cache the mapping of [%s] under [%s]", index, dir), ex);
+            if (tmp != null) {
+                tmp.delete();
+            }
+        }
+        return mapping;
+    }
+
+    private Entry load(String index, String uuid) {
+        File file = new File(dir, ScanCache.key(index, uuid) + SUFFIX);
+        if (!file.isFile() || !ScanCache.isPrivate(dir)) {
+            return null;
+        }
+        try {
+            return new Entry(parse(index, MAPPER.readValue(file, Object.class)), file.lastModified());
+        } catch (IOException ex) {
+            // stored by an incompatible version
+            file.delete();
+            return null;
+        } catch (OpenSearchHadoopException ex) {
+            file.delete();
+            return null;
+        }
+    }
+
+    /**
+     * Drops the expired entries, typically belonging to indices deleted since.
+     */
+    private void prune(long now, long ttl) {
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            if (now - it.next().created > ttl) {
+                it.remove();
+            }
+        }
+        if (dir == null) {
+            return;
+        }
+        File[] files = dir.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.getName().endsWith(SUFFIX);
+            }
+        });
+        if (files != null) {
+            for (File file : files) {
+                if (now - file.lastModified() > ttl) {
+                    file.delete();
+                }
+            }
+        }
+    }
+}
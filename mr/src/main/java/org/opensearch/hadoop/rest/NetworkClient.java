@@ -31,9 +31,11 @@ package org.opensearch.hadoop.rest;
 import java.io.Closeable;
 import java.net.BindException;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -56,6 +58,8 @@ public class NetworkClient implements StatsAware, Closeable {
     private final SecureSettings secureSettings;
     private final List<String> nodes;
     private final Map<String, Throwable> failedNodes = new LinkedHashMap<String, Throwable>();
+    // null unless health-scored selection is enabled
+    private final NodeHealth health;
 
     private TransportFactory transportFactory;
     private Transport currentTransport;
@@ -64,6 +68,21 @@ public class NetworkClient implements StatsAware, Closeable {
 
     private final Stats stats = new Stats();
 
+    /**
+     * Notified around every attempt of a request, including the ones retried on other nodes.
+     */
+    public interface AttemptListener {
+        /**
+         * Invoked (and allowed to block) right before the request is sent to the given node.
+         */
+        void beforeAttempt(String node);
+
+        /**
+         * Invoked once the attempt against the given node completes, successfully or not.
+         */
+        void afterAttempt(String node);
+    }
+
     public NetworkClient(Settings settings) {
         this(settings, (!SettingsUtils.hasJobTransportPoolingKey(settings) ? new CommonsHttpTransportFactory() : PooledTransportManager.getTransportFactory(settings)));
     }
@@ -73,6 +92,11 @@ public class NetworkClient implements StatsAware, Closeable {
         this.secureSettings = new SecureSettings(settings);
         this.nodes = SettingsUtils.discoveredOrDeclaredNodes(settings);
         this.transportFactory = transportFactory;
+        if (settings.getNodesHealth()) {
+            this.health = new NodeHealth(settings);
+        } else {
+            this.health = null;
+        }
 
         // shuffle the list of nodes so in case of failures, the fallback is spread
         Collections.shuffle(nodes);
@@ -89,45 +113,104 @@ public class NetworkClient implements StatsAware, Closeable {
             nodes.add(0, pinnedNode);
         }
 
-        selectNextNode();
+        if (health != null && !nodes.isEmpty()) {
+            // the first (pinned or shuffled) node is used unless it is known to be failing
+            if (health.allows(nodes.get(0), System.nanoTime()) || !selectHealthiestNode(Collections.<String>emptySet(), false)) {
+                selectNode(nodes.get(0), false);
+            }
+        } else {
+            selectNextNode();
+        }
 
         Assert.notNull(currentTransport, "no node information provided");
     }
 
-    private boolean selectNextNode() {
-        if (nextClient >= nodes.size()) {
-            return false;
-        }
-
-        if (currentTransport != null) {
+    /**
+     * @param retry whether the node is selected to retry a failed request (as opposed to moving away proactively)
+     */
+    private boolean selectNode(String node, boolean retry) {
+        if (retry && currentTransport != null) {
             stats.nodeRetries++;
         }
 
         closeTransport();
-        currentNode = nodes.get(nextClient++);
+        currentNode = node;
         SettingsUtils.pinNode(settings, currentNode);
         currentTransport = transportFactory.create(settings, secureSettings, currentNode);
         return true;
     }
 
+    /**
+     * Moves to the available node with the best health score, skipping the given ones.
+     */
+    private boolean selectHealthiestNode(Set<String> excluded, boolean retry) {
+        String node = health.select(nodes, excluded, System.nanoTime());
+        if (node == null) {
+            return false;
+        }
+        return selectNode(node, retry);
+    }
+
+    private boolean selectNextNode() {
+        if (nextClient >= nodes.size()) {
+            return false;
+        }
+
+        return selectNode(nodes.get(nextClient++), true);
+    }
+
     public Response execute(Request request) {
         return execute(request, true);
     }
 
     public Response execute(Request request, boolean retry) {
+        return execute(request, retry, null);
+    }
+
+    public Response execute(Request request, boolean retry, AttemptListener listener) {
         Response response = null;
 
+        // nodes failing this request
+        Set<String> tried = (health != null ? new HashSet<String>() : null);
+        if (health != null) {
+            // move away from a node known to be failing (possibly by other tasks) or much slower than the others
+            long now = System.nanoTime();
+            if (!health.allows(currentNode, now) || health.isSlow(currentNode, nodes)) {
+                String node = health.select(nodes, Collections.singleton(currentNode), now);
+                if (node != null) {
+                    if (log.isDebugEnabled()) {
+                        log.debug(String.format("Moving from node [%s] to healthier node [%s]", currentNode, node));
+                    }
+                    selectNode(node, false);
+                }
+            }
+        }
+
         boolean newNode;
         do {
             SimpleRequest routedRequest = new SimpleRequest(request.method(), null, request.path(), request.params(), request.body());
 
             newNode = false;
+            String node = currentNode;
+            if (listener != null) {
+                listener.beforeAttempt(node);
+            }
+            long start = System.nanoTime();
+            // the probe of a recovering node is only reserved for requests actually sent
+            boolean probe = (health != null && health.reserveProbe(node, start));
             try {
                 response = currentTransport.execute(routedRequest);
                 ByteSequence body = routedRequest.body();
                 if (body != null) {
                     stats.bytesSent += body.length();
                 }
+                if (health != null) {
+                    if (response.isServerError()) {
+                        health.onFailure(currentNode, System.nanoTime());
+                    } else {
+                        health.onSuccess(currentNode, System.nanoTime() - start);
+                    }
+                }
             } catch (Exception ex) {
                 // configuration error - including SSL/PKI - bail out
                 if (ex instanceof OpenSearchHadoopIllegalStateException) {
@@ -153,7 +236,13 @@ public class NetworkClient implements StatsAware, Closeable {
 
                 failedNodes.put(failed, ex);
 
-                newNode = selectNextNode();
+                if (health != null) {
+                    health.onFailure(failed, System.nanoTime());
+                    tried.add(failed);
+                    newNode = selectHealthiestNode(tried, true);
+                } else {
+                    newNode = selectNextNode();
+                }
 
                 if (retry == false) {
                     String message =
@@ -169,6 +258,13 @@ public class NetworkClient implements StatsAware, Closeable {
                 if (!newNode) {
                     throw new OpenSearchHadoopNoNodesLeftException(failedNodes);
                 }
+            } finally {
+                if (probe) {
+                    health.releaseProbe(node);
+                }
+                if (listener != null) {
+                    listener.afterAttempt(node);
+                }
             }
         } while (newNode);
 
@@ -0,0 +1,233 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.opensearch.hadoop.cfg.Settings;
+
+/**
+ * Tracks the health of the nodes used by {@link NetworkClient}s: an exponentially weighted moving average of the
+ * latency and of the error rate per node, plus a circuit breaker. A node failing repeatedly is taken out of rotation
+ * (open circuit) for a cool-down period, after which a single request is let through (half-open) - its outcome
+ * either re-admits the node or opens the circuit again.
+ *
+ * The state of the nodes is kept per JVM, so the single probe (and everything else) holds across all the clients
+ * (and jobs) of an executor; the thresholds are those of the instance recording the outcome. Instances are thread-safe.
+ */
+public class NodeHealth {
+
+    private static final Log LOG = LogFactory.getLog(NodeHealth.class);
+
+    // weight of the latest sample
+    private static final double ALPHA = 0.3;
+    // penalty applied to the latency for the error rate
+    private static final double ERROR_PENALTY = 10;
+
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static class Node {
+        // in millis, negative until the first sample
+        double latency = -1;
+        double errorRate = 0;
+        int consecutiveFailures = 0;
+        State state = State.CLOSED;
+        long openedAt;
+        boolean probing = false;
+    }
+
+    private final int failureThreshold;
+    private final long cooldown;
+    private final double slowFactor;
+    // guarded by itself
+    private final Map<String, Node> nodes;
+
+    // nodes of the JVM, by address
+    private static final Map<String, Node> NODES = new HashMap<String, Node>();
+
+    public NodeHealth(Settings settings) {
+        this(settings.getNodesHealthFailures(), settings.getNodesHealthCooldown(), settings.getNodesHealthSlowFactor(), NODES);
+    }
+
+    // tracks its nodes on its own
+    NodeHealth(int failureThreshold, long cooldownMillis, double slowFactor) {
+        this(failureThreshold, cooldownMillis, slowFactor, new HashMap<String, Node>());
+    }
+
+    private NodeHealth(int failureThreshold, long cooldownMillis, double slowFactor, Map<String, Node> nodes) {
+        this.nodes = nodes;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.cooldown = TimeUnit.MILLISECONDS.toNanos(cooldownMillis);
+        this.slowFactor = slowFactor;
+    }
+
+    private Node node(String address) {
+        Node node = nodes.get(address);
+        if (node == null) {
+            node = new Node();
+            nodes.put(address, node);
+        }
+        return node;
+    }
+
+    private boolean isAvailable(Node node, long now) {
+        switch (node.state) {
+        case OPEN:
+            return now - node.openedAt >= cooldown;
+        case HALF_OPEN:
+            return !node.probing;
+        default:
+            return true;
+        }
+    }
+
+    private static double score(Node node) {
+        // nodes without samples come first so they get a chance
+        return (node.latency < 0 ? 0 : node.latency * (1 + ERROR_PENALTY * node.errorRate));
+    }
+
+    /**
+     * Checks whether a request can be sent to the given node. Nothing is reserved; see {@link #reserveProbe(String, long)}.
+     */
+    public boolean allows(String address, long now) {
+        synchronized (nodes) {
+            return isAvailable(node(address), now);
+        }
+    }
+
+    /**
+     * Returns the available node with the best score (ties going to the earliest in the list) or null if none is
+     * available.
+     */
+    public String select(List<String> candidates, Collection<String> excluded, long now) {
+        synchronized (nodes) {
+            String best = null;
+            double bestScore = Double.MAX_VALUE;
+            for (String candidate : candidates) {
+                if (excluded.contains(candidate)) {
+                    continue;
+                }
+                Node node = node(candidate);
+                if (isAvailable(node, now)) {
+                    double score = score(node);
+                    if (score < bestScore) {
+                        best = candidate;
+                        bestScore = score;
+                    }
+                }
+            }
+            return best;
+        }
+    }
+
+    /**
+     * To be called right before sending a request to the given node. If the circuit of the node is not closed, the
+     * request becomes its (single) probe, which {@link #releaseProbe(String)} must hand back once the request
+     * completes, whatever the outcome.
+     *
+     * @return whether the request is the probe of the node
+     */
+    public boolean reserveProbe(String address, long now) {
+        synchronized (nodes) {
+            Node node = node(address);
+            if (node.state == State.CLOSED || !isAvailable(node, now)) {
+                // closed or, in case of a race, already being probed
+                return false;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(String.format("Probing node [%s]", address));
+            }
+            node.state = State.HALF_OPEN;
+            node.probing = true;
+            return true;
+        }
+    }
+
+    /**
+     * Hands back the probe reserved by {@link #reserveProbe(String, long)}, unless its outcome was already recorded
+     * (through {@link #onSuccess(String, long)} or {@link #onFailure(String, long)}), so that another request can
+     * probe the node instead.
+     */
+    public void releaseProbe(String address) {
+        synchronized (nodes) {
+            Node node = node(address);
+            if (node.state == State.HALF_OPEN && node.probing) {
+                node.probing = false;
+            }
+        }
+    }
+
+    /**
+     * Whether the given node is much slower than the fastest healthy node.
+     */
+    public boolean isSlow(String address, Collection<String> candidates) {
+        synchronized (nodes) {
+            Node node = nodes.get(address);
+            if (slowFactor <= 0 || node == null || node.latency < 0) {
+                return false;
+            }
+            for (String candidate : candidates) {
+                Node other = nodes.get(candidate);
+                if (other != null && other != node && other.state == State.CLOSED && other.latency >= 0
+                        && node.latency > slowFactor * other.latency) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    public void onSuccess(String address, long latencyNanos) {
+        synchronized (nodes) {
+            Node node = node(address);
+            double latency = latencyNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+            node.latency = (node.latency < 0 ? latency : ALPHA * latency + (1 - ALPHA) * node.latency);
+            node.errorRate = (1 - ALPHA) * node.errorRate;
+            node.consecutiveFailures = 0;
+            if (node.state != State.CLOSED && LOG.isDebugEnabled()) {
+                LOG.debug(String.format("Node [%s] recovered", address));
+            }
+            node.state = State.CLOSED;
+            node.probing = false;
+        }
+    }
+
+    public void onFailure(String address, long now) {
+        synchronized (nodes) {
+            Node node = node(address);
+            node.errorRate = ALPHA + (1 - ALPHA) * node.errorRate;
+            node.consecutiveFailures++;
+            if (node.state == State.HALF_OPEN || node.consecutiveFailures >= failureThreshold) {
+                if (node.state != State.OPEN) {
+                    LOG.warn(String.format("Node [%s] failed [%s] time(s) in a row; taking it out of rotation for [%s] ms",
+                            address, node.consecutiveFailures, TimeUnit.NANOSECONDS.toMillis(cooldown)));
+                }
+                node.state = State.OPEN;
+                node.openedAt = now;
+                node.probing = false;
+            }
+        }
+    }
+
+    State state(String address) {
+        synchronized (nodes) {
+            return node(address).state;
+        }
+    }
+}
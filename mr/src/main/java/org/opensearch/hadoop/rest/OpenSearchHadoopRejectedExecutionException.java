@@ -0,0 +1,22 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+/**
+ * Exception caused by OpenSearch turning down a request as a whole (429 - Too Many Requests), typically because the
+ * queue of the node handling it is full. Unlike other invalid requests, it can be retried once the cluster catches up.
+ */
+public class OpenSearchHadoopRejectedExecutionException extends OpenSearchHadoopInvalidRequest {
+
+    public OpenSearchHadoopRejectedExecutionException(String message) {
+        super(message);
+    }
+}
@@ -199,6 +199,13 @@ public class PartitionDefinition implements Serializable, Comparable<PartitionDe
         return serializedSettings != null ? settings.load(serializedSettings) : settings;
     }
 
+    /**
+     * Returns the same partition, read with the given settings.
+     */
+    public PartitionDefinition withSettings(Settings settings) {
+        return new PartitionDefinition(settings.save(), serializedMapping, index, shardId, slice, locations);
+    }
+
     @Override
     public int compareTo(PartitionDefinition o) {
         int cmp = index.compareTo(o.index);
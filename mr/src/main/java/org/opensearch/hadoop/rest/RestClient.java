@@ -40,14 +40,11 @@ import org.opensearch.hadoop.rest.query.QueryBuilder;
 import org.opensearch.hadoop.rest.stats.Stats;
 import org.opensearch.hadoop.rest.stats.StatsAware;
 import org.opensearch.hadoop.security.OpenSearchToken;
-import org.opensearch.hadoop.serialization.ParsingUtils;
+import org.opensearch.hadoop.serialization.OpenSearchHadoopSerializationException;
 import org.opensearch.hadoop.serialization.dto.NodeInfo;
 import org.opensearch.hadoop.serialization.dto.mapping.FieldParser;
 import org.opensearch.hadoop.serialization.dto.mapping.MappingSet;
 import org.opensearch.hadoop.serialization.json.JacksonJsonGenerator;
-import org.opensearch.hadoop.serialization.json.JacksonJsonParser;
-import org.opensearch.hadoop.serialization.json.JsonFactory;
-import org.opensearch.hadoop.serialization.json.ObjectReader;
 import org.opensearch.hadoop.util.OpenSearchMajorVersion;
 import org.opensearch.hadoop.thirdparty.codehaus.jackson.JsonParser;
 import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.DeserializationConfig;
@@ -73,10 +70,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 
 import static org.opensearch.hadoop.rest.Request.Method.DELETE;
 import static org.opensearch.hadoop.rest.Request.Method.GET;
@@ -92,6 +91,8 @@ public class RestClient implements Closeable, StatsAware {
     private final ObjectMapper mapper;
     private final TimeValue scrollKeepAlive;
     private final boolean indexReadMissingAsEmpty;
+    // whether bulk requests turned down as a whole are reported as such, to be retried once the writers back off
+    private final boolean bulkRejectionsRetried;
     private final HttpRetryPolicy retryPolicy;
     final ClusterInfo clusterInfo;
     private final ErrorExtractor errorExtractor;
@@ -116,6 +117,7 @@ public class RestClient implements Closeable, StatsAware {
         this.network = networkClient;
         this.scrollKeepAlive = TimeValue.timeValueMillis(settings.getScrollKeepAlive());
         this.indexReadMissingAsEmpty = settings.getIndexReadMissingAsEmpty();
+        this.bulkRejectionsRetried = settings.getBatchWriteBackoff();
 
         String retryPolicyName = settings.getBatchWriteRetryPolicy();
 
@@ -200,11 +202,17 @@ public class RestClient implements Closeable, StatsAware {
 
     public static class BulkActionResponse {
         private Iterator<Map> entries;
+        private boolean errors;
         private long timeSpent;
         private int responseCode;
 
         public BulkActionResponse(Iterator<Map> entries, int responseCode, long timeSpent) {
+            this(entries, true, responseCode, timeSpent);
+        }
+
+        public BulkActionResponse(Iterator<Map> entries, boolean errors, int responseCode, long timeSpent) {
             this.entries = entries;
+            this.errors = errors;
             this.timeSpent = timeSpent;
             this.responseCode = responseCode;
         }
@@ -213,6 +221,14 @@ public class RestClient implements Closeable, StatsAware {
             return entries;
         }
 
+        /**
+         * @return false if the response indicated that all the items succeeded, in which case the entries are not
+         *         read and the iterator is empty.
+         */
+        public boolean hasErrors() {
+            return errors;
+        }
+
         public long getTimeSpent() {
             return timeSpent;
         }
@@ -236,9 +252,20 @@ public class RestClient implements Closeable, StatsAware {
      *         documents that should be retried.
      */
     public BulkActionResponse bulk(Resource resource, TrackingBytesArray data) {
+        return bulk(resource, data, null);
+    }
+
+    /**
+     * Sends the given bulk request, notifying the given listener (if any) around every attempt.
+     *
+     * @throws OpenSearchHadoopRejectedExecutionException if the cluster turned down the request as a whole (and the
+     * writers back off on rejections, {@link org.opensearch.hadoop.cfg.ConfigurationOptions#OPENSEARCH_BATCH_WRITE_BACKOFF})
+     */
+    public BulkActionResponse bulk(Resource resource, TrackingBytesArray data, NetworkClient.AttemptListener listener) {
+        Request request = new SimpleRequest(PUT, null, resource.bulk(), null, data);
         // NB: dynamically get the stats since the transport can change
         long start = network.transportStats().netTotalTime;
-        Response response = execute(PUT, resource.bulk(), data);
+        Response response = network.execute(request, true, listener);
         long spent = network.transportStats().netTotalTime - start;
 
         stats.bulkTotal++;
@@ -246,22 +273,16 @@ public class RestClient implements Closeable, StatsAware {
         stats.bulkTotalTime += spent;
         // bytes will be counted by the transport layer
 
-        return new BulkActionResponse(parseBulkActionResponse(response), response.status(), spent);
+        checkResponse(request, response, bulkRejectionsRetried);
+        return parseBulkActionResponse(response, spent);
     }
 
-    @SuppressWarnings("rawtypes")
-    Iterator<Map> parseBulkActionResponse(Response response) {
+    BulkActionResponse parseBulkActionResponse(Response response, long spent) {
         InputStream content = response.body();
         // Check for failed writes
         try {
-            ObjectReader r = JsonFactory.objectReader(mapper, Map.class);
-            JsonParser parser = mapper.getJsonFactory().createJsonParser(content);
             try {
-                if (ParsingUtils.seek(new JacksonJsonParser(parser), "items") == null) {
-                    return Collections.<Map>emptyList().iterator();
-                } else {
-                    return r.readValues(parser);
-                }
+                return new BulkActionResponseParser(mapper).parse(content, response.status(), spent);
             } finally {
                 countStreamStats(content);
             }
@@ -289,6 +310,68 @@ public class RestClient implements Closeable, StatsAware {
         execute(POST, resource.refresh());
     }
 
+    public void refreshIndex(String index) {
+        execute(POST, index + "/_refresh");
+    }
+
+    /**
+     * Returns the (flat) settings of the given index, alias or pattern, per concrete index.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Map<String, Object>> getIndexSettings(String index) {
+        Map<String, Object> response = get(index + "/_settings?flat_settings=true", null);
+        Map<String, Map<String, Object>> settings = new LinkedHashMap<String, Map<String, Object>>();
+        for (Entry<String, Object> entry : response.entrySet()) {
+            Map<String, Object> indexSettings = (Map<String, Object>) ((Map<String, Object>) entry.getValue()).get("settings");
+            settings.put(entry.getKey(), (indexSettings != null ? indexSettings : Collections.<String, Object>emptyMap()));
+        }
+        return settings;
+    }
+
+    /**
+     * Updates the dynamic settings of the given index. Settings with a null value are reset to their default.
+     */
+    public void updateIndexSettings(String index, Map<String, Object> settings) {
+        execute(PUT, index + "/_settings", toJson(settings));
+    }
+
+    /**
+     * Creates the given index with the given definition (settings, mappings).
+     */
+    public void createIndex(String index, Map<String, Object> definition) {
+        execute(PUT, index, toJson(definition));
+    }
+
+    /**
+     * Applies the given alias actions atomically.
+     */
+    public void updateAliases(List<Map<String, Object>> actions) {
+        execute(POST, "_aliases", toJson(Collections.singletonMap("actions", actions)));
+    }
+
+    /**
+     * Fetches the given documents (identified through their _index, _id and routing) in one request.
+     * The returned entries follow the order of the requested documents.
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> multiGet(List<Map<String, Object>> docs, boolean source) {
+        Response response = execute(POST, "_mget", (source ? null : "_source=false"),
+                toJson(Collections.singletonMap("docs", docs)));
+        return (List<Map<String, Object>>) parseContent(response.body(), "docs");
+    }
+
+    private BytesArray toJson(Object value) {
+        try {
+            return new BytesArray(mapper.writeValueAsBytes(value));
+        } catch (IOException ex) {
+            throw new OpenSearchHadoopSerializationException(ex);
+        }
+    }
+
+    public void forceMerge(String index, int maxSegments) {
+        execute(POST, index + "/_forcemerge?max_num_segments=" + maxSegments);
+    }
+
     public List<List<Map<String, Object>>> targetShards(String index, String routing) {
         List<List<Map<String, Object>>> shardsJson = null;
 
@@ -452,7 +535,12 @@ public class RestClient implements Closeable, StatsAware {
     }
 
     private void checkResponse(Request request, Response response) {
+        checkResponse(request, response, false);
+    }
+
+    private void checkResponse(Request request, Response response, boolean typeRejections) {
         if (response.hasFailed()) {
+            boolean rejected = (response.status() == HttpStatus.TOO_MANY_REQUESTS);
             // check error first
             String msg = null;
             // try to parse the answer
@@ -460,7 +548,10 @@ public class RestClient implements Closeable, StatsAware {
                 OpenSearchHadoopException ex = errorExtractor
                         .extractError(this.<Map>parseContent(response.body(), null));
                 msg = (ex != null) ? ex.toString() : null;
-                if (response.isClientError()) {
+                // rejections reported with a different status still carry the exception type
+                rejected |= isRejection(ex);
+                // no need to dump the request when it is going to be sent again
+                if (response.isClientError() && !(typeRejections && rejected)) {
                     msg = msg + "\n" + request.body();
                 }
             } catch (Exception ex) {
@@ -473,10 +564,23 @@ public class RestClient implements Closeable, StatsAware {
                         IOUtils.asStringAlways(response.body()));
             }
 
+            if (typeRejections && rejected) {
+                throw new OpenSearchHadoopRejectedExecutionException(msg);
+            }
             throw new OpenSearchHadoopInvalidRequest(msg);
         }
     }
 
+    private static boolean isRejection(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof OpenSearchHadoopRemoteException
+                    && "rejected_execution_exception".equals(((OpenSearchHadoopRemoteException) cause).getType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public InputStream scroll(String scrollId) {
         // NB: dynamically get the stats since the transport can change
         long start = network.transportStats().netTotalTime;
@@ -570,8 +674,35 @@ public class RestClient implements Closeable, StatsAware {
             uri.append(shardId);
         }
         Response response = execute(GET, uri.toString(), searchRequest(query));
-        Map<String, Object> content = parseContent(response.body(), "hits");
+        return totalHits(parseContent(response.body(), "hits"), true);
+    }
+
+    /**
+     * Counts the documents matching the query, as seen through the given preference and routing (if any). A positive
+     * {@code terminateAfter} stops counting the documents of each shard once it reaches that many, which is enough
+     * to tell whether there are any or to bound the count.
+     */
+    public long count(String index, String preference, String routing, QueryBuilder query, long terminateAfter) {
+        StringBuilder uri = new StringBuilder(index);
+        uri.append("/_search?size=0&track_total_hits=true");
+        if (terminateAfter > 0) {
+            uri.append("&terminate_after=");
+            uri.append(terminateAfter);
+        }
+        if (StringUtils.hasText(preference)) {
+            uri.append("&preference=");
+            uri.append(HttpEncodingTools.encode(preference));
+        }
+        if (routing != null) {
+            uri.append("&routing=");
+            uri.append(HttpEncodingTools.encode(routing));
+        }
+        Response response = execute(GET, uri.toString(), searchRequest(query));
+        return totalHits(parseContent(response.body(), "hits"), terminateAfter <= 0);
+    }
 
+    @SuppressWarnings("unchecked")
+    private long totalHits(Map<String, Object> content, boolean exact) {
         long finalCount;
         Object total = content.get("total");
         if (total instanceof Number) {
@@ -582,7 +713,7 @@ public class RestClient implements Closeable, StatsAware {
             String relation = (String) totalObject.get("relation");
             Number count = (Number) totalObject.get("value");
             if (count != null) {
-                if (!"eq".equals(relation)) {
+                if (exact && !"eq".equals(relation)) {
                     throw new OpenSearchHadoopParsingException(
                             "Count operation returned non-exact count of [" + relation + "][" + count + "]");
                 }
@@ -596,6 +727,142 @@ public class RestClient implements Closeable, StatsAware {
         return finalCount;
     }
 
+    /**
+     * Returns the values of the given field for the first {@code size} documents of the shard matching the query,
+     * sorted on the field and following {@code searchAfter} (if any).
+     */
+    @SuppressWarnings("unchecked")
+    public List<Object> sortValues(String index, String shardId, QueryBuilder query, String field, boolean ascending,
+                                   Number searchAfter, int size) {
+        StringBuilder uri = new StringBuilder(index);
+        uri.append("/_search?filter_path=hits.hits.sort");
+        if (StringUtils.hasLength(shardId)) {
+            uri.append("&preference=_shards:");
+            uri.append(shardId);
+        }
+
+        FastByteArrayOutputStream out = new FastByteArrayOutputStream(256);
+        JacksonJsonGenerator generator = new JacksonJsonGenerator(out);
+        try {
+            generator.writeBeginObject();
+            generator.writeFieldName("size").writeNumber(size);
+            generator.writeFieldName("_source").writeBoolean(false);
+            generator.writeFieldName("sort").writeBeginArray().writeBeginObject();
+            generator.writeFieldName(field).writeBeginObject();
+            generator.writeFieldName("order").writeString(ascending ? "asc" : "desc");
+            generator.writeEndObject().writeEndObject().writeEndArray();
+            if (searchAfter != null) {
+                generator.writeFieldName("search_after").writeBeginArray();
+                if (searchAfter instanceof Double || searchAfter instanceof Float) {
+                    generator.writeNumber(searchAfter.doubleValue());
+                } else {
+                    generator.writeNumber(searchAfter.longValue());
+                }
+                generator.writeEndArray();
+            }
+            generator.writeFieldName("query").writeBeginObject();
+            query.toJson(generator);
+            generator.writeEndObject();
+            generator.writeEndObject();
+        } finally {
+            generator.close();
+        }
+
+        Map<String, Object> hits = parseContent(execute(GET, uri.toString(), out.bytes()).body(), "hits");
+        List<Object> values = new ArrayList<Object>();
+        if (hits != null && hits.get("hits") != null) {
+            for (Map<String, Object> hit : (List<Map<String, Object>>) hits.get("hits")) {
+                List<Object> sort = (List<Object>) hit.get("sort");
+                values.add(sort != null && !sort.isEmpty() ? sort.get(0) : null);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Returns the uuid of each concrete index matching the given index expression, sorted by index name.
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, String> indexUuids(String index) {
+        Map<String, Object> response = get(index + "/_settings/index.uuid?flat_settings=true"
+                + (indexReadMissingAsEmpty ? "&ignore_unavailable=true" : ""), null);
+        Map<String, String> uuids = new TreeMap<String, String>();
+        for (Entry<String, Object> entry : response.entrySet()) {
+            Map<String, Object> settings = (Map<String, Object>) ((Map<String, Object>) entry.getValue()).get("settings");
+            uuids.put(entry.getKey(), settings != null ? String.valueOf(settings.get("index.uuid")) : null);
+        }
+        return uuids;
+    }
+
+    /**
+     * Returns a fingerprint of the documents matching the query, as seen through the given preference and routing: the
+     * uuid of every concrete index along with the number of its matching documents and the maximum and sum of their
+     * sequence numbers. Any write affecting these documents changes the fingerprint once it becomes visible to search,
+     * as does recreating an index.
+     */
+    @SuppressWarnings("unchecked")
+    public String scanWatermark(String index, String preference, String routing, QueryBuilder query) {
+        // sorted by index name to keep the fingerprint stable
+        Map<String, String> uuids = indexUuids(index);
+
+        StringBuilder uri = new StringBuilder(index);
+        uri.append("/_search?size=0&track_total_hits=true&filter_path=aggregations.indices.buckets");
+        if (StringUtils.hasText(preference)) {
+            uri.append("&preference=");
+            uri.append(HttpEncodingTools.encode(preference));
+        }
+        if (routing != null) {
+            uri.append("&routing=");
+            uri.append(HttpEncodingTools.encode(routing));
+        }
+
+        FastByteArrayOutputStream out = new FastByteArrayOutputStream(256);
+        JacksonJsonGenerator generator = new JacksonJsonGenerator(out);
+        try {
+            generator.writeBeginObject();
+            generator.writeFieldName("query").writeBeginObject();
+            query.toJson(generator);
+            generator.writeEndObject();
+            generator.writeFieldName("aggs").writeBeginObject();
+            generator.writeFieldName("indices").writeBeginObject();
+            generator.writeFieldName("terms").writeBeginObject();
+            generator.writeFieldName("field").writeString("_index");
+            generator.writeFieldName("size").writeNumber(Math.max(uuids.size(), 1));
+            generator.writeEndObject();
+            generator.writeFieldName("aggs").writeBeginObject();
+            generator.writeFieldName("max_seq_no").writeBeginObject();
+            generator.writeFieldName("max").writeBeginObject().writeFieldName("field").writeString("_seq_no").writeEndObject();
+            generator.writeEndObject();
+            generator.writeFieldName("sum_seq_no").writeBeginObject();
+            generator.writeFieldName("sum").writeBeginObject().writeFieldName("field").writeString("_seq_no").writeEndObject();
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.writeEndObject();
+            generator.writeEndObject();
+        } finally {
+            generator.close();
+        }
+
+        Map<String, Object> aggs = parseContent(execute(GET, uri.toString(), out.bytes()).body(), "aggregations");
+        Map<String, String> seqNos = new TreeMap<String, String>();
+        if (aggs != null && aggs.get("indices") != null) {
+            for (Map<String, Object> bucket : (List<Map<String, Object>>) ((Map<String, Object>) aggs.get("indices")).get("buckets")) {
+                seqNos.put(String.valueOf(bucket.get("key")), bucket.get("doc_count") + ":"
+                        + ((Map<String, Object>) bucket.get("max_seq_no")).get("value") + ":"
+                        + ((Map<String, Object>) bucket.get("sum_seq_no")).get("value"));
+            }
+        }
+
+        StringBuilder watermark = new StringBuilder();
+        for (Entry<String, String> entry : uuids.entrySet()) {
+            String seqNo = seqNos.get(entry.getKey());
+            watermark.append(entry.getKey()).append("/").append(entry.getValue()).append("=")
+                    .append(seqNo != null ? seqNo : "0").append(";");
+        }
+        return watermark.toString();
+    }
+
     static BytesArray searchRequest(QueryBuilder query) {
         FastByteArrayOutputStream out = new FastByteArrayOutputStream(256);
         JacksonJsonGenerator generator = new JacksonJsonGenerator(out);
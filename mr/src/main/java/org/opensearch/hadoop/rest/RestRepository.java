@@ -32,8 +32,11 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException;
 import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.rest.bulk.BulkDeduplicator;
 import org.opensearch.hadoop.rest.bulk.BulkProcessor;
 import org.opensearch.hadoop.rest.bulk.BulkResponse;
+import org.opensearch.hadoop.rest.bulk.BulkUpdateCombiner;
+import org.opensearch.hadoop.rest.query.QueryBuilder;
 import org.opensearch.hadoop.rest.query.QueryUtils;
 import org.opensearch.hadoop.rest.stats.Stats;
 import org.opensearch.hadoop.rest.stats.StatsAware;
@@ -55,6 +58,7 @@ import org.opensearch.hadoop.serialization.handler.read.impl.AbortOnlyHandlerLoa
 import org.opensearch.hadoop.util.Assert;
 import org.opensearch.hadoop.util.BytesArray;
 import org.opensearch.hadoop.util.BytesRef;
+import org.opensearch.hadoop.util.IOUtils;
 import org.opensearch.hadoop.util.OpenSearchMajorVersion;
 import org.opensearch.hadoop.util.SettingsUtils;
 import org.opensearch.hadoop.util.StringUtils;
@@ -88,6 +92,10 @@ public class RestRepository implements Closeable, StatsAware {
 
     private BulkEntryWriter bulkEntryWriter;
     private BulkProcessor bulkProcessor;
+    // optional - merges updates of the same document before they reach the processor
+    private BulkUpdateCombiner updateCombiner;
+    // optional - drops documents that are already written
+    private BulkDeduplicator deduplicator;
 
     // Internal
     private static class Resources {
@@ -141,6 +149,12 @@ public class RestRepository implements Closeable, StatsAware {
         if (!writeInitialized) {
             this.writeInitialized = true;
             this.bulkProcessor = new BulkProcessor(client, resources.getResourceWrite(), settings);
+            if (settings.getUpdateCombine()) {
+                this.updateCombiner = new BulkUpdateCombiner(settings, bulkProcessor);
+            }
+            if (settings.getWriteDedup()) {
+                this.deduplicator = new BulkDeduplicator(settings, client, resources.getResourceWrite(), bulkProcessor);
+            }
             this.trivialBytesRef = new BytesRef();
             this.bulkEntryWriter = new BulkEntryWriter(settings, BulkCommands.create(settings, metaExtractor, client.clusterInfo.getMajorVersion()));
         }
@@ -161,6 +175,21 @@ public class RestRepository implements Closeable, StatsAware {
         return new ScrollQuery(this, query, body, limit, reader);
     }
 
+    /**
+     * Same as {@link #scanLimit(String, BytesArray, long, ScrollReader)}, replaying the results stored in the cache
+     * under the given key or storing them there.
+     */
+    ScrollQuery scanLimit(String query, BytesArray body, long limit, ScrollReader reader, ScanCache cache, String key) {
+        return new ScrollQuery(this, query, body, limit, reader, cache, key);
+    }
+
+    /**
+     * The cache of scan results, if enabled.
+     */
+    ScanCache scanCache() {
+        return ScanCache.get(settings);
+    }
+
     public void addRuntimeFieldExtractor(MetadataExtractor metaExtractor) {
         this.metaExtractor = metaExtractor;
     }
@@ -196,12 +225,28 @@ public class RestRepository implements Closeable, StatsAware {
     }
 
     private void doWriteToIndex(BytesRef payload) {
-        bulkProcessor.add(payload);
+        if (updateCombiner != null) {
+            updateCombiner.add(payload);
+        } else if (deduplicator != null) {
+            deduplicator.add(payload);
+        } else {
+            bulkProcessor.add(payload);
+        }
         payload.reset();
     }
 
+    private void drainStages() {
+        if (updateCombiner != null) {
+            updateCombiner.drain();
+        }
+        if (deduplicator != null) {
+            deduplicator.drain();
+        }
+    }
+
     public BulkResponse tryFlush() {
         if (writeInitialized) {
+            drainStages();
             return bulkProcessor.tryFlush();
         } else {
             log.warn("Attempt to flush before any data had been written");
@@ -211,6 +256,7 @@ public class RestRepository implements Closeable, StatsAware {
 
     public void flush() {
         if (writeInitialized) {
+            drainStages();
             bulkProcessor.flush();
         } else {
             log.warn("Attempt to flush before any data had been written");
@@ -230,6 +276,12 @@ public class RestRepository implements Closeable, StatsAware {
 
         try {
             if (bulkProcessor != null) {
+                drainStages();
+                updateCombiner = null;
+                if (deduplicator != null && deduplicator.skipped() > 0) {
+                    log.info(String.format("Skipped [%s] unchanged documents", deduplicator.skipped()));
+                }
+                deduplicator = null;
                 bulkProcessor.close();
                 // Aggregate stats before discarding them.
                 stats.aggregate(bulkProcessor.stats());
@@ -248,6 +300,19 @@ public class RestRepository implements Closeable, StatsAware {
         }
     }
 
+    /**
+     * Closes the repository without writing the documents still buffered, such as when the write is aborted.
+     */
+    public void discard() {
+        if (bulkProcessor != null) {
+            // the documents held back by the stages are dropped along with them
+            updateCombiner = null;
+            deduplicator = null;
+            bulkProcessor.discard();
+        }
+        close();
+    }
+
     public RestClient getRestClient() {
         return client;
     }
@@ -304,7 +369,12 @@ public class RestRepository implements Closeable, StatsAware {
     }
 
     public MappingSet getMappings() {
-        return client.getMappings(resources.getResourceRead());
+        Resource resource = resources.getResourceRead();
+        MappingCache cache = MappingCache.get(settings);
+        if (cache != null && !resource.isTyped()) {
+            return cache.getMappings(settings, client, resource);
+        }
+        return client.getMappings(resource);
     }
 
     public Map<String, GeoField> sampleGeoFields(Mapping mapping) {
@@ -348,6 +418,26 @@ public class RestRepository implements Closeable, StatsAware {
         }
     }
 
+    // raw counterparts of the methods above, used when the pages are cached
+    // the pages are copied by the reader (into its pooled buffers, if any) and are to be released through it
+    BytesArray scrollPage(String query, BytesArray body, ScrollReader reader) throws IOException {
+        return page(client.execute(Request.Method.POST, query, body).body(), reader);
+    }
+
+    BytesArray scrollPage(String scrollId, ScrollReader reader) throws IOException {
+        return page(client.scroll(scrollId), reader);
+    }
+
+    private BytesArray page(InputStream scroll, ScrollReader reader) throws IOException {
+        try {
+            return reader.copy(scroll);
+        } finally {
+            if (scroll instanceof StatsAware) {
+                stats.aggregate(((StatsAware) scroll).stats());
+            }
+        }
+    }
+
     public boolean resourceExists(boolean read) {
         Resource res = (read ? resources.getResourceRead() : resources.getResourceWrite());
         // cheap hit - works for exact index names, index patterns, the `_all` resource, and alias names
@@ -461,18 +551,24 @@ public class RestRepository implements Closeable, StatsAware {
     public boolean isEmpty(boolean read) {
         Resource res = (read ? resources.getResourceRead() : resources.getResourceWrite());
         boolean exists = client.indexExists(res.index());
-        return (exists ? count(read) <= 0 : true);
+        // a single matching document is enough
+        return (exists ? client.count(res.index(), null, null, query(read), 1) <= 0 : true);
     }
 
     public long count(boolean read) {
         Resource res = (read ? resources.getResourceRead() : resources.getResourceWrite());
         if (res.isTyped()) {
-            return client.count(res.index(), res.type(), QueryUtils.parseQuery(settings));
+            return client.count(res.index(), res.type(), query(read));
         } else {
-            return client.count(res.index(), QueryUtils.parseQuery(settings));
+            return client.count(res.index(), query(read));
         }
     }
 
+    // the query of the resource, along with the filters pushed down when reading
+    private QueryBuilder query(boolean read) {
+        return (read ? QueryUtils.parseQueryAndFilters(settings) : QueryUtils.parseQuery(settings));
+    }
+
     public boolean waitForYellow() {
         return client.waitForHealth(resources.getResourceWrite().index(), RestClient.Health.YELLOW, TimeValue.timeValueSeconds(10));
     }
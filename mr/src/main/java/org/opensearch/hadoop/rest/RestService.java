@@ -107,6 +107,13 @@ public abstract class RestService implements Serializable {
 
             return scrollQuery;
         }
+
+        /**
+         * Counts the documents of the partition without reading them. Returns -1 if they cannot be counted upfront.
+         */
+        public long count() {
+            return queryBuilder.count(client.getRestClient());
+        }
     }
 
     public static class PartitionWriter implements Closeable {
@@ -0,0 +1,396 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.opensearch.hadoop.OpenSearchHadoopException;
+import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.security.AuthenticationMethod;
+import org.opensearch.hadoop.security.SecureSettings;
+import org.opensearch.hadoop.security.UserProvider;
+import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.StringUtils;
+
+/**
+ * Local disk cache of the raw pages returned by scroll queries, shared by all the tasks of the JVM using the same
+ * directory. An entry is only stored once its query has been consumed and is keyed by the request along with the
+ * watermark of the documents it matches, so that a change to any of them results in a miss, and by the identity of
+ * the user reading them, so that no results are replayed to a user who cannot see them. The directory and its entries
+ * are only accessible to the user running the JVM. The least recently used entries are evicted to keep the directory
+ * under its configured size.
+ */
+class ScanCache {
+
+    private static final Log LOG = LogFactory.getLog(ScanCache.class);
+
+    private static final String SUFFIX = ".scan";
+    private static final String TMP_SUFFIX = ".tmp";
+    // recordings untouched for that long belong to tasks that died without cleaning up
+    static final long STALE_TMP_MILLIS = TimeUnit.HOURS.toMillis(1);
+    // custom preference keeping the requests of the cached scans on the same shard copies
+    static final String PREFERENCE = "opensearch-hadoop-scan-cache";
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+    private static final ConcurrentMap<String, ScanCache> CACHES = new ConcurrentHashMap<String, ScanCache>();
+
+    private final File dir;
+    private final long maxBytes;
+
+    ScanCache(File dir, long maxBytes) {
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the cache configured by the given settings or null if caching is disabled.
+     */
+    static ScanCache get(Settings settings) {
+        if (!settings.getReadCacheEnabled()) {
+            return null;
+        }
+        String dir = settings.getReadCacheDir();
+        ScanCache cache = CACHES.get(dir);
+        if (cache == null) {
+            cache = new ScanCache(new File(dir), settings.getReadCacheSize());
+            ScanCache existing = CACHES.putIfAbsent(dir, cache);
+            if (existing != null) {
+                cache = existing;
+            }
+        }
+        return cache;
+    }
+
+    static String key(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StringUtils.UTF_8));
+                // separator
+                digest.update((byte) 0);
+            }
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16));
+                sb.append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new OpenSearchHadoopIllegalStateException("Cannot compute cache key", ex);
+        }
+    }
+
+    /**
+     * Identifies the user the results are returned to through the credentials found in the given settings: the basic
+     * auth user and password, the custom headers (such as an api key), the client certificate and the kerberos user.
+     * Returns null if the user cannot be told, as with AWS request signing whose credentials are resolved elsewhere.
+     */
+    static String identity(Settings settings) {
+        if (settings.getAwsSigV4Enabled()) {
+            return null;
+        }
+        Map<String, String> credentials = new TreeMap<String, String>();
+        credentials.put("user", settings.getNetworkHttpAuthUser());
+        credentials.put("pass", new SecureSettings(settings).getSecureProperty(ConfigurationOptions.OPENSEARCH_NET_HTTP_AUTH_PASS));
+        credentials.put("certificate", settings.getProperty(ConfigurationOptions.OPENSEARCH_NET_SSL_KEYSTORE_LOCATION));
+        for (Map.Entry<Object, Object> property : settings.asProperties().entrySet()) {
+            String name = property.getKey().toString();
+            if (name.startsWith(ConfigurationOptions.OPENSEARCH_NET_HTTP_HEADER_PREFIX)) {
+                credentials.put(name, String.valueOf(property.getValue()));
+            }
+        }
+        if (AuthenticationMethod.KERBEROS.equals(settings.getSecurityAuthenticationMethod())) {
+            try {
+                String user = UserProvider.create(settings).getUser().getUserName();
+                if (user == null) {
+                    return null;
+                }
+                credentials.put("kerberos", user);
+            } catch (OpenSearchHadoopException ex) {
+                return null;
+            }
+        }
+        // hashed, not to spread the secrets any further
+        return key(credentials.toString());
+    }
+
+    /**
+     * Returns the pages stored under the given key or null if there are none.
+     */
+    PageReader open(String key) {
+        if (!isPrivate(dir)) {
+            // whatever is stored there could have been written by anyone
+            return null;
+        }
+        File file = new File(dir, key + SUFFIX);
+        try {
+            PageReader reader = new PageReader(file);
+            // mark the entry as recently used
+            file.setLastModified(System.currentTimeMillis());
+            return reader;
+        } catch (IOException ex) {
+            // typically a miss
+            return null;
+        }
+    }
+
+    /**
+     * Starts storing pages under the given key. Returns null if the cache cannot be written to.
+     */
+    PageWriter record(String key) {
+        try {
+            createPrivateDir(dir);
+            return new PageWriter(key, Files.createTempFile(dir.toPath(), "." + key + "-", TMP_SUFFIX).toFile());
+        } catch (IOException ex) {
+            LOG.warn(String.format("Cannot cache scan results under [%s]", dir), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Creates the given directory, if needed, accessible only to the user running the JVM (on POSIX file systems).
+     * Fails if the directory exists but is accessible to others. Files created within it through
+     * {@link Files#createTempFile} are owner-only as well.
+     */
+    static void createPrivateDir(File dir) throws IOException {
+        if (!dir.isDirectory()) {
+            if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+                Files.createDirectories(dir.toPath(), PosixFilePermissions.asFileAttribute(OWNER_ONLY));
+            } else if (!dir.mkdirs() && !dir.isDirectory()) {
+                throw new IOException("Cannot create directory " + dir);
+            }
+        }
+        if (!isPrivate(dir)) {
+            throw new IOException(String.format("Directory [%s] is not owned by [%s] or is accessible to other users",
+                    dir, System.getProperty("user.name")));
+        }
+    }
+
+    /**
+     * Whether the given directory is owned by the user running the JVM and inaccessible to others. Only checked on
+     * POSIX file systems.
+     */
+    static boolean isPrivate(File dir) {
+        Path path = dir.toPath();
+        if (!Files.isDirectory(path)) {
+            return false;
+        }
+        if (!FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            return true;
+        }
+        try {
+            return Files.getOwner(path).getName().equals(System.getProperty("user.name"))
+                    && OWNER_ONLY.containsAll(Files.getPosixFilePermissions(path));
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the recordings left behind by dead tasks, then the least recently used entries until the cache fits its
+     * size.
+     */
+    synchronized void evict() {
+        final long staleBefore = System.currentTimeMillis() - STALE_TMP_MILLIS;
+        File[] stale = dir.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.getName().endsWith(TMP_SUFFIX) && file.lastModified() < staleBefore;
+            }
+        });
+        if (stale != null) {
+            for (File tmp : stale) {
+                if (tmp.delete() && LOG.isDebugEnabled()) {
+                    LOG.debug(String.format("Deleted stale scan recording [%s]", tmp.getName()));
+                }
+            }
+        }
+
+        File[] entries = dir.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.getName().endsWith(SUFFIX);
+            }
+        });
+        if (entries == null) {
+            return;
+        }
+        long total = 0;
+        for (File entry : entries) {
+            total += entry.length();
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+        Arrays.sort(entries, new Comparator<File>() {
+            @Override
+            public int compare(File o1, File o2) {
+                return Long.compare(o1.lastModified(), o2.lastModified());
+            }
+        });
+        for (int i = 0; i < entries.length && total > maxBytes; i++) {
+            long length = entries[i].length();
+            if (entries[i].delete()) {
+                total -= length;
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug(String.format("Evicted cached scan [%s]", entries[i].getName()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Sequence of pages, each stored as its length followed by its bytes.
+     */
+    class PageReader implements Closeable {
+        private final File file;
+        private final DataInputStream in;
+
+        private PageReader(File file) throws IOException {
+            this.file = file;
+            this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        }
+
+        /**
+         * Returns the next page or null once all of them have been read.
+         */
+        BytesArray next() {
+            try {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException ex) {
+                    return null;
+                }
+                byte[] page = new byte[length];
+                in.readFully(page);
+                return new BytesArray(page);
+            } catch (IOException ex) {
+                // entries are written atomically so this is not expected; drop the entry so it is not read again
+                close();
+                file.delete();
+                throw new OpenSearchHadoopIllegalStateException(String.format("Cannot read cached scan [%s]", file), ex);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                in.close();
+            } catch (IOException ex) {
+                // ignore
+            }
+        }
+    }
+
+    /**
+     * Stores pages in a temporary file which becomes visible under its key only once committed.
+     */
+    class PageWriter {
+        private final String key;
+        private final File tmp;
+        private final DataOutputStream out;
+        private long written = 0;
+        private boolean done = false;
+
+        private PageWriter(String key, File tmp) throws IOException {
+            this.key = key;
+            this.tmp = tmp;
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+        }
+
+        /**
+         * Adds the given page. Returns false if the recording was abandoned, because the entry would not fit the cache
+         * or cannot be written.
+         */
+        boolean append(BytesArray page) {
+            if (done) {
+                return false;
+            }
+            written += page.length() + 4;
+            if (written > maxBytes) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug(String.format("Scan results exceed the cache size [%d]; not caching them", maxBytes));
+                }
+                abort();
+                return false;
+            }
+            try {
+                out.writeInt(page.length());
+                out.write(page.bytes(), page.offset(), page.length());
+                return true;
+            } catch (IOException ex) {
+                LOG.warn(String.format("Cannot cache scan results in [%s]", tmp), ex);
+                abort();
+                return false;
+            }
+        }
+
+        void commit() {
+            if (done) {
+                return;
+            }
+            done = true;
+            try {
+                out.close();
+                Files.move(tmp.toPath(), new File(dir, key + SUFFIX).toPath(), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException ex) {
+                LOG.warn(String.format("Cannot cache scan results in [%s]", dir), ex);
+                tmp.delete();
+                return;
+            }
+            evict();
+        }
+
+        void abort() {
+            if (done) {
+                return;
+            }
+            done = true;
+            try {
+                out.close();
+            } catch (IOException ex) {
+                // ignore
+            }
+            tmp.delete();
+        }
+    }
+}
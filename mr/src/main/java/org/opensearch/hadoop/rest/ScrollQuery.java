@@ -35,6 +35,8 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
 import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException;
 import org.opensearch.hadoop.rest.stats.Stats;
 import org.opensearch.hadoop.rest.stats.StatsAware;
@@ -48,6 +50,8 @@ import org.opensearch.hadoop.util.StringUtils;
  */
 public class ScrollQuery implements Iterator<Object>, Closeable, StatsAware {
 
+    private static final Log log = LogFactory.getLog(ScrollQuery.class);
+
     private RestRepository repository;
     private String scrollId;
     private List<Object[]> batch = Collections.emptyList();
@@ -67,12 +71,24 @@ public class ScrollQuery implements Iterator<Object>, Closeable, StatsAware {
     private String query;
     private BytesArray body;
 
+    private final ScanCache cache;
+    private final String cacheKey;
+    // pages replayed from or recorded into the cache, if any
+    private ScanCache.PageReader replay;
+    private ScanCache.PageWriter recording;
+
     ScrollQuery(RestRepository client, String query, BytesArray body, long size, ScrollReader reader) {
+        this(client, query, body, size, reader, null, null);
+    }
+
+    ScrollQuery(RestRepository client, String query, BytesArray body, long size, ScrollReader reader, ScanCache cache, String cacheKey) {
         this.repository = client;
         this.size = size;
         this.reader = reader;
         this.query = query;
         this.body = body;
+        this.cache = cache;
+        this.cacheKey = cacheKey;
     }
 
     @Override
@@ -81,6 +97,14 @@ public class ScrollQuery implements Iterator<Object>, Closeable, StatsAware {
             closed = true;
             finished = true;
             batch = Collections.emptyList();
+            // results not consumed entirely are not cached
+            if (recording != null) {
+                recording.abort();
+                recording = null;
+            }
+            if (replay != null) {
+                replay.close();
+            }
             reader.close();
             // typically the scroll is closed after it is consumed so this will trigger a 404
             // however we're closing it either way
@@ -99,18 +123,41 @@ public class ScrollQuery implements Iterator<Object>, Closeable, StatsAware {
 
         if (!initialized) {
             initialized = true;
-            
+
+            if (cache != null) {
+                replay = cache.open(cacheKey);
+                if (replay == null) {
+                    recording = cache.record(cacheKey);
+                }
+            }
+
             try {
-                Scroll scroll = repository.scroll(query, body, reader);
+                Scroll scroll;
+                boolean cached = true;
+                if (replay != null) {
+                    scroll = replay();
+                } else if (recording != null) {
+                    scroll = record(repository.scrollPage(query, body, reader));
+                } else {
+                    cached = false;
+                    scroll = repository.scroll(query, body, reader);
+                }
                 if (scroll == null) {
-                    finished = true;
+                    // plain scrolls are reported by the repository
+                    if (cached) {
+                        log.info(String.format("No scroll for query [%s/%s], likely because the index is frozen", query, body));
+                    }
+                    finish();
                     return false;
                 }
                 // size is passed as a limit (since we can't pass it directly into the request) - if it's not specified (<1) just scroll the whole index
                 size = (size < 1 ? scroll.getTotalHits() : size);
-                scrollId = scroll.getScrollId();
+                // replayed scrolls are long gone
+                scrollId = (replay != null ? null : scroll.getScrollId());
                 batch = scroll.getHits();
-                finished = scroll.isConcluded();
+                if (scroll.isConcluded()) {
+                    finish();
+                }
             } catch (IOException ex) {
                 throw new OpenSearchHadoopIllegalStateException(String.format("Cannot create scroll for query [%s/%s]", query, body), ex);
             }
@@ -123,19 +170,28 @@ public class ScrollQuery implements Iterator<Object>, Closeable, StatsAware {
 
         while (!finished && (batch.isEmpty() || batchIndex >= batch.size())) {
             if (read >= size) {
-                finished = true;
+                finish();
                 return false;
             }
 
             try {
-                Scroll scroll = repository.scroll(scrollId, reader);
+                Scroll scroll;
+                if (replay != null) {
+                    scroll = replay();
+                } else if (recording != null) {
+                    scroll = record(repository.scrollPage(scrollId, reader));
+                } else {
+                    scroll = repository.scroll(scrollId, reader);
+                }
                 if (scroll == null) {
-                    finished = true;
+                    finish();
                     return false;
                 }
-                scrollId = scroll.getScrollId();
+                scrollId = (replay != null ? null : scroll.getScrollId());
                 batch = scroll.getHits();
-                finished = scroll.isConcluded();
+                if (scroll.isConcluded()) {
+                    finish();
+                }
             } catch (IOException ex) {
                 throw new OpenSearchHadoopIllegalStateException("Cannot retrieve scroll [" + scrollId + "]", ex);
             }
@@ -149,6 +205,31 @@ public class ScrollQuery implements Iterator<Object>, Closeable, StatsAware {
         return !finished;
     }
 
+    private Scroll replay() throws IOException {
+        BytesArray page = replay.next();
+        return (page != null ? reader.read(page) : null);
+    }
+
+    private Scroll record(BytesArray page) throws IOException {
+        try {
+            if (!recording.append(page)) {
+                recording = null;
+            }
+            return reader.read(page);
+        } finally {
+            reader.release(page);
+        }
+    }
+
+    private void finish() {
+        finished = true;
+        // all the results have been read; store them
+        if (recording != null) {
+            recording.commit();
+            recording = null;
+        }
+    }
+
     public long getSize() {
         return size;
     }
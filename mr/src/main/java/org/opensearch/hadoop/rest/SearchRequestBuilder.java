@@ -28,6 +28,9 @@
  */
 package org.opensearch.hadoop.rest;
 
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.opensearch.hadoop.OpenSearchHadoopException;
 import org.opensearch.hadoop.rest.query.BoolQueryBuilder;
 import org.opensearch.hadoop.rest.query.MatchAllQueryBuilder;
 import org.opensearch.hadoop.rest.query.QueryBuilder;
@@ -52,6 +55,9 @@ import java.util.Map.Entry;
  * A search request builder which allows building {@link ScrollQuery}
  */
 public class SearchRequestBuilder {
+
+    private static final Log LOG = LogFactory.getLog(SearchRequestBuilder.class);
+
     private static class Slice {
         final int id;
         final int max;
@@ -190,7 +196,7 @@ public class SearchRequestBuilder {
         return this;
     }
 
-    private String assemble() {
+    private String assemble(boolean cached) {
         if (limit > 0) {
             if (size > limit) {
                 size = limit;
@@ -215,24 +221,9 @@ public class SearchRequestBuilder {
         }
 
         // set shard preference
-        StringBuilder pref = new StringBuilder();
-        if (StringUtils.hasText(shard)) {
-            pref.append("_shards:");
-            pref.append(shard);
-        }
-        if (local || StringUtils.hasText(preference)) {
-            if (pref.length() > 0) {
-                pref.append("|");
-            }
-            if (StringUtils.hasText(preference)) {
-                pref.append(preference);
-            } else {
-                pref.append("_local");
-            }
-        }
-
+        String pref = preference(cached);
         if (pref.length() > 0) {
-            uriParams.put("preference", HttpEncodingTools.encode(pref.toString()));
+            uriParams.put("preference", HttpEncodingTools.encode(pref));
         }
 
         // Request routing
@@ -263,7 +254,32 @@ public class SearchRequestBuilder {
         return sb.toString();
     }
 
-    private BytesArray assembleBody() {
+    /**
+     * The preference of the request. When cached, the request always targets the same copies of the shards, so that the
+     * watermark of the results is computed on the very copies that return them (their refresh states may differ).
+     */
+    private String preference(boolean cached) {
+        StringBuilder pref = new StringBuilder();
+        if (StringUtils.hasText(shard)) {
+            pref.append("_shards:");
+            pref.append(shard);
+        }
+        if (local || cached || StringUtils.hasText(preference)) {
+            if (pref.length() > 0) {
+                pref.append("|");
+            }
+            if (StringUtils.hasText(preference)) {
+                pref.append(preference);
+            } else if (local) {
+                pref.append("_local");
+            } else {
+                pref.append(ScanCache.PREFERENCE);
+            }
+        }
+        return pref.toString();
+    }
+
+    private QueryBuilder root() {
         QueryBuilder root = query;
         if (root == null) {
             root = MatchAllQueryBuilder.MATCH_ALL;
@@ -271,6 +287,11 @@ public class SearchRequestBuilder {
         if (filters.isEmpty() == false) {
             root = new BoolQueryBuilder().must(root).filters(filters);
         }
+        return root;
+    }
+
+    private BytesArray assembleBody() {
+        QueryBuilder root = root();
         FastByteArrayOutputStream out = new FastByteArrayOutputStream(256);
         JacksonJsonGenerator generator = new JacksonJsonGenerator(out);
         try {
@@ -309,13 +330,45 @@ public class SearchRequestBuilder {
     }
 
     public ScrollQuery build(RestRepository client, ScrollReader reader) {
-        String scrollUri = assemble();
+        ScanCache cache = client.scanCache();
+        String identity = (cache != null ? ScanCache.identity(client.getSettings()) : null);
+        if (cache != null && identity == null) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Cannot tell which user reads the results; not caching them");
+            }
+            cache = null;
+        }
+        String scrollUri = assemble(cache != null);
         BytesArray requestBody = assembleBody();
+        if (cache != null) {
+            try {
+                // the results are only replayed as long as the documents they match do not change
+                String watermark = client.getRestClient().scanWatermark(indices, preference(true), routing, root());
+                // and to the user they were returned to
+                String key = ScanCache.key(identity, watermark, scrollUri, requestBody.toString(), String.valueOf(limit));
+                return client.scanLimit(scrollUri, requestBody, limit, reader, cache, key);
+            } catch (OpenSearchHadoopException ex) {
+                LOG.warn(String.format("Cannot determine whether the results of [%s] are cached; reading them from OpenSearch",
+                        scrollUri), ex);
+            }
+        }
         return client.scanLimit(scrollUri, requestBody, limit, reader);
     }
 
+    /**
+     * Counts the documents returned by the request, without reading them. Returns -1 if they cannot be counted
+     * upfront, which is the case for sliced requests.
+     */
+    public long count(RestClient client) {
+        if (slice != null && slice.max > 1) {
+            return -1;
+        }
+        long count = client.count(indices, preference(false), routing, root(), limit > 0 ? limit : -1);
+        return (limit > 0 ? Math.min(count, limit) : count);
+    }
+
     @Override
     public String toString() {
-        return "QueryBuilder [" + assemble() + "][" + assembleBody() + "]";
+        return "QueryBuilder [" + assemble(false) + "][" + assembleBody() + "]";
     }
 }
\ No newline at end of file
@@ -0,0 +1,248 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest.bulk;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.opensearch.hadoop.OpenSearchHadoopException;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.rest.NetworkClient;
+import org.opensearch.hadoop.rest.OpenSearchHadoopRejectedExecutionException;
+import org.opensearch.hadoop.util.SettingsUtils;
+import org.opensearch.hadoop.util.unit.TimeValue;
+
+/**
+ * Throttles the bulk requests of all the writers running within the same JVM (typically an executor):
+ * <ul>
+ * <li>a permit per in-flight bulk request, limited per node</li>
+ * <li>token buckets on the documents and bytes sent per second, shared by the writers of the same job</li>
+ * <li>a pause, shared by the writers targeting the same cluster, whenever documents or whole requests are rejected
+ * (429) - growing exponentially (with jitter) while rejections keep coming and reset on the first clean response</li>
+ * </ul>
+ * Everything is disabled by default, in which case no state is shared.
+ */
+public class BulkBackPressure {
+
+    private static Log LOG = LogFactory.getLog(BulkBackPressure.class);
+
+    private static final ConcurrentMap<String, Semaphore> NODE_PERMITS = new ConcurrentHashMap<String, Semaphore>();
+    private static final ConcurrentMap<String, TokenBucket> RATES = new ConcurrentHashMap<String, TokenBucket>();
+    private static final ConcurrentMap<String, Backoff> BACKOFFS = new ConcurrentHashMap<String, Backoff>();
+
+    private final int concurrency;
+    private final TokenBucket docRate;
+    private final TokenBucket byteRate;
+    private final Backoff backoff;
+
+    public BulkBackPressure(Settings settings) {
+        this.concurrency = settings.getBatchWriteConcurrencyPerNode();
+
+        String job = (SettingsUtils.hasJobTransportPoolingKey(settings) ?
+                SettingsUtils.getJobTransportPoolingKey(settings) : settings.getResourceWrite());
+        long docs = settings.getBatchWriteRateDocs();
+        long bytes = settings.getBatchWriteRateBytes();
+        this.docRate = (docs > 0 ? shared(RATES, job + "#docs#" + docs, new TokenBucket(docs)) : null);
+        this.byteRate = (bytes > 0 ? shared(RATES, job + "#bytes#" + bytes, new TokenBucket(bytes)) : null);
+
+        if (settings.getBatchWriteBackoff()) {
+            String cluster = settings.getNodes() + ":" + settings.getPort();
+            this.backoff = shared(BACKOFFS, cluster, new Backoff(settings.getBatchWriteBackoffInitial(), settings.getBatchWriteBackoffMax()));
+        } else {
+            this.backoff = null;
+        }
+    }
+
+    private static <T> T shared(ConcurrentMap<String, T> registry, String key, T value) {
+        T existing = registry.putIfAbsent(key, value);
+        return (existing != null ? existing : value);
+    }
+
+    /**
+     * Waits until a bulk request with the given content can be sent.
+     */
+    public void throttle(int docs, int bytes) {
+        long now = System.nanoTime();
+        long wait = 0;
+        if (backoff != null) {
+            wait = backoff.pause(now);
+        }
+        if (docRate != null) {
+            wait = Math.max(wait, docRate.reserve(docs, now));
+        }
+        if (byteRate != null) {
+            wait = Math.max(wait, byteRate.reserve(bytes, now));
+        }
+        if (wait > 0) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(String.format("Throttling bulk request for [%s]", TimeValue.timeValueNanos(wait)));
+            }
+            sleep(wait);
+        }
+    }
+
+    /**
+     * Returns the listener holding a permit of the node every attempt of a bulk request is sent to (the request
+     * may fail over to another node) or null if the concurrency per node is not limited.
+     */
+    public NetworkClient.AttemptListener permits() {
+        if (concurrency <= 0) {
+            return null;
+        }
+        return new NetworkClient.AttemptListener() {
+            @Override
+            public void beforeAttempt(String node) {
+                Semaphore permits = permits(node);
+                try {
+                    permits.acquire();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    throw new OpenSearchHadoopException("Thread interrupted while waiting for a bulk permit for node " + node, ex);
+                }
+            }
+
+            @Override
+            public void afterAttempt(String node) {
+                permits(node).release();
+            }
+        };
+    }
+
+    Semaphore permits(String node) {
+        return shared(NODE_PERMITS, node + "#" + concurrency, new Semaphore(concurrency, true));
+    }
+
+    /**
+     * Records a bulk request failing as a whole.
+     * @return whether the cluster rejected the request, in which case the writers are paused and the request can
+     * be retried
+     */
+    public boolean onFailure(OpenSearchHadoopException ex) {
+        // the client reports rejections (by status or error type) as such only when backing off
+        if (backoff == null || !(ex instanceof OpenSearchHadoopRejectedExecutionException)) {
+            return false;
+        }
+        onResponse(true);
+        return true;
+    }
+
+    /**
+     * Records the outcome of a bulk request.
+     * @param rejected whether the cluster rejected (some of) the documents
+     */
+    public void onResponse(boolean rejected) {
+        if (backoff != null) {
+            if (rejected) {
+                long pause = backoff.onRejection(System.nanoTime(), ThreadLocalRandom.current().nextDouble());
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug(String.format("Documents rejected; pausing writers for [%s]", TimeValue.timeValueNanos(pause)));
+                }
+            } else {
+                backoff.onSuccess();
+            }
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new OpenSearchHadoopException("Thread interrupted while throttling bulk requests", ex);
+        }
+    }
+
+    /**
+     * Token bucket allowing bursts of up to a second worth of tokens. Callers reserve what they need right away
+     * (going into debt if necessary) and wait for the returned time, so concurrent callers are served in order.
+     */
+    static class TokenBucket {
+        private final double perSecond;
+        private double tokens;
+        private boolean started = false;
+        private long last;
+
+        TokenBucket(long perSecond) {
+            this.perSecond = perSecond;
+            this.tokens = perSecond;
+        }
+
+        /**
+         * @return the time (in nanos) to wait for before using the tokens
+         */
+        synchronized long reserve(long amount, long now) {
+            // nano times can only be compared through their difference
+            if (!started) {
+                started = true;
+                last = now;
+            } else if (now - last > 0) {
+                tokens = Math.min(perSecond, tokens + (now - last) * perSecond / TimeUnit.SECONDS.toNanos(1));
+                last = now;
+            }
+            tokens -= amount;
+            return (tokens >= 0 ? 0 : (long) (-tokens * TimeUnit.SECONDS.toNanos(1) / perSecond));
+        }
+    }
+
+    /**
+     * Exponential backoff with equal jitter, shared by all writers.
+     */
+    static class Backoff {
+        private final long initial;
+        private final long max;
+        private int rejections = 0;
+        private boolean paused = false;
+        private long pauseUntil;
+
+        Backoff(long initialMillis, long maxMillis) {
+            this.initial = TimeUnit.MILLISECONDS.toNanos(initialMillis);
+            this.max = TimeUnit.MILLISECONDS.toNanos(maxMillis);
+        }
+
+        /**
+         * @param jitter random value between 0 and 1
+         * @return the length of the pause (in nanos)
+         */
+        synchronized long onRejection(long now, double jitter) {
+            int shift = Math.min(rejections, 30);
+            // double the delay for every consecutive rejection, without overflowing
+            long delay = (initial > (max >>> shift) ? max : initial << shift);
+            rejections++;
+            delay = delay / 2 + (long) (delay / 2 * jitter);
+            if (!paused || now + delay - pauseUntil > 0) {
+                pauseUntil = now + delay;
+            }
+            paused = true;
+            return delay;
+        }
+
+        synchronized void onSuccess() {
+            rejections = 0;
+        }
+
+        synchronized long pause(long now) {
+            if (!paused) {
+                return 0;
+            }
+            long left = pauseUntil - now;
+            if (left <= 0) {
+                paused = false;
+                return 0;
+            }
+            return left;
+        }
+    }
+}
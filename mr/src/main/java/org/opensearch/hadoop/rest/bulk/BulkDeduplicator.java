@@ -0,0 +1,331 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest.bulk;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.rest.Resource;
+import org.opensearch.hadoop.rest.RestClient;
+import org.opensearch.hadoop.serialization.OpenSearchHadoopSerializationException;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.DeserializationConfig;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.ObjectMapper;
+import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.BytesRef;
+import org.opensearch.hadoop.util.StringUtils;
+
+/**
+ * Stage in front of the {@link BulkProcessor} for index/create operations that drops documents which would not change
+ * anything, making re-runs (and inputs with repeated documents) cheaper:
+ * <ul>
+ * <li>a document with the same action header (thus _id) and the same content as one already written by the task is
+ * skipped; only 64-bit digests of both are kept, for up to {@link ConfigurationOptions#OPENSEARCH_WRITE_DEDUP_MAX_DOCS}
+ * documents</li>
+ * <li>optionally ({@link ConfigurationOptions#OPENSEARCH_WRITE_DEDUP_CHECK}), the documents of each batch are looked
+ * up through a single {@code _mget}; documents stored with an identical source (or, for create, that simply exist)
+ * are skipped as well</li>
+ * </ul>
+ * Entries without an _id are passed through.
+ */
+public class BulkDeduplicator {
+
+    private static Log LOG = LogFactory.getLog(BulkDeduplicator.class);
+
+    private static final String INDEX = "_index";
+    private static final String ID = "_id";
+    private static final String ROUTING = "routing";
+
+    private static class Pending {
+        final BytesArray entry;
+        final int headerEnd;
+
+        Pending(BytesArray entry, int headerEnd) {
+            this.entry = entry;
+            this.headerEnd = headerEnd;
+        }
+    }
+
+    private final ObjectMapper mapper;
+    private final BulkProcessor processor;
+    private final RestClient client;
+    private final String defaultIndex;
+    private final boolean create;
+    private final boolean check;
+
+    private final int entriesThreshold;
+    private final int bytesThreshold;
+
+    private final DigestTable digests;
+    private final List<Pending> pending = new ArrayList<Pending>();
+    private List<Map<String, Object>> targets = new ArrayList<Map<String, Object>>();
+    private final BytesRef ref = new BytesRef();
+    private int pendingBytes = 0;
+    private long skipped = 0;
+
+    public BulkDeduplicator(Settings settings, RestClient client, Resource resource, BulkProcessor processor) {
+        this.processor = processor;
+        this.client = client;
+        this.defaultIndex = resource.index();
+        this.create = ConfigurationOptions.OPENSEARCH_OPERATION_CREATE.equals(settings.getOperation());
+
+        boolean check = settings.getWriteDedupCheck();
+        // the stored source differs from the one sent when going through a pipeline
+        if (check && !create && StringUtils.hasText(settings.getIngestPipeline())) {
+            LOG.warn(String.format("Ingest pipeline [%s] in use; ignoring [%s]", settings.getIngestPipeline(),
+                    ConfigurationOptions.OPENSEARCH_WRITE_DEDUP_CHECK));
+            check = false;
+        }
+        this.check = check;
+
+        this.entriesThreshold = settings.getBatchSizeInEntries();
+        this.bytesThreshold = settings.getBatchSizeInBytes();
+        this.digests = new DigestTable(settings.getWriteDedupMaxDocs());
+
+        this.mapper = new ObjectMapper();
+        mapper.configure(DeserializationConfig.Feature.USE_ANNOTATIONS, false);
+    }
+
+    /**
+     * Adds an entry, dropping it if it is known to be a duplicate.
+     * @param payload the entire bulk entry in JSON format, including the header and payload.
+     */
+    public void add(BytesRef payload) {
+        BytesArray entry = new BytesArray(payload.length());
+        payload.copyTo(entry);
+
+        int headerEnd = headerEnd(entry);
+        Map<String, Object> target = (headerEnd > 0 ? target(entry, headerEnd) : null);
+        if (target == null) {
+            send(entry);
+            return;
+        }
+
+        long key = hash(entry.bytes(), 0, headerEnd);
+        long digest = hash(entry.bytes(), headerEnd, entry.length());
+        if (digests.get(key) == digest) {
+            skipped++;
+            return;
+        }
+        digests.put(key, digest);
+
+        if (!check) {
+            send(entry);
+            return;
+        }
+
+        pending.add(new Pending(entry, headerEnd));
+        targets.add(target);
+        pendingBytes += entry.length();
+        if ((entriesThreshold > 0 && pending.size() >= entriesThreshold) || pendingBytes >= bytesThreshold) {
+            drain();
+        }
+    }
+
+    /**
+     * Checks the pending entries against the target and hands the changed ones to the processor. To be called
+     * before the processor is flushed.
+     */
+    public void drain() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map<String, Object>> docs = client.multiGet(targets, !create);
+        for (int i = 0; i < pending.size(); i++) {
+            Pending entry = pending.get(i);
+            if (docs != null && i < docs.size() && isStored(entry, docs.get(i))) {
+                skipped++;
+            } else {
+                send(entry.entry);
+            }
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format("Checked [%s] documents against [%s]; skipped [%s] unchanged documents so far",
+                    pending.size(), defaultIndex, skipped));
+        }
+        pending.clear();
+        targets = new ArrayList<Map<String, Object>>();
+        pendingBytes = 0;
+    }
+
+    /**
+     * @return the number of documents dropped as duplicates
+     */
+    public long skipped() {
+        return skipped;
+    }
+
+    private boolean isStored(Pending entry, Map<String, Object> doc) {
+        if (doc == null || !Boolean.TRUE.equals(doc.get("found"))) {
+            return false;
+        }
+        if (create) {
+            return true;
+        }
+        Object source = doc.get("_source");
+        return source != null && source.equals(parse(entry.entry, entry.headerEnd, entry.entry.length()));
+    }
+
+    private void send(BytesArray entry) {
+        ref.reset();
+        ref.add(entry);
+        processor.add(ref);
+        ref.reset();
+    }
+
+    /**
+     * Returns the document targeted by the action (in _mget format) or null if there's no id.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> target(BytesArray entry, int headerEnd) {
+        Object header = parse(entry, 0, headerEnd);
+        if (!(header instanceof Map) || ((Map<String, Object>) header).size() != 1) {
+            return null;
+        }
+        Object action = ((Map<String, Object>) header).values().iterator().next();
+        if (!(action instanceof Map)) {
+            return null;
+        }
+        Map<String, Object> metadata = (Map<String, Object>) action;
+        Object id = metadata.get(ID);
+        if (id == null) {
+            return null;
+        }
+        Map<String, Object> target = new LinkedHashMap<String, Object>();
+        Object index = metadata.get(INDEX);
+        target.put(INDEX, (index != null ? index : defaultIndex));
+        target.put(ID, id);
+        if (metadata.get(ROUTING) != null) {
+            target.put(ROUTING, metadata.get(ROUTING));
+        }
+        return target;
+    }
+
+    private Object parse(BytesArray entry, int from, int to) {
+        try {
+            return mapper.readValue(entry.bytes(), from, to - from, Object.class);
+        } catch (IOException ex) {
+            throw new OpenSearchHadoopSerializationException("Cannot parse bulk entry " + entry, ex);
+        }
+    }
+
+    private static int headerEnd(BytesArray entry) {
+        byte[] bytes = entry.bytes();
+        int length = entry.length();
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] == '\n') {
+                // the source has to follow
+                return (i + 1 < length ? i + 1 : -1);
+            }
+        }
+        return -1;
+    }
+
+    // 64-bit FNV-1a
+    static long hash(byte[] bytes, int from, int to) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            hash ^= (bytes[i] & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Open-addressing long to long table - keeps the footprint per document to two longs.
+     * Zero is used as the free marker for keys (remapped) and as the missing value.
+     * Holds up to a maximum number of entries; past that, a new key replaces the last one of its probe sequence (which
+     * keeps the sequences of the other keys intact) or is not remembered, so the table never grows past its bound.
+     */
+    static class DigestTable {
+        private static final int MIN_CAPACITY = 1024;
+        private static final int MAX_CAPACITY = 1 << 30;
+
+        private final int maxEntries;
+        private long[] keys;
+        private long[] values;
+        private int size = 0;
+
+        DigestTable(int maxEntries) {
+            this.maxEntries = Math.max(1, Math.min(maxEntries, MAX_CAPACITY / 2));
+            int capacity = Math.min(MIN_CAPACITY, Integer.highestOneBit(this.maxEntries * 2 - 1) << 1);
+            keys = new long[capacity];
+            values = new long[capacity];
+        }
+
+        long get(long key) {
+            key = (key == 0 ? 1 : key);
+            int mask = keys.length - 1;
+            for (int i = slot(key, mask); keys[i] != 0; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return 0;
+        }
+
+        void put(long key, long value) {
+            key = (key == 0 ? 1 : key);
+            if (size < maxEntries && (size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int mask = keys.length - 1;
+            int i = slot(key, mask);
+            while (keys[i] != 0 && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            if (keys[i] == 0) {
+                if (size < maxEntries) {
+                    size++;
+                } else if (i != slot(key, mask)) {
+                    // full; replace the last key of the probe sequence
+                    i = (i - 1) & mask;
+                } else {
+                    // full and nothing to replace without breaking the probe sequences of the other keys
+                    return;
+                }
+            }
+            keys[i] = key;
+            values[i] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        private static int slot(long key, int mask) {
+            return (int) (key ^ (key >>> 32)) & mask;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new long[oldValues.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+    }
+}
@@ -45,6 +45,8 @@ import org.opensearch.hadoop.cfg.Settings;
 import org.opensearch.hadoop.handler.OpenSearchHadoopAbortHandlerException;
 import org.opensearch.hadoop.handler.HandlerResult;
 import org.opensearch.hadoop.rest.ErrorExtractor;
+import org.opensearch.hadoop.rest.HttpStatus;
+import org.opensearch.hadoop.rest.NetworkClient;
 import org.opensearch.hadoop.rest.Resource;
 import org.opensearch.hadoop.rest.RestClient;
 import org.opensearch.hadoop.rest.bulk.handler.BulkWriteErrorCollector;
@@ -57,6 +59,7 @@ import org.opensearch.hadoop.rest.stats.Stats;
 import org.opensearch.hadoop.rest.stats.StatsAware;
 import org.opensearch.hadoop.util.ArrayUtils;
 import org.opensearch.hadoop.util.Assert;
+import org.opensearch.hadoop.util.BufferPool;
 import org.opensearch.hadoop.util.BytesArray;
 import org.opensearch.hadoop.util.BytesRef;
 import org.opensearch.hadoop.util.TrackingBytesArray;
@@ -75,8 +78,14 @@ public class BulkProcessor implements Closeable, StatsAware {
     private final Settings settings;
     private final Stats stats = new Stats();
     private final ErrorExtractor errorExtractor;
+    private final BulkBackPressure backPressure;
+    private final NetworkClient.AttemptListener nodePermits;
 
     // Buffers and state of content
+    private final int batchSizeInBytes;
+    // null unless the buffers are recycled
+    private final BufferPool bufferPool;
+    private byte[] buffer;
     private BytesArray ba;
     private TrackingBytesArray data;
     private int dataEntries = 0;
@@ -102,7 +111,8 @@ public class BulkProcessor implements Closeable, StatsAware {
         // Flushing bounds
         this.autoFlush = !settings.getBatchFlushManual();
         this.bufferEntriesThreshold = settings.getBatchSizeInEntries();
-        this.requiresRefreshAfterBulk = settings.getBatchRefreshAfterWrite();
+        // in bulk-load mode, the index is refreshed once the whole job completes
+        this.requiresRefreshAfterBulk = settings.getBatchRefreshAfterWrite() && !settings.getBatchWriteBulkLoad();
 
         // Negative retry count means that we're going to retry forever in the retry handler.
         int retryCount = settings.getBatchWriteRetryCount();
@@ -112,8 +122,9 @@ public class BulkProcessor implements Closeable, StatsAware {
         this.retryLimit = (limit < retryCount || retryCount < 0) ? retryCount : limit;
 
         // Backing data array
-        this.ba = new BytesArray(new byte[settings.getBatchSizeInBytes()], 0);
-        this.data = new TrackingBytesArray(ba);
+        this.batchSizeInBytes = settings.getBatchSizeInBytes();
+        this.bufferPool = settings.getBatchBufferPoolEnabled() ? BufferPool.get(settings.getBatchBufferPoolSize()) : null;
+        allocateBuffer();
 
         // Create error handlers
         BulkWriteErrorHandler httpRetryHandler = new HttpRetryHandler(settings);
@@ -128,6 +139,10 @@ public class BulkProcessor implements Closeable, StatsAware {
         // Error Extractor
         this.errorExtractor = new ErrorExtractor();
 
+        // Throttling shared with the other writers
+        this.backPressure = new BulkBackPressure(settings);
+        this.nodePermits = backPressure.permits();
+
     }
 
     /**
@@ -137,14 +152,15 @@ public class BulkProcessor implements Closeable, StatsAware {
     public void add(BytesRef payload) {
         // check space first
         // ba is the backing array for data
-        if (payload.length() > ba.available()) {
+        // pooled buffers may be larger than the batch size
+        if (payload.length() > batchSizeInBytes - ba.length()) {
             if (autoFlush) {
                 flush();
             }
             else {
                 throw new OpenSearchHadoopIllegalStateException(
                         String.format("Auto-flush disabled and bulk buffer full; disable manual flush or increase " +
-                                "capacity [current size %s]; bailing out", ba.capacity()));
+                                "capacity [current size %s]; bailing out", batchSizeInBytes));
             }
         }
 
@@ -222,7 +238,20 @@ public class BulkProcessor implements Closeable, StatsAware {
 
                     // Exec bulk operation to OpenSearch, get response.
                     debugLog(bulkLoggingID, "Submitting request");
-                    RestClient.BulkActionResponse bar = restClient.bulk(resource, data);
+                    RestClient.BulkActionResponse bar;
+                    backPressure.throttle(data.entries(), data.length());
+                    try {
+                        bar = restClient.bulk(resource, data, nodePermits);
+                    } catch (OpenSearchHadoopException ex) {
+                        if (!backPressure.onFailure(ex)) {
+                            throw ex;
+                        }
+                        // Rejected as a whole: send everything again once the writers are done pausing.
+                        debugLog(bulkLoggingID, "Request rejected");
+                        totalAttempts++;
+                        retryOperation = true;
+                        continue;
+                    }
                     debugLog(bulkLoggingID, "Response received");
                     totalAttempts++;
                     totalTime += bar.getTimeSpent();
@@ -237,10 +266,23 @@ public class BulkProcessor implements Closeable, StatsAware {
                     executedBulkWrite = true;
 
                     // Handle bulk write failures
-                    if (!bar.getEntries().hasNext()) {
+                    if (!bar.hasErrors()) {
+                        backPressure.onResponse(false);
+                        // No item failed: every document left in the buffer made it in.
+                        stats.bytesAccepted += data.length();
+                        stats.docsAccepted += data.entries();
+                        docsSent += data.entries();
+                        retryOperation = false;
+                        if (docsAborted > 0) {
+                            bulkResult = BulkResponse.partial(bar.getResponseCode(), totalTime, totalDocs, docsSent, docsSkipped, docsAborted, abortErrors);
+                        } else {
+                            bulkResult = BulkResponse.complete(bar.getResponseCode(), totalTime, totalDocs, docsSent, docsSkipped);
+                        }
+                    } else if (!bar.getEntries().hasNext()) {
                         // Legacy Case:
                         // If no items on response, assume all documents made it in.
                         // Recorded bytes are ack'd here
+                        backPressure.onResponse(false);
                         stats.bytesAccepted += data.length();
                         stats.docsAccepted += data.entries();
                         retryOperation = false;
@@ -250,9 +292,9 @@ public class BulkProcessor implements Closeable, StatsAware {
                         // Iterate over the response and the data in the tracking bytes array at the same time, passing
                         // errors to error handlers for resolution.
 
-                        // Keep track of which document we are on as well as where we are in the tracking bytes array.
+                        // Keep track of which document we are on; it is also its position in the tracking bytes array since
+                        // processed entries are only discarded (and compacted once the response has been handled).
                         int documentNumber = 0;
-                        int trackingBytesPosition = 0;
 
                         // Hand off the previous list of retries so that we can track the next set of retries (if any).
                         List<BulkAttempt> previousRetries = retries;
@@ -263,6 +305,9 @@ public class BulkProcessor implements Closeable, StatsAware {
 
                         BulkWriteErrorCollector errorCollector = new BulkWriteErrorCollector();
 
+                        // Whether the cluster pushed back (rejected documents)
+                        boolean rejected = false;
+
                         // Iterate over all entries, and for each error found, attempt to handle the problem.
                         for (Iterator<Map> iterator = bar.getEntries(); iterator.hasNext(); ) {
 
@@ -275,16 +320,17 @@ public class BulkProcessor implements Closeable, StatsAware {
 
                             if (error == null){
                                 // Write operation for this entry succeeded
-                                stats.bytesAccepted += data.length(trackingBytesPosition);
+                                stats.bytesAccepted += data.length(documentNumber);
                                 stats.docsAccepted += 1;
                                 docsSent += 1;
-                                data.remove(trackingBytesPosition);
+                                data.discard(documentNumber);
                             } else {
                                 // Found a failed write
-                                BytesArray document = data.entry(trackingBytesPosition);
+                                BytesArray document = data.entry(documentNumber);
 
                                 // In pre-2.x ES versions, the status is not included.
                                 int status = docStatus == null ? -1 : docStatus;
+                                rejected |= (status == HttpStatus.TOO_MANY_REQUESTS);
 
                                 // Figure out which attempt number sending this document was and which position the doc was in
                                 BulkAttempt previousAttempt;
@@ -338,19 +384,17 @@ public class BulkProcessor implements Closeable, StatsAware {
                                                     // Retry the same data.
                                                     // Continue to track the previous attempts.
                                                     retries.add(previousAttempt);
-                                                    trackingBytesPosition++;
                                                 } else {
                                                     // Check document contents to see if it was deserialized and reserialized.
                                                     if (ArrayUtils.sliceEquals(document.bytes(), document.offset(), document.length(), retryDataBuffer, 0, retryDataBuffer.length)) {
                                                         // Same document content. Leave the data as is in tracking buffer,
                                                         // and continue tracking previous attempts.
                                                         retries.add(previousAttempt);
-                                                        trackingBytesPosition++;
                                                     } else {
                                                         // Document has changed.
                                                         // Track new attempts.
                                                         BytesRef newEntry = validateEditedEntry(retryDataBuffer);
-                                                        data.remove(trackingBytesPosition);
+                                                        data.discard(documentNumber);
                                                         data.copyFrom(newEntry);
                                                         // Determine if our tracking bytes array is going to expand.
                                                         if (ba.available() < newEntry.length()) {
@@ -362,8 +406,9 @@ public class BulkProcessor implements Closeable, StatsAware {
                                                 }
                                             } else {
                                                 // Handled but not retried means we won't have sent that document.
-                                                data.remove(trackingBytesPosition);
+                                                data.discard(documentNumber);
                                                 docsSkipped += 1;
+                                                stats.docsSkipped += 1;
                                             }
                                             break handlerLoop;
                                         case PASS:
@@ -374,9 +419,15 @@ public class BulkProcessor implements Closeable, StatsAware {
                                             continue handlerLoop;
                                         case ABORT:
                                             errorCollector.getAndClearMessage(); // Sanity clearing
-                                            data.remove(trackingBytesPosition);
+                                            data.discard(documentNumber);
                                             docsAborted += 1;
-                                            abortErrors.add(new BulkResponse.BulkError(previousAttempt.originalPosition, document, status, error));
+                                            BytesArray aborted = document;
+                                            if (bufferPool != null) {
+                                                // pooled buffers are reused by other writers once released
+                                                aborted = new BytesArray(document.length());
+                                                document.copyTo(aborted);
+                                            }
+                                            abortErrors.add(new BulkResponse.BulkError(previousAttempt.originalPosition, aborted, status, error));
                                             break handlerLoop;
                                     }
                                 }
@@ -384,6 +435,10 @@ public class BulkProcessor implements Closeable, StatsAware {
                             documentNumber++;
                         }
 
+                        // Drop the accepted, skipped, aborted and edited documents in one pass.
+                        data.compact();
+                        backPressure.onResponse(rejected);
+
                         // Place any new documents that have been added at the end of the data buffer at the end of the retry list.
                         retries.addAll(newDocumentRetries);
 
@@ -421,8 +476,8 @@ public class BulkProcessor implements Closeable, StatsAware {
         // during retry operations, the tracking bytes array may grow. In that case, do a hard reset.
         // TODO: Perhaps open an issue to limit the expansion of a single byte array (for repeated rewrite-retries)
         if (trackingArrayExpanded) {
-            ba = new BytesArray(new byte[settings.getBatchSizeInBytes()], 0);
-            data = new TrackingBytesArray(ba);
+            releaseBuffer();
+            allocateBuffer();
         } else {
             data.reset();
             dataEntries = 0;
@@ -431,6 +486,22 @@ public class BulkProcessor implements Closeable, StatsAware {
         return bulkResult;
     }
 
+    private void allocateBuffer() {
+        buffer = (bufferPool != null ? bufferPool.borrow(batchSizeInBytes) : new byte[batchSizeInBytes]);
+        ba = new BytesArray(buffer, 0);
+        data = new TrackingBytesArray(ba);
+    }
+
+    private void releaseBuffer() {
+        if (bufferPool != null && buffer != null) {
+            bufferPool.release(buffer);
+            // detach from the array now potentially used by another writer
+            buffer = null;
+            ba = new BytesArray(BytesArray.EMPTY, 0);
+            data = new TrackingBytesArray(ba);
+        }
+    }
+
     /**
      * Validate the byte contents of a bulk entry that has been edited before being submitted for retry.
      * @param retryDataBuffer The new entry contents
@@ -560,6 +631,17 @@ public class BulkProcessor implements Closeable, StatsAware {
     }
 
 
+    /**
+     * Drops the entries not sent yet, so that closing the processor does not write them.
+     */
+    public void discard() {
+        if (LOG.isDebugEnabled() && dataEntries > 0) {
+            LOG.debug(String.format("Discarding [%d] unsent entries", dataEntries));
+        }
+        data.reset();
+        dataEntries = 0;
+    }
+
     /**
      * Flushes and closes the bulk processor to further writes.
      */
@@ -583,6 +665,7 @@ public class BulkProcessor implements Closeable, StatsAware {
                 }
             }
         } finally {
+            releaseBuffer();
             for (IBulkWriteErrorHandler handler : documentBulkErrorHandlers) {
                 handler.close();
             }
@@ -0,0 +1,350 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest.bulk;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.serialization.OpenSearchHadoopSerializationException;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.DeserializationConfig;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.ObjectMapper;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.SerializationConfig;
+import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.BytesRef;
+import org.opensearch.hadoop.util.StringUtils;
+
+/**
+ * Combining stage in front of the {@link BulkProcessor} for update/upsert operations. Entries targeting the same
+ * document (same action header) within a batch are merged into one before being handed to the processor:
+ * <ul>
+ * <li>partial documents ({@code doc}) are merged recursively, later values winning - the same outcome as applying
+ * the updates one after the other</li>
+ * <li>scripted updates are folded into one script execution by combining their params as configured through
+ * {@link ConfigurationOptions#OPENSEARCH_UPDATE_COMBINE_SCRIPT_PARAMS}; without it (or for params not listed),
+ * scripted updates are sent as is</li>
+ * </ul>
+ * Entries that cannot be combined push the pending entry of the document to the processor first, so the relative
+ * order of the updates of a document is preserved.
+ */
+public class BulkUpdateCombiner {
+
+    private static Log LOG = LogFactory.getLog(BulkUpdateCombiner.class);
+
+    enum Fold {
+        SUM, MIN, MAX, LAST
+    }
+
+    private static final String DOC = "doc";
+    private static final String DOC_AS_UPSERT = "doc_as_upsert";
+    private static final String SCRIPT = "script";
+    private static final String PARAMS = "params";
+    private static final String SCRIPTED_UPSERT = "scripted_upsert";
+    private static final String UPSERT = "upsert";
+
+    private static class Pending {
+        final String header;
+        final BytesArray entry;
+        Map<String, Object> body;
+
+        Pending(String header, BytesArray entry) {
+            this.header = header;
+            this.entry = entry;
+        }
+    }
+
+    private final ObjectMapper mapper;
+    private final BulkProcessor processor;
+    private final Map<String, Fold> folds;
+
+    private final int entriesThreshold;
+    private final int bytesThreshold;
+
+    private final Map<String, Pending> pending = new LinkedHashMap<String, Pending>();
+    private final BytesRef ref = new BytesRef();
+    private int pendingBytes = 0;
+    private long combined = 0;
+
+    public BulkUpdateCombiner(Settings settings, BulkProcessor processor) {
+        this.processor = processor;
+        this.folds = parseFolds(settings.getUpdateCombineScriptParams());
+        this.entriesThreshold = settings.getBatchSizeInEntries();
+        this.bytesThreshold = settings.getBatchSizeInBytes();
+
+        this.mapper = new ObjectMapper();
+        mapper.configure(DeserializationConfig.Feature.USE_ANNOTATIONS, false);
+        mapper.configure(SerializationConfig.Feature.USE_ANNOTATIONS, false);
+    }
+
+    static Map<String, Fold> parseFolds(String definition) {
+        Map<String, Fold> folds = new LinkedHashMap<String, Fold>();
+        for (String token : StringUtils.tokenize(definition)) {
+            List<String> pair = StringUtils.tokenize(token, ":");
+            if (pair.size() != 2) {
+                throw new OpenSearchHadoopIllegalArgumentException(String.format(
+                        "Invalid param definition [%s] in [%s]; expected <param>:<sum|min|max|last>", token,
+                        ConfigurationOptions.OPENSEARCH_UPDATE_COMBINE_SCRIPT_PARAMS));
+            }
+            Fold fold;
+            try {
+                fold = Fold.valueOf(pair.get(1).toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new OpenSearchHadoopIllegalArgumentException(String.format(
+                        "Unknown fold [%s] for param [%s]; expected one of sum, min, max, last", pair.get(1), pair.get(0)));
+            }
+            folds.put(pair.get(0), fold);
+        }
+        return folds;
+    }
+
+    /**
+     * Adds an entry, combining it with the pending entry of the same document if possible.
+     * @param payload the entire bulk entry in JSON format, including the header and payload.
+     */
+    public void add(BytesRef payload) {
+        BytesArray entry = new BytesArray(payload.length());
+        payload.copyTo(entry);
+
+        int headerEnd = headerEnd(entry);
+        if (headerEnd < 0) {
+            // not an action/source pair - nothing to combine with
+            send(entry);
+            return;
+        }
+
+        String header = new String(entry.bytes(), 0, headerEnd, StringUtils.UTF_8);
+        Pending existing = pending.get(header);
+        if (existing != null) {
+            Map<String, Object> body = parseBody(entry, headerEnd);
+            if (existing.body == null) {
+                existing.body = parseBody(existing.entry, headerEnd);
+            }
+            if (combine(existing.body, body)) {
+                combined++;
+                return;
+            }
+            // keep the order of the updates for the document
+            pending.remove(header);
+            pendingBytes -= existing.entry.length();
+            send(existing);
+        }
+
+        pending.put(header, new Pending(header, entry));
+        pendingBytes += entry.length();
+
+        if ((entriesThreshold > 0 && pending.size() >= entriesThreshold) || pendingBytes >= bytesThreshold) {
+            drain();
+        }
+    }
+
+    /**
+     * Hands all the pending entries to the processor. To be called before the processor is flushed.
+     */
+    public void drain() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug(String.format("Draining [%s] combined update entries (combined [%s] so far)", pending.size(), combined));
+        }
+        for (Iterator<Pending> it = pending.values().iterator(); it.hasNext();) {
+            send(it.next());
+            it.remove();
+        }
+        pendingBytes = 0;
+    }
+
+    /**
+     * @return the number of entries folded into others
+     */
+    public long combined() {
+        return combined;
+    }
+
+    private void send(Pending entry) {
+        if (entry.body == null) {
+            send(entry.entry);
+            return;
+        }
+        byte[] body;
+        try {
+            body = mapper.writeValueAsBytes(entry.body);
+        } catch (IOException ex) {
+            throw new OpenSearchHadoopSerializationException(ex);
+        }
+        BytesArray ba = new BytesArray(entry.entry.length());
+        ba.add(entry.header);
+        ba.add(body);
+        ba.add('\n');
+        send(ba);
+    }
+
+    private void send(BytesArray entry) {
+        ref.reset();
+        ref.add(entry);
+        processor.add(ref);
+        ref.reset();
+    }
+
+    private static int headerEnd(BytesArray entry) {
+        byte[] bytes = entry.bytes();
+        int length = entry.length();
+        for (int i = entry.offset(); i < length; i++) {
+            if (bytes[i] == '\n') {
+                // the source has to follow
+                return (i + 1 < length ? i + 1 : -1);
+            }
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parseBody(BytesArray entry, int from) {
+        try {
+            return mapper.readValue(entry.bytes(), from, entry.length() - from, Map.class);
+        } catch (IOException ex) {
+            throw new OpenSearchHadoopSerializationException("Cannot parse bulk update entry " + entry, ex);
+        }
+    }
+
+    /**
+     * Folds the given (later) update into the pending one.
+     * @return whether the update has been combined or not (in which case the pending update is left untouched)
+     */
+    @SuppressWarnings("unchecked")
+    boolean combine(Map<String, Object> pending, Map<String, Object> next) {
+        if (!pending.keySet().equals(next.keySet())) {
+            return false;
+        }
+        if (pending.containsKey(DOC)) {
+            if (pending.size() > 2 || (pending.size() == 2 && !pending.containsKey(DOC_AS_UPSERT))
+                    || !Objects.equals(pending.get(DOC_AS_UPSERT), next.get(DOC_AS_UPSERT))) {
+                return false;
+            }
+            Object doc = pending.get(DOC);
+            Object nextDoc = next.get(DOC);
+            if (!(doc instanceof Map) || !(nextDoc instanceof Map)) {
+                return false;
+            }
+            mergeDoc((Map<String, Object>) doc, (Map<String, Object>) nextDoc);
+            return true;
+        }
+        if (pending.containsKey(SCRIPT)) {
+            // a plain upsert document is indexed instead of running the script - only the scripted variant can be folded
+            if (pending.containsKey(UPSERT) && !Boolean.TRUE.equals(pending.get(SCRIPTED_UPSERT))) {
+                return false;
+            }
+            for (String key : pending.keySet()) {
+                if (!SCRIPT.equals(key) && !UPSERT.equals(key) && !Objects.equals(pending.get(key), next.get(key))) {
+                    return false;
+                }
+            }
+            Object script = pending.get(SCRIPT);
+            Object nextScript = next.get(SCRIPT);
+            if (!(script instanceof Map) || !(nextScript instanceof Map)) {
+                return false;
+            }
+            // the upsert document of the first update is the one used
+            return foldScript((Map<String, Object>) script, (Map<String, Object>) nextScript);
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void mergeDoc(Map<String, Object> doc, Map<String, Object> next) {
+        for (Entry<String, Object> entry : next.entrySet()) {
+            Object current = doc.get(entry.getKey());
+            if (current instanceof Map && entry.getValue() instanceof Map) {
+                mergeDoc((Map<String, Object>) current, (Map<String, Object>) entry.getValue());
+            }
+            else {
+                doc.put(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean foldScript(Map<String, Object> script, Map<String, Object> next) {
+        if (folds.isEmpty() || !script.keySet().equals(next.keySet())) {
+            return false;
+        }
+        for (String key : script.keySet()) {
+            if (!PARAMS.equals(key) && !Objects.equals(script.get(key), next.get(key))) {
+                return false;
+            }
+        }
+        Object params = script.get(PARAMS);
+        Object nextParams = next.get(PARAMS);
+        if (!(params instanceof Map) || !(nextParams instanceof Map)) {
+            return false;
+        }
+        Map<String, Object> current = (Map<String, Object>) params;
+        Map<String, Object> later = (Map<String, Object>) nextParams;
+        if (!current.keySet().equals(later.keySet()) || !folds.keySet().containsAll(current.keySet())) {
+            return false;
+        }
+        // check first, so nothing is changed if one of the params cannot be folded
+        Map<String, Object> folded = new LinkedHashMap<String, Object>();
+        for (Entry<String, Object> entry : current.entrySet()) {
+            Object value = fold(folds.get(entry.getKey()), entry.getValue(), later.get(entry.getKey()));
+            if (value == null) {
+                return false;
+            }
+            folded.put(entry.getKey(), value);
+        }
+        current.putAll(folded);
+        return true;
+    }
+
+    private static Object fold(Fold fold, Object value, Object next) {
+        if (fold == Fold.LAST) {
+            return next;
+        }
+        if (!(value instanceof Number) || !(next instanceof Number)) {
+            return null;
+        }
+        Number a = (Number) value;
+        Number b = (Number) next;
+        boolean integral = isIntegral(a) && isIntegral(b);
+        switch (fold) {
+        case SUM:
+            if (integral) {
+                return a.longValue() + b.longValue();
+            }
+            return new BigDecimal(a.toString()).add(new BigDecimal(b.toString())).doubleValue();
+        case MIN:
+            return (compare(a, b, integral) <= 0 ? a : b);
+        case MAX:
+            return (compare(a, b, integral) >= 0 ? a : b);
+        default:
+            return null;
+        }
+    }
+
+    private static boolean isIntegral(Number number) {
+        return number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte;
+    }
+
+    private static int compare(Number a, Number b, boolean integral) {
+        return (integral ? Long.compare(a.longValue(), b.longValue()) : Double.compare(a.doubleValue(), b.doubleValue()));
+    }
+}
@@ -43,6 +43,8 @@ public class Stats {
     /** ack */
     public long bytesAccepted;
     public long docsAccepted;
+    /** handled by the error handlers without being written */
+    public long docsSkipped;
     /** reads */
     public long bytesReceived;
     public long docsReceived;
@@ -77,6 +79,7 @@ public class Stats {
 
         this.bytesAccepted = stats.bytesAccepted;
         this.docsAccepted = stats.docsAccepted;
+        this.docsSkipped = stats.docsSkipped;
 
         this.bytesReceived = stats.bytesReceived;
         this.docsReceived = stats.docsReceived;
@@ -105,6 +108,7 @@ public class Stats {
         bulkRetries += other.bulkRetries;
         bytesAccepted += other.bytesAccepted;
         docsAccepted += other.docsAccepted;
+        docsSkipped += other.docsSkipped;
 
         bytesReceived += other.bytesReceived;
         docsReceived += other.docsReceived;
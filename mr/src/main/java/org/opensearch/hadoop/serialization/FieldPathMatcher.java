@@ -0,0 +1,108 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.serialization;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.opensearch.hadoop.serialization.field.FieldFilter;
+import org.opensearch.hadoop.serialization.field.FieldFilter.NumberedInclude;
+
+/**
+ * Trie of the field paths encountered while reading documents. Each node holds the outcome of the include/exclude
+ * filtering, the array include check and the mapping lookup for its path, computed once when the path is first seen.
+ * Navigation goes through the field names returned by the parser (which are interned), so reading a known field
+ * requires neither building its absolute name nor matching any pattern.
+ *
+ * The number of cached paths is bounded to guard against documents with arbitrary keys; past that, nodes are
+ * computed for each access.
+ */
+final class FieldPathMatcher {
+
+    static final int MAX_CACHED_PATHS = 10000;
+
+    private final Map<String, FieldType> mapping;
+    private final boolean ignoreUnmappedFields;
+    private final List<NumberedInclude> includes;
+    private final List<String> excludes;
+    private final List<NumberedInclude> arrayIncludes;
+
+    private final Node root = new Node(null, null, false, false, true);
+    private int cachedPaths = 0;
+
+    FieldPathMatcher(Map<String, FieldType> mapping, boolean ignoreUnmappedFields, List<NumberedInclude> includes,
+                     List<String> excludes, List<NumberedInclude> arrayIncludes) {
+        this.mapping = mapping;
+        this.ignoreUnmappedFields = ignoreUnmappedFields;
+        this.includes = includes;
+        this.excludes = excludes;
+        this.arrayIncludes = arrayIncludes;
+    }
+
+    /**
+     * @return the node of the document root; it has no path and is never skipped
+     */
+    Node root() {
+        return root;
+    }
+
+    private Node compile(String path, boolean cacheable) {
+        FieldType type = mapping.get(path);
+
+        boolean skip;
+        // if ignoring unmapped fields, the filters are already applied
+        if (ignoreUnmappedFields) {
+            skip = !mapping.containsKey(path);
+        } else {
+            skip = !FieldFilter.filter(path, includes, excludes).matched;
+        }
+
+        boolean array = (arrayIncludes != null && !arrayIncludes.isEmpty()
+                && FieldFilter.filter(path, arrayIncludes, null, false).matched);
+
+        return new Node(path, type, skip, array, cacheable);
+    }
+
+    final class Node {
+        final String path;
+        final FieldType type;
+        final boolean skip;
+        final boolean array;
+
+        private final boolean cacheable;
+        private Map<String, Node> children;
+
+        private Node(String path, FieldType type, boolean skip, boolean array, boolean cacheable) {
+            this.path = path;
+            this.type = type;
+            this.skip = skip;
+            this.array = array;
+            this.cacheable = cacheable;
+        }
+
+        Node child(String name) {
+            Node child = (children != null ? children.get(name) : null);
+            if (child == null) {
+                boolean cache = cacheable && cachedPaths < MAX_CACHED_PATHS;
+                child = compile(path != null ? path + "." + name : name, cache);
+                if (cache) {
+                    if (children == null) {
+                        children = new HashMap<String, Node>();
+                    }
+                    children.put(name, child);
+                    cachedPaths++;
+                }
+            }
+            return child;
+        }
+    }
+}
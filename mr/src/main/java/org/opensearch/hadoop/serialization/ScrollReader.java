@@ -32,6 +32,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -46,6 +47,7 @@ import org.opensearch.hadoop.handler.HandlerResult;
 import org.opensearch.hadoop.rest.OpenSearchHadoopParsingException;
 import org.opensearch.hadoop.serialization.Parser.NumberType;
 import org.opensearch.hadoop.serialization.Parser.Token;
+import org.opensearch.hadoop.serialization.builder.RawJsonValueReader;
 import org.opensearch.hadoop.serialization.builder.ValueParsingCallback;
 import org.opensearch.hadoop.serialization.builder.ValueReader;
 import org.opensearch.hadoop.serialization.dto.mapping.Mapping;
@@ -56,6 +58,7 @@ import org.opensearch.hadoop.serialization.handler.read.IDeserializationErrorHan
 import org.opensearch.hadoop.serialization.json.BlockAwareJsonParser;
 import org.opensearch.hadoop.serialization.json.JacksonJsonParser;
 import org.opensearch.hadoop.util.Assert;
+import org.opensearch.hadoop.util.BufferPool;
 import org.opensearch.hadoop.util.BytesArray;
 import org.opensearch.hadoop.util.FastByteArrayInputStream;
 import org.opensearch.hadoop.util.IOUtils;
@@ -204,7 +207,7 @@ public class ScrollReader implements Closeable {
 
     private final ValueReader reader;
     private final ValueParsingCallback parsingCallback;
-    private final Map<String, FieldType> esMapping;
+    private final RawJsonValueReader rawJsonReader;
     private final boolean trace = log.isTraceEnabled();
     private final boolean readMetadata;
     private boolean inMetadataSection;
@@ -212,11 +215,13 @@ public class ScrollReader implements Closeable {
     private final boolean returnRawJson;
     private final boolean ignoreUnmappedFields;
 
+    // null unless the responses are read into recycled buffers
+    private final BufferPool bufferPool;
+    private int expectedLength = 0;
+
     private boolean insideGeo = false;
 
-    private final List<FieldFilter.NumberedInclude> includeFields;
-    private final List<String> excludeFields;
-    private final List<FieldFilter.NumberedInclude> includeArrayFields;
+    private final FieldPathMatcher fieldPaths;
     private List<IDeserializationErrorHandler> deserializationErrorHandlers;
 
     private static final String[] SCROLL_ID = new String[] { "_scroll_id" };
@@ -230,35 +235,75 @@ public class ScrollReader implements Closeable {
     public ScrollReader(ScrollReaderConfigBuilder scrollConfig) {
         this.reader = scrollConfig.getReader();
         this.parsingCallback = (reader instanceof ValueParsingCallback ?  (ValueParsingCallback) reader : null);
+        this.rawJsonReader = (reader instanceof RawJsonValueReader ? (RawJsonValueReader) reader : null);
 
         this.readMetadata = scrollConfig.getReadMetadata();
         this.metadataField = scrollConfig.getMetadataName();
         this.returnRawJson = scrollConfig.getReturnRawJson();
         this.ignoreUnmappedFields = scrollConfig.getIgnoreUnmappedFields();
-        this.includeFields = FieldFilter.toNumberedFilter(scrollConfig.getIncludeFields());
-        this.excludeFields = scrollConfig.getExcludeFields();
-        this.includeArrayFields = FieldFilter.toNumberedFilter(scrollConfig.getIncludeArrayFields());
+        this.bufferPool = scrollConfig.getBufferPool();
 
+        Map<String, FieldType> esMapping;
         Mapping mapping = scrollConfig.getResolvedMapping();
         if (mapping != null) {
             // optimize filtering
             if (ignoreUnmappedFields) {
                 mapping = mapping.filter(scrollConfig.getIncludeFields(), scrollConfig.getExcludeFields());
             }
-            this.esMapping = mapping.flatten();
+            esMapping = mapping.flatten();
         } else {
-            this.esMapping = Collections.emptyMap();
+            esMapping = Collections.emptyMap();
         }
 
+        this.fieldPaths = new FieldPathMatcher(esMapping, ignoreUnmappedFields,
+                FieldFilter.toNumberedFilter(scrollConfig.getIncludeFields()), scrollConfig.getExcludeFields(),
+                FieldFilter.toNumberedFilter(scrollConfig.getIncludeArrayFields()));
+
         this.deserializationErrorHandlers = scrollConfig.getErrorHandlerLoader().loadHandlers();
     }
 
     public Scroll read(InputStream content) throws IOException {
         Assert.notNull(content);
 
-        //copy content
-        BytesArray copy = IOUtils.asBytes(content);
-        content = new FastByteArrayInputStream(copy);
+        BytesArray copy = copy(content);
+        try {
+            return read(copy);
+        } finally {
+            release(copy);
+        }
+    }
+
+    /**
+     * Copies the given (raw) scroll response, into a recycled buffer if the responses are pooled.
+     * The copy is to be handed back through {@link #release(BytesArray)} once read.
+     */
+    public BytesArray copy(InputStream content) throws IOException {
+        if (bufferPool == null) {
+            return IOUtils.asBytes(content);
+        }
+        // pages tend to have similar sizes
+        BytesArray copy = IOUtils.asBytes(content, bufferPool, expectedLength);
+        expectedLength = copy.length();
+        return copy;
+    }
+
+    /**
+     * Recycles a response copied through {@link #copy(InputStream)}. The results read from it do not
+     * share its buffer: raw documents are copied by the {@link RawJsonValueReader} while error handlers
+     * are given a copy of the offending hit.
+     */
+    public void release(BytesArray copy) {
+        if (bufferPool != null && copy != null) {
+            bufferPool.release(copy.bytes());
+        }
+    }
+
+    /**
+     * Reads the given (raw) scroll response.
+     */
+    public Scroll read(BytesArray copy) throws IOException {
+        Assert.notNull(copy);
+        InputStream content = new FastByteArrayInputStream(copy);
 
         if (log.isTraceEnabled()) {
             log.trace("About to parse scroll content " + copy);
@@ -351,6 +396,18 @@ public class ScrollReader implements Closeable {
 
                 int rangeStart, rangeStop;
 
+                // no metadata to merge in - the doc is already available as is inside the response so slice it
+                if (!readMetadata && jsonPointers.hasDoc() && rawJsonReader != null) {
+                    rangeStart = bytesPosition[bytesPositionIndex];
+                    rangeStop = bytesPosition[bytesPositionIndex + 1];
+                    BytesArray slice = sliceObject(input, rangeStart, rangeStop);
+                    if (slice != null) {
+                        bytesPositionIndex += 2;
+                        result[1] = rawJsonReader.wrapJson(slice);
+                        continue;
+                    }
+                }
+
                 doc.add('{');
                 // first add the doc
                 if (jsonPointers.hasDoc()) {
@@ -403,7 +460,7 @@ public class ScrollReader implements Closeable {
                 doc.add('}');
 
                 // replace JsonResult with assembled document
-                result[1] = reader.wrapString(doc.toString());
+                result[1] = (rawJsonReader != null ? rawJsonReader.wrapJson(doc) : reader.wrapString(doc.toString()));
                 doc.reset();
             }
         }
@@ -416,6 +473,29 @@ public class ScrollReader implements Closeable {
         }
     }
 
+    /**
+     * Returns a view over the JSON object whose content (between the curly brackets) is found at the given positions
+     * or null if the surrounding brackets cannot be found.
+     */
+    private static BytesArray sliceObject(BytesArray input, int contentStart, int contentStop) {
+        if (contentStop - contentStart < 0) {
+            throw new IllegalArgumentException(String.format("Invalid position given=%s %s", contentStart, contentStop));
+        }
+        byte[] bytes = input.bytes();
+        if (contentStop >= input.offset() + input.length() || bytes[contentStop] != '}') {
+            return null;
+        }
+        int objectStart = contentStart - 1;
+        // skip any whitespace between the opening bracket and the first field
+        while (objectStart >= input.offset() && Character.isWhitespace(bytes[objectStart])) {
+            objectStart--;
+        }
+        if (objectStart < input.offset() || bytes[objectStart] != '{') {
+            return null;
+        }
+        return new BytesArray(bytes, objectStart, contentStop - objectStart + 1);
+    }
+
     private Object[] readHit(Parser parser, BytesArray input) {
         Token t = parser.currentToken();
         Assert.isTrue(t == Token.START_OBJECT, "expected object, found " + t);
@@ -449,7 +529,8 @@ public class ScrollReader implements Closeable {
 
                 // slice input data to create an input stream for the handler event
                 int hitEndPos = parser.tokenCharOffset();
-                BytesArray hitSection = new BytesArray(input.bytes(), hitStartPos, hitEndPos - hitStartPos + 1);
+                // handlers may hold on to it past the read so give them their own copy
+                BytesArray hitSection = new BytesArray(Arrays.copyOfRange(input.bytes(), hitStartPos, hitEndPos + 1));
 
                 // Make error event
                 List<String> passReasons = new ArrayList<String>();
@@ -570,7 +651,7 @@ public class ScrollReader implements Closeable {
                 if (t == Token.FIELD_NAME) {
                     if (!("fields".equals(name) || "_source".equals(name))) {
                         reader.beginField(absoluteName);
-                        value = read(absoluteName, parser.nextToken(), null, parser);
+                        value = read(absoluteName, parser.nextToken(), fieldPaths.root(), parser);
                         if (ID_FIELD.equals(name)) {
                             id = value;
                         }
@@ -613,7 +694,7 @@ public class ScrollReader implements Closeable {
                 parsingCallback.beginSource();
             }
 
-            data = read(StringUtils.EMPTY, t, null, parser);
+            data = read(StringUtils.EMPTY, t, fieldPaths.root(), parser);
 
             if (parsingCallback != null) {
                 parsingCallback.endSource();
@@ -646,11 +727,11 @@ public class ScrollReader implements Closeable {
         // in case of additional fields (matched_query), add them to the metadata
         while (parser.currentToken() == Token.FIELD_NAME) {
             String name = parser.currentName();
-            String absoluteName = StringUtils.stripFieldNameSourcePrefix(parser.absoluteName());
             if (readMetadata) {
                 // skip sort (useless and is an array which triggers the row mapping which does not apply)
                 if (!"sort".equals(name)) {
-                    reader.addToMap(data, reader.wrapString(name), read(absoluteName, parser.nextToken(), null, parser));
+                    String absoluteName = StringUtils.stripFieldNameSourcePrefix(parser.absoluteName());
+                    reader.addToMap(data, reader.wrapString(name), read(absoluteName, parser.nextToken(), fieldPaths.root(), parser));
                 }
                 else {
                     parser.nextToken();
@@ -683,20 +764,14 @@ public class ScrollReader implements Closeable {
         return result;
     }
 
-    private boolean shouldSkip(String absoluteName) {
+    private boolean shouldSkip(FieldPathMatcher.Node field) {
         // when parsing geo structures, ignore filtering as depending on the
         // type, JSON can have an object structure
         // especially for geo shapes
         if (insideGeo) {
             return false;
         }
-        // if ignoring unmapped fields, the filters are already applied
-        if (ignoreUnmappedFields) {
-            return !esMapping.containsKey(absoluteName);
-        }
-        else {
-            return !FieldFilter.filter(absoluteName, includeFields, excludeFields).matched;
-        }
+        return field.skip;
     }
 
     private Object[] readHitAsJson(Parser parser) {
@@ -885,7 +960,7 @@ public class ScrollReader implements Closeable {
         return hits;
     }
 
-    protected Object read(String fieldName, Token t, String fieldMapping, Parser parser) {
+    private Object read(String fieldName, Token t, FieldPathMatcher.Node fieldMapping, Parser parser) {
         if (t == Token.START_ARRAY) {
             return list(fieldName, fieldMapping, parser);
         }
@@ -926,7 +1001,7 @@ public class ScrollReader implements Closeable {
     }
 
     // Same as read(String, Token, String) above, but does not include checking the current field name to see if it's an array.
-    protected Object readListItem(String fieldName, Token t, String fieldMapping, Parser parser) {
+    private Object readListItem(String fieldName, Token t, FieldPathMatcher.Node fieldMapping, Parser parser) {
         if (t == Token.START_ARRAY) {
             return list(fieldName, fieldMapping, parser);
         }
@@ -949,14 +1024,9 @@ public class ScrollReader implements Closeable {
         return null;
     }
 
-    private boolean isArrayField(String fieldName) {
+    private boolean isArrayField(FieldPathMatcher.Node field) {
         // Test if the current field is marked as an array field in the include array property
-        if (fieldName != null) {
-            if (includeArrayFields != null && !includeArrayFields.isEmpty()) {
-                return FieldFilter.filter(fieldName, includeArrayFields, null, false).matched;
-            }
-        }
-        return false;
+        return field.array;
     }
 
     private Object parseValue(Parser parser, FieldType esType) {
@@ -972,7 +1042,7 @@ public class ScrollReader implements Closeable {
         return obj;
     }
 
-    protected Object list(String fieldName, String fieldMapping, Parser parser) {
+    private Object list(String fieldName, FieldPathMatcher.Node fieldMapping, Parser parser) {
         Token t = parser.currentToken();
 
         if (t == null) {
@@ -996,7 +1066,7 @@ public class ScrollReader implements Closeable {
         return array;
     }
 
-    protected Object singletonList(String fieldMapping, Object value, Parser parser) {
+    private Object singletonList(FieldPathMatcher.Node fieldMapping, Object value, Parser parser) {
         Object array = reader.createArray(mapping(fieldMapping, parser));
         // create only one element since with fields, we always get arrays which create unneeded allocations
         List<Object> content = new ArrayList<Object>(1);
@@ -1005,7 +1075,7 @@ public class ScrollReader implements Closeable {
         return array;
     }
 
-    protected Object map(String fieldMapping, Parser parser) {
+    private Object map(FieldPathMatcher.Node fieldMapping, Parser parser) {
         Token t = parser.currentToken();
 
         if (t == null) {
@@ -1017,7 +1087,7 @@ public class ScrollReader implements Closeable {
 
         boolean toggleGeo = false;
 
-        if (fieldMapping != null) {
+        if (fieldMapping.path != null) {
             // parse everything underneath without mapping
             if (FieldType.isGeo(mapping(fieldMapping, parser))) {
                 toggleGeo = true;
@@ -1031,22 +1101,11 @@ public class ScrollReader implements Closeable {
 
         for (; parser.currentToken() != Token.END_OBJECT;) {
             String currentName = parser.currentName();
-            String nodeMapping = fieldMapping;
-
-            if (nodeMapping != null) {
-                nodeMapping = fieldMapping + "." + currentName;
-            }
-            else {
-                nodeMapping = currentName;
-            }
-
-            String absoluteName = StringUtils.stripFieldNameSourcePrefix(parser.absoluteName());
-
-            if (!absoluteName.equals(nodeMapping)) {
-                throw new OpenSearchHadoopParsingException("Different node mapping " + absoluteName + "|" + nodeMapping);
-            }
+            // navigate the compiled paths instead of building the absolute name
+            FieldPathMatcher.Node nodeMapping = fieldMapping.child(currentName);
+            String absoluteName = nodeMapping.path;
 
-            if (shouldSkip(absoluteName)) {
+            if (shouldSkip(nodeMapping)) {
                 Token nt = parser.nextToken();
                 if (nt.isValue()) {
                     // consume and move on
@@ -1082,8 +1141,8 @@ public class ScrollReader implements Closeable {
         return map;
     }
 
-    private FieldType mapping(String fieldMapping, Parser parser) {
-        FieldType esType = esMapping.get(fieldMapping);
+    private FieldType mapping(FieldPathMatcher.Node fieldMapping, Parser parser) {
+        FieldType esType = fieldMapping.type;
 
         if (esType != null) {
             return esType;
@@ -38,6 +38,7 @@ import org.opensearch.hadoop.serialization.builder.ValueReader;
 import org.opensearch.hadoop.serialization.dto.mapping.Mapping;
 import org.opensearch.hadoop.serialization.handler.read.IDeserializationErrorHandler;
 import org.opensearch.hadoop.serialization.handler.read.impl.DeserializationHandlerLoader;
+import org.opensearch.hadoop.util.BufferPool;
 import org.opensearch.hadoop.util.StringUtils;
 
 public class ScrollReaderConfigBuilder {
@@ -71,6 +72,9 @@ public class ScrollReaderConfigBuilder {
 
     private HandlerLoader<IDeserializationErrorHandler> errorHandlerLoader;
 
+    // Response buffers
+    private BufferPool bufferPool;
+
     public ScrollReaderConfigBuilder(Settings settings, ValueReader reader) {
         this.reader = reader;
 
@@ -87,6 +91,8 @@ public class ScrollReaderConfigBuilder {
         loader.setSettings(settings);
         this.errorHandlerLoader = loader;
 
+        this.bufferPool = settings.getReadBufferPoolEnabled() ? BufferPool.get(settings.getReadBufferPoolSize()) : null;
+
         // No default value
         this.resolvedMapping = null;
     }
@@ -180,4 +186,13 @@ public class ScrollReaderConfigBuilder {
         this.errorHandlerLoader = new PreloadedHandlerLoader<IDeserializationErrorHandler>(errorHandlers);
         return this;
     }
+
+    public BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    public ScrollReaderConfigBuilder setBufferPool(BufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+        return this;
+    }
 }
\ No newline at end of file
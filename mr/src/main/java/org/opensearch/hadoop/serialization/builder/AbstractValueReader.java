@@ -32,11 +32,12 @@ import java.util.Deque;
 import java.util.LinkedList;
 
 import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException;
+import org.opensearch.hadoop.util.BytesArray;
 
 /**
  * A base implementation of a value reader that keeps track of which field is the current field being read.
  */
-public abstract class AbstractValueReader implements ValueReader {
+public abstract class AbstractValueReader implements ValueReader, RawJsonValueReader {
 
     /**
      * Encapsulates most of the field specific information that should be persisted when beginning to parse
@@ -90,4 +91,10 @@ public abstract class AbstractValueReader implements ValueReader {
             throw new OpenSearchHadoopIllegalStateException("Trying to end parsing of field [" + fieldName + "] but the current field [" + ctx.fieldName + "] is being parsed.");
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public Object wrapJson(BytesArray json) {
+        // decode straight from the (sliced) response bytes
+        return wrapString(json.toString());
+    }
+}
@@ -58,6 +58,24 @@ public class ContentBuilder {
         return new ContentBuilder(new JacksonJsonGenerator(bos), writer);
     }
 
+    /**
+     * Creates a builder that can be reused for multiple documents through {@link #reset(OutputStream)}, avoiding
+     * the creation of a new JSON generator (and its buffers) for each one of them.
+     * As the builder is stateful, it should be used by one thread at a time.
+     */
+    public static ContentBuilder generateReusable(OutputStream bos, ValueWriter writer) {
+        return new ContentBuilder(new JacksonJsonGenerator(bos, true), writer);
+    }
+
+    /**
+     * Prepares a reusable builder for writing a new document to the given stream.
+     */
+    public ContentBuilder reset(OutputStream bos) {
+        Assert.isTrue(generator instanceof JacksonJsonGenerator, "Builder is not reusable");
+        ((JacksonJsonGenerator) generator).reset(bos);
+        return this;
+    }
+
     @SuppressWarnings("unchecked")
     public ContentBuilder value(Object value) {
         Result result = writer.write(value, generator);
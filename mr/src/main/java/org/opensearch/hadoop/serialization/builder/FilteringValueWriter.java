@@ -30,7 +30,9 @@ package org.opensearch.hadoop.serialization.builder;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.opensearch.hadoop.cfg.Settings;
 import org.opensearch.hadoop.serialization.SettingsAware;
@@ -45,6 +47,12 @@ public abstract class FilteringValueWriter<T> implements ValueWriter<T>, Setting
     private List<String> excludes;
     private Boolean writeNullValues = Boolean.parseBoolean(OPENSEARCH_SPARK_DATAFRAME_WRITE_NULL_VALUES_DEFAULT);
 
+    // the same fields are checked for every document so cache the decisions (per parent path) to avoid
+    // creating the full path and matching it against the filters each time
+    private static final int MAX_CACHED_PATHS = 4096;
+    private final Map<String, Map<String, Boolean>> keepCache = new HashMap<String, Map<String, Boolean>>();
+    private int cachedPaths = 0;
+
     @Override
     public void setSettings(Settings settings) {
         List<String> includeAsStrings = StringUtils.tokenize(settings.getMappingIncludes());
@@ -54,11 +62,32 @@ public abstract class FilteringValueWriter<T> implements ValueWriter<T>, Setting
         }
         excludes = StringUtils.tokenize(settings.getMappingExcludes());
         writeNullValues = settings.getDataFrameWriteNullValues();
+        keepCache.clear();
+        cachedPaths = 0;
     }
 
     protected boolean shouldKeep(String parentField, String name) {
-        name = StringUtils.hasText(parentField) ? parentField + "." + name : name;
-        return FieldFilter.filter(name, includes, excludes).matched;
+        if ((includes == null || includes.isEmpty()) && (excludes == null || excludes.isEmpty())) {
+            return true;
+        }
+
+        String parent = (parentField != null ? parentField : StringUtils.EMPTY);
+        Map<String, Boolean> children = keepCache.get(parent);
+        Boolean keep = (children != null ? children.get(name) : null);
+        if (keep == null) {
+            String path = StringUtils.hasText(parentField) ? parentField + "." + name : name;
+            keep = Boolean.valueOf(FieldFilter.filter(path, includes, excludes).matched);
+            // avoid unbounded growth (such as maps with dynamic keys)
+            if (cachedPaths < MAX_CACHED_PATHS) {
+                if (children == null) {
+                    children = new HashMap<String, Boolean>();
+                    keepCache.put(parent, children);
+                }
+                children.put(name, keep);
+                cachedPaths++;
+            }
+        }
+        return keep.booleanValue();
     }
 
     protected boolean hasWriteNullValues() {
@@ -0,0 +1,28 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.serialization.builder;
+
+import org.opensearch.hadoop.util.BytesArray;
+
+// Optional interface used by readers that can consume raw JSON documents (returned when reading in JSON mode)
+// directly as UTF-8 bytes instead of going through an intermediate String.
+public interface RawJsonValueReader {
+
+    /**
+     * Wraps the given raw JSON document. The bytes are typically a slice (offset/length view) of the scroll
+     * response buffer or of a buffer reused across hits, hence implementations need to copy or decode them
+     * before returning.
+     *
+     * @param json UTF-8 encoded JSON document
+     * @return the value to return for the hit
+     */
+    Object wrapJson(BytesArray json);
+}
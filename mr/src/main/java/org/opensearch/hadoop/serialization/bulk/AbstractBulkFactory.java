@@ -100,6 +100,8 @@ public abstract class AbstractBulkFactory implements BulkFactory {
         final String headerValue;
         final FieldExtractor extractor;
         final BytesArrayPool pool = new BytesArrayPool();
+        // lazily created and reused for library specific types
+        private JacksonJsonGenerator generator;
 
         FieldWriter(FieldExtractor extractor) {
             this.headerValue = null;
@@ -157,11 +159,15 @@ public abstract class AbstractBulkFactory implements BulkFactory {
             }
             // library specific type - use the value writer (a bit overkill but handles collections/arrays properly)
             else {
-                BytesArray ba = pool.get();
-                JacksonJsonGenerator generator = new JacksonJsonGenerator(new FastByteArrayOutputStream(ba));
+                FastByteArrayOutputStream out = new FastByteArrayOutputStream(pool.get());
+                if (generator == null) {
+                    generator = new JacksonJsonGenerator(out, true);
+                }
+                else {
+                    generator.reset(out);
+                }
                 ValueWriter.Result writeResult = valueWriter.write(value, generator);
                 generator.flush();
-                generator.close();
                 if(writeResult.isSuccesful() == false) {
                     throw new RuntimeException("Write failed");
                 }
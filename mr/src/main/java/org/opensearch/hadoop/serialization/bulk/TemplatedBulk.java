@@ -50,6 +50,10 @@ class TemplatedBulk implements BulkCommand {
 
     private final ValueWriter valueWriter;
 
+    // reused across documents written to the scratch pad
+    private FastByteArrayOutputStream scratchPadStream;
+    private ContentBuilder contentBuilder;
+
     TemplatedBulk(Collection<Object> beforeObject, Collection<Object> afterObject, ValueWriter<?> valueWriter) {
         this.beforeObject = beforeObject;
         this.afterObject = afterObject;
@@ -77,6 +81,18 @@ class TemplatedBulk implements BulkCommand {
     }
 
     protected void doWriteObject(Object object, BytesArray storage, ValueWriter<?> writer) {
+        if (storage == scratchPad && writer == valueWriter) {
+            if (contentBuilder == null) {
+                scratchPadStream = new FastByteArrayOutputStream(scratchPad);
+                contentBuilder = ContentBuilder.generateReusable(scratchPadStream, valueWriter);
+            }
+            else {
+                contentBuilder.reset(scratchPadStream);
+            }
+            contentBuilder.value(object).flush();
+            return;
+        }
+
         FastByteArrayOutputStream bos = new FastByteArrayOutputStream(storage);
         ContentBuilder.generate(bos, writer).value(object).flush().close();
     }
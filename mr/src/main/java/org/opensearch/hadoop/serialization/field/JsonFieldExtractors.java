@@ -54,6 +54,8 @@ public class JsonFieldExtractors {
 
     private final List<Object> results = new ArrayList<Object>(6);
     private String[] paths;
+    // used when all the paths point to top-level fields
+    private JsonTopLevelFieldScanner scanner;
 
     private FieldExtractor id, parent, routing, ttl, version, timestamp;
     private AbstractIndexExtractor indexExtractor;
@@ -145,6 +147,15 @@ public class JsonFieldExtractors {
         }
 
         paths = jsonPaths.toArray(new String[jsonPaths.size()]);
+
+        boolean topLevelOnly = true;
+        for (String path : paths) {
+            if (path.contains(".")) {
+                topLevelOnly = false;
+                break;
+            }
+        }
+        scanner = (topLevelOnly && !ObjectUtils.isEmpty(paths) ? new JsonTopLevelFieldScanner(paths) : null);
     }
 
     private void initAndAdd(String fieldName, List<String> pathList, List<FieldExtractor> results) {
@@ -220,7 +231,12 @@ public class JsonFieldExtractors {
             log.trace(String.format("About to look for paths [%s] in doc [%s]", Arrays.toString(paths), storage));
         }
 
-        results.addAll(ParsingUtils.values(new JacksonJsonParser(storage.bytes(), 0, storage.length()), paths));
+        // top-level fields (typical for metadata) can be found without parsing the whole document
+        if (scanner != null && scanner.scan(storage.bytes(), storage.offset(), storage.length(), results)) {
+            return;
+        }
+
+        results.addAll(ParsingUtils.values(new JacksonJsonParser(storage.bytes(), storage.offset(), storage.length()), paths));
     }
 
     public FieldExtractor params() {
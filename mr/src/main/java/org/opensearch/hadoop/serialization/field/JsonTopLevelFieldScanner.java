@@ -0,0 +1,372 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.serialization.field;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+
+import org.opensearch.hadoop.serialization.ParsingUtils;
+import org.opensearch.hadoop.serialization.bulk.RawJson;
+import org.opensearch.hadoop.util.StringUtils;
+
+/**
+ * Byte-level scanner for extracting top-level fields out of a JSON document without going through a full JSON parser.
+ * Scanning stops as soon as all the requested fields are found. The values are returned in the same form as
+ * {@link ParsingUtils#values(org.opensearch.hadoop.serialization.Parser, String...)} - that is String, Number, Boolean,
+ * null or {@link RawJson} for objects and arrays.
+ *
+ * The scanner is lenient and does not validate the document; if the content does not look like a JSON object, the
+ * scanning is abandoned so the caller can fall back to a proper parser.
+ */
+class JsonTopLevelFieldScanner {
+
+    private final String[] fields;
+    private final byte[][] fieldBytes;
+    // next slot asking for the same field (such as the id also used for routing) or -1
+    private final int[] duplicates;
+    private final Object[] values;
+
+    private byte[] bytes;
+    private int pos;
+    private int limit;
+
+    JsonTopLevelFieldScanner(String[] fields) {
+        this.fields = fields;
+        this.fieldBytes = new byte[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            fieldBytes[i] = StringUtils.toUTF(fields[i]);
+        }
+        this.duplicates = new int[fields.length];
+        Arrays.fill(duplicates, -1);
+        for (int i = fields.length - 1; i >= 0; i--) {
+            for (int j = i + 1; j < fields.length; j++) {
+                if (fields[i].equals(fields[j])) {
+                    duplicates[i] = j;
+                    break;
+                }
+            }
+        }
+        this.values = new Object[fields.length];
+    }
+
+    /**
+     * Scans the given JSON object for the configured fields and adds their values (in the order of the fields) to
+     * the given list.
+     *
+     * @return true if the scanning succeeded, false if the content could not be handled (in which case the results
+     * are not modified)
+     */
+    boolean scan(byte[] content, int offset, int length, List<Object> results) {
+        this.bytes = content;
+        this.pos = offset;
+        this.limit = offset + length;
+        try {
+            if (!doScan()) {
+                return false;
+            }
+            results.addAll(Arrays.asList(values));
+            return true;
+        } finally {
+            this.bytes = null;
+        }
+    }
+
+    private boolean doScan() {
+        Arrays.fill(values, ParsingUtils.NOT_FOUND);
+        int found = 0;
+
+        if (!skipWhitespace() || bytes[pos++] != '{') {
+            return false;
+        }
+        if (!skipWhitespace()) {
+            return false;
+        }
+        if (bytes[pos] == '}') {
+            return true;
+        }
+
+        while (true) {
+            if (bytes[pos] != '"') {
+                return false;
+            }
+            int nameStart = pos + 1;
+            int nameEnd = skipString();
+            if (nameEnd < 0) {
+                return false;
+            }
+            if (!skipWhitespace() || bytes[pos++] != ':' || !skipWhitespace()) {
+                return false;
+            }
+
+            int slot = lookup(nameStart, nameEnd);
+            if (slot >= 0 && values[slot] == ParsingUtils.NOT_FOUND) {
+                int valueStart = pos;
+                if (!skipValue()) {
+                    return false;
+                }
+                Object value = readValue(valueStart, pos);
+                if (value == ParsingUtils.NOT_FOUND) {
+                    return false;
+                }
+                for (; slot >= 0; slot = duplicates[slot]) {
+                    values[slot] = value;
+                    found++;
+                }
+                if (found == values.length) {
+                    // everything found, no need to look at the rest of the document
+                    return true;
+                }
+            }
+            else if (!skipValue()) {
+                return false;
+            }
+
+            if (!skipWhitespace()) {
+                return false;
+            }
+            byte b = bytes[pos++];
+            if (b == '}') {
+                return true;
+            }
+            if (b != ',' || !skipWhitespace()) {
+                return false;
+            }
+        }
+    }
+
+    private int lookup(int start, int end) {
+        int length = end - start;
+        boolean escaped = false;
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == '\\') {
+                escaped = true;
+                break;
+            }
+        }
+        // escaped field names are not expected but handle them nevertheless
+        if (escaped) {
+            String name = unescape(start, end);
+            for (int i = 0; i < fields.length; i++) {
+                if (fields[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        for (int i = 0; i < fieldBytes.length; i++) {
+            byte[] field = fieldBytes[i];
+            if (field.length == length) {
+                boolean match = true;
+                for (int j = 0; j < length; j++) {
+                    if (field[j] != bytes[start + j]) {
+                        match = false;
+                        break;
+                    }
+                }
+                if (match) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    // returns NOT_FOUND if the value cannot be read
+    private Object readValue(int start, int end) {
+        switch (bytes[start]) {
+        case '"':
+            String value = unescape(start + 1, end - 1);
+            return (value != null ? value : ParsingUtils.NOT_FOUND);
+        case '{':
+        case '[':
+            return new RawJson(StringUtils.asUTFString(bytes, start, end - start));
+        case 't':
+            return (matches(start, end, "true") ? Boolean.TRUE : ParsingUtils.NOT_FOUND);
+        case 'f':
+            return (matches(start, end, "false") ? Boolean.FALSE : ParsingUtils.NOT_FOUND);
+        case 'n':
+            return (matches(start, end, "null") ? null : ParsingUtils.NOT_FOUND);
+        default:
+            return readNumber(start, end);
+        }
+    }
+
+    private boolean matches(int start, int end, String literal) {
+        if (end - start != literal.length()) {
+            return false;
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (bytes[start + i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // mimic the number types returned by the JSON parser
+    private Object readNumber(int start, int end) {
+        boolean decimal = false;
+        for (int i = start; i < end; i++) {
+            byte b = bytes[i];
+            if (b == '.' || b == 'e' || b == 'E') {
+                decimal = true;
+            }
+            else if (!((b >= '0' && b <= '9') || b == '-' || b == '+')) {
+                return ParsingUtils.NOT_FOUND;
+            }
+        }
+        String number = StringUtils.asUTFString(bytes, start, end - start);
+        try {
+            if (decimal) {
+                return Double.valueOf(number);
+            }
+            if (end - start < 19) {
+                long value = Long.parseLong(number);
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                    return Integer.valueOf((int) value);
+                }
+                return Long.valueOf(value);
+            }
+            BigInteger value = new BigInteger(number);
+            return (value.bitLength() < 64 ? (Object) Long.valueOf(value.longValue()) : value);
+        } catch (NumberFormatException ex) {
+            return ParsingUtils.NOT_FOUND;
+        }
+    }
+
+    // returns null if the string contains invalid escape sequences
+    private String unescape(int start, int end) {
+        int escape = -1;
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == '\\') {
+                escape = i;
+                break;
+            }
+        }
+        if (escape < 0) {
+            return StringUtils.asUTFString(bytes, start, end - start);
+        }
+
+        StringBuilder sb = new StringBuilder(end - start);
+        int chunk = start;
+        for (int i = escape; i < end; i++) {
+            if (bytes[i] != '\\') {
+                continue;
+            }
+            sb.append(StringUtils.asUTFString(bytes, chunk, i - chunk));
+            char c = (char) bytes[++i];
+            switch (c) {
+            case 'b':
+                sb.append('\b');
+                break;
+            case 'f':
+                sb.append('\f');
+                break;
+            case 'n':
+                sb.append('\n');
+                break;
+            case 'r':
+                sb.append('\r');
+                break;
+            case 't':
+                sb.append('\t');
+                break;
+            case 'u':
+                if (i + 4 >= end) {
+                    return null;
+                }
+                try {
+                    sb.append((char) Integer.parseInt(StringUtils.asUTFString(bytes, i + 1, 4), 16));
+                } catch (NumberFormatException ex) {
+                    return null;
+                }
+                i += 4;
+                break;
+            default:
+                // quote, backslash, slash
+                sb.append(c);
+            }
+            chunk = i + 1;
+        }
+        sb.append(StringUtils.asUTFString(bytes, chunk, end - chunk));
+        return sb.toString();
+    }
+
+    // moves past the string starting at the current position and returns the position of its closing quote
+    // or -1 if the string is not terminated
+    private int skipString() {
+        for (int i = pos + 1; i < limit; i++) {
+            byte b = bytes[i];
+            if (b == '\\') {
+                i++;
+            }
+            else if (b == '"') {
+                pos = i + 1;
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean skipValue() {
+        byte b = bytes[pos];
+        if (b == '"') {
+            return skipString() >= 0;
+        }
+        if (b == '{' || b == '[') {
+            int depth = 0;
+            while (pos < limit) {
+                b = bytes[pos];
+                if (b == '"') {
+                    if (skipString() < 0) {
+                        return false;
+                    }
+                    continue;
+                }
+                if (b == '{' || b == '[') {
+                    depth++;
+                }
+                else if (b == '}' || b == ']') {
+                    if (--depth == 0) {
+                        pos++;
+                        return true;
+                    }
+                }
+                pos++;
+            }
+            return false;
+        }
+        // literal or number
+        int start = pos;
+        while (pos < limit) {
+            b = bytes[pos];
+            if (b == ',' || b == '}' || b == ']' || isWhitespace(b)) {
+                break;
+            }
+            pos++;
+        }
+        return pos > start;
+    }
+
+    // moves to the next non-whitespace char; returns false if the end of the content was reached
+    private boolean skipWhitespace() {
+        while (pos < limit && isWhitespace(bytes[pos])) {
+            pos++;
+        }
+        return pos < limit;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+    }
+}
@@ -31,15 +31,19 @@ package org.opensearch.hadoop.serialization.json;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.LinkedList;
 
 import org.apache.commons.logging.LogFactory;
+import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException;
 import org.opensearch.hadoop.serialization.OpenSearchHadoopSerializationException;
 import org.opensearch.hadoop.serialization.Generator;
 import org.opensearch.hadoop.thirdparty.codehaus.jackson.JsonEncoding;
 import org.opensearch.hadoop.thirdparty.codehaus.jackson.JsonFactory;
 import org.opensearch.hadoop.thirdparty.codehaus.jackson.JsonGenerator;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.impl.JsonWriteContext;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.impl.Utf8Generator;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.io.IOContext;
 import org.opensearch.hadoop.util.StringUtils;
 
 public class JacksonJsonGenerator implements Generator {
@@ -47,11 +51,54 @@ public class JacksonJsonGenerator implements Generator {
     private static final boolean HAS_UTF_8;
     private static final JsonFactory JSON_FACTORY;
     private final JsonGenerator generator;
-    private final OutputStream out;
-    private Deque<String> currentPath = new LinkedList<String>();
+    private final RetargetableOutputStream target;
+    private OutputStream out;
+    private final Deque<String> currentPath = new ArrayDeque<String>();
     private String currentPathCached;
     private String currentName;
 
+    // stream that can be pointed to a different output without having to recreate the Jackson generator
+    private static class RetargetableOutputStream extends OutputStream {
+        private OutputStream delegate;
+
+        RetargetableOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+    }
+
+    // generator that can drop its state (and any buffered content) to start writing a new document from scratch
+    private static class ResettableUtf8Generator extends Utf8Generator {
+
+        ResettableUtf8Generator(IOContext ctxt, OutputStream out) {
+            super(ctxt, JsonGenerator.Feature.collectDefaults(), null, out);
+        }
+
+        void reset() {
+            _outputTail = 0;
+            _writeContext = JsonWriteContext.createRootContext();
+        }
+    }
+
     static {
         boolean hasMethod = false;
         try {
@@ -70,15 +117,54 @@ public class JacksonJsonGenerator implements Generator {
     }
 
     public JacksonJsonGenerator(OutputStream out) {
+        this(out, false);
+    }
+
+    /**
+     * Creates a new generator writing to the given stream. A resettable generator can be pointed to a different
+     * stream through {@link #reset(OutputStream)} which allows the generator, along with its buffers, to be reused
+     * across documents.
+     *
+     * @param out stream to write to
+     * @param resettable whether the generator can be reset or not
+     */
+    public JacksonJsonGenerator(OutputStream out, boolean resettable) {
         try {
             this.out = out;
-            // use dedicated method to lower Jackson requirement
-            this.generator = JSON_FACTORY.createJsonGenerator(out, JsonEncoding.UTF8);
+            if (resettable) {
+                this.target = new RetargetableOutputStream(out);
+                IOContext ctxt = new IOContext(JSON_FACTORY._getBufferRecycler(), target, false);
+                ctxt.setEncoding(JsonEncoding.UTF8);
+                this.generator = new ResettableUtf8Generator(ctxt, target);
+            }
+            else {
+                this.target = null;
+                // use dedicated method to lower Jackson requirement
+                this.generator = JSON_FACTORY.createJsonGenerator(out, JsonEncoding.UTF8);
+            }
         } catch (IOException ex) {
             throw new OpenSearchHadoopSerializationException(ex);
         }
     }
 
+    /**
+     * Points the generator to the given stream and clears its state so a new document can be written.
+     * Any content written since the last flush is discarded.
+     *
+     * @param out stream to write to
+     */
+    public void reset(OutputStream out) {
+        if (target == null) {
+            throw new OpenSearchHadoopIllegalStateException("Generator is not resettable");
+        }
+        ((ResettableUtf8Generator) generator).reset();
+        target.delegate = out;
+        this.out = out;
+        currentPath.clear();
+        currentPathCached = null;
+        currentName = null;
+    }
+
     public void usePrettyPrint() {
         generator.useDefaultPrettyPrinter();
     }
@@ -0,0 +1,108 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.util;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pool of large byte arrays recycled across the writers and tasks of a JVM, sparing the garbage collector from
+ * allocating (and in G1, treating as humongous) a fresh array per writer. Arrays are handed out in size classes, four
+ * per power of two starting at 64kb, so that a borrowed array is at most a quarter larger than requested and similar
+ * requests share the same arrays. Released arrays are kept up to a maximum number of bytes; beyond that, or if never
+ * released, they are simply left to the garbage collector.
+ *
+ * The arrays live on the heap as the serialization and the HTTP transport work on byte arrays: a direct buffer would
+ * have to be copied to the heap for every request while a recycled array is allocated (as humongous) only once.
+ */
+public class BufferPool {
+
+    private static final int MIN_SIZE = 64 * 1024;
+    // larger arrays are neither rounded up nor pooled
+    private static final int MAX_SIZE = 1 << 30;
+    // one per JVM, shared by the readers and writers of all jobs
+    private static final BufferPool SHARED = new BufferPool(0);
+
+    private long maxRetained;
+    private final Map<Integer, ArrayDeque<byte[]>> free = new HashMap<Integer, ArrayDeque<byte[]>>();
+    private long retained = 0;
+
+    public BufferPool(long maxRetained) {
+        this.maxRetained = maxRetained;
+    }
+
+    /**
+     * Returns the pool of the JVM, retaining at least the given number of bytes (the largest size requested so far).
+     */
+    public static BufferPool get(long maxRetained) {
+        synchronized (SHARED) {
+            SHARED.maxRetained = Math.max(SHARED.maxRetained, maxRetained);
+        }
+        return SHARED;
+    }
+
+    static int sizeClass(int size) {
+        if (size <= MIN_SIZE) {
+            return MIN_SIZE;
+        }
+        if (size > MAX_SIZE) {
+            return size;
+        }
+        int base = Integer.highestOneBit(size - 1);
+        int step = base >> 2;
+        return base + ((size - base + step - 1) / step) * step;
+    }
+
+    /**
+     * Returns an array of at least the given size, either recycled or newly allocated.
+     */
+    public byte[] borrow(int size) {
+        int length = sizeClass(size);
+        synchronized (this) {
+            ArrayDeque<byte[]> arrays = free.get(length);
+            if (arrays != null && !arrays.isEmpty()) {
+                retained -= length;
+                return arrays.pop();
+            }
+        }
+        return new byte[length];
+    }
+
+    /**
+     * Hands the given array back to the pool. It must no longer be used by the caller.
+     */
+    public void release(byte[] array) {
+        if (array == null || array.length > MAX_SIZE || array.length != sizeClass(array.length)) {
+            // not one of ours (typically grown past its class)
+            return;
+        }
+        synchronized (this) {
+            if (retained + array.length > maxRetained) {
+                return;
+            }
+            ArrayDeque<byte[]> arrays = free.get(array.length);
+            if (arrays == null) {
+                arrays = new ArrayDeque<byte[]>();
+                free.put(array.length, arrays);
+            }
+            arrays.push(array);
+            retained += array.length;
+        }
+    }
+
+    /**
+     * Number of bytes currently held by the pool.
+     */
+    public synchronized long retained() {
+        return retained;
+    }
+}
@@ -64,6 +64,8 @@ public abstract class IOUtils {
             false).configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
 
     private static final Log log = LogFactory.getLog(IOUtils.class);
+    // the largest array the JVMs are known to allocate
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
     private final boolean trace = log.isTraceEnabled();
 
     static {
@@ -158,6 +160,48 @@ public abstract class IOUtils {
         return bos.bytes();
     }
 
+    /**
+     * Reads the given stream into an array borrowed from the given pool, sized after the expected length and moved up
+     * the size classes of the pool as needed. The array can be handed back to the pool once no longer used.
+     */
+    public static BytesArray asBytes(InputStream in, BufferPool pool, int expectedLength) throws IOException {
+        return asBytes(in, pool, expectedLength, MAX_ARRAY_SIZE);
+    }
+
+    static BytesArray asBytes(InputStream in, BufferPool pool, int expectedLength, int maxLength) throws IOException {
+        byte[] buffer = pool.borrow(Math.min(Math.max(expectedLength, in.available()), maxLength));
+        int size = 0;
+        try {
+            int read;
+            while ((read = in.read(buffer, size, buffer.length - size)) != -1) {
+                size += read;
+                if (size == buffer.length) {
+                    if (buffer.length >= maxLength) {
+                        // full and cannot grow any further; fine only if the stream ends here
+                        if (in.read() == -1) {
+                            break;
+                        }
+                        throw new IOException(String.format("Content exceeds the maximum size of [%d] bytes", maxLength));
+                    }
+                    byte[] larger = pool.borrow((int) Math.min(maxLength, buffer.length * 2L));
+                    System.arraycopy(buffer, 0, larger, 0, size);
+                    pool.release(buffer);
+                    buffer = larger;
+                }
+            }
+        } catch (IOException ex) {
+            pool.release(buffer);
+            throw ex;
+        } finally {
+            try {
+                in.close();
+            } catch (IOException ex) {
+                // ignore
+            }
+        }
+        return new BytesArray(buffer, size);
+    }
+
     public static String asString(InputStream in) throws IOException {
         return asBytes(in).toString();
     }
@@ -33,57 +33,29 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.BitSet;
-import java.util.LinkedList;
-import java.util.List;
 
 /**
  *  Wrapper class around a {@link BytesArray} with 'awareness' around the underlying content.
  *  Considers each addition an entry and allows removal of specific entries (and by that skipping their backing content).
  *  Meant to be used as a buffer that is first filled, then emptied (in chunks) then cleaned-up.
+ *
+ *  Entries are tracked through parallel int arrays (offset, length and initial position) to avoid per-entry objects.
+ *  Besides the immediate {@link #remove(int)}, entries can be marked for removal through {@link #discard(int)} while
+ *  iterating and removed all at once through {@link #compact()} which keeps the whole operation linear.
  */
 public class TrackingBytesArray implements ByteSequence {
 
-    private static class Entry {
-        final int offset;
-        final int length;
-        final int initialPosition;
-
-        Entry(int offset, int length, int initialPosition) {
-            this.offset = offset;
-            this.length = length;
-            this.initialPosition = initialPosition;
-        }
-
-        @Override
-        public int hashCode() {
-            final int prime = 31;
-            int result = 1;
-            result = prime * result + length;
-            result = prime * result + offset;
-            return result;
-        }
-
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj)
-                return true;
-            if (obj == null)
-                return false;
-            if (getClass() != obj.getClass())
-                return false;
-            Entry other = (Entry) obj;
-            if (length != other.length)
-                return false;
-            if (offset != other.offset)
-                return false;
-            return true;
-        }
-    }
+    private static final int INITIAL_ENTRIES = 16;
 
     private final BytesArray data;
     private int maxEntries = 0;
     private int size = 0;
-    private List<Entry> entries = new LinkedList<TrackingBytesArray.Entry>();
+
+    private int entries = 0;
+    private int[] offsets = new int[INITIAL_ENTRIES];
+    private int[] lengths = new int[INITIAL_ENTRIES];
+    private int[] positions = new int[INITIAL_ENTRIES];
+    private BitSet discarded = null;
 
     public TrackingBytesArray(BytesArray data) {
         this.data = data;
@@ -104,45 +76,106 @@ public class TrackingBytesArray implements ByteSequence {
     }
 
     public int entries() {
-        return entries.size();
+        return entries;
     }
 
     public BitSet leftoversPosition() {
         BitSet bitSet = new BitSet(maxEntries);
-        for (Entry entry : entries) {
-            bitSet.set(entry.initialPosition);
+        for (int i = 0; i < entries; i++) {
+            if (!isDiscarded(i)) {
+                bitSet.set(positions[i]);
+            }
         }
 
         return bitSet;
     }
 
     private void addEntry(int length) {
+        if (entries == offsets.length) {
+            offsets = ArrayUtils.grow(offsets, entries + 1);
+            lengths = ArrayUtils.grow(lengths, entries + 1);
+            positions = ArrayUtils.grow(positions, entries + 1);
+        }
         // implied offset - data.size
-        entries.add(new Entry(data.size, length, entries.size()));
+        offsets[entries] = data.size;
+        lengths[entries] = length;
+        positions[entries] = entries;
+        entries++;
         size += length;
         maxEntries = size;
     }
 
     public void remove(int index) {
-        Entry entry = entries.remove(index);
-        size -= entry.length;
+        checkIndex(index);
+        Assert.isTrue(discarded == null || discarded.isEmpty(), "Cannot remove entries while others are pending discard; compact first");
+        size -= lengths[index];
+        int moved = entries - index - 1;
+        if (moved > 0) {
+            System.arraycopy(offsets, index + 1, offsets, index, moved);
+            System.arraycopy(lengths, index + 1, lengths, index, moved);
+            System.arraycopy(positions, index + 1, positions, index, moved);
+        }
+        entries--;
+    }
+
+    /**
+     * Marks the entry at the given index for removal. Unlike {@link #remove(int)}, the indices of the other entries
+     * are not affected until {@link #compact()} is called. Discarded entries no longer count towards the length of
+     * the array and are not written out.
+     *
+     * @param index position of the entry to discard
+     */
+    public void discard(int index) {
+        checkIndex(index);
+        if (discarded == null) {
+            discarded = new BitSet(entries);
+        }
+        if (!discarded.get(index)) {
+            discarded.set(index);
+            size -= lengths[index];
+        }
+    }
+
+    /**
+     * Removes all the discarded entries in one pass.
+     */
+    public void compact() {
+        if (discarded == null || discarded.isEmpty()) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < entries; i++) {
+            if (!discarded.get(i)) {
+                if (kept != i) {
+                    offsets[kept] = offsets[i];
+                    lengths[kept] = lengths[i];
+                    positions[kept] = positions[i];
+                }
+                kept++;
+            }
+        }
+        entries = kept;
+        discarded.clear();
     }
 
     public BytesArray entry(int index) {
-        Entry entry = entries.get(index);
-        return new BytesArray(data.bytes, entry.offset, entry.length);
+        checkIndex(index);
+        return new BytesArray(data.bytes, offsets[index], lengths[index]);
     }
 
     public BytesArray pop() {
-        Entry entry = entries.remove(0);
-        size -= entry.length;
-        byte[] entryData = new byte[entry.length];
-        System.arraycopy(data.bytes(), entry.offset, entryData, 0, entry.length);
-        return new BytesArray(entryData, entry.length);
+        checkIndex(0);
+        int offset = offsets[0];
+        int length = lengths[0];
+        byte[] entryData = new byte[length];
+        System.arraycopy(data.bytes(), offset, entryData, 0, length);
+        remove(0);
+        return new BytesArray(entryData, length);
     }
 
     public int length(int index) {
-        return entries.get(index).length;
+        checkIndex(index);
+        return lengths[index];
     }
 
     public void writeTo(OutputStream out) throws IOException {
@@ -150,8 +183,10 @@ public class TrackingBytesArray implements ByteSequence {
             return;
         }
 
-        for (Entry entry : entries) {
-            out.write(data.bytes, entry.offset, entry.length);
+        for (int i = 0; i < entries; i++) {
+            if (!isDiscarded(i)) {
+                out.write(data.bytes, offsets[i], lengths[i]);
+            }
         }
         out.flush();
     }
@@ -169,16 +204,31 @@ public class TrackingBytesArray implements ByteSequence {
     public void reset() {
         size = 0;
         maxEntries = 0;
-        entries.clear();
+        entries = 0;
+        if (discarded != null) {
+            discarded.clear();
+        }
         data.reset();
     }
 
+    private boolean isDiscarded(int index) {
+        return discarded != null && discarded.get(index);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= entries) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + entries);
+        }
+    }
+
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder((int) length());
-        for (Entry entry : entries) {
-            sb.append(new String(data.bytes, entry.offset, entry.length, StringUtils.UTF_8));
+        StringBuilder sb = new StringBuilder(length());
+        for (int i = 0; i < entries; i++) {
+            if (!isDiscarded(i)) {
+                sb.append(new String(data.bytes, offsets[i], lengths[i], StringUtils.UTF_8));
+            }
         }
         return sb.toString();
     }
-}
\ No newline at end of file
+}
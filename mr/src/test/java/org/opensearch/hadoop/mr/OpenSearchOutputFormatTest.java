@@ -0,0 +1,62 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.mr;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.hadoop.conf.Configuration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opensearch.hadoop.cfg.InternalConfigurationOptions;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.ObjectMapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class OpenSearchOutputFormatTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Configuration cfg(File jobDir) {
+        Configuration cfg = new Configuration(false);
+        cfg.set("mapreduce.job.dir", jobDir.toURI().toString());
+        return cfg;
+    }
+
+    @Test
+    public void testBulkLoadOriginalsSurviveRestart() throws Exception {
+        File jobDir = folder.newFolder("job");
+        assertNull(OpenSearchOutputFormat.readBulkLoadOriginals(cfg(jobDir)));
+
+        Map<String, Object> values = new LinkedHashMap<String, Object>();
+        values.put("index.refresh_interval", "30s");
+        values.put("index.number_of_replicas", null);
+        Map<String, Map<String, Object>> originals = new LinkedHashMap<String, Map<String, Object>>();
+        originals.put("index", values);
+
+        Configuration cfg = cfg(jobDir);
+        OpenSearchOutputFormat.writeBulkLoadOriginals(cfg, originals);
+        assertEquals(originals, OpenSearchOutputFormat.readBulkLoadOriginals(cfg));
+
+        // stored as plain JSON
+        File file = new File(jobDir, "opensearch-bulk-load.json");
+        assertEquals(originals, new ObjectMapper().readValue(file, Map.class));
+        assertEquals(cfg.get(InternalConfigurationOptions.INTERNAL_OPENSEARCH_BULK_LOAD_ORIGINALS),
+                new ObjectMapper().writeValueAsString(originals));
+
+        // a restarted application master only has the job files
+        assertEquals(originals, OpenSearchOutputFormat.readBulkLoadOriginals(cfg(jobDir)));
+    }
+}
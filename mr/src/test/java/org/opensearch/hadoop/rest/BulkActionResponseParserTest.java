@@ -0,0 +1,92 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Test;
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.ObjectMapper;
+import org.opensearch.hadoop.util.FastByteArrayInputStream;
+import org.opensearch.hadoop.util.StringUtils;
+
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class BulkActionResponseParserTest {
+
+    private final BulkActionResponseParser parser = new BulkActionResponseParser(new ObjectMapper());
+
+    private RestClient.BulkActionResponse parse(String json) throws Exception {
+        return parser.parse(new FastByteArrayInputStream(StringUtils.toUTF(json)), 200, 10L);
+    }
+
+    @Test
+    public void testNoErrors() throws Exception {
+        RestClient.BulkActionResponse response = parse("{\"took\":3,\"errors\":false,\"items\":[" +
+                "{\"index\":{\"_index\":\"idx\",\"_id\":\"1\",\"status\":201}}]}");
+        assertFalse(response.hasErrors());
+        assertFalse(response.getEntries().hasNext());
+        assertEquals(200, response.getResponseCode());
+        assertEquals(10L, response.getTimeSpent());
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void testOnlyFailuresMaterialized() throws Exception {
+        RestClient.BulkActionResponse response = parse("{\"took\":3,\"errors\":true,\"items\":[" +
+                "{\"index\":{\"_index\":\"idx\",\"_id\":\"1\",\"_shards\":{\"total\":2},\"status\":201}}," +
+                "{\"index\":{\"_index\":\"idx\",\"_id\":\"2\",\"status\":429," +
+                "\"error\":{\"type\":\"rejected_execution_exception\",\"reason\":\"queue full\"}}}," +
+                "{\"index\":{\"_index\":\"idx\",\"_id\":\"3\",\"status\":201}}]}");
+        assertTrue(response.hasErrors());
+
+        Iterator<Map> entries = response.getEntries();
+        Map first = entries.next();
+        Map failed = entries.next();
+        Map third = entries.next();
+        assertFalse(entries.hasNext());
+
+        assertSame(first, third);
+        Map values = (Map) first.get("index");
+        assertEquals(201, values.get("status"));
+        assertNull(values.get("error"));
+
+        values = (Map) failed.get("index");
+        assertEquals(429, values.get("status"));
+        assertThat(values.get("error"), instanceOf(Map.class));
+        assertEquals("queue full", ((Map) values.get("error")).get("reason"));
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void testStringError() throws Exception {
+        RestClient.BulkActionResponse response = parse("{\"took\":3,\"items\":[" +
+                "{\"create\":{\"_index\":\"idx\",\"_id\":\"1\",\"error\":\"DocumentAlreadyExistsException[...]\"}}]}");
+        Iterator<Map> entries = response.getEntries();
+        Map values = (Map) entries.next().get("create");
+        assertFalse(entries.hasNext());
+        assertNull(values.get("status"));
+        assertEquals("DocumentAlreadyExistsException[...]", values.get("error"));
+    }
+
+    @Test
+    public void testNoItems() throws Exception {
+        RestClient.BulkActionResponse response = parse("{\"took\":3}");
+        assertTrue(response.hasErrors());
+        assertFalse(response.getEntries().hasNext());
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.logging.LogFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.util.IOUtils;
+import org.opensearch.hadoop.util.TestSettings;
+
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BulkLoadTest {
+
+    private RestClient client;
+    private Settings settings;
+
+    @Before
+    public void setup() {
+        client = Mockito.mock(RestClient.class);
+        settings = new TestSettings();
+        settings.setResourceWrite("index");
+
+        Map<String, Object> current = new HashMap<String, Object>();
+        current.put(BulkLoad.REFRESH_INTERVAL, "30s");
+        current.put(BulkLoad.NUMBER_OF_REPLICAS, "2");
+        Map<String, Map<String, Object>> indices = new LinkedHashMap<String, Map<String, Object>>();
+        indices.put("index", current);
+
+        when(client.indexExists("index")).thenReturn(true);
+        when(client.getIndexSettings("index")).thenReturn(indices);
+    }
+
+    private BulkLoad bulkLoad() {
+        return new BulkLoad(settings, "index", LogFactory.getLog(BulkLoadTest.class)) {
+            @Override
+            protected RestClient createClient() {
+                return client;
+            }
+        };
+    }
+
+    private static Map<String, Object> map(Object... entries) {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < entries.length; i += 2) {
+            map.put((String) entries[i], entries[i + 1]);
+        }
+        return map;
+    }
+
+    @Test
+    public void testCommitRestoresSettings() {
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_BULK_LOAD_REPLICAS, "0");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_BULK_LOAD_TRANSLOG_ASYNC, "true");
+
+        BulkLoad bulkLoad = bulkLoad();
+        bulkLoad.begin();
+        verify(client).updateIndexSettings("index", map(BulkLoad.REFRESH_INTERVAL, "-1",
+                BulkLoad.NUMBER_OF_REPLICAS, "0", BulkLoad.TRANSLOG_DURABILITY, "async"));
+
+        bulkLoad.commit();
+        verify(client).refreshIndex("index");
+        verify(client).updateIndexSettings("index", map(BulkLoad.REFRESH_INTERVAL, "30s",
+                BulkLoad.NUMBER_OF_REPLICAS, "2", BulkLoad.TRANSLOG_DURABILITY, null));
+        verify(client, never()).forceMerge(anyString(), anyInt());
+
+        // nothing left to restore
+        bulkLoad.abort();
+        verify(client, Mockito.times(2)).updateIndexSettings(anyString(), Mockito.<Map<String, Object>>any());
+    }
+
+    @Test
+    public void testAbortRestoresSettings() {
+        BulkLoad bulkLoad = bulkLoad();
+        bulkLoad.begin();
+        verify(client).updateIndexSettings("index", map(BulkLoad.REFRESH_INTERVAL, "-1"));
+
+        bulkLoad.abort();
+        verify(client).updateIndexSettings("index", map(BulkLoad.REFRESH_INTERVAL, "30s"));
+        verify(client, never()).refreshIndex(anyString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testResume() {
+        BulkLoad bulkLoad = bulkLoad();
+        bulkLoad.begin();
+        // as handed over to another coordinator
+        String originals = IOUtils.serializeToBase64(new LinkedHashMap<String, Map<String, Object>>(bulkLoad.originals()));
+
+        BulkLoad resumed = bulkLoad();
+        resumed.resume(IOUtils.deserializeFromBase64(originals, LinkedHashMap.class));
+        resumed.abort();
+        verify(client).updateIndexSettings("index", map(BulkLoad.REFRESH_INTERVAL, "30s"));
+    }
+
+    @Test
+    public void testForceMerge() {
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_BULK_LOAD_MAX_SEGMENTS, "1");
+
+        BulkLoad bulkLoad = bulkLoad();
+        bulkLoad.begin();
+        bulkLoad.commit();
+        verify(client).forceMerge("index", 1);
+    }
+
+    @Test
+    public void testDynamicResourceIgnored() {
+        BulkLoad bulkLoad = new BulkLoad(settings, "index-{field}", LogFactory.getLog(BulkLoadTest.class)) {
+            @Override
+            protected RestClient createClient() {
+                return client;
+            }
+        };
+        bulkLoad.begin();
+        bulkLoad.commit();
+        bulkLoad.abort();
+        Mockito.verifyZeroInteractions(client);
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.LogFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.util.TestSettings;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IndexSwapTest {
+
+    private RestClient client;
+    private BulkLoad bulkLoad;
+    private Settings settings;
+    private Settings bulkLoadSettings;
+
+    @Before
+    public void setup() {
+        client = Mockito.mock(RestClient.class);
+        bulkLoad = Mockito.mock(BulkLoad.class);
+        settings = new TestSettings();
+    }
+
+    private IndexSwap indexSwap(String alias) {
+        return new IndexSwap(settings, alias, LogFactory.getLog(IndexSwapTest.class)) {
+            @Override
+            protected RestClient createClient() {
+                return client;
+            }
+
+            @Override
+            protected String stagingName() {
+                return "staging";
+            }
+
+            @Override
+            protected BulkLoad createBulkLoad(Settings bulkLoadSettings, String index) {
+                IndexSwapTest.this.bulkLoadSettings = bulkLoadSettings;
+                assertEquals("staging", index);
+                return bulkLoad;
+            }
+        };
+    }
+
+    private static Map<String, Object> map(Object... entries) {
+        Map<String, Object> map = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < entries.length; i += 2) {
+            map.put((String) entries[i], entries[i + 1]);
+        }
+        return map;
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testSwapAlias() {
+        Map<String, Map<String, Object>> current = new LinkedHashMap<String, Map<String, Object>>();
+        current.put("live_1", map("index.number_of_shards", "3", "index.uuid", "abc", "index.version.created", "1",
+                "index.refresh_interval", "5s"));
+        when(client.indexExists("alias")).thenReturn(true);
+        when(client.getIndexSettings("alias")).thenReturn(current);
+        Map<String, Object> properties = map("properties", map("name", map("type", "keyword")));
+        when(client.get("live_1/_mapping", null)).thenReturn((Object) map("live_1", map("mappings", properties)));
+
+        IndexSwap indexSwap = indexSwap("alias");
+        assertEquals("staging", indexSwap.begin());
+        verify(client).createIndex("staging", map("settings",
+                map("index.number_of_shards", "3", "index.refresh_interval", "5s"), "mappings", properties));
+        verify(bulkLoad).begin();
+        assertEquals(0, bulkLoadSettings.getBatchWriteBulkLoadReplicas());
+
+        indexSwap.commit();
+        verify(bulkLoad).commit();
+        ArgumentCaptor<List> actions = ArgumentCaptor.forClass(List.class);
+        verify(client).updateAliases(actions.capture());
+        assertEquals(Arrays.asList(
+                Collections.singletonMap("remove_index", Collections.singletonMap("index", "live_1")),
+                Collections.singletonMap("add", map("index", "staging", "alias", "alias"))), actions.getValue());
+
+        // nothing left to clean up
+        indexSwap.abort();
+        verify(client, never()).delete(anyString());
+    }
+
+    @Test
+    public void testSwapMissingIndex() {
+        IndexSwap indexSwap = indexSwap("alias");
+        indexSwap.begin();
+        verify(client).createIndex("staging", Collections.<String, Object>emptyMap());
+
+        indexSwap.commit();
+        verify(client).updateAliases(Collections.<Map<String, Object>>singletonList(
+                Collections.<String, Object>singletonMap("add", map("index", "staging", "alias", "alias"))));
+    }
+
+    @Test
+    public void testAbortDeletesStaging() {
+        IndexSwap indexSwap = indexSwap("alias");
+        indexSwap.begin();
+        indexSwap.abort();
+        verify(client).delete("staging");
+        verify(client, never()).updateAliases(Mockito.<List<Map<String, Object>>>any());
+    }
+
+    @Test(expected = OpenSearchHadoopIllegalArgumentException.class)
+    public void testDynamicResource() {
+        indexSwap("index-{field}").begin();
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.serialization.dto.mapping.Field;
+import org.opensearch.hadoop.serialization.dto.mapping.MappingSet;
+import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.FastByteArrayInputStream;
+import org.opensearch.hadoop.util.OpenSearchMajorVersion;
+import org.opensearch.hadoop.util.StringUtils;
+import org.opensearch.hadoop.util.TestSettings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class MappingCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static final String UUIDS = "logs-*/_settings/index.uuid?flat_settings=true";
+
+    private Settings settings(int concurrency) {
+        Settings settings = new TestSettings();
+        settings.setInternalVersion(OpenSearchMajorVersion.V_3_X);
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_READ_MAPPING_CACHE_CONCURRENCY, String.valueOf(concurrency));
+        settings.setResourceRead("logs-*");
+        return settings;
+    }
+
+    private static String uuids(String... indices) {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < indices.length; i += 2) {
+            if (i > 0) {
+                sb.append(",");
+            }
+            sb.append("\"").append(indices[i]).append("\":{\"settings\":{\"index.uuid\":\"").append(indices[i + 1]).append("\"}}");
+        }
+        return sb.append("}").toString();
+    }
+
+    private static String mapping(String index, String field) {
+        return "\"" + index + "\":{\"mappings\":{\"properties\":{\"" + field + "\":{\"type\":\"keyword\"}}}}";
+    }
+
+    private static SimpleRequest request(String uri) {
+        return new SimpleRequest(Request.Method.GET, null, uri);
+    }
+
+    private static void respond(NetworkClient network, String uri, final String body) {
+        Mockito.when(network.execute(Mockito.eq(request(uri)), Mockito.eq(true))).thenAnswer(new Answer<Response>() {
+            @Override
+            public Response answer(InvocationOnMock invocation) {
+                return new SimpleResponse(200, new FastByteArrayInputStream(new BytesArray(body)), "localhost:9200");
+            }
+        });
+    }
+
+    private static String fields(MappingSet mappings) {
+        StringBuilder sb = new StringBuilder();
+        for (Field field : mappings.getResolvedView().getFields()) {
+            sb.append(field.name());
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testIncrementalRefresh() throws Exception {
+        Settings settings = settings(1);
+        NetworkClient network = Mockito.mock(NetworkClient.class);
+        respond(network, UUIDS, uuids("logs-a", "uuid-a", "logs-b", "uuid-b"));
+        respond(network, "logs-a,logs-b/_mapping?ignore_unavailable=true", "{" + mapping("logs-a", "a") + "," + mapping("logs-b", "b") + "}");
+        RestClient client = new RestClient(settings, network);
+        Resource resource = new Resource(settings, true);
+
+        MappingCache cache = new MappingCache(null);
+        MappingSet mappings = cache.getMappings(settings, client, resource);
+        assertEquals("ab", fields(mappings));
+        // same indices, same mappings
+        assertSame(mappings, cache.getMappings(settings, client, resource));
+
+        // only the new index is fetched
+        respond(network, UUIDS, uuids("logs-a", "uuid-a", "logs-b", "uuid-b", "logs-c", "uuid-c"));
+        respond(network, "logs-c/_mapping?ignore_unavailable=true", "{" + mapping("logs-c", "c") + "}");
+        assertEquals("abc", fields(cache.getMappings(settings, client, resource)));
+
+        // as is a recreated one
+        respond(network, UUIDS, uuids("logs-a", "uuid-a", "logs-b", "uuid-b2"));
+        respond(network, "logs-b/_mapping?ignore_unavailable=true", "{" + mapping("logs-b", "d") + "}");
+        assertEquals("ad", fields(cache.getMappings(settings, client, resource)));
+
+        Mockito.verify(network, Mockito.times(1)).execute(Mockito.eq(request("logs-a,logs-b/_mapping?ignore_unavailable=true")), Mockito.eq(true));
+        Mockito.verify(network, Mockito.times(1)).execute(Mockito.eq(request("logs-c/_mapping?ignore_unavailable=true")), Mockito.eq(true));
+        Mockito.verify(network, Mockito.times(1)).execute(Mockito.eq(request("logs-b/_mapping?ignore_unavailable=true")), Mockito.eq(true));
+    }
+
+    @Test
+    public void testNoIndices() throws Exception {
+        Settings settings = settings(1);
+        NetworkClient network = Mockito.mock(NetworkClient.class);
+        respond(network, UUIDS, "{}");
+
+        assertNull(new MappingCache(null).getMappings(settings, new RestClient(settings, network), new Resource(settings, true)));
+    }
+
+    @Test
+    public void testExpiredEntries() throws Exception {
+        Settings settings = settings(1);
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_READ_MAPPING_CACHE_TTL, "0ms");
+        NetworkClient network = Mockito.mock(NetworkClient.class);
+        respond(network, UUIDS, uuids("logs-a", "uuid-a"));
+        respond(network, "logs-a/_mapping?ignore_unavailable=true", "{" + mapping("logs-a", "a") + "}");
+        RestClient client = new RestClient(settings, network);
+        Resource resource = new Resource(settings, true);
+
+        MappingCache cache = new MappingCache(null);
+        MappingSet mappings = cache.getMappings(settings, client, resource);
+        Thread.sleep(5);
+        assertNotSame(mappings, cache.getMappings(settings, client, resource));
+        Mockito.verify(network, Mockito.times(2)).execute(Mockito.eq(request("logs-a/_mapping?ignore_unavailable=true")), Mockito.eq(true));
+    }
+
+    @Test
+    public void testPersistedEntries() throws Exception {
+        Settings settings = settings(1);
+        NetworkClient network = Mockito.mock(NetworkClient.class);
+        respond(network, UUIDS, uuids("logs-a", "uuid-a"));
+        respond(network, "logs-a/_mapping?ignore_unavailable=true", "{" + mapping("logs-a", "a") + "}");
+        RestClient client = new RestClient(settings, network);
+        Resource resource = new Resource(settings, true);
+
+        File dir = new File(folder.getRoot(), "mappings");
+        assertEquals("a", fields(new MappingCache(dir).getMappings(settings, client, resource)));
+        File[] stored = dir.listFiles();
+        assertEquals(1, stored.length);
+        // kept as returned by OpenSearch
+        assertEquals("{\"mappings\":{\"properties\":{\"a\":{\"type\":\"keyword\"}}}}",
+                new String(Files.readAllBytes(stored[0].toPath()), StringUtils.UTF_8));
+        // a new cache (as after a restart) reads the stored mappings
+        assertEquals("a", fields(new MappingCache(dir).getMappings(settings, client, resource)));
+        Mockito.verify(network, Mockito.times(1)).execute(Mockito.eq(request("logs-a/_mapping?ignore_unavailable=true")), Mockito.eq(true));
+    }
+
+    @Test
+    public void testConcurrentFetch() throws Exception {
+        final Settings settings = settings(2);
+        NetworkClient network = Mockito.mock(NetworkClient.class);
+        respond(network, UUIDS, uuids("logs-a", "uuid-a", "logs-b", "uuid-b", "logs-c", "uuid-c"));
+        respond(network, "logs-a,logs-b/_mapping?ignore_unavailable=true", "{" + mapping("logs-a", "a") + "," + mapping("logs-b", "b") + "}");
+        final NetworkClient other = Mockito.mock(NetworkClient.class);
+        respond(other, "logs-c/_mapping?ignore_unavailable=true", "{" + mapping("logs-c", "c") + "}");
+
+        MappingCache cache = new MappingCache(null) {
+            @Override
+            RestClient newClient(Settings ignored) {
+                return new RestClient(settings, other);
+            }
+        };
+        MappingSet mappings = cache.getMappings(settings, new RestClient(settings, network), new Resource(settings, true));
+        assertEquals("abc", fields(mappings));
+        assertNotNull(mappings.getMapping("logs-c", MappingSet.TYPELESS_MAPPING_NAME));
+    }
+
+    @Test
+    public void testSettings() throws Exception {
+        Settings settings = new TestSettings();
+        assertNull(MappingCache.get(settings));
+
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_READ_MAPPING_CACHE_ENABLED, "true");
+        MappingCache cache = MappingCache.get(settings);
+        assertNotNull(cache);
+        // shared within the JVM
+        assertSame(cache, MappingCache.get(settings));
+    }
+}
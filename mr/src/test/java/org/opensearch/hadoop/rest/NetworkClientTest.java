@@ -28,15 +28,24 @@
  */
 package org.opensearch.hadoop.rest;
 
+import javax.net.ssl.SSLException;
+
 import org.opensearch.hadoop.OpenSearchHadoopException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
 import org.opensearch.hadoop.util.TestSettings;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class NetworkClientTest {
@@ -77,4 +86,69 @@ public class NetworkClientTest {
         }
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testHealthSkipsFailingNode() throws Exception {
+        final Transport failing = mock(Transport.class);
+        when(failing.execute(any())).thenThrow(new RuntimeException("whoops"));
+        final Transport working = mock(Transport.class);
+        Response response = mock(Response.class);
+        when(working.execute(any())).thenReturn(response);
+
+        TransportFactory mockFactory = mock(TransportFactory.class);
+        when(mockFactory.create(any(), any(), any())).thenAnswer(new Answer<Transport>() {
+            @Override
+            public Transport answer(InvocationOnMock invocation) throws Throwable {
+                return (invocation.getArguments()[2].toString().startsWith("127.0.0.1") ? failing : working);
+            }
+        });
+
+        Settings settings = new TestSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NODES, "127.0.0.1:9200,127.0.0.2:9200");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NODES_HEALTH, "true");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NODES_HEALTH_FAILURES, "1");
+        NetworkClient networkClient = new NetworkClient(settings, mockFactory);
+        SimpleRequest simpleRequest = new SimpleRequest(Request.Method.GET, "", "");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(response, networkClient.execute(simpleRequest));
+        }
+        assertEquals("127.0.0.2:9200", networkClient.currentNode());
+        // the failing node is tried at most once, then left alone while its circuit is open
+        verify(failing, atMost(1)).execute(any());
+        verify(working, times(5)).execute(any());
+    }
+
+    @Test
+    public void testHealthProbeReleasedOnFatalError() throws Exception {
+        Transport transport = mock(Transport.class);
+        when(transport.execute(any())).thenThrow(new RuntimeException("whoops")).thenThrow(new SSLException("handshake"));
+        TransportFactory mockFactory = mock(TransportFactory.class);
+        when(mockFactory.create(any(), any(), any())).thenReturn(transport);
+
+        Settings settings = new TestSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NODES, "127.0.0.9:9200");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NODES_HEALTH, "true");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NODES_HEALTH_FAILURES, "1");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NODES_HEALTH_COOLDOWN, "0ms");
+        NodeHealth health = new NodeHealth(settings);
+
+        NetworkClient networkClient = new NetworkClient(settings, mockFactory);
+        // creating the client does not probe the node
+        assertTrue(health.allows("127.0.0.9:9200", System.nanoTime()));
+        SimpleRequest simpleRequest = new SimpleRequest(Request.Method.GET, "", "");
+        try {
+            networkClient.execute(simpleRequest);
+            fail("exception should have been thrown");
+        } catch (OpenSearchHadoopNoNodesLeftException ex) {
+            // circuit open
+        }
+        try {
+            networkClient.execute(simpleRequest);
+            fail("exception should have been thrown");
+        } catch (OpenSearchHadoopTransportException ex) {
+            // the probe ended without an outcome
+        }
+        assertTrue(health.allows("127.0.0.9:9200", System.nanoTime()));
+        assertEquals(0, networkClient.stats().nodeRetries);
+    }
+}
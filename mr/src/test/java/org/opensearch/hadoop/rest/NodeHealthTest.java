@@ -0,0 +1,123 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.util.TestSettings;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class NodeHealthTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final List<String> NODES = Arrays.asList("a", "b", "c");
+
+    @Test
+    public void testCircuitBreaker() {
+        NodeHealth health = new NodeHealth(2, 1000, 0);
+        long now = 0;
+
+        health.onFailure("a", now);
+        assertEquals(NodeHealth.State.CLOSED, health.state("a"));
+        health.onFailure("a", now);
+        assertEquals(NodeHealth.State.OPEN, health.state("a"));
+        assertFalse(health.allows("a", now + SECOND / 2));
+
+        // a single probe once the cool-down is over, reserved by the request actually sent
+        assertTrue(health.allows("a", now + SECOND));
+        assertTrue(health.allows("a", now + SECOND));
+        assertTrue(health.reserveProbe("a", now + SECOND));
+        assertEquals(NodeHealth.State.HALF_OPEN, health.state("a"));
+        assertFalse(health.allows("a", now + SECOND));
+        assertFalse(health.reserveProbe("a", now + SECOND));
+
+        // a failed probe opens the circuit right away
+        health.onFailure("a", now + SECOND);
+        health.releaseProbe("a");
+        assertEquals(NodeHealth.State.OPEN, health.state("a"));
+        assertFalse(health.allows("a", now + SECOND + SECOND / 2));
+
+        // a probe completing without an outcome is handed back
+        assertTrue(health.reserveProbe("a", now + 2 * SECOND));
+        health.releaseProbe("a");
+        assertEquals(NodeHealth.State.HALF_OPEN, health.state("a"));
+        assertTrue(health.allows("a", now + 2 * SECOND));
+
+        // a successful one re-admits the node
+        assertTrue(health.reserveProbe("a", now + 2 * SECOND));
+        health.onSuccess("a", MILLI);
+        health.releaseProbe("a");
+        assertEquals(NodeHealth.State.CLOSED, health.state("a"));
+        assertTrue(health.allows("a", now + 2 * SECOND));
+        assertFalse(health.reserveProbe("a", now + 2 * SECOND));
+    }
+
+    @Test
+    public void testSelect() {
+        NodeHealth health = new NodeHealth(1, 1000, 2);
+        long now = 0;
+        // no samples - list order
+        assertEquals("a", health.select(NODES, Collections.<String>emptySet(), now));
+
+        health.onSuccess("a", 50 * MILLI);
+        health.onSuccess("b", 10 * MILLI);
+        health.onSuccess("c", 20 * MILLI);
+        assertEquals("b", health.select(NODES, Collections.<String>emptySet(), now));
+        assertEquals("c", health.select(NODES, Collections.singleton("b"), now));
+
+        // errors weigh in
+        health.onFailure("b", now);
+        assertEquals("c", health.select(NODES, Collections.<String>emptySet(), now));
+        assertEquals("a", health.select(NODES, Collections.singleton("c"), now));
+        assertNull(health.select(NODES, Arrays.asList("a", "c"), now));
+
+        assertTrue(health.isSlow("a", NODES));
+        assertFalse(health.isSlow("c", NODES));
+
+        // selecting does not reserve anything
+        health.onFailure("c", now);
+        health.onFailure("c", now);
+        assertEquals("c", health.select(Arrays.asList("c"), Collections.<String>emptySet(), now + SECOND));
+        assertEquals("c", health.select(Arrays.asList("c"), Collections.<String>emptySet(), now + SECOND));
+    }
+
+    @Test
+    public void testNodesSharedWithinJvm() {
+        Settings settings = new TestSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NODES_HEALTH_FAILURES, "1");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NODES_HEALTH_COOLDOWN, "0ms");
+        NodeHealth one = new NodeHealth(settings);
+        NodeHealth other = new NodeHealth(settings);
+        long now = System.nanoTime();
+
+        one.onFailure("shared", now);
+        // a single probe across both
+        assertTrue(other.reserveProbe("shared", now));
+        assertFalse(one.reserveProbe("shared", now));
+        assertFalse(one.allows("shared", now));
+        assertFalse(other.allows("shared", now));
+        other.releaseProbe("shared");
+        assertTrue(one.allows("shared", now));
+        one.onSuccess("shared", MILLI);
+        assertEquals(NodeHealth.State.CLOSED, other.state("shared"));
+    }
+}
@@ -30,6 +30,7 @@
 package org.opensearch.hadoop.rest;
 
 import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
 import org.opensearch.hadoop.cfg.Settings;
 import org.opensearch.hadoop.rest.query.MatchAllQueryBuilder;
 import org.opensearch.hadoop.rest.stats.Stats;
@@ -38,6 +39,7 @@ import org.opensearch.hadoop.util.ClusterInfo;
 import org.opensearch.hadoop.util.OpenSearchMajorVersion;
 import org.opensearch.hadoop.util.FastByteArrayInputStream;
 import org.opensearch.hadoop.util.TestSettings;
+import org.opensearch.hadoop.util.TrackingBytesArray;
 import org.junit.Test;
 import org.mockito.Mockito;
 
@@ -49,6 +51,7 @@ import java.util.Locale;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.fail;
@@ -213,6 +216,81 @@ public class RestClientTest {
         assertEquals(5L, count);
     }
 
+    @Test
+    public void testSortValues() throws Exception {
+        BytesArray query = new BytesArray("{\"size\":2,\"_source\":false,\"sort\":[{\"ts\":{\"order\":\"asc\"}}]," +
+                "\"search_after\":[10],\"query\":{\"match_all\":{}}}");
+        SimpleRequest request = new SimpleRequest(Request.Method.GET, null,
+                "index/_search?filter_path=hits.hits.sort&preference=_shards:1", null, query);
+        String response = "{\"hits\":{\"hits\":[{\"sort\":[12]},{\"sort\":[15]}]}}";
+
+        NetworkClient mock = Mockito.mock(NetworkClient.class);
+        Mockito.when(mock.execute(Mockito.eq(request), Mockito.eq(true)))
+                .thenReturn(new SimpleResponse(200, new FastByteArrayInputStream(new BytesArray(response)), "localhost:9200"));
+        Mockito.when(mock.execute(Mockito.eq(new SimpleRequest(Request.Method.GET, null,
+                "index/_search?filter_path=hits.hits.sort", null,
+                new BytesArray("{\"size\":1,\"_source\":false,\"sort\":[{\"ts\":{\"order\":\"desc\"}}],\"query\":{\"match_all\":{}}}"))),
+                Mockito.eq(true)))
+                .thenReturn(new SimpleResponse(200, new FastByteArrayInputStream(new BytesArray("{}")), "localhost:9200"));
+
+        Settings testSettings = new TestSettings();
+        testSettings.setInternalVersion(OpenSearchMajorVersion.V_3_X);
+        RestClient client = new RestClient(testSettings, mock);
+
+        List<Object> values = client.sortValues("index", "1", MatchAllQueryBuilder.MATCH_ALL, "ts", true, 10L, 2);
+        assertEquals(2, values.size());
+        assertEquals(12, ((Number) values.get(0)).intValue());
+        assertEquals(15, ((Number) values.get(1)).intValue());
+
+        // no hits
+        assertEquals(0, client.sortValues("index", null, MatchAllQueryBuilder.MATCH_ALL, "ts", false, null, 1).size());
+    }
+
+    @Test
+    public void testScanWatermark() throws Exception {
+        NetworkClient mock = Mockito.mock(NetworkClient.class);
+        Mockito.when(mock.execute(Mockito.eq(new SimpleRequest(Request.Method.GET, null, "logs-*/_settings/index.uuid?flat_settings=true")),
+                Mockito.eq(true)))
+                .thenReturn(new SimpleResponse(200, new FastByteArrayInputStream(new BytesArray(
+                        "{\"logs-b\":{\"settings\":{\"index.uuid\":\"uuid-b\"}},\"logs-a\":{\"settings\":{\"index.uuid\":\"uuid-a\"}}}")),
+                        "localhost:9200"));
+        BytesArray query = new BytesArray("{\"query\":{\"match_all\":{}},\"aggs\":{\"indices\":{\"terms\":{\"field\":\"_index\",\"size\":2}," +
+                "\"aggs\":{\"max_seq_no\":{\"max\":{\"field\":\"_seq_no\"}},\"sum_seq_no\":{\"sum\":{\"field\":\"_seq_no\"}}}}}}");
+        Mockito.when(mock.execute(Mockito.eq(new SimpleRequest(Request.Method.GET, null,
+                "logs-*/_search?size=0&track_total_hits=true&filter_path=aggregations.indices.buckets&preference=_shards%3A1", null, query)),
+                Mockito.eq(true)))
+                .thenReturn(new SimpleResponse(200, new FastByteArrayInputStream(new BytesArray(
+                        "{\"aggregations\":{\"indices\":{\"buckets\":[{\"key\":\"logs-a\",\"doc_count\":3," +
+                                "\"max_seq_no\":{\"value\":7.0},\"sum_seq_no\":{\"value\":15.0}}]}}}")), "localhost:9200"));
+
+        Settings testSettings = new TestSettings();
+        testSettings.setInternalVersion(OpenSearchMajorVersion.V_3_X);
+        RestClient client = new RestClient(testSettings, mock);
+
+        // indices without matching documents are part of the watermark as well
+        assertEquals("logs-a/uuid-a=3:7.0:15.0;logs-b/uuid-b=0;",
+                client.scanWatermark("logs-*", "_shards:1", null, MatchAllQueryBuilder.MATCH_ALL));
+    }
+
+    @Test
+    public void testCountTerminateAfter() throws Exception {
+        BytesArray query = new BytesArray("{\"query\":{\"match_all\":{}}}");
+        SimpleRequest request = new SimpleRequest(Request.Method.GET, null,
+                "index/_search?size=0&track_total_hits=true&terminate_after=1&preference=_shards%3A0%7C_local&routing=a", null, query);
+        String response = "{\"terminated_early\":true,\"hits\":{\"total\":{\"value\":1,\"relation\":\"gte\"}}}";
+
+        NetworkClient mock = Mockito.mock(NetworkClient.class);
+        Mockito.when(mock.execute(Mockito.eq(request), Mockito.eq(true)))
+                .thenReturn(new SimpleResponse(200, new FastByteArrayInputStream(new BytesArray(response)), "localhost:9200"));
+
+        Settings testSettings = new TestSettings();
+        testSettings.setInternalVersion(OpenSearchMajorVersion.V_3_X);
+        RestClient client = new RestClient(testSettings, mock);
+
+        // the count is not exact once the search terminated early
+        assertEquals(1L, client.count("index", "_shards:0|_local", "a", MatchAllQueryBuilder.MATCH_ALL, 1));
+    }
+
     @Test(expected = OpenSearchHadoopParsingException.class)
     public void testCountBadRelation() throws Exception {
         String index = "index";
@@ -366,4 +444,46 @@ public class RestClientTest {
         Mockito.verify(mock).execute(Mockito.any(SimpleRequest.class), Mockito.eq(false));
     }
 
+    private RestClient bulkClient(Settings settings, int status, String response) {
+        settings.setInternalVersion(OpenSearchMajorVersion.V_3_X);
+        settings.setResourceWrite("index");
+        NetworkClient mock = Mockito.mock(NetworkClient.class);
+        Mockito.when(mock.transportStats()).thenReturn(new Stats());
+        Mockito.when(mock.execute(Mockito.any(SimpleRequest.class), Mockito.eq(true), Mockito.<NetworkClient.AttemptListener>any()))
+                .thenReturn(new SimpleResponse(status, new FastByteArrayInputStream(new BytesArray(response)), "localhost:9200"));
+        return new RestClient(settings, mock);
+    }
+
+    @Test(expected = OpenSearchHadoopRejectedExecutionException.class)
+    public void testBulkRejected() {
+        Settings settings = new TestSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_BACKOFF, "true");
+        String response = "{\"error\":{\"type\":\"rejected_execution_exception\",\"reason\":\"queue full\"},\"status\":429}";
+        RestClient client = bulkClient(settings, 429, response);
+        client.bulk(new Resource(settings, false), new TrackingBytesArray(new BytesArray("{}\n")));
+    }
+
+    @Test(expected = OpenSearchHadoopRejectedExecutionException.class)
+    public void testBulkRejectedWithOtherStatus() {
+        Settings settings = new TestSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_BACKOFF, "true");
+        String response = "{\"error\":{\"root_cause\":[{\"type\":\"rejected_execution_exception\",\"reason\":\"queue full\"}]},\"status\":503}";
+        RestClient client = bulkClient(settings, 503, response);
+        client.bulk(new Resource(settings, false), new TrackingBytesArray(new BytesArray("{}\n")));
+    }
+
+    @Test
+    public void testBulkRejectedWithoutBackoff() {
+        Settings settings = new TestSettings();
+        String response = "{\"error\":{\"type\":\"rejected_execution_exception\",\"reason\":\"queue full\"},\"status\":429}";
+        RestClient client = bulkClient(settings, 429, response);
+        try {
+            client.bulk(new Resource(settings, false), new TrackingBytesArray(new BytesArray("{}\n")));
+            fail("Expected the request to fail");
+        } catch (OpenSearchHadoopInvalidRequest ex) {
+            // not retried, thus reported as before
+            assertFalse(ex instanceof OpenSearchHadoopRejectedExecutionException);
+        }
+    }
+
 }
\ No newline at end of file
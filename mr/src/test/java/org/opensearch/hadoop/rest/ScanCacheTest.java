@@ -0,0 +1,189 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest;
+
+import java.io.File;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.TestSettings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ScanCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File dir() {
+        // created by the cache itself, owner-only
+        return new File(folder.getRoot(), "cache");
+    }
+
+    private void store(ScanCache cache, String key, String... pages) {
+        ScanCache.PageWriter writer = cache.record(key);
+        for (String page : pages) {
+            assertTrue(writer.append(new BytesArray(page)));
+        }
+        writer.commit();
+    }
+
+    @Test
+    public void testRecordAndReplay() throws Exception {
+        ScanCache cache = new ScanCache(dir(), 1024);
+        assertNull(cache.open("key"));
+
+        store(cache, "key", "first", "", "second");
+
+        ScanCache.PageReader reader = cache.open("key");
+        assertNotNull(reader);
+        assertEquals("first", reader.next().toString());
+        assertEquals("", reader.next().toString());
+        assertEquals("second", reader.next().toString());
+        assertNull(reader.next());
+        reader.close();
+    }
+
+    @Test
+    public void testAbortedRecording() throws Exception {
+        ScanCache cache = new ScanCache(dir(), 1024);
+        ScanCache.PageWriter writer = cache.record("key");
+        writer.append(new BytesArray("page"));
+        writer.abort();
+        // no-op once aborted
+        writer.commit();
+        assertNull(cache.open("key"));
+        assertEquals(0, dir().list().length);
+    }
+
+    @Test
+    public void testRecordingLargerThanCache() throws Exception {
+        ScanCache cache = new ScanCache(dir(), 16);
+        ScanCache.PageWriter writer = cache.record("key");
+        assertTrue(writer.append(new BytesArray("page")));
+        assertFalse(writer.append(new BytesArray("too large for the cache")));
+        writer.commit();
+        assertNull(cache.open("key"));
+        assertEquals(0, dir().list().length);
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() throws Exception {
+        ScanCache cache = new ScanCache(dir(), 30);
+        store(cache, "a", "0123456789");
+        store(cache, "b", "0123456789");
+        new File(dir(), "a.scan").setLastModified(System.currentTimeMillis() - 20000);
+        new File(dir(), "b.scan").setLastModified(System.currentTimeMillis() - 10000);
+        // reading an entry marks it as used
+        cache.open("a").close();
+
+        store(cache, "c", "0123456789");
+        assertNotNull(cache.open("a"));
+        assertNull(cache.open("b"));
+        assertNotNull(cache.open("c"));
+    }
+
+    @Test
+    public void testEvictStaleRecordings() throws Exception {
+        ScanCache cache = new ScanCache(dir(), 1024);
+        // left behind by a dead task
+        ScanCache.PageWriter dead = cache.record("dead");
+        dead.append(new BytesArray("page"));
+        ScanCache.PageWriter live = cache.record("live");
+        live.append(new BytesArray("page"));
+        File[] recordings = dir().listFiles();
+        assertEquals(2, recordings.length);
+        for (File recording : recordings) {
+            if (recording.getName().startsWith(".dead-")) {
+                recording.setLastModified(System.currentTimeMillis() - ScanCache.STALE_TMP_MILLIS - 1000);
+            }
+        }
+
+        store(cache, "key", "page");
+        assertEquals(2, dir().list().length);
+        live.commit();
+        assertNotNull(cache.open("live"));
+        assertNotNull(cache.open("key"));
+        assertEquals(2, dir().list().length);
+    }
+
+    @Test
+    public void testOwnerOnly() throws Exception {
+        Assume.assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"));
+        ScanCache cache = new ScanCache(dir(), 1024);
+        store(cache, "key", "page");
+        assertEquals(PosixFilePermissions.fromString("rwx------"), Files.getPosixFilePermissions(dir().toPath()));
+        assertEquals(PosixFilePermissions.fromString("rw-------"), Files.getPosixFilePermissions(new File(dir(), "key.scan").toPath()));
+
+        // entries in a directory others can write to are not trusted
+        Files.setPosixFilePermissions(dir().toPath(), PosixFilePermissions.fromString("rwxrwxrwx"));
+        assertNull(cache.open("key"));
+        assertNull(cache.record("other"));
+    }
+
+    @Test
+    public void testIdentity() throws Exception {
+        Settings settings = new TestSettings();
+        String anonymous = ScanCache.identity(settings);
+        assertNotNull(anonymous);
+
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NET_HTTP_AUTH_USER, "alice");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NET_HTTP_AUTH_PASS, "secret");
+        String alice = ScanCache.identity(settings);
+        assertNotEquals(anonymous, alice);
+        assertEquals(alice, ScanCache.identity(settings));
+        assertFalse(alice.contains("secret"));
+
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NET_HTTP_AUTH_PASS, "other");
+        assertNotEquals(alice, ScanCache.identity(settings));
+
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NET_HTTP_HEADER_PREFIX + "Authorization", "ApiKey abc");
+        assertNotEquals(alice, ScanCache.identity(settings));
+
+        // the signing credentials are not known
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_AWS_SIGV4_ENABLED, "true");
+        assertNull(ScanCache.identity(settings));
+    }
+
+    @Test
+    public void testKey() throws Exception {
+        assertEquals(64, ScanCache.key("a", "b").length());
+        assertEquals(ScanCache.key("a", "b"), ScanCache.key("a", "b"));
+        assertNotEquals(ScanCache.key("a", "b"), ScanCache.key("ab", ""));
+    }
+
+    @Test
+    public void testSettings() throws Exception {
+        Settings settings = new TestSettings();
+        assertNull(ScanCache.get(settings));
+
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_READ_CACHE_ENABLED, "true");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_READ_CACHE_DIR, folder.getRoot().getAbsolutePath());
+        ScanCache cache = ScanCache.get(settings);
+        assertNotNull(cache);
+        // shared within the JVM
+        assertSame(cache, ScanCache.get(settings));
+    }
+}
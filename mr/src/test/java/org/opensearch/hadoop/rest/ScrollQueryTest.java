@@ -29,6 +29,7 @@
 
 package org.opensearch.hadoop.rest;
 
+import java.io.File;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -38,12 +39,17 @@ import org.opensearch.hadoop.serialization.JsonUtils;
 import org.opensearch.hadoop.serialization.ScrollReader;
 import org.opensearch.hadoop.util.BytesArray;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Matchers;
 import org.mockito.Mockito;
 
 public class ScrollQueryTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     public void test(boolean firstScrollReturnsHits) throws Exception {
         RestRepository repository = mockRepository(firstScrollReturnsHits);
         ScrollReader scrollReader = Mockito.mock(ScrollReader.class);
@@ -136,4 +142,65 @@ public class ScrollQueryTest {
         Mockito.doReturn(mockClient).when(mocked).getRestClient();
         return mocked;
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCachedScroll() throws Exception {
+        ScanCache cache = new ScanCache(new File(folder.getRoot(), "cache"), 1024 * 1024);
+        String query = "/index/_search?scroll=10m&etc=etc";
+        BytesArray body = new BytesArray("{}");
+
+        RestRepository repository = mockRepositoryPages();
+        ScrollQuery scrollQuery = new ScrollQuery(repository, query, body, 100, mockReaderPages(), cache, "key");
+        Assert.assertTrue(scrollQuery.hasNext());
+        Assert.assertEquals("value", JsonUtils.query("field").apply(scrollQuery.next()[1]));
+        Assert.assertFalse(scrollQuery.hasNext());
+        scrollQuery.close();
+        Mockito.verify(repository).scrollPage(Matchers.eq("abcd"), Matchers.any(ScrollReader.class));
+        Assert.assertTrue(new File(folder.getRoot(), "cache/key.scan").exists());
+
+        // replayed without going to OpenSearch
+        RestRepository replayed = Mockito.mock(RestRepository.class);
+        RestClient client = Mockito.mock(RestClient.class);
+        Mockito.doReturn(client).when(replayed).getRestClient();
+        ScrollReader replayReader = mockReaderPages();
+        scrollQuery = new ScrollQuery(replayed, query, body, 100, replayReader, cache, "key");
+        Assert.assertTrue(scrollQuery.hasNext());
+        Assert.assertEquals("value", JsonUtils.query("field").apply(scrollQuery.next()[1]));
+        Assert.assertFalse(scrollQuery.hasNext());
+        scrollQuery.close();
+        Assert.assertEquals(1, scrollQuery.stats().docsReceived);
+        Mockito.verify(replayReader).read(Matchers.eq(new BytesArray("page-1")));
+        Mockito.verify(replayed, Mockito.never()).scrollPage(Matchers.anyString(), Matchers.any(BytesArray.class), Matchers.any(ScrollReader.class));
+        Mockito.verify(replayed, Mockito.never()).scroll(Matchers.anyString(), Matchers.any(BytesArray.class), Matchers.any(ScrollReader.class));
+        Mockito.verify(client, Mockito.never()).deleteScroll(Matchers.anyString());
+    }
+
+    @Test
+    public void testPartiallyReadScrollIsNotCached() throws Exception {
+        ScanCache cache = new ScanCache(new File(folder.getRoot(), "cache"), 1024 * 1024);
+        ScrollQuery scrollQuery = new ScrollQuery(mockRepositoryPages(), "/index/_search?scroll=10m", new BytesArray("{}"), 100,
+                mockReaderPages(), cache, "key");
+        Assert.assertTrue(scrollQuery.hasNext());
+        scrollQuery.close();
+        Assert.assertNull(cache.open("key"));
+        Assert.assertEquals(0, new File(folder.getRoot(), "cache").list().length);
+    }
+
+    private RestRepository mockRepositoryPages() throws Exception {
+        RestRepository mocked = Mockito.mock(RestRepository.class);
+        Mockito.doReturn(new BytesArray("page-1")).when(mocked).scrollPage(Matchers.anyString(), Matchers.any(BytesArray.class), Matchers.any(ScrollReader.class));
+        Mockito.doReturn(new BytesArray("page-2")).when(mocked).scrollPage(Matchers.eq("abcd"), Matchers.any(ScrollReader.class));
+        Mockito.doReturn(Mockito.mock(RestClient.class)).when(mocked).getRestClient();
+        return mocked;
+    }
+
+    private ScrollReader mockReaderPages() throws Exception {
+        Map<String, Object> data = new HashMap<String, Object>();
+        data.put("field", "value");
+        ScrollReader reader = Mockito.mock(ScrollReader.class);
+        Mockito.when(reader.read(Matchers.any(BytesArray.class))).thenReturn(
+                new ScrollReader.Scroll("abcd", 1, Collections.singletonList(new Object[] { "1", data }), 1, 1),
+                new ScrollReader.Scroll("efgh", 1, true));
+        return reader;
+    }
+}
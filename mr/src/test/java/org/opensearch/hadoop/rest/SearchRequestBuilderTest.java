@@ -28,10 +28,22 @@
  */
 package org.opensearch.hadoop.rest;
 
+import java.io.File;
+
+import org.opensearch.hadoop.rest.query.BoolQueryBuilder;
+import org.opensearch.hadoop.rest.query.MatchAllQueryBuilder;
+import org.opensearch.hadoop.rest.query.QueryBuilder;
+import org.opensearch.hadoop.rest.query.TermQueryBuilder;
+import org.opensearch.hadoop.serialization.ScrollReader;
+import org.opensearch.hadoop.util.BytesArray;
 import org.opensearch.hadoop.util.OpenSearchMajorVersion;
+import org.opensearch.hadoop.util.TestSettings;
 import org.opensearch.hadoop.util.encoding.HttpEncodingTools;
 import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.assertFalse;
 
@@ -74,4 +86,44 @@ public class SearchRequestBuilderTest {
         assertFalse(localWithPreferenceString.contains("_local"));
         assertTrue(localWithPreferenceString.contains(encodedPreferenceString));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testCount() {
+        RestClient client = Mockito.mock(RestClient.class);
+        Mockito.when(client.count(Matchers.eq("index"), Matchers.eq("_shards:2|_local"), Matchers.eq("user"),
+                Matchers.any(BoolQueryBuilder.class), Matchers.eq(-1L))).thenReturn(42L);
+        Mockito.when(client.count(Matchers.eq("index"), Matchers.eq("_shards:2|_local"), Matchers.eq("user"),
+                Matchers.any(BoolQueryBuilder.class), Matchers.eq(10L))).thenReturn(12L);
+
+        SearchRequestBuilder builder = new SearchRequestBuilder(false)
+                .indices("index")
+                .shard("2")
+                .local(true)
+                .routing("user")
+                .query(MatchAllQueryBuilder.MATCH_ALL)
+                .filter(new TermQueryBuilder().field("status").term("active"));
+        assertEquals(42L, builder.count(client));
+        // bounded by the limit
+        assertEquals(10L, builder.limit(10).count(client));
+        // slices cannot be counted upfront
+        assertEquals(-1L, builder.slice(0, 2).count(client));
+    }
+
+    @Test
+    public void testCachedScanPreference() {
+        RestClient client = Mockito.mock(RestClient.class);
+        Mockito.when(client.scanWatermark(Matchers.eq("index"), Matchers.eq("_shards:2|" + ScanCache.PREFERENCE), Matchers.anyString(),
+                Matchers.any(QueryBuilder.class))).thenReturn("index/uuid=1:1:1;");
+        RestRepository repository = Mockito.mock(RestRepository.class);
+        Mockito.when(repository.getRestClient()).thenReturn(client);
+        Mockito.when(repository.getSettings()).thenReturn(new TestSettings());
+        Mockito.when(repository.scanCache()).thenReturn(new ScanCache(new File("unused"), 1024));
+
+        new SearchRequestBuilder(false).indices("index").shard("2").build(repository, null);
+
+        // the scroll targets the same shard copies as the watermark
+        String preference = "preference=" + HttpEncodingTools.encode("_shards:2|" + ScanCache.PREFERENCE);
+        Mockito.verify(repository).scanLimit(Matchers.contains(preference), Matchers.any(BytesArray.class), Matchers.anyLong(),
+                Matchers.any(ScrollReader.class), Matchers.any(ScanCache.class), Matchers.anyString());
+    }
+}
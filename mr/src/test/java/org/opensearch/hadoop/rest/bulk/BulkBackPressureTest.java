@@ -0,0 +1,121 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest.bulk;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.rest.NetworkClient;
+import org.opensearch.hadoop.rest.OpenSearchHadoopInvalidRequest;
+import org.opensearch.hadoop.rest.OpenSearchHadoopRejectedExecutionException;
+import org.opensearch.hadoop.util.TestSettings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BulkBackPressureTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void testTokenBucket() {
+        BulkBackPressure.TokenBucket bucket = new BulkBackPressure.TokenBucket(100);
+        long now = -5 * SECOND;
+        // a second worth of burst
+        assertEquals(0, bucket.reserve(60, now));
+        assertEquals(0, bucket.reserve(40, now));
+        // in debt for half a second
+        assertEquals(SECOND / 2, bucket.reserve(50, now));
+        // after a second, half a second worth of tokens is available
+        assertEquals(0, bucket.reserve(50, now + SECOND));
+        // the burst is capped to a second
+        assertEquals(0, bucket.reserve(100, now + 10 * SECOND));
+        assertEquals(SECOND / 100, bucket.reserve(1, now + 10 * SECOND));
+    }
+
+    @Test
+    public void testBackoff() {
+        BulkBackPressure.Backoff backoff = new BulkBackPressure.Backoff(100, 1000);
+        long now = 0;
+        assertEquals(0, backoff.pause(now));
+
+        // equal jitter - between half and the full delay
+        assertEquals(50 * MILLI, backoff.onRejection(now, 0));
+        assertEquals(50 * MILLI, backoff.pause(now));
+        assertEquals(200 * MILLI, backoff.onRejection(now, 1));
+        assertEquals(300 * MILLI, backoff.onRejection(now, 0.5));
+        // the pause only gets extended
+        assertEquals(300 * MILLI, backoff.pause(now));
+        assertEquals(0, backoff.pause(now + SECOND));
+
+        // capped
+        for (int i = 0; i < 100; i++) {
+            backoff.onRejection(now, 1);
+        }
+        assertEquals(SECOND, backoff.pause(now));
+
+        backoff.onSuccess();
+        assertEquals(50 * MILLI, backoff.onRejection(now + 2 * SECOND, 0));
+    }
+
+    @Test
+    public void testPermitsPerNode() {
+        Settings settings = new TestSettings();
+        settings.setResourceWrite("foo");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_CONCURRENCY_PER_NODE, "2");
+
+        BulkBackPressure first = new BulkBackPressure(settings);
+        BulkBackPressure second = new BulkBackPressure(settings);
+
+        NetworkClient.AttemptListener permits = first.permits();
+        Semaphore node = first.permits("permits-node:9200");
+        permits.beforeAttempt("permits-node:9200");
+        // shared across writers
+        second.permits().beforeAttempt("permits-node:9200");
+        assertSame(node, second.permits("permits-node:9200"));
+        assertEquals(0, node.availablePermits());
+
+        // a request failing over releases the node it was sent to
+        permits.afterAttempt("permits-node:9200");
+        permits.beforeAttempt("other-node:9200");
+        assertEquals(1, node.availablePermits());
+        assertEquals(1, first.permits("other-node:9200").availablePermits());
+        permits.afterAttempt("other-node:9200");
+        second.permits().afterAttempt("permits-node:9200");
+        assertEquals(2, node.availablePermits());
+        assertEquals(2, first.permits("other-node:9200").availablePermits());
+
+        // unlimited by default
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_CONCURRENCY_PER_NODE, "0");
+        assertNull(new BulkBackPressure(settings).permits());
+    }
+
+    @Test
+    public void testRejectedRequests() {
+        Settings settings = new TestSettings();
+        settings.setResourceWrite("foo");
+        // no back-off, no retries
+        assertFalse(new BulkBackPressure(settings).onFailure(new OpenSearchHadoopRejectedExecutionException("rejected")));
+
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_BACKOFF, "true");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_NODES, "rejected-node");
+        BulkBackPressure backPressure = new BulkBackPressure(settings);
+        assertTrue(backPressure.onFailure(new OpenSearchHadoopRejectedExecutionException("rejected")));
+        assertFalse(backPressure.onFailure(new OpenSearchHadoopInvalidRequest("mapper_parsing_exception")));
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest.bulk;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.rest.Resource;
+import org.opensearch.hadoop.rest.RestClient;
+import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.BytesRef;
+import org.opensearch.hadoop.util.TestSettings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.eq;
+
+public class BulkDeduplicatorTest {
+
+    private Settings settings;
+    private BulkProcessor processor;
+    private RestClient client;
+    private List<String> sent;
+
+    @Before
+    public void setUp() {
+        settings = new TestSettings();
+        settings.setResourceWrite("foo");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_WRITE_DEDUP, "true");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_SIZE_ENTRIES, "10");
+
+        sent = new ArrayList<String>();
+        processor = Mockito.mock(BulkProcessor.class);
+        Mockito.doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                sent.add(invocation.getArguments()[0].toString());
+                return null;
+            }
+        }).when(processor).add(any(BytesRef.class));
+        client = Mockito.mock(RestClient.class);
+    }
+
+    private BulkDeduplicator deduplicator() {
+        return new BulkDeduplicator(settings, client, new Resource(settings, false), processor);
+    }
+
+    private static BytesRef entry(String header, String body) {
+        BytesRef ref = new BytesRef();
+        ref.add(new BytesArray(header + body + "\n"));
+        return ref;
+    }
+
+    private static Map<String, Object> doc(boolean found, Map<String, Object> source) {
+        Map<String, Object> doc = new LinkedHashMap<String, Object>();
+        doc.put("found", found);
+        if (source != null) {
+            doc.put("_source", source);
+        }
+        return doc;
+    }
+
+    @Test
+    public void testSettings() {
+        assertTrue(settings.getWriteDedup());
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_WRITE_OPERATION, ConfigurationOptions.OPENSEARCH_OPERATION_UPDATE);
+        assertFalse(settings.getWriteDedup());
+    }
+
+    @Test
+    public void testSkipRepeatedDocuments() {
+        BulkDeduplicator deduplicator = deduplicator();
+        deduplicator.add(entry("{\"index\":{\"_id\":\"1\"}}\n", "{\"a\":1}"));
+        deduplicator.add(entry("{\"index\":{\"_id\":\"1\"}}\n", "{\"a\":1}"));
+        // changed content
+        deduplicator.add(entry("{\"index\":{\"_id\":\"1\"}}\n", "{\"a\":2}"));
+        // no id
+        deduplicator.add(entry("{\"index\":{}}\n", "{\"a\":1}"));
+        deduplicator.add(entry("{\"index\":{}}\n", "{\"a\":1}"));
+
+        assertEquals(4, sent.size());
+        assertEquals(1, deduplicator.skipped());
+        Mockito.verifyZeroInteractions(client);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCheckTarget() {
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_WRITE_DEDUP_CHECK, "true");
+        Map<String, Object> stored = new LinkedHashMap<String, Object>();
+        stored.put("b", "x");
+        stored.put("a", 1);
+        Mockito.when(client.multiGet(any(List.class), eq(true))).thenReturn(Arrays.<Map<String, Object>>asList(
+                doc(true, stored), doc(true, Collections.<String, Object>singletonMap("a", 0)), doc(false, null)));
+
+        BulkDeduplicator deduplicator = deduplicator();
+        deduplicator.add(entry("{\"index\":{\"_id\":\"1\"}}\n", "{\"a\":1,\"b\":\"x\"}"));
+        deduplicator.add(entry("{\"index\":{\"_id\":\"2\",\"routing\":\"r\"}}\n", "{\"a\":1}"));
+        deduplicator.add(entry("{\"index\":{\"_id\":\"3\",\"_index\":\"bar\"}}\n", "{\"a\":1}"));
+        assertEquals(0, sent.size());
+
+        deduplicator.drain();
+        assertEquals(2, sent.size());
+        assertTrue(sent.get(0).contains("\"_id\":\"2\""));
+        assertTrue(sent.get(1).contains("\"_id\":\"3\""));
+        assertEquals(1, deduplicator.skipped());
+
+        Map<String, Object> first = new LinkedHashMap<String, Object>();
+        first.put("_index", "foo");
+        first.put("_id", "1");
+        Map<String, Object> second = new LinkedHashMap<String, Object>();
+        second.put("_index", "foo");
+        second.put("_id", "2");
+        second.put("routing", "r");
+        Map<String, Object> third = new LinkedHashMap<String, Object>();
+        third.put("_index", "bar");
+        third.put("_id", "3");
+        Mockito.verify(client).multiGet(eq(Arrays.<Map<String, Object>>asList(
+                first, second, third)), anyBoolean());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCheckTargetOnCreate() {
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_WRITE_OPERATION, ConfigurationOptions.OPENSEARCH_OPERATION_CREATE);
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_WRITE_DEDUP_CHECK, "true");
+        Mockito.when(client.multiGet(any(List.class), eq(false))).thenReturn(Arrays.<Map<String, Object>>asList(
+                doc(true, null), doc(false, null)));
+
+        BulkDeduplicator deduplicator = deduplicator();
+        deduplicator.add(entry("{\"create\":{\"_id\":\"1\"}}\n", "{\"a\":1}"));
+        deduplicator.add(entry("{\"create\":{\"_id\":\"2\"}}\n", "{\"a\":1}"));
+        deduplicator.drain();
+
+        assertEquals(1, sent.size());
+        assertTrue(sent.get(0).contains("\"_id\":\"2\""));
+    }
+
+    @Test
+    public void testDigestTable() {
+        BulkDeduplicator.DigestTable table = new BulkDeduplicator.DigestTable(10000);
+        for (long i = 0; i < 5000; i++) {
+            table.put(i * 31, i + 1);
+        }
+        assertEquals(5000, table.size());
+        for (long i = 0; i < 5000; i++) {
+            assertEquals(i + 1, table.get(i * 31));
+        }
+        assertEquals(0, table.get(-7));
+    }
+
+    @Test
+    public void testDigestTableIsBounded() {
+        BulkDeduplicator.DigestTable table = new BulkDeduplicator.DigestTable(3000);
+        for (long i = 1; i <= 100000; i++) {
+            table.put(i * 31, i);
+        }
+        assertEquals(3000, table.size());
+        assertEquals(8192, table.capacity());
+        int remembered = 0;
+        for (long i = 1; i <= 100000; i++) {
+            if (table.get(i * 31) == i) {
+                remembered++;
+            }
+        }
+        assertTrue(remembered <= 3000);
+        // still taking in new documents
+        assertTrue(table.get(99999 * 31) == 99999 || table.get(100000 * 31) == 100000);
+    }
+
+    @Test
+    public void testMaxDocs() {
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_WRITE_DEDUP_MAX_DOCS, "10");
+        BulkDeduplicator deduplicator = deduplicator();
+        for (int run = 0; run < 2; run++) {
+            for (int i = 0; i < 1000; i++) {
+                deduplicator.add(entry("{\"index\":{\"_id\":\"" + i + "\"}}\n", "{\"a\":1}"));
+            }
+        }
+        // only the last few documents are remembered
+        assertTrue(deduplicator.skipped() <= 10);
+        assertEquals(2000 - deduplicator.skipped(), sent.size());
+    }
+}
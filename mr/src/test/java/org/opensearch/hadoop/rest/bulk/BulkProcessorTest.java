@@ -42,6 +42,9 @@ import org.opensearch.hadoop.cfg.Settings;
 import org.opensearch.hadoop.handler.OpenSearchHadoopAbortHandlerException;
 import org.opensearch.hadoop.handler.HandlerResult;
 import org.opensearch.hadoop.rest.Resource;
+import org.opensearch.hadoop.rest.NetworkClient;
+import org.opensearch.hadoop.rest.OpenSearchHadoopInvalidRequest;
+import org.opensearch.hadoop.rest.OpenSearchHadoopRejectedExecutionException;
 import org.opensearch.hadoop.rest.RestClient;
 import org.opensearch.hadoop.rest.bulk.bwc.BulkOutputGeneratorV3;
 import org.opensearch.hadoop.rest.bulk.handler.BulkWriteErrorHandler;
@@ -50,6 +53,7 @@ import org.opensearch.hadoop.rest.bulk.handler.DelayableErrorCollector;
 import org.opensearch.hadoop.rest.bulk.handler.impl.BulkWriteHandlerLoader;
 import org.opensearch.hadoop.handler.impl.DropAndLog;
 import org.opensearch.hadoop.rest.stats.Stats;
+import org.opensearch.hadoop.util.BufferPool;
 import org.opensearch.hadoop.util.BytesArray;
 import org.opensearch.hadoop.util.BytesRef;
 import org.opensearch.hadoop.util.ClusterInfo;
@@ -421,6 +425,7 @@ public class BulkProcessorTest {
         assertEquals(0, stats.bulkRetries);
         assertEquals(0, stats.docsRetried);
         assertEquals(4, stats.docsAccepted);
+        assertEquals(1, stats.docsSkipped);
     }
 
     @Test
@@ -909,6 +914,85 @@ public class BulkProcessorTest {
         fail("This should fail since the retry handler returned garbage");
     }
 
+    @Test
+    public void testBulk10_PooledBuffer() throws Exception {
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_SIZE_BYTES, "1mb");
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_BUFFER_POOL_ENABLED, "true");
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_BUFFER_POOL_SIZE, "3mb");
+        BufferPool pool = BufferPool.get(3 * 1024 * 1024);
+        long retained = pool.retained();
+
+        BulkProcessor processor = getBulkProcessor(
+                generator.setInfo(resource, 56)
+                        .addSuccess("index", 201)
+                        .addSuccess("index", 201)
+                        .addSuccess("index", 201)
+                        .addSuccess("index", 201)
+                        .addSuccess("index", 201)
+                        .generate()
+        );
+        processData(processor);
+        processor.close();
+
+        assertEquals(5, processor.stats().docsAccepted);
+        // handed back on close and borrowed by the next writer
+        assertEquals(retained + 1024 * 1024, pool.retained());
+        getBulkProcessor();
+        assertEquals(retained, pool.retained());
+    }
+
+    @Test
+    public void testBulk11_RequestRejected() throws Exception {
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_BACKOFF, "true");
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_BACKOFF_INITIAL, "1ms");
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_WRITE_BACKOFF_MAX, "1ms");
+        // a back-off of its own
+        testSettings.setProperty(ConfigurationOptions.OPENSEARCH_NODES, "rejected-bulk-node");
+
+        RestClient mockClient = Mockito.mock(RestClient.class);
+        Mockito.when(mockClient.bulk(Mockito.eq(resource), Mockito.any(TrackingBytesArray.class), Mockito.<NetworkClient.AttemptListener>any()))
+                .thenThrow(new OpenSearchHadoopRejectedExecutionException("rejected"))
+                .thenReturn(generator.setInfo(resource, 56)
+                        .addSuccess("index", 201)
+                        .addSuccess("index", 201)
+                        .addSuccess("index", 201)
+                        .addSuccess("index", 201)
+                        .addSuccess("index", 201)
+                        .generate());
+        BulkProcessor processor = new BulkProcessor(mockClient, resource, testSettings);
+        processData(processor);
+        processor.flush();
+
+        // sent again as a whole once paused
+        Mockito.verify(mockClient, Mockito.times(2)).bulk(Mockito.eq(resource), Mockito.any(TrackingBytesArray.class), Mockito.<NetworkClient.AttemptListener>any());
+        assertEquals(5, processor.stats().docsAccepted);
+        assertEquals(5, processor.stats().docsRetried);
+        processor.close();
+    }
+
+    @Test(expected = OpenSearchHadoopInvalidRequest.class)
+    public void testBulk11_RequestRejectedWithoutBackoff() throws Exception {
+        // reported by the client as any other failure
+        RestClient mockClient = Mockito.mock(RestClient.class);
+        Mockito.when(mockClient.bulk(Mockito.eq(resource), Mockito.any(TrackingBytesArray.class), Mockito.<NetworkClient.AttemptListener>any()))
+                .thenThrow(new OpenSearchHadoopInvalidRequest("rejected_execution_exception"));
+        BulkProcessor processor = new BulkProcessor(mockClient, resource, testSettings);
+        processData(processor);
+        processor.flush();
+    }
+
+    @Test
+    public void testBulk12_Discard() throws Exception {
+        RestClient mockClient = mockClientResponses();
+        BulkProcessor processor = new BulkProcessor(mockClient, resource, testSettings);
+        processData(processor);
+        processor.discard();
+        processor.close();
+
+        Mockito.verify(mockClient, Mockito.never()).bulk(Mockito.eq(resource), Mockito.any(TrackingBytesArray.class), Mockito.<NetworkClient.AttemptListener>any());
+        assertEquals(0, processor.stats().docsSent);
+    }
+
     private BulkProcessor getBulkProcessor(RestClient.BulkActionResponse... responses) {
         return new BulkProcessor(mockClientResponses(responses), resource, testSettings);
     }
@@ -917,7 +1001,7 @@ public class BulkProcessorTest {
         RestClient mockClient = Mockito.mock(RestClient.class);
 
         OngoingStubbing<RestClient.BulkActionResponse> stubb = Mockito.when(
-                mockClient.bulk(Mockito.eq(resource), Mockito.any(TrackingBytesArray.class))
+                mockClient.bulk(Mockito.eq(resource), Mockito.any(TrackingBytesArray.class), Mockito.<NetworkClient.AttemptListener>any())
         );
 
         for (RestClient.BulkActionResponse response : responses) {
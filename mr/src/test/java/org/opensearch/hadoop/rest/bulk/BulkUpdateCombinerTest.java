@@ -0,0 +1,149 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.rest.bulk;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
+import org.opensearch.hadoop.cfg.Settings;
+import org.opensearch.hadoop.util.BytesArray;
+import org.opensearch.hadoop.util.BytesRef;
+import org.opensearch.hadoop.util.TestSettings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+
+public class BulkUpdateCombinerTest {
+
+    private static final String HEADER_1 = "{\"update\":{\"_id\":\"1\"}}\n";
+    private static final String HEADER_2 = "{\"update\":{\"_id\":\"2\"}}\n";
+
+    private Settings settings;
+    private BulkProcessor processor;
+    private List<String> sent;
+
+    @Before
+    public void setUp() {
+        settings = new TestSettings();
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_WRITE_OPERATION, ConfigurationOptions.OPENSEARCH_OPERATION_UPSERT);
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_UPDATE_COMBINE, "true");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_SIZE_ENTRIES, "10");
+
+        sent = new ArrayList<String>();
+        processor = Mockito.mock(BulkProcessor.class);
+        Mockito.doAnswer(new Answer<Object>() {
+            @Override
+            public Object answer(InvocationOnMock invocation) throws Throwable {
+                sent.add(invocation.getArguments()[0].toString());
+                return null;
+            }
+        }).when(processor).add(any(BytesRef.class));
+    }
+
+    private static BytesRef entry(String header, String body) {
+        BytesRef ref = new BytesRef();
+        ref.add(new BytesArray(header + body + "\n"));
+        return ref;
+    }
+
+    @Test
+    public void testSettings() {
+        assertTrue(settings.getUpdateCombine());
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_WRITE_OPERATION, ConfigurationOptions.OPENSEARCH_OPERATION_INDEX);
+        assertEquals(false, settings.getUpdateCombine());
+    }
+
+    @Test
+    public void testMergeDocs() {
+        BulkUpdateCombiner combiner = new BulkUpdateCombiner(settings, processor);
+        combiner.add(entry(HEADER_1, "{\"doc_as_upsert\":true,\"doc\":{\"a\":1,\"n\":{\"x\":1,\"y\":1}}}"));
+        combiner.add(entry(HEADER_2, "{\"doc_as_upsert\":true,\"doc\":{\"a\":5}}"));
+        combiner.add(entry(HEADER_1, "{\"doc_as_upsert\":true,\"doc\":{\"b\":2,\"n\":{\"y\":2}}}"));
+        combiner.add(entry(HEADER_1, "{\"doc_as_upsert\":true,\"doc\":{\"a\":3,\"l\":[1]}}"));
+        assertEquals(0, sent.size());
+
+        combiner.drain();
+        assertEquals(2, sent.size());
+        assertEquals(HEADER_1 + "{\"doc_as_upsert\":true,\"doc\":{\"a\":3,\"n\":{\"x\":1,\"y\":2},\"b\":2,\"l\":[1]}}\n", sent.get(0));
+        // untouched entries are passed as is
+        assertEquals(HEADER_2 + "{\"doc_as_upsert\":true,\"doc\":{\"a\":5}}\n", sent.get(1));
+        assertEquals(2, combiner.combined());
+
+        combiner.drain();
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    public void testScriptsNotCombinedByDefault() {
+        BulkUpdateCombiner combiner = new BulkUpdateCombiner(settings, processor);
+        String body = "{\"script\":{\"source\":\"ctx._source.c += params.c\",\"params\":{\"c\":1}}}";
+        combiner.add(entry(HEADER_1, body));
+        combiner.add(entry(HEADER_1, body));
+        // the first one is pushed out to keep the order
+        assertEquals(1, sent.size());
+        combiner.drain();
+        assertEquals(2, sent.size());
+        assertEquals(sent.get(0), sent.get(1));
+        assertEquals(0, combiner.combined());
+    }
+
+    @Test
+    public void testFoldScriptParams() {
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_UPDATE_COMBINE_SCRIPT_PARAMS, "c:sum,d:max,e:last");
+        BulkUpdateCombiner combiner = new BulkUpdateCombiner(settings, processor);
+        combiner.add(entry(HEADER_1, "{\"script\":{\"source\":\"s\",\"params\":{\"c\":1,\"d\":7,\"e\":\"x\"}},\"scripted_upsert\":true,\"upsert\":{}}"));
+        combiner.add(entry(HEADER_1, "{\"script\":{\"source\":\"s\",\"params\":{\"c\":2,\"d\":3,\"e\":\"y\"}},\"scripted_upsert\":true,\"upsert\":{}}"));
+        combiner.add(entry(HEADER_1, "{\"script\":{\"source\":\"s\",\"params\":{\"c\":0.5,\"d\":9,\"e\":\"z\"}},\"scripted_upsert\":true,\"upsert\":{}}"));
+        combiner.drain();
+
+        assertEquals(1, sent.size());
+        assertEquals(HEADER_1 + "{\"script\":{\"source\":\"s\",\"params\":{\"c\":3.5,\"d\":9,\"e\":\"z\"}},\"scripted_upsert\":true,\"upsert\":{}}\n", sent.get(0));
+    }
+
+    @Test
+    public void testUnfoldableScripts() {
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_UPDATE_COMBINE_SCRIPT_PARAMS, "c:sum");
+        BulkUpdateCombiner combiner = new BulkUpdateCombiner(settings, processor);
+        // a non-scripted upsert document is indexed without running the script
+        combiner.add(entry(HEADER_1, "{\"script\":{\"source\":\"s\",\"params\":{\"c\":1}},\"upsert\":{\"c\":1}}"));
+        combiner.add(entry(HEADER_1, "{\"script\":{\"source\":\"s\",\"params\":{\"c\":1}},\"upsert\":{\"c\":1}}"));
+        // param without a fold
+        combiner.add(entry(HEADER_2, "{\"script\":{\"source\":\"s\",\"params\":{\"c\":1,\"other\":1}}}"));
+        combiner.add(entry(HEADER_2, "{\"script\":{\"source\":\"s\",\"params\":{\"c\":1,\"other\":1}}}"));
+        combiner.drain();
+        assertEquals(4, sent.size());
+        assertEquals(0, combiner.combined());
+    }
+
+    @Test
+    public void testDrainOnThreshold() {
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_BATCH_SIZE_ENTRIES, "2");
+        BulkUpdateCombiner combiner = new BulkUpdateCombiner(settings, processor);
+        combiner.add(entry(HEADER_1, "{\"doc\":{\"a\":1}}"));
+        combiner.add(entry(HEADER_1, "{\"doc\":{\"a\":2}}"));
+        assertEquals(0, sent.size());
+        combiner.add(entry(HEADER_2, "{\"doc\":{\"a\":1}}"));
+        assertEquals(2, sent.size());
+    }
+
+    @Test(expected = OpenSearchHadoopIllegalArgumentException.class)
+    public void testInvalidFold() {
+        BulkUpdateCombiner.parseFolds("c:avg");
+    }
+}
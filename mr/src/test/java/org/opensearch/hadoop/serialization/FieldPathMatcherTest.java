@@ -0,0 +1,97 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.serialization;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.opensearch.hadoop.serialization.field.FieldFilter;
+import org.opensearch.hadoop.serialization.field.FieldFilter.NumberedInclude;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class FieldPathMatcherTest {
+
+    @Test
+    public void testPathsAndMapping() {
+        Map<String, FieldType> mapping = new HashMap<String, FieldType>();
+        mapping.put("a", FieldType.OBJECT);
+        mapping.put("a.b", FieldType.KEYWORD);
+
+        FieldPathMatcher matcher = new FieldPathMatcher(mapping, false, Collections.<NumberedInclude>emptyList(),
+                Collections.<String>emptyList(), Collections.<NumberedInclude>emptyList());
+
+        FieldPathMatcher.Node root = matcher.root();
+        assertNull(root.path);
+        FieldPathMatcher.Node a = root.child("a");
+        FieldPathMatcher.Node b = a.child("b");
+        assertEquals("a", a.path);
+        assertEquals("a.b", b.path);
+        assertEquals(FieldType.KEYWORD, b.type);
+        assertNull(a.child("c").type);
+        assertFalse(b.skip);
+        // compiled once
+        assertSame(b, root.child("a").child("b"));
+    }
+
+    @Test
+    public void testIncludeExclude() {
+        FieldPathMatcher matcher = new FieldPathMatcher(Collections.<String, FieldType>emptyMap(), false,
+                FieldFilter.toNumberedFilter(Arrays.asList("a.b", "c*")), Arrays.asList("c.secret"),
+                FieldFilter.toNumberedFilter(Arrays.asList("a.b")));
+
+        FieldPathMatcher.Node root = matcher.root();
+        FieldPathMatcher.Node a = root.child("a");
+        // prefix of an include
+        assertFalse(a.skip);
+        assertFalse(a.child("b").skip);
+        assertTrue(a.child("b").array);
+        assertTrue(a.child("x").skip);
+        assertFalse(a.array);
+        assertFalse(root.child("c").child("public").skip);
+        assertTrue(root.child("c").child("secret").skip);
+        assertTrue(root.child("d").skip);
+    }
+
+    @Test
+    public void testIgnoreUnmapped() {
+        Map<String, FieldType> mapping = new HashMap<String, FieldType>();
+        mapping.put("a", FieldType.KEYWORD);
+
+        FieldPathMatcher matcher = new FieldPathMatcher(mapping, true, Collections.<NumberedInclude>emptyList(),
+                Collections.<String>emptyList(), Collections.<NumberedInclude>emptyList());
+        assertFalse(matcher.root().child("a").skip);
+        assertTrue(matcher.root().child("b").skip);
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        FieldPathMatcher matcher = new FieldPathMatcher(Collections.<String, FieldType>emptyMap(), false,
+                Collections.<NumberedInclude>emptyList(), Collections.<String>emptyList(),
+                Collections.<NumberedInclude>emptyList());
+        FieldPathMatcher.Node root = matcher.root();
+        for (int i = 0; i < FieldPathMatcher.MAX_CACHED_PATHS; i++) {
+            root.child("field" + i);
+        }
+        assertSame(root.child("field0"), root.child("field0"));
+        FieldPathMatcher.Node extra = root.child("extra");
+        assertEquals("extra", extra.path);
+        assertNotSame(extra, root.child("extra"));
+    }
+}
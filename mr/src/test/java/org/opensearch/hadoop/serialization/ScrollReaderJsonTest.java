@@ -35,11 +35,14 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.hadoop.io.Text;
+import org.opensearch.hadoop.mr.WritableValueReader;
 import org.opensearch.hadoop.rest.OpenSearchHadoopParsingException;
 import org.opensearch.hadoop.serialization.builder.JdkValueReader;
 import org.opensearch.hadoop.serialization.dto.mapping.FieldParser;
 import org.opensearch.hadoop.serialization.dto.mapping.MappingSet;
 import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.ObjectMapper;
+import org.opensearch.hadoop.util.BufferPool;
 import org.opensearch.hadoop.util.TestSettings;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -48,6 +51,7 @@ import org.junit.runners.Parameterized.Parameters;
 
 import static org.opensearch.hadoop.serialization.dto.mapping.FieldParser.parseTypelessMappings;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 @RunWith(Parameterized.class)
@@ -107,6 +111,25 @@ public class ScrollReaderJsonTest {
         }
     }
 
+    @Test
+    public void testScrollWithPooledBuffer() throws IOException {
+        BufferPool pool = new BufferPool(1024 * 1024);
+        reader = new ScrollReader(getScrollCfg().setBufferPool(pool));
+
+        List<Object[]> read = reader.read(getClass().getResourceAsStream(scrollData("source"))).getHits();
+        assertEquals(3, read.size());
+        // documents are copied out of the response, which is recycled
+        assertEquals(64 * 1024, pool.retained());
+        String doc = read.get(0)[1].toString();
+
+        // reusing the buffer leaves the documents already read untouched
+        reader.read(getClass().getResourceAsStream(scrollData("source")));
+        assertEquals(64 * 1024, pool.retained());
+        assertEquals(doc, read.get(0)[1].toString());
+        Map value = mapper.readValue(doc, Map.class);
+        assertTrue(value.containsKey("source"));
+    }
+
     @Test
     public void testScrollWithMatchedQueries() throws IOException {
         InputStream stream = getClass().getResourceAsStream(scrollData("matched-queries"));
@@ -160,6 +183,33 @@ public class ScrollReaderJsonTest {
         }
     }
 
+    @Test
+    public void testScrollWithSourceAsText() throws IOException {
+        ScrollReaderConfigBuilder scrollCfg = ScrollReaderConfigBuilder.builder(new WritableValueReader(), new TestSettings())
+                .setReadMetadata(readMetadata)
+                .setMetadataName(metadataField)
+                .setReturnRawJson(readAsJson)
+                .setIgnoreUnmappedFields(true);
+        reader = new ScrollReader(scrollCfg);
+
+        InputStream stream = getClass().getResourceAsStream(scrollData("source"));
+        List<Object[]> read = reader.read(stream).getHits();
+        assertEquals(3, read.size());
+        Object[] objects = read.get(0);
+
+        assertTrue(objects[1] instanceof Text);
+        String doc = objects[1].toString();
+        Map value = mapper.readValue(doc, Map.class);
+        assertEquals("source", value.get("source"));
+        if (readMetadata) {
+            assertTrue(value.containsKey(metadataField));
+            assertEquals("23hrGo7VRCyao8lB9Uu5Kw", ((Map) value.get(metadataField)).get("_id"));
+        } else {
+            assertFalse(value.containsKey(metadataField));
+            assertTrue(doc.startsWith("{") && doc.endsWith("}"));
+        }
+    }
+
     @Test
     public void testScrollWithoutSource() throws IOException {
         InputStream stream = getClass().getResourceAsStream(scrollData("empty-source"));
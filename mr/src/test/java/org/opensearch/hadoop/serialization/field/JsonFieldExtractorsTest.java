@@ -30,6 +30,7 @@
 package org.opensearch.hadoop.serialization.field;
 
 import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException;
+import org.opensearch.hadoop.cfg.ConfigurationOptions;
 import org.opensearch.hadoop.cfg.Settings;
 import org.opensearch.hadoop.util.BytesArray;
 import org.opensearch.hadoop.util.OpenSearchMajorVersion;
@@ -75,4 +76,70 @@ public class JsonFieldExtractorsTest {
         jsonFieldExtractors.indexAndType().field(data);
         fail();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void topLevelFields() {
+        Settings settings = new TestSettings();
+        settings.setInternalVersion(OpenSearchMajorVersion.LATEST);
+        settings.setResourceWrite("test");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_ID, "id");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_ROUTING, "route");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_VERSION, "version");
+        JsonFieldExtractors jsonFieldExtractors = new JsonFieldExtractors(settings);
+
+        String data = "{ \"name\" : \"with \\\" quote\", \"nested\" : { \"id\": \"wrong\", \"list\": [1, \"}\"] },"
+                + "\"id\" : \"a\\u0062c\", \"version\": 12345678901, \"route\": {\"a\": [true, null]}, \"invalid\": ";
+        jsonFieldExtractors.process(new BytesArray(data));
+
+        assertThat(jsonFieldExtractors.id().field(data), equalTo((Object) "\"abc\""));
+        assertThat(jsonFieldExtractors.version().field(data), equalTo((Object) "12345678901"));
+        assertThat(jsonFieldExtractors.routing().field(data), equalTo((Object) "{\"a\": [true, null]}"));
+    }
+
+    @Test
+    public void topLevelFieldsNotFound() {
+        Settings settings = new TestSettings();
+        settings.setInternalVersion(OpenSearchMajorVersion.LATEST);
+        settings.setResourceWrite("test");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_ID, "id");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_VERSION, "version");
+        JsonFieldExtractors jsonFieldExtractors = new JsonFieldExtractors(settings);
+
+        String data = "{\"id\":-12.5e1,\"nested\":{\"version\":1}}";
+        jsonFieldExtractors.process(new BytesArray(data));
+
+        assertThat(jsonFieldExtractors.id().field(data), equalTo((Object) "-125.0"));
+        assertThat(jsonFieldExtractors.version().field(data), equalTo((Object) FieldExtractor.NOT_FOUND));
+    }
+
+    @Test
+    public void topLevelFieldsShared() {
+        Settings settings = new TestSettings();
+        settings.setInternalVersion(OpenSearchMajorVersion.LATEST);
+        settings.setResourceWrite("test-{id}");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_ID, "id");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_ROUTING, "id");
+        JsonFieldExtractors jsonFieldExtractors = new JsonFieldExtractors(settings);
+
+        String data = "{\"name\":\"x\",\"id\":\"abc\"}";
+        jsonFieldExtractors.process(new BytesArray(data));
+
+        assertThat(jsonFieldExtractors.id().field(data), equalTo((Object) "\"abc\""));
+        assertThat(jsonFieldExtractors.routing().field(data), equalTo((Object) "\"abc\""));
+        assertThat(jsonFieldExtractors.indexAndType().field(data).toString(), equalTo("\"_index\":\"test-abc\""));
+    }
+
+    @Test
+    public void nestedFields() {
+        Settings settings = new TestSettings();
+        settings.setInternalVersion(OpenSearchMajorVersion.LATEST);
+        settings.setResourceWrite("test");
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_ID, "nested.id");
+        JsonFieldExtractors jsonFieldExtractors = new JsonFieldExtractors(settings);
+
+        String data = "{\"id\":1,\"nested\":{\"id\":2}}";
+        jsonFieldExtractors.process(new BytesArray(data));
+
+        assertThat(jsonFieldExtractors.id().field(data), equalTo((Object) "2"));
+    }
+}
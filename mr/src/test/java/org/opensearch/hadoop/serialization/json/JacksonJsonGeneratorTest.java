@@ -86,4 +86,39 @@ public class JacksonJsonGeneratorTest {
         generator.flush();
         assertEquals("{\"test\":{\"subfield\":{\"subsubfield\":\"value\"}}}", new String(bos.toByteArray()));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void resetToNewTarget() throws Exception {
+        ByteArrayOutputStream first = new ByteArrayOutputStream(256);
+        JacksonJsonGenerator generator = new JacksonJsonGenerator(first, true);
+
+        generator.writeBeginObject();
+        generator.writeFieldName("test");
+        generator.writeBeginObject();
+        generator.writeFieldName("field");
+        generator.writeNumber(1);
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.flush();
+        assertEquals("{\"test\":{\"field\":1}}", new String(first.toByteArray()));
+
+        // unfinished document - discarded by the reset
+        generator.writeBeginObject();
+        generator.writeFieldName("test");
+        generator.writeBeginObject();
+        assertEquals("test", generator.getParentPath());
+
+        ByteArrayOutputStream second = new ByteArrayOutputStream(256);
+        generator.reset(second);
+        assertEquals("", generator.getParentPath());
+
+        generator.writeBeginObject();
+        generator.writeFieldName("other");
+        generator.writeString("value");
+        generator.writeEndObject();
+        generator.flush();
+
+        assertEquals("{\"test\":{\"field\":1}}", new String(first.toByteArray()));
+        assertEquals("{\"other\":\"value\"}", new String(second.toByteArray()));
+    }
+}
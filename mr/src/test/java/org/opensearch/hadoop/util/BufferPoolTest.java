@@ -0,0 +1,88 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.hadoop.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BufferPoolTest {
+
+    private static final int KB = 1024;
+    private static final int MB = 1024 * KB;
+
+    @Test
+    public void testSizeClasses() throws Exception {
+        assertEquals(64 * KB, BufferPool.sizeClass(1));
+        assertEquals(64 * KB, BufferPool.sizeClass(64 * KB));
+        assertEquals(80 * KB, BufferPool.sizeClass(64 * KB + 1));
+        assertEquals(MB, BufferPool.sizeClass(MB));
+        assertEquals(MB + 256 * KB, BufferPool.sizeClass(MB + 1));
+        assertEquals(20 * MB, BufferPool.sizeClass(20 * MB));
+        assertEquals(24 * MB, BufferPool.sizeClass(20 * MB + 1));
+        assertEquals(1 << 30, BufferPool.sizeClass(1 << 30));
+        // not rounded past the largest class
+        assertEquals((1 << 30) + 1, BufferPool.sizeClass((1 << 30) + 1));
+    }
+
+    @Test
+    public void testRecycle() throws Exception {
+        BufferPool pool = new BufferPool(10 * MB);
+        byte[] array = pool.borrow(MB);
+        assertEquals(MB, array.length);
+        pool.release(array);
+        assertEquals(MB, pool.retained());
+
+        // any request of the same class
+        assertSame(array, pool.borrow(MB - 1));
+        assertEquals(0, pool.retained());
+        assertNotSame(array, pool.borrow(MB));
+    }
+
+    @Test
+    public void testRetainedBytesAreBounded() throws Exception {
+        BufferPool pool = new BufferPool(MB + 512 * KB);
+        byte[] first = pool.borrow(MB);
+        byte[] second = pool.borrow(MB);
+        pool.release(first);
+        pool.release(second);
+        assertEquals(MB, pool.retained());
+    }
+
+    @Test
+    public void testForeignArraysAreIgnored() throws Exception {
+        BufferPool pool = new BufferPool(10 * MB);
+        pool.release(new byte[MB + 1]);
+        pool.release(null);
+        assertEquals(0, pool.retained());
+    }
+
+    @Test
+    public void testShared() throws Exception {
+        // a single pool per JVM, retaining the largest size asked for
+        BufferPool pool = BufferPool.get(3 * MB);
+        assertSame(pool, BufferPool.get(4 * MB));
+        assertSame(pool, BufferPool.get(MB));
+
+        long retained = pool.retained();
+        byte[][] arrays = new byte[4][];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = pool.borrow(MB);
+        }
+        for (byte[] array : arrays) {
+            pool.release(array);
+        }
+        assertTrue(pool.retained() >= retained + 3 * MB);
+    }
+}
@@ -33,6 +33,7 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -52,6 +53,47 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.fail;
 
 public class IOUtilsTest {
+    @Test
+    public void testAsBytesFromPool() throws Exception {
+        BufferPool pool = new BufferPool(1024 * 1024);
+        byte[] data = new byte[200 * 1024];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+
+        // length unknown upfront, as with chunked responses
+        InputStream in = new FilterInputStream(new FastByteArrayInputStream(data)) {
+            @Override
+            public int available() {
+                return 0;
+            }
+        };
+        BytesArray ba = IOUtils.asBytes(in, pool, 0);
+        assertEquals(data.length, ba.length());
+        assertEquals(new BytesArray(data), ba);
+        // grown through the pool, which got the smaller arrays back
+        assertEquals(256 * 1024, ba.bytes().length);
+        assertEquals((64 + 128) * 1024, pool.retained());
+    }
+
+    @Test
+    public void asBytesUpToMaxLength() throws Exception {
+        BufferPool pool = new BufferPool(1024 * 1024);
+        // filling the largest array exactly is fine
+        BytesArray ba = IOUtils.asBytes(new FastByteArrayInputStream(new BytesArray(new byte[64 * 1024])), pool, 0, 64 * 1024);
+        assertEquals(64 * 1024, ba.length());
+        pool.release(ba.bytes());
+
+        try {
+            IOUtils.asBytes(new FastByteArrayInputStream(new BytesArray(new byte[64 * 1024 + 1])), pool, 0, 64 * 1024);
+            fail("content larger than the maximum array should be rejected");
+        } catch (IOException ex) {
+            // expected
+        }
+        // and the array handed back
+        assertEquals(64 * 1024, pool.retained());
+    }
+
     @Test
     public void openResource() throws Exception {
         InputStream inputStream = IOUtils.open("org/opensearch/hadoop/util/textdata.txt");
@@ -123,4 +123,61 @@ public class TrackingBytesArrayTest {
         assertEquals(7, data.length());
         assertEquals(2, entry.length());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDiscardAndCompact() throws Exception {
+        data.copyFrom(new BytesArray("a"));
+        data.copyFrom(new BytesArray("bb"));
+        data.copyFrom(new BytesArray("ccc"));
+        data.copyFrom(new BytesArray("dddd"));
+
+        data.discard(0);
+        data.discard(2);
+        // indices are stable until compacted
+        assertEquals(4, data.entries());
+        assertEquals(6, data.length());
+        assertEquals("bb", data.entry(1).toString());
+        assertEquals("dddd", data.entry(3).toString());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        data.writeTo(out);
+        assertEquals("bbdddd", out.toString());
+
+        data.compact();
+        assertEquals(2, data.entries());
+        assertEquals(6, data.length());
+        assertEquals("bb", data.entry(0).toString());
+        assertEquals("dddd", data.entry(1).toString());
+        assertEquals(1, data.leftoversPosition().nextSetBit(0));
+        assertEquals(3, data.leftoversPosition().nextSetBit(2));
+    }
+
+    @Test
+    public void testDiscardThenAppend() throws Exception {
+        data.copyFrom(new BytesArray("a"));
+        data.copyFrom(new BytesArray("bb"));
+
+        data.discard(0);
+        data.copyFrom(new BytesArray("ccc"));
+        data.compact();
+
+        assertEquals(2, data.entries());
+        assertEquals(5, data.length());
+        assertEquals("bbccc", data.toString());
+    }
+
+    @Test
+    public void testManyEntries() throws Exception {
+        data = new TrackingBytesArray(new BytesArray(16));
+        for (int i = 0; i < 1000; i++) {
+            data.copyFrom(new BytesArray("x"));
+        }
+        assertEquals(1000, data.entries());
+        for (int i = 0; i < 1000; i += 2) {
+            data.discard(i);
+        }
+        data.compact();
+        assertEquals(500, data.entries());
+        assertEquals(500, data.length());
+    }
+}
@@ -39,6 +39,7 @@ import java.{util => ju}
 import org.apache.spark.SparkConf
 import org.apache.spark.SparkContext
 import org.apache.spark.SparkException
+import org.apache.spark.storage.StorageLevel
 import org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_INDEX_AUTO_CREATE
 import org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_INDEX_READ_MISSING_AS_EMPTY
 import org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_INPUT_JSON
@@ -67,6 +68,7 @@ import org.hamcrest.Matchers.not
 import org.junit.AfterClass
 import org.junit.Assert
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
 import org.junit.Assert.assertNotNull
 import org.junit.Assert.assertThat
 import org.junit.Assert.assertTrue
@@ -619,6 +621,36 @@ class AbstractScalaOpenSearchScalaSpark(prefix: String, readMetadata: jl.Boolean
     assertNotNull(esData)
   }
 
+  @Test
+  def testOpenSearchRDDCachedActions() {
+    val index = wrapIndex("spark-test-scala-cached-actions")
+    val target = resource(index, "data", version)
+    val docPath = docEndpoint(index, "data", version)
+
+    RestUtils.touch(index)
+    RestUtils.postData(docPath, "{\"message\" : \"Hello World\"}".getBytes())
+    RestUtils.postData(docPath, "{\"message\" : \"Goodbye World\"}".getBytes())
+    RestUtils.refresh(index)
+
+    val cached = OpenSearchSpark.opensearchRDD(sc, target, cfg).persist(StorageLevel.MEMORY_ONLY)
+    assertEquals(2, cached.collect().length)
+
+    RestUtils.postData(docPath, "{\"message\" : \"Hello again\"}".getBytes())
+    RestUtils.refresh(index)
+
+    // the cached documents are used instead of asking OpenSearch
+    assertEquals(2, cached.count())
+    assertEquals(2, cached.take(10).length)
+    assertFalse(cached.isEmpty())
+    // while the uncached ones reflect the index
+    val uncached = OpenSearchSpark.opensearchRDD(sc, target, cfg)
+    assertEquals(3, uncached.count())
+    assertEquals(3, uncached.take(10).length)
+
+    cached.unpersist()
+    assertEquals(3, cached.count())
+  }
+
   @Test
   def testOpenSearchRDDReadAsJson() {
     val index = wrapIndex("spark-test-scala-basic-json-read")
@@ -65,6 +65,11 @@ package object spark {
     def saveToOpenSearch(resource: String): Unit = { OpenSearchSpark.saveToOpenSearch(rdd, resource) }
     def saveToOpenSearch(resource: String, cfg: scala.collection.Map[String, String]): Unit = { OpenSearchSpark.saveToOpenSearch(rdd, resource, cfg) }
     def saveToOpenSearch(cfg: scala.collection.Map[String, String]): Unit = { OpenSearchSpark.saveToOpenSearch(rdd, cfg)    }
+
+    def joinWithOpenSearch(resource: String, keyFn: T => Any) = OpenSearchSpark.joinWithOpenSearch(rdd, resource, keyFn)
+    def joinWithOpenSearch(resource: String, keyFn: T => Any, cfg: scala.collection.Map[String, String]) = OpenSearchSpark.joinWithOpenSearch(rdd, resource, keyFn, cfg)
+    def leftJoinWithOpenSearch(resource: String, keyFn: T => Any) = OpenSearchSpark.leftJoinWithOpenSearch(rdd, resource, keyFn)
+    def leftJoinWithOpenSearch(resource: String, keyFn: T => Any, cfg: scala.collection.Map[String, String]) = OpenSearchSpark.leftJoinWithOpenSearch(rdd, resource, keyFn, cfg)
   }
 
   implicit def sparkStringJsonRDDFunctions(rdd: RDD[String]) = new SparkJsonRDDFunctions[String](rdd)
@@ -33,8 +33,11 @@ import scala.reflect.ClassTag
 import org.apache.commons.logging.LogFactory
 import org.apache.spark.Partition
 import org.apache.spark.SparkContext
+import org.apache.spark.TaskContext
 import org.apache.spark.rdd.RDD
+import org.apache.spark.storage.StorageLevel
 import org.opensearch.spark.cfg.SparkSettingsManager
+import org.opensearch.hadoop.cfg.ConfigurationOptions
 import org.opensearch.hadoop.mr.security.HadoopUserProvider
 import org.opensearch.hadoop.rest.{InitializationUtils, PartitionDefinition, RestRepository, RestService}
 import org.opensearch.hadoop.util.ObjectUtils
@@ -74,6 +77,55 @@ private[spark] abstract class AbstractOpenSearchRDD[T: ClassTag](
     }
   }
 
+  // cached data is used as is, the documents may have changed since
+  private def materialized: Boolean = getStorageLevel != StorageLevel.NONE || isCheckpointed
+
+  // counts the documents of each partition instead of reading them
+  override def count(): Long = {
+    if (materialized) {
+      return super.count()
+    }
+    sparkContext.runJob(new OpenSearchPartitionCountRDD(this), (counts: Iterator[Long]) => counts.sum).sum
+  }
+
+  override def isEmpty(): Boolean = {
+    if (materialized) {
+      return super.isEmpty()
+    }
+    val repo = new RestRepository(opensearchCfg)
+    try {
+      repo.isEmpty(true)
+    } finally {
+      repo.close()
+    }
+  }
+
+  // reads at most the requested number of documents from each partition, in a single request
+  override def take(num: Int): Array[T] = {
+    val limit = opensearchCfg.getScrollLimit
+    if (num <= 0 || materialized || (limit > 0 && limit <= num.toLong)) {
+      super.take(num)
+    } else {
+      new OpenSearchLimitedRDD(this, num.toLong).take(num)
+    }
+  }
+
+  /**
+   * Counts the documents of the given partition, reading them only if they cannot be counted upfront.
+   */
+  private[spark] def countPartition(split: Partition, context: TaskContext): Long = {
+    val partition = split.asInstanceOf[OpenSearchPartition].opensearchPartition
+    val settings = partition.settings()
+    InitializationUtils.setUserProviderIfNotSet(settings, classOf[HadoopUserProvider], logger)
+    val reader = RestService.createReader(settings, partition, logger)
+    val count = try {
+      reader.count()
+    } finally {
+      reader.close()
+    }
+    if (count >= 0) count else compute(split, context).size.toLong
+  }
+
   @transient private[spark] lazy val opensearchCfg = {
     val cfg = new SparkSettingsManager().load(sc.getConf).copy();
     cfg.merge(params.asJava)
@@ -92,4 +144,40 @@ private[spark] class OpenSearchPartition(rddId: Int, idx: Int, val opensearchPar
   override def hashCode(): Int = 41 * (41 * (41 + rddId) + idx) + opensearchPartition.hashCode()
 
   override val index: Int = idx
-}
\ No newline at end of file
+}
+
+/**
+ * The number of documents of each partition of an OpenSearch RDD.
+ */
+private[spark] class OpenSearchPartitionCountRDD(parent: AbstractOpenSearchRDD[_])
+  extends RDD[Long](parent.context, Nil) {
+
+  override protected def getPartitions: Array[Partition] = parent.partitions
+
+  override protected def getPreferredLocations(split: Partition): Seq[String] = parent.preferredLocations(split)
+
+  override def compute(split: Partition, context: TaskContext): Iterator[Long] = {
+    Iterator(parent.countPartition(split, context))
+  }
+}
+
+/**
+ * The first documents of each partition of an OpenSearch RDD, fetched through a single request.
+ */
+private[spark] class OpenSearchLimitedRDD[T: ClassTag](parent: AbstractOpenSearchRDD[T], limit: Long)
+  extends RDD[T](parent.context, Nil) {
+
+  override protected def getPartitions: Array[Partition] = {
+    parent.partitions.map { split =>
+      val partition = split.asInstanceOf[OpenSearchPartition].opensearchPartition
+      val settings = partition.settings()
+      settings.setProperty(ConfigurationOptions.OPENSEARCH_SCROLL_LIMIT, limit.toString)
+      settings.setProperty(ConfigurationOptions.OPENSEARCH_SCROLL_SIZE, math.min(settings.getScrollSize, limit).toString)
+      new OpenSearchPartition(id, split.index, partition.withSettings(settings)): Partition
+    }
+  }
+
+  override protected def getPreferredLocations(split: Partition): Seq[String] = parent.preferredLocations(split)
+
+  override def compute(split: Partition, context: TaskContext): Iterator[T] = parent.compute(split, context)
+}
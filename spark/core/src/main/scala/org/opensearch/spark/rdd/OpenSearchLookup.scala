@@ -0,0 +1,193 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.rdd
+
+import java.util.{LinkedHashMap => JLinkedHashMap}
+import java.util.{List => JList}
+import java.util.{Map => JMap}
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.ThreadFactory
+
+import scala.collection.Map
+import scala.collection.mutable
+
+import org.apache.commons.logging.Log
+import org.apache.commons.logging.LogFactory
+import org.apache.spark.TaskContext
+import org.apache.spark.util.TaskCompletionListener
+import org.opensearch.hadoop.OpenSearchHadoopException
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException
+import org.opensearch.hadoop.cfg.ConfigurationOptions
+import org.opensearch.hadoop.cfg.PropertiesSettings
+import org.opensearch.hadoop.cfg.Settings
+import org.opensearch.hadoop.rest.Resource
+import org.opensearch.hadoop.rest.RestClient
+import org.opensearch.hadoop.util.StringUtils
+import org.opensearch.spark.rdd.JDKCollectionConvertersCompat.Converters._
+
+/**
+ * Joins the rows of a partition with the documents of an index sharing their key as id. Instead of scanning the
+ * index, the keys are looked up through batches of multi-get requests, several of them running concurrently. The
+ * documents found are cached for the duration of the task so that repeated keys are fetched only once.
+ */
+private[spark] class OpenSearchLookup(settings: Settings, newClient: () => RestClient) {
+
+  def this(settings: Settings) {
+    this(settings, () => new RestClient(settings))
+  }
+
+  private val log: Log = LogFactory.getLog(classOf[OpenSearchLookup])
+
+  private val index = new Resource(settings, true).index()
+  private val batchSize = settings.getReadLookupBatchSize
+  private val concurrency = settings.getReadLookupConcurrency
+  private val includes = StringUtils.tokenize(settings.getReadSourceFilter)
+
+  if (batchSize < 1 || concurrency < 1) {
+    throw new OpenSearchHadoopIllegalArgumentException(s"Invalid lookup batch size [$batchSize] or concurrency " +
+      s"[$concurrency]; check [${ConfigurationOptions.OPENSEARCH_READ_LOOKUP_BATCH_SIZE}] and " +
+      s"[${ConfigurationOptions.OPENSEARCH_READ_LOOKUP_CONCURRENCY}]")
+  }
+
+  // least recently used documents (or their absence) by key
+  private val cache = new JLinkedHashMap[String, Option[Map[String, AnyRef]]](16, 0.75f, true) {
+    private val maxEntries = settings.getReadLookupCacheSize
+    override def removeEldestEntry(eldest: JMap.Entry[String, Option[Map[String, AnyRef]]]): Boolean = size() > maxEntries
+  }
+
+  // one client per concurrent batch, created on first use
+  private val clients = new Array[RestClient](concurrency)
+  private var executor: ExecutorService = _
+
+  private[rdd] var fetched = 0L
+
+  /**
+   * Returns each row along with the document matching its key, if any. Rows without a key match no documents.
+   */
+  def join[T](rows: Iterator[T], keyFn: T => Any): Iterator[(T, Option[Map[String, AnyRef]])] = {
+    rows.grouped(batchSize * concurrency).flatMap { group =>
+      val keyed = group.map(row => (row, Option(keyFn(row)).map(_.toString)))
+      val resolved = mutable.HashMap[String, Option[Map[String, AnyRef]]]()
+      val missing = mutable.ArrayBuffer[String]()
+      for (key <- keyed.flatMap(_._2).distinct) {
+        val cached = cache.get(key)
+        if (cached != null) resolved.put(key, cached) else missing += key
+      }
+      resolved ++= fetch(missing)
+      keyed.map { case (row, key) => (row, key.flatMap(resolved)) }
+    }
+  }
+
+  private def fetch(keys: Seq[String]): Map[String, Option[Map[String, AnyRef]]] = {
+    if (keys.isEmpty) {
+      return Map.empty
+    }
+    val batches = keys.grouped(batchSize).toIndexedSeq
+    val responses = if (batches.size == 1) {
+      Seq(multiGet(client(0), batches(0)))
+    } else {
+      val pending = batches.indices.map { i =>
+        val batchClient = client(i)
+        pool().submit(new Callable[Seq[(String, Option[Map[String, AnyRef]])]] {
+          override def call(): Seq[(String, Option[Map[String, AnyRef]])] = multiGet(batchClient, batches(i))
+        })
+      }
+      pending.map(future => try {
+        future.get()
+      } catch {
+        case ex: ExecutionException => throw ex.getCause
+      })
+    }
+
+    val found = mutable.HashMap[String, Option[Map[String, AnyRef]]]()
+    for (response <- responses; (key, doc) <- response) {
+      found.put(key, doc)
+      cache.put(key, doc)
+    }
+    fetched += keys.size
+    if (log.isTraceEnabled) {
+      log.trace(s"Looked up [${keys.size}] keys in [$index] through [${batches.size}] requests")
+    }
+    found
+  }
+
+  private def multiGet(client: RestClient, keys: Seq[String]): Seq[(String, Option[Map[String, AnyRef]])] = {
+    val docs = keys.map { key =>
+      val doc = new JLinkedHashMap[String, AnyRef]()
+      doc.put("_index", index)
+      doc.put("_id", key)
+      if (!includes.isEmpty) {
+        doc.put("_source", includes)
+      }
+      doc: JMap[String, AnyRef]
+    }.asJava
+
+    val response = client.multiGet(docs, true)
+    keys.zip(response.asScala).map { case (key, doc) =>
+      if (doc.containsKey("error")) {
+        throw new OpenSearchHadoopException(s"Cannot look up document [$key] in [$index]: ${doc.get("error")}")
+      }
+      val source = if (java.lang.Boolean.TRUE == doc.get("found")) Option(doc.get("_source")) else None
+      (key, source.map(s => OpenSearchLookup.toScala(s).asInstanceOf[Map[String, AnyRef]]))
+    }
+  }
+
+  private def client(i: Int): RestClient = {
+    if (clients(i) == null) {
+      clients(i) = newClient()
+    }
+    clients(i)
+  }
+
+  private def pool(): ExecutorService = {
+    if (executor == null) {
+      executor = Executors.newFixedThreadPool(concurrency, new ThreadFactory {
+        override def newThread(r: Runnable): Thread = {
+          val thread = new Thread(r, s"opensearch-lookup-$index")
+          thread.setDaemon(true)
+          thread
+        }
+      })
+    }
+    executor
+  }
+
+  def close(): Unit = {
+    if (executor != null) {
+      executor.shutdownNow()
+      executor = null
+    }
+    clients.filter(_ != null).foreach(_.close())
+  }
+}
+
+private[spark] object OpenSearchLookup {
+
+  def join[T](serializedSettings: String, rows: Iterator[T], keyFn: T => Any): Iterator[(T, Option[Map[String, AnyRef]])] = {
+    val lookup = new OpenSearchLookup(new PropertiesSettings().load(serializedSettings))
+    val taskContext = TaskContext.get()
+    if (taskContext != null) {
+      taskContext.addTaskCompletionListener(new TaskCompletionListener {
+        override def onTaskCompletion(context: TaskContext): Unit = lookup.close()
+      })
+    }
+    lookup.join(rows, keyFn)
+  }
+
+  private[rdd] def toScala(value: AnyRef): AnyRef = value match {
+    case map: JMap[_, _] => map.asScala.map { case (k, v) => (k.toString, toScala(v.asInstanceOf[AnyRef])) }.toMap
+    case list: JList[_] => list.asScala.map(v => toScala(v.asInstanceOf[AnyRef])).toList
+    case other => other
+  }
+}
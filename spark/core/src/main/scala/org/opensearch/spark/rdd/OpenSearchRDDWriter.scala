@@ -38,6 +38,7 @@ import org.opensearch.spark.serialization.ScalaValueWriter
 import org.opensearch.hadoop.cfg.{PropertiesSettings, Settings}
 import org.opensearch.hadoop.mr.security.HadoopUserProvider
 import org.opensearch.hadoop.rest.{InitializationUtils, RestService}
+import org.opensearch.hadoop.rest.RestService.PartitionWriter
 import org.opensearch.hadoop.security.UserProvider
 import org.opensearch.hadoop.serialization.{BytesConverter, JdkBytesConverter}
 import org.opensearch.hadoop.serialization.builder.ValueWriter
@@ -70,6 +71,17 @@ private[spark] class OpenSearchRDDWriter[T: ClassTag](val serializedSettings: St
   lazy val metaExtractor = ObjectUtils.instantiate[MetadataExtractor](settings.getMappingMetadataExtractorClassName, settings)
 
   def write(taskContext: TaskContext, data: Iterator[T]): Unit = {
+    val writer = open(taskContext)
+
+    while (data.hasNext) {
+      writer.repository.writeToIndex(processData(data))
+    }
+  }
+
+  /**
+   * Creates the writer for the partition of the given task, closed once the task completes.
+   */
+  protected def open(taskContext: TaskContext): PartitionWriter = {
     if (settings.getOpaqueId() != null && settings.getOpaqueId().contains("] [task attempt ") == false) {
       settings.setOpaqueId(String.format(Locale.ROOT, "%s [stage %s] [task attempt %s]", settings.getOpaqueId(),
         taskContext.stageId().toString, taskContext.taskAttemptId.toString))
@@ -84,10 +96,7 @@ private[spark] class OpenSearchRDDWriter[T: ClassTag](val serializedSettings: St
     if (runtimeMetadata) {
       writer.repository.addRuntimeFieldExtractor(metaExtractor)
     }
-
-    while (data.hasNext) {
-      writer.repository.writeToIndex(processData(data))
-    }
+    writer
   }
 
   protected def valueWriter: Class[_ <: ValueWriter[_]] = classOf[ScalaValueWriter]
@@ -41,6 +41,7 @@ import org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_RESOURCE_WRITE
 import org.opensearch.spark.cfg.SparkSettingsManager
 import org.opensearch.hadoop.cfg.PropertiesSettings
 import org.opensearch.hadoop.mr.security.HadoopUserProvider
+import org.opensearch.hadoop.rest.BulkLoad
 import org.opensearch.hadoop.rest.InitializationUtils
 
 object OpenSearchSpark {
@@ -115,7 +116,43 @@ object OpenSearchSpark {
     InitializationUtils.checkIdForOperation(config)
     InitializationUtils.checkIndexExistence(config)
 
-    rdd.sparkContext.runJob(rdd, new OpenSearchRDDWriter(config.save(), hasMeta).write _)
+    // tune the target index for the duration of the job (if bulk-load mode is enabled)
+    val bulkLoad = BulkLoad.begin(config, LOG)
+    try {
+      rdd.sparkContext.runJob(rdd, new OpenSearchRDDWriter(config.save(), hasMeta).write _)
+      bulkLoad.commit()
+    } catch {
+      case ex: Throwable =>
+        bulkLoad.abort()
+        throw ex
+    }
+  }
+
+  //
+  // Lookup methods
+  //
+
+  // join with the documents whose id is the key of each element
+  def joinWithOpenSearch[T](rdd: RDD[T], resource: String, keyFn: T => Any): RDD[(T, Map[String, AnyRef])] = {
+    joinWithOpenSearch(rdd, resource, keyFn, Map.empty[String, String])
+  }
+  def joinWithOpenSearch[T](rdd: RDD[T], resource: String, keyFn: T => Any, cfg: Map[String, String]): RDD[(T, Map[String, AnyRef])] = {
+    leftJoinWithOpenSearch(rdd, resource, keyFn, cfg).flatMap { case (row, doc) => doc.map((row, _)) }
+  }
+  def leftJoinWithOpenSearch[T](rdd: RDD[T], resource: String, keyFn: T => Any): RDD[(T, Option[Map[String, AnyRef]])] = {
+    leftJoinWithOpenSearch(rdd, resource, keyFn, Map.empty[String, String])
+  }
+  def leftJoinWithOpenSearch[T](rdd: RDD[T], resource: String, keyFn: T => Any, cfg: Map[String, String]): RDD[(T, Option[Map[String, AnyRef]])] = {
+    val sparkCfg = new SparkSettingsManager().load(rdd.sparkContext.getConf)
+    val config = new PropertiesSettings().load(sparkCfg.save())
+    config.merge(cfg.asJava)
+    config.setResourceRead(resource)
+
+    InitializationUtils.setUserProviderIfNotSet(config, classOf[HadoopUserProvider], LOG)
+    InitializationUtils.discoverClusterInfo(config, LOG)
+
+    val serializedSettings = config.save()
+    rdd.mapPartitions(rows => OpenSearchLookup.join(serializedSettings, rows, keyFn))
   }
 
   // JSON variant
@@ -0,0 +1,63 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.serialization;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+
+import org.opensearch.hadoop.OpenSearchHadoopIllegalStateException;
+
+/**
+ * Read accessor of a JavaBean property, resolved once per class into a {@link MethodHandle}.
+ * Kept in Java since Scala (before 2.12) cannot invoke signature polymorphic methods.
+ */
+public final class BeanAccessor {
+
+    private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+
+    private final String name;
+    private final Method method;
+    private final MethodHandle handle;
+
+    public BeanAccessor(String name, Method method) {
+        this.name = name;
+        this.method = method;
+        this.handle = handle(method);
+    }
+
+    private static MethodHandle handle(Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(GETTER);
+        } catch (IllegalAccessException ex) {
+            // fall back to plain reflection, which reports the access problem on use
+            return null;
+        }
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Object get(Object target) {
+        try {
+            return (handle != null ? (Object) handle.invokeExact(target) : method.invoke(target));
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Error err) {
+            throw err;
+        } catch (Throwable th) {
+            throw new OpenSearchHadoopIllegalStateException(
+                    String.format("Cannot read property [%s] of [%s]", name, target.getClass()), th);
+        }
+    }
+}
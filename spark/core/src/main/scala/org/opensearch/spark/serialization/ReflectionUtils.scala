@@ -31,14 +31,15 @@ package org.opensearch.spark.serialization
 import java.beans.Introspector
 import java.lang.reflect.Method
 
-import scala.collection.mutable.HashMap
+import scala.collection.concurrent.TrieMap
 import scala.reflect.runtime.universe._
 import org.apache.commons.logging.LogFactory
 
 private[spark] object ReflectionUtils {
 
-  val caseClassCache = new HashMap[Class[_], (Boolean, Iterable[String])]
-  val javaBeanCache = new HashMap[Class[_], Array[(String, Method)]]
+  // shared by all the tasks of an executor hence the concurrent maps
+  val caseClassCache = new TrieMap[Class[_], (Boolean, Array[String])]
+  val javaBeanCache = new TrieMap[Class[_], Array[BeanAccessor]]
 
   //SI-6240
   protected[spark] object ReflectionLock
@@ -94,6 +95,10 @@ private[spark] object ReflectionUtils {
     tuples.toMap
   }
 
+  private def toArray(info: Iterable[String]) = {
+    if (info == null) null else info.toArray
+  }
+
   private def checkCaseClassCache(p: Product) = {
     caseClassCache.getOrElseUpdate(p.getClass, {
       var isCaseClazz = checkCaseClass(p.getClass)
@@ -110,7 +115,7 @@ private[spark] object ReflectionUtils {
         info = if (isCaseClazz) caseClassInfoInsideACompanionModule(p.getClass(), p.productArity) else null
       }
 
-      (isCaseClazz, info)
+      (isCaseClazz, toArray(info))
     })
   }
 
@@ -122,6 +127,25 @@ private[spark] object ReflectionUtils {
     doGetCaseClassValues(p.asInstanceOf[AnyRef], checkCaseClassCache(p)._2)
   }
 
+  /**
+   * Names of the case class fields, in the order of the product elements.
+   */
+  def caseClassFields(p: Product): Array[String] = {
+    checkCaseClassCache(p)._2
+  }
+
+  def caseClassValue(p: Product, field: String): Option[Any] = {
+    val fields = caseClassFields(p)
+    var i = 0
+    while (i < fields.length) {
+      if (fields(i) == field) {
+        return Some(p.productElement(i))
+      }
+      i += 1
+    }
+    None
+  }
+
   private def checkJavaBeansCache(o: Any) = {
     javaBeanCache.getOrElseUpdate(o.getClass, {
       javaBeansInfo(o.getClass)
@@ -136,13 +160,20 @@ private[spark] object ReflectionUtils {
     javaBeansValues(value, checkJavaBeansCache(value))
   }
 
+  /**
+   * Read accessors of the JavaBean properties, sorted by name.
+   */
+  def javaBeanProperties(value: Any): Array[BeanAccessor] = {
+    checkJavaBeansCache(value)
+  }
+
   private def javaBeansInfo(clazz: Class[_]) = {
     Introspector.getBeanInfo(clazz).getPropertyDescriptors().collect {
-      case pd if (pd.getName != "class" && pd.getReadMethod() != null) => (pd.getName, pd.getReadMethod)
-    }.sortBy(_._1)
+      case pd if (pd.getName != "class" && pd.getReadMethod() != null) => new BeanAccessor(pd.getName, pd.getReadMethod)
+    }.sortBy(_.name)
   }
 
-  private def javaBeansValues(target: Any, info: Array[(String, Method)]) = {
-    info.map(in => (in._1, in._2.invoke(target))).toMap
+  private def javaBeansValues(target: Any, info: Array[BeanAccessor]) = {
+    info.map(in => (in.name, in.get(target))).toMap
   }
 }
\ No newline at end of file
@@ -41,7 +41,7 @@ class ScalaMapFieldExtractor extends MapFieldExtractor {
       val field = getFieldNames.get(index)
       obj = obj match {
         case m: Map[_, _]                    => m.asInstanceOf[Map[AnyRef, AnyRef]].getOrElse(field, NOT_FOUND)
-        case p: Product if RU.isCaseClass(p) => RU.caseClassValues(p).getOrElse(field, NOT_FOUND).asInstanceOf[AnyRef]
+        case p: Product if RU.isCaseClass(p) => RU.caseClassValue(p, field).getOrElse(NOT_FOUND).asInstanceOf[AnyRef]
         case _                               => {
           val result = super.extractField(target)
 
@@ -71,18 +71,9 @@ class ScalaValueWriter(writeUnknownTypes: Boolean = false) extends JdkValueWrite
         generator.writeBeginObject()
         for ((k, v) <- m) {
           if (shouldKeep(parentField, k.toString)) {
-            val hasValue = Option(v) match {
-              case Some(()) => false
-              case Some(None) => false
-              case Some(_) => true
-              case None => true
-            }
-            if (hasValue || hasWriteNullValues) {
-              generator.writeFieldName(k.toString)
-              val result = doWrite(v, generator, k.toString)
-              if (!result.isSuccesful) {
-                return result
-              }
+            val result = writeField(k.toString, v, generator)
+            if (!result.isSuccesful) {
+              return result
             }
           }
         }
@@ -118,7 +109,7 @@ class ScalaValueWriter(writeUnknownTypes: Boolean = false) extends JdkValueWrite
       case p: Product => {
         // handle case class
         if (RU.isCaseClass(p)) {
-          val result = doWrite(RU.caseClassValues(p), generator, parentField)
+          val result = writeCaseClass(p, generator, parentField)
           if (!result.isSuccesful) {
             return result
           }
@@ -164,9 +155,7 @@ class ScalaValueWriter(writeUnknownTypes: Boolean = false) extends JdkValueWrite
             try {
               // Second, Try to sense the immediate case of self reference and break out early to avoid
               // stack overflow.
-              val asMap = RU.javaBeanAsMap(value).filterNot(e => e._2 == value)
-              val beanResult = doWrite(asMap, generator, parentField)
-              return beanResult
+              return writeJavaBean(value, generator, parentField)
             } finally {
               // Third, Allow usage of the same bean only if it doesn't recurse into itself.
               // This doubles as clean-up logic to avoid having to clear the set every write call.
@@ -183,4 +172,61 @@ class ScalaValueWriter(writeUnknownTypes: Boolean = false) extends JdkValueWrite
 
     Result.SUCCESFUL()
   }
-}
\ No newline at end of file
+
+  // the fields of case classes and JavaBeans are read through accessors resolved once per class
+  // and written directly, without going through an intermediate Map
+
+  private def writeCaseClass(p: Product, generator: Generator, parentField: String): Result = {
+    val fields = RU.caseClassFields(p)
+    generator.writeBeginObject()
+    var i = 0
+    while (i < fields.length) {
+      val field = fields(i)
+      if (shouldKeep(parentField, field)) {
+        val result = writeField(field, p.productElement(i), generator)
+        if (!result.isSuccesful) {
+          return result
+        }
+      }
+      i += 1
+    }
+    generator.writeEndObject()
+    Result.SUCCESFUL()
+  }
+
+  private def writeJavaBean(value: Any, generator: Generator, parentField: String): Result = {
+    val properties = RU.javaBeanProperties(value)
+    generator.writeBeginObject()
+    var i = 0
+    while (i < properties.length) {
+      val property = properties(i)
+      if (shouldKeep(parentField, property.name)) {
+        val v = property.get(value)
+        // skip properties referring to the bean itself
+        if (v != value) {
+          val result = writeField(property.name, v, generator)
+          if (!result.isSuccesful) {
+            return result
+          }
+        }
+      }
+      i += 1
+    }
+    generator.writeEndObject()
+    Result.SUCCESFUL()
+  }
+
+  private def writeField(field: String, v: Any, generator: Generator): Result = {
+    val hasValue = v match {
+      case () => false
+      case None => false
+      case _ => true
+    }
+    if (hasValue || hasWriteNullValues) {
+      generator.writeFieldName(field)
+      doWrite(v, generator, field)
+    } else {
+      Result.SUCCESFUL()
+    }
+  }
+}
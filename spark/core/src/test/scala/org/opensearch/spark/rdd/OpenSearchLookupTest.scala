@@ -0,0 +1,125 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.rdd
+
+import java.util.{List => JList}
+import java.util.{Map => JMap}
+
+import org.junit.Assert._
+import org.junit.Test
+import org.mockito.Matchers
+import org.mockito.Mockito
+import org.mockito.invocation.InvocationOnMock
+import org.mockito.stubbing.Answer
+import org.opensearch.hadoop.OpenSearchHadoopException
+import org.opensearch.hadoop.cfg.ConfigurationOptions
+import org.opensearch.hadoop.cfg.Settings
+import org.opensearch.hadoop.rest.RestClient
+import org.opensearch.hadoop.util.TestSettings
+import org.opensearch.spark.rdd.JDKCollectionConvertersCompat.Converters._
+
+class OpenSearchLookupTest {
+
+  private def settings(): Settings = {
+    val settings = new TestSettings()
+    settings.setResourceRead("users")
+    settings.setProperty(ConfigurationOptions.OPENSEARCH_READ_LOOKUP_BATCH_SIZE, "2")
+    settings
+  }
+
+  // answers multi-gets with the documents of the given ids
+  private def mockClient(docs: Map[String, Map[String, AnyRef]], requests: java.util.List[Seq[String]]): RestClient = {
+    val client = Mockito.mock(classOf[RestClient])
+    Mockito.when(client.multiGet(Matchers.any(classOf[JList[JMap[String, AnyRef]]]), Matchers.eq(true))).thenAnswer(
+      new Answer[JList[JMap[String, AnyRef]]] {
+        override def answer(invocation: InvocationOnMock): JList[JMap[String, AnyRef]] = {
+          val targets = invocation.getArguments()(0).asInstanceOf[JList[JMap[String, AnyRef]]].asScala
+          requests.synchronized(requests.add(targets.map(_.get("_id").toString).toList))
+          targets.map { target =>
+            assertEquals("users", target.get("_index"))
+            val id = target.get("_id").toString
+            val response = new java.util.HashMap[String, AnyRef]()
+            response.put("_id", id)
+            response.put("found", java.lang.Boolean.valueOf(docs.contains(id)))
+            docs.get(id).foreach(doc => response.put("_source", doc.asJava))
+            response: JMap[String, AnyRef]
+          }.asJava
+        }
+      })
+    client
+  }
+
+  @Test
+  def testJoinBatchesAndCachesKeys(): Unit = {
+    val requests = new java.util.ArrayList[Seq[String]]()
+    val client = mockClient(Map("1" -> Map("name" -> "one"), "3" -> Map("name" -> "three")), requests)
+    val lookup = new OpenSearchLookup(settings(), () => client)
+
+    val rows = Seq(1, 2, 1, 3, null, 4, 3, 1)
+    val joined = lookup.join(rows.iterator, (row: Any) => row).toList
+
+    assertEquals(rows, joined.map(_._1))
+    assertEquals(Seq(Some("one"), None, Some("one"), Some("three"), None, None, Some("three"), Some("one")),
+      joined.map(_._2.map(_("name"))))
+    // repeated keys and keys found in previous batches are not fetched again
+    assertEquals(Seq(Seq("1", "2"), Seq("3"), Seq("4")), requests.asScala)
+    assertEquals(4L, lookup.fetched)
+  }
+
+  @Test
+  def testConcurrentBatches(): Unit = {
+    val cfg = settings()
+    cfg.setProperty(ConfigurationOptions.OPENSEARCH_READ_LOOKUP_CONCURRENCY, "3")
+    val requests = new java.util.ArrayList[Seq[String]]()
+    val docs = (1 to 20).map(i => (i.toString, Map[String, AnyRef]("value" -> Integer.valueOf(i)))).toMap
+    var clients = 0
+    val lookup = new OpenSearchLookup(cfg, () => { clients += 1; mockClient(docs, requests) })
+
+    val joined = lookup.join((1 to 25).iterator, (row: Int) => row).toList
+    assertEquals((1 to 25).map(i => if (i <= 20) Some(i) else None), joined.map(_._2.map(_("value"))))
+    assertEquals(13, requests.size())
+    assertEquals(3, clients)
+    lookup.close()
+  }
+
+  @Test
+  def testSourceFilterAndNestedDocuments(): Unit = {
+    val cfg = settings()
+    cfg.setProperty(ConfigurationOptions.OPENSEARCH_READ_SOURCE_FILTER, "name,address")
+    val client = Mockito.mock(classOf[RestClient])
+    val nested = new java.util.HashMap[String, AnyRef]()
+    nested.put("tags", java.util.Arrays.asList("a", "b"))
+    val source = new java.util.HashMap[String, AnyRef]()
+    source.put("address", nested)
+    val response = new java.util.HashMap[String, AnyRef]()
+    response.put("found", java.lang.Boolean.TRUE)
+    response.put("_source", source)
+    Mockito.when(client.multiGet(Matchers.any(classOf[JList[JMap[String, AnyRef]]]), Matchers.eq(true)))
+      .thenReturn(java.util.Collections.singletonList[JMap[String, AnyRef]](response))
+
+    val joined = new OpenSearchLookup(cfg, () => client).join(Iterator("a"), (row: String) => row).toList
+    assertEquals(Some(Map("address" -> Map("tags" -> List("a", "b")))), joined.head._2)
+
+    val captor = org.mockito.ArgumentCaptor.forClass(classOf[JList[JMap[String, AnyRef]]])
+    Mockito.verify(client).multiGet(captor.capture(), Matchers.eq(true))
+    assertEquals(java.util.Arrays.asList("name", "address"), captor.getValue.get(0).get("_source"))
+  }
+
+  @Test(expected = classOf[OpenSearchHadoopException])
+  def testLookupError(): Unit = {
+    val client = Mockito.mock(classOf[RestClient])
+    val response = new java.util.HashMap[String, AnyRef]()
+    response.put("error", "index_not_found_exception")
+    Mockito.when(client.multiGet(Matchers.any(classOf[JList[JMap[String, AnyRef]]]), Matchers.eq(true)))
+      .thenReturn(java.util.Collections.singletonList[JMap[String, AnyRef]](response))
+    new OpenSearchLookup(settings(), () => client).join(Iterator("a"), (row: String) => row).toList
+  }
+}
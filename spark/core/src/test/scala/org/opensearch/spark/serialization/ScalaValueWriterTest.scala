@@ -145,6 +145,50 @@ class ScalaValueWriterTest {
     assertEquals("""{"skey":{"jkey":"value"}}""", serialized)
   }
 
+  @Test
+  def testCaseClassFieldsInOrderWithExclusion(): Unit = {
+    case class Wide(e: Int, d: Int, c: Int, b: Int, a: Int, inner: SimpleCaseClass)
+
+    val settings = new TestSettings()
+    settings.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_EXCLUDE, "c,inner.s")
+
+    assertEquals("""{"e":5,"d":4,"b":2,"a":1,"inner":{}}""", serialize(Wide(5, 4, 3, 2, 1, SimpleCaseClass("x")), settings))
+  }
+
+  @Test
+  def testJavaBeanWithExclusion(): Unit = {
+    val settings = new TestSettings()
+    settings.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_EXCLUDE, "Benny.relation")
+
+    val contacts = new java.util.LinkedHashMap[String, Contact]()
+    contacts.put("Benny", new Contact("Benny", "Some guy"))
+    assertEquals("""{"contacts":{"Benny":{"name":"Benny"}},"owner":"me"}""", serialize(new ContactBook("me", contacts), settings))
+  }
+
+  @Test
+  def testConcurrentWriters(): Unit = {
+    case class Doc(id: Int, node: Node)
+
+    val failures = new java.util.concurrent.ConcurrentLinkedQueue[Throwable]()
+    val threads = for (t <- 0 until 4) yield new Thread(new Runnable {
+      override def run(): Unit = {
+        try {
+          for (i <- 0 until 100) {
+            assertEquals("{\"id\":" + i + ",\"node\":{\"info\":\"" + t + "\",\"node\":null}}", serialize(Doc(i, new Node(t.toString))))
+          }
+        } catch {
+          case ex: Throwable => failures.add(ex)
+        }
+      }
+    })
+    threads.foreach(_.start())
+    threads.foreach(_.join())
+    // assertions failing within the threads would otherwise go unnoticed
+    if (!failures.isEmpty) {
+      throw failures.peek()
+    }
+  }
+
   @Test
   def testReentrantData(): Unit = {
     val node = new Node("value")
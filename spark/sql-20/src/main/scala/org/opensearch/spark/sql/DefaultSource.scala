@@ -76,7 +76,7 @@ import org.opensearch.spark.serialization.ScalaValueWriter
 import org.opensearch.hadoop.{OpenSearchHadoopIllegalArgumentException, OpenSearchHadoopIllegalStateException}
 import org.opensearch.hadoop.cfg.{ConfigurationOptions, InternalConfigurationOptions, Settings}
 import org.opensearch.hadoop.mr.security.HadoopUserProvider
-import org.opensearch.hadoop.rest.{InitializationUtils, RestRepository}
+import org.opensearch.hadoop.rest.{IndexSwap, InitializationUtils, Resource, RestRepository}
 import org.opensearch.hadoop.serialization.builder.JdkValueWriter
 import org.opensearch.hadoop.serialization.field.ConstantFieldExtractor
 import org.opensearch.hadoop.serialization.json.JacksonJsonGenerator
@@ -544,6 +544,10 @@ private[sql] case class OpenSearchRelation(parameters: Map[String, String], @tra
   }
 
   def insert(data: DataFrame, overwrite: Boolean): Unit = {
+    if (overwrite && cfg.getWriteOverwriteStrategy == ConfigurationOptions.OPENSEARCH_WRITE_OVERWRITE_STRATEGY_SWAP) {
+      swap(data)
+      return
+    }
     if (overwrite) {
       Utils.LOGGER.info(s"Overwriting data for ${cfg.getResourceWrite}")
 
@@ -565,6 +569,28 @@ private[sql] case class OpenSearchRelation(parameters: Map[String, String], @tra
     OpenSearchSparkSQL.saveToOpenSearch(data, parameters)
   }
 
+  // write into a staging index and swap it in once the write succeeds
+  private def swap(data: DataFrame): Unit = {
+    Utils.LOGGER.info(s"Overwriting data for ${cfg.getResourceWrite} through a staging index")
+
+    val cfgCopy = cfg.copy()
+    InitializationUtils.setUserProviderIfNotSet(cfgCopy, classOf[HadoopUserProvider], null)
+    InitializationUtils.discoverClusterInfo(cfgCopy, Utils.LOGGER)
+    val indexSwap = new IndexSwap(cfgCopy, new Resource(cfgCopy, false).index(), Utils.LOGGER)
+    val staging = indexSwap.begin()
+    try {
+      // the staging index is already tuned for bulk-loading
+      OpenSearchSparkSQL.saveToOpenSearch(data, parameters ++ Map(
+        ConfigurationOptions.OPENSEARCH_RESOURCE_WRITE -> staging,
+        ConfigurationOptions.OPENSEARCH_BATCH_WRITE_BULK_LOAD -> "false"))
+      indexSwap.commit()
+    } catch {
+      case ex: Throwable =>
+        indexSwap.abort()
+        throw ex
+    }
+  }
+
   def isEmpty(): Boolean = {
       val rr = new RestRepository(cfg)
       val empty = rr.isEmpty(true)
@@ -40,6 +40,7 @@ import org.opensearch.spark.cfg.SparkSettingsManager
 import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException
 import org.opensearch.hadoop.cfg.PropertiesSettings
 import org.opensearch.hadoop.mr.security.HadoopUserProvider
+import org.opensearch.hadoop.rest.BulkLoad
 import org.opensearch.hadoop.rest.InitializationUtils
 import org.opensearch.hadoop.util.ObjectUtils
 
@@ -110,7 +111,16 @@ object OpenSearchSparkSQL {
       InitializationUtils.checkIdForOperation(esCfg)
       InitializationUtils.checkIndexExistence(esCfg)
 
-      sparkCtx.runJob(srdd.toDF().rdd, new OpenSearchDataFrameWriter(srdd.schema, esCfg.save()).write _)
+      // tune the target index for the duration of the job (if bulk-load mode is enabled)
+      val bulkLoad = BulkLoad.begin(esCfg, LOG)
+      try {
+        sparkCtx.runJob(srdd.toDF().rdd, new OpenSearchDataFrameWriter(srdd.schema, esCfg.save()).write _)
+        bulkLoad.commit()
+      } catch {
+        case ex: Throwable =>
+          bulkLoad.abort()
+          throw ex
+      }
     }
   }
 }
\ No newline at end of file
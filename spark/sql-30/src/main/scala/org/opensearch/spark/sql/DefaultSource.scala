@@ -39,6 +39,9 @@ import org.apache.spark.sql.SaveMode.Append
 import org.apache.spark.sql.SaveMode.ErrorIfExists
 import org.apache.spark.sql.SaveMode.Ignore
 import org.apache.spark.sql.SaveMode.Overwrite
+import org.apache.spark.sql.connector.catalog.Table
+import org.apache.spark.sql.connector.catalog.TableProvider
+import org.apache.spark.sql.connector.expressions.Transform
 import org.apache.spark.sql.execution.streaming.Sink
 import org.apache.spark.sql.sources.And
 import org.apache.spark.sql.sources.BaseRelation
@@ -63,6 +66,7 @@ import org.apache.spark.sql.streaming.OutputMode
 import org.apache.spark.sql.types.DateType
 import org.apache.spark.sql.types.StructType
 import org.apache.spark.sql.types.TimestampType
+import org.apache.spark.sql.util.CaseInsensitiveStringMap
 import org.apache.spark.sql.DataFrame
 import org.apache.spark.sql.Row
 import org.apache.spark.sql.SQLContext
@@ -72,11 +76,12 @@ import org.apache.spark.sql.internal.SQLConf
 import org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_WRITE_OPERATION
 import org.opensearch.hadoop.cfg.InternalConfigurationOptions.INTERNAL_TRANSPORT_POOLING_KEY
 import org.opensearch.spark.cfg.SparkSettingsManager
+import org.opensearch.spark.rdd.OpenSearchPartitionCountRDD
 import org.opensearch.spark.serialization.ScalaValueWriter
 import org.opensearch.hadoop.{OpenSearchHadoopIllegalArgumentException, OpenSearchHadoopIllegalStateException}
 import org.opensearch.hadoop.cfg.{ConfigurationOptions, InternalConfigurationOptions, Settings}
 import org.opensearch.hadoop.mr.security.HadoopUserProvider
-import org.opensearch.hadoop.rest.{InitializationUtils, RestRepository}
+import org.opensearch.hadoop.rest.{IndexSwap, InitializationUtils, Resource, RestRepository}
 import org.opensearch.hadoop.serialization.builder.JdkValueWriter
 import org.opensearch.hadoop.serialization.field.ConstantFieldExtractor
 import org.opensearch.hadoop.serialization.json.JacksonJsonGenerator
@@ -84,11 +89,13 @@ import org.opensearch.hadoop.util.{FastByteArrayOutputStream, IOUtils, OpenSearc
 import org.opensearch.spark.sql.streaming.{OpenSearchSparkSqlStreamingSink, SparkSqlStreamingConfigs, StructuredStreamingVersionLock}
 
 import scala.collection.JavaConverters.mapAsJavaMapConverter
+import scala.collection.JavaConverters.mapAsScalaMapConverter
 import scala.collection.mutable.LinkedHashMap
 import scala.collection.mutable.{Map => MutableMap}
 import scala.collection.mutable.LinkedHashSet
 
-private[sql] class DefaultSource extends RelationProvider with SchemaRelationProvider with CreatableRelationProvider with StreamSinkProvider {
+private[sql] class DefaultSource extends RelationProvider with SchemaRelationProvider with CreatableRelationProvider with StreamSinkProvider
+  with TableProvider {
 
   Version.logVersion()
   
@@ -115,6 +122,15 @@ private[sql] class DefaultSource extends RelationProvider with SchemaRelationPro
     relation
   }
 
+  // the mapping is discovered lazily by the table so that batch jobs, which fall back to the relation, do not pay for it
+  override def inferSchema(options: CaseInsensitiveStringMap): StructType = new StructType()
+
+  override def supportsExternalMetadata(): Boolean = true
+
+  override def getTable(schema: StructType, partitioning: Array[Transform], properties: java.util.Map[String, String]): Table = {
+    new OpenSearchTable(params(properties.asScala.toMap), if (schema.isEmpty) None else Some(schema))
+  }
+
   override def createSink(sqlContext: SQLContext, parameters: Map[String, String], partitionColumns: Seq[String], outputMode: OutputMode): Sink = {
     val sparkSession = sqlContext.sparkSession
 
@@ -296,7 +312,18 @@ private[sql] case class OpenSearchRelation(parameters: Map[String, String], @tra
       }
     }
 
-    new ScalaOpenSearchRowRDD(sqlContext.sparkContext, paramWithScan, lazySchema)
+    val rows = new ScalaOpenSearchRowRDD(sqlContext.sparkContext, paramWithScan, lazySchema)
+    if (requiredColumns.isEmpty) {
+      // no column is needed (typically a count) so only the number of documents per partition matters
+      new OpenSearchPartitionCountRDD(rows).flatMap(docs => new Iterator[Row] {
+        // Scala 2.12 has no Long-based Iterator.range
+        private var left = docs
+        override def hasNext: Boolean = left > 0
+        override def next(): Row = { left -= 1; Row.empty }
+      })
+    } else {
+      rows
+    }
   }
 
   // introduced in Spark 1.6
@@ -542,6 +569,10 @@ private[sql] case class OpenSearchRelation(parameters: Map[String, String], @tra
   }
 
   def insert(data: DataFrame, overwrite: Boolean): Unit = {
+    if (overwrite && cfg.getWriteOverwriteStrategy == ConfigurationOptions.OPENSEARCH_WRITE_OVERWRITE_STRATEGY_SWAP) {
+      swap(data)
+      return
+    }
     if (overwrite) {
       Utils.LOGGER.info(s"Overwriting data for ${cfg.getResourceWrite}")
 
@@ -563,6 +594,28 @@ private[sql] case class OpenSearchRelation(parameters: Map[String, String], @tra
     OpenSearchSparkSQL.saveToOpenSearch(data, parameters)
   }
 
+  // write into a staging index and swap it in once the write succeeds
+  private def swap(data: DataFrame): Unit = {
+    Utils.LOGGER.info(s"Overwriting data for ${cfg.getResourceWrite} through a staging index")
+
+    val cfgCopy = cfg.copy()
+    InitializationUtils.setUserProviderIfNotSet(cfgCopy, classOf[HadoopUserProvider], null)
+    InitializationUtils.discoverClusterInfo(cfgCopy, Utils.LOGGER)
+    val indexSwap = new IndexSwap(cfgCopy, new Resource(cfgCopy, false).index(), Utils.LOGGER)
+    val staging = indexSwap.begin()
+    try {
+      // the staging index is already tuned for bulk-loading
+      OpenSearchSparkSQL.saveToOpenSearch(data, parameters ++ Map(
+        ConfigurationOptions.OPENSEARCH_RESOURCE_WRITE -> staging,
+        ConfigurationOptions.OPENSEARCH_BATCH_WRITE_BULK_LOAD -> "false"))
+      indexSwap.commit()
+    } catch {
+      case ex: Throwable =>
+        indexSwap.abort()
+        throw ex
+    }
+  }
+
   def isEmpty(): Boolean = {
       val rr = new RestRepository(cfg)
       val empty = rr.isEmpty(true)
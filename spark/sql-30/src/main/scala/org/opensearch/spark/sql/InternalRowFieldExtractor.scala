@@ -0,0 +1,69 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql
+
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.catalyst.CatalystTypeConverters
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.types.StructType
+import org.opensearch.hadoop.cfg.Settings
+import org.opensearch.hadoop.serialization.field.FieldExtractor
+import org.opensearch.spark.serialization.ScalaMapFieldExtractor
+
+/**
+ * Counterpart of [[DataFrameFieldExtractor]] for (InternalRow, StructType) tuples. Only the extracted value is
+ * converted to its external representation, so it matches what the Row based extractor returns. (Row, StructType)
+ * tuples, as handed out when a custom value writer requires the rows to be converted, are left to a
+ * [[DataFrameFieldExtractor]].
+ */
+class InternalRowFieldExtractor extends ScalaMapFieldExtractor {
+
+  private val rows = new DataFrameFieldExtractor()
+
+  override def setSettings(settings: Settings): Unit = {
+    super.setSettings(settings)
+    rows.setSettings(settings)
+  }
+
+  override protected def extractField(target: AnyRef): AnyRef = target match {
+    case (_: Row, _: StructType) => rows.field(target)
+    case _ => extractInternalField(target)
+  }
+
+  private def extractInternalField(target: AnyRef): AnyRef = {
+    var obj = target
+    for (in <- 0 until getFieldNames.size()) {
+      val field = getFieldNames.get(in)
+      obj = obj match {
+        case (row: InternalRow, struct: StructType) => {
+          val index = struct.fieldNames.indexOf(field)
+          if (index < 0) {
+            FieldExtractor.NOT_FOUND
+          } else if (row.isNullAt(index)) {
+            null
+          } else {
+            struct.fields(index).dataType match {
+              case nested: StructType => (row.getStruct(index, nested.size), nested)
+              case dataType => CatalystTypeConverters.convertToScala(row.get(index, dataType), dataType).asInstanceOf[AnyRef]
+            }
+          }
+        }
+        case _ => super.extractField(target)
+      }
+    }
+
+    // Return the value or convert the value if it's a row-schema tuple
+    obj match {
+      case (row: InternalRow, struct: StructType) => CatalystTypeConverters.convertToScala(row, struct).asInstanceOf[AnyRef]
+      case any => any
+    }
+  }
+}
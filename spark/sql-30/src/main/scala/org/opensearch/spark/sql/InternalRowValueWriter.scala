@@ -0,0 +1,198 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql
+
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.catalyst.expressions.SpecializedGetters
+import org.apache.spark.sql.catalyst.util.ArrayData
+import org.apache.spark.sql.catalyst.util.DateTimeUtils
+import org.apache.spark.sql.catalyst.util.MapData
+import org.apache.spark.sql.types.ArrayType
+import org.apache.spark.sql.types.BinaryType
+import org.apache.spark.sql.types.BooleanType
+import org.apache.spark.sql.types.ByteType
+import org.apache.spark.sql.types.DataType
+import org.apache.spark.sql.types.DateType
+import org.apache.spark.sql.types.DecimalType
+import org.apache.spark.sql.types.DoubleType
+import org.apache.spark.sql.types.FloatType
+import org.apache.spark.sql.types.IntegerType
+import org.apache.spark.sql.types.LongType
+import org.apache.spark.sql.types.MapType
+import org.apache.spark.sql.types.ShortType
+import org.apache.spark.sql.types.StringType
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.sql.types.TimestampType
+import org.apache.spark.unsafe.Platform
+import org.apache.spark.unsafe.types.UTF8String
+import org.opensearch.hadoop.cfg.ConfigurationOptions.OPENSEARCH_SPARK_DATAFRAME_WRITE_NULL_VALUES_DEFAULT
+import org.opensearch.hadoop.cfg.Settings
+import org.opensearch.hadoop.serialization.Generator
+import org.opensearch.hadoop.serialization.OpenSearchHadoopSerializationException
+import org.opensearch.hadoop.serialization.builder.FilteringValueWriter
+import org.opensearch.hadoop.serialization.builder.ValueWriter.Result
+import org.opensearch.hadoop.util.unit.Booleans
+
+/**
+ * Counterpart of [[DataFrameValueWriter]] for Spark's internal representation: writes (InternalRow, StructType)
+ * tuples by reading the values through the typed accessors of the schema, without converting them to a Row first.
+ * The output is the same as for the equivalent Row. (Row, StructType) tuples, as handed out when a custom field
+ * extractor requires the rows to be converted, are written by a [[DataFrameValueWriter]].
+ */
+class InternalRowValueWriter(writeUnknownTypes: Boolean = false) extends FilteringValueWriter[Any] {
+
+  def this() {
+    this(false)
+  }
+
+  private var writeNullValues = Booleans.parseBoolean(OPENSEARCH_SPARK_DATAFRAME_WRITE_NULL_VALUES_DEFAULT)
+  private val rows = new DataFrameValueWriter(writeUnknownTypes)
+
+  override def setSettings(settings: Settings): Unit = {
+    super.setSettings(settings)
+    rows.setSettings(settings)
+    writeNullValues = settings.getDataFrameWriteNullValues
+  }
+
+  override def write(value: Any, generator: Generator): Result = {
+    value match {
+      case (row: InternalRow, schema: StructType) => writeStruct(schema, row, generator)
+      case (_: Row, _: StructType) => rows.write(value, generator)
+      case _ => handleUnknown(value, generator)
+    }
+  }
+
+  private[spark] def writeStruct(schema: StructType, row: InternalRow, generator: Generator): Result = {
+    val fields = schema.fields
+    generator.writeBeginObject()
+    var index = 0
+    while (index < fields.length) {
+      val field = fields(index)
+      if (shouldKeep(generator.getParentPath, field.name)) {
+        if (!row.isNullAt(index)) {
+          generator.writeFieldName(field.name)
+          val result = write(field.dataType, row, index, generator)
+          if (!result.isSuccesful) {
+            return handleUnknown(row, generator)
+          }
+        } else if (writeNullValues) {
+          generator.writeFieldName(field.name)
+          generator.writeNull()
+        }
+      }
+      index += 1
+    }
+    generator.writeEndObject()
+    Result.SUCCESFUL()
+  }
+
+  /**
+   * Writes the (non-null) value at the given ordinal of a row or an array.
+   */
+  private def write(dataType: DataType, data: SpecializedGetters, ordinal: Int, generator: Generator): Result = {
+    dataType match {
+      case s: StructType    => return writeStruct(s, data.getStruct(ordinal, s.size), generator)
+      case a: ArrayType     => return writeArray(a, data.getArray(ordinal), generator)
+      case m: MapType       => return writeMap(m, data.getMap(ordinal), generator)
+      case StringType       => writeString(data.getUTF8String(ordinal), generator)
+      case BinaryType       => generator.writeBinary(data.getBinary(ordinal))
+      case BooleanType      => generator.writeBoolean(data.getBoolean(ordinal))
+      case ByteType         => generator.writeNumber(data.getByte(ordinal))
+      case ShortType        => generator.writeNumber(data.getShort(ordinal))
+      case IntegerType      => generator.writeNumber(data.getInt(ordinal))
+      case LongType         => generator.writeNumber(data.getLong(ordinal))
+      case DoubleType       => generator.writeNumber(data.getDouble(ordinal))
+      case FloatType        => generator.writeNumber(data.getFloat(ordinal))
+      case TimestampType    => generator.writeNumber(InternalRowValueWriter.timestampMillis(data.getLong(ordinal)))
+      case DateType         => generator.writeNumber(DateTimeUtils.toJavaDate(data.getInt(ordinal)).getTime)
+      case _: DecimalType   =>
+        throw new OpenSearchHadoopSerializationException("Decimal types are not supported by OpenSearch - consider using a different type (such as string)")
+      case _                => return handleUnknown(data.get(ordinal, dataType), generator)
+    }
+    Result.SUCCESFUL()
+  }
+
+  private def writeArray(schema: ArrayType, array: ArrayData, generator: Generator): Result = {
+    generator.writeBeginArray()
+    var index = 0
+    while (index < array.numElements()) {
+      if (array.isNullAt(index)) {
+        generator.writeNull()
+      } else {
+        val result = write(schema.elementType, array, index, generator)
+        if (!result.isSuccesful) {
+          return handleUnknown(array, generator)
+        }
+      }
+      index += 1
+    }
+    generator.writeEndArray()
+    Result.SUCCESFUL()
+  }
+
+  private def writeMap(schema: MapType, map: MapData, generator: Generator): Result = {
+    val keys = map.keyArray()
+    val values = map.valueArray()
+    generator.writeBeginObject()
+    var index = 0
+    while (index < map.numElements()) {
+      val key = keys.get(index, schema.keyType).toString
+      if (shouldKeep(generator.getParentPath, key)) {
+        generator.writeFieldName(key)
+        if (values.isNullAt(index)) {
+          generator.writeNull()
+        } else {
+          val result = write(schema.valueType, values, index, generator)
+          if (!result.isSuccesful) {
+            return handleUnknown(values.get(index, schema.valueType), generator)
+          }
+        }
+      }
+      index += 1
+    }
+    generator.writeEndObject()
+    Result.SUCCESFUL()
+  }
+
+  private def writeString(value: UTF8String, generator: Generator): Unit = {
+    // hand over the (already encoded) bytes directly when possible
+    value.getBaseObject match {
+      case bytes: Array[Byte] =>
+        generator.writeUTF8String(bytes, (value.getBaseOffset - Platform.BYTE_ARRAY_OFFSET).toInt, value.numBytes())
+      case _ =>
+        generator.writeUTF8String(value.getBytes)
+    }
+  }
+
+  protected def handleUnknown(value: Any, generator: Generator): Result = {
+    if (!writeUnknownTypes) {
+      Result.FAILED(value)
+    } else {
+      generator.writeString(value.toString())
+      Result.SUCCESFUL()
+    }
+  }
+}
+
+private[spark] object InternalRowValueWriter {
+
+  // 1900-01-01T00:00:00Z; older values might need to be rebased to the hybrid Julian calendar used by Timestamp
+  private val REBASE_THRESHOLD_MICROS = -2208988800000000L
+
+  /**
+   * Same value as the Timestamp returned for the given value by the external representation.
+   */
+  def timestampMillis(micros: Long): Long = {
+    if (micros >= REBASE_THRESHOLD_MICROS) Math.floorDiv(micros, 1000L)
+    else DateTimeUtils.toJavaTimestamp(micros).getTime
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql
+
+import java.util.UUID
+import java.util.{Set => JSet}
+
+import scala.collection.JavaConverters._
+
+import org.apache.commons.logging.LogFactory
+import org.apache.spark.sql.SparkSession
+import org.apache.spark.sql.connector.catalog.SupportsRead
+import org.apache.spark.sql.connector.catalog.SupportsWrite
+import org.apache.spark.sql.connector.catalog.TableCapability
+import org.apache.spark.sql.connector.read.Scan
+import org.apache.spark.sql.connector.read.ScanBuilder
+import org.apache.spark.sql.connector.read.streaming.MicroBatchStream
+import org.apache.spark.sql.connector.write.LogicalWriteInfo
+import org.apache.spark.sql.connector.write.Write
+import org.apache.spark.sql.connector.write.WriteBuilder
+import org.apache.spark.sql.connector.write.streaming.StreamingWrite
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.sql.util.CaseInsensitiveStringMap
+import org.opensearch.hadoop.cfg.ConfigurationOptions
+import org.opensearch.hadoop.cfg.InternalConfigurationOptions
+import org.opensearch.hadoop.cfg.InternalConfigurationOptions.INTERNAL_TRANSPORT_POOLING_KEY
+import org.opensearch.hadoop.mr.security.HadoopUserProvider
+import org.opensearch.hadoop.rest.InitializationUtils
+import org.opensearch.hadoop.util.StringUtils
+import org.opensearch.spark.cfg.SparkSettingsManager
+import org.opensearch.spark.sql.streaming.OpenSearchMicroBatchStream
+import org.opensearch.spark.sql.streaming.OpenSearchStreamingWrite
+import org.opensearch.spark.sql.streaming.SparkSqlStreamingConfigs
+import org.opensearch.spark.sql.streaming.StructuredStreamingVersionLock
+
+/**
+ * Data Source V2 view of an OpenSearch resource, used for streaming reads and, when fencing is enabled, streaming
+ * writes. Batch reads and writes fall back to [[OpenSearchRelation]] as the table does not advertise them.
+ *
+ * The mapping is only discovered once the schema is actually needed.
+ */
+private[sql] class OpenSearchTable(parameters: Map[String, String], userSchema: Option[StructType])
+  extends SupportsRead with SupportsWrite {
+
+  // capabilities are checked for batch operations too, so they cannot require the cluster
+  @transient private lazy val settings =
+    new SparkSettingsManager().load(SparkSession.active.sparkContext.getConf).merge(parameters.asJava)
+
+  @transient private lazy val cfg = {
+    val conf = settings.copy()
+    InitializationUtils.setUserProviderIfNotSet(conf, classOf[HadoopUserProvider], LogFactory.getLog(classOf[OpenSearchTable]))
+    InitializationUtils.discoverClusterInfo(conf, LogFactory.getLog(classOf[OpenSearchTable]))
+    conf
+  }
+
+  @transient private lazy val lazySchema = SchemaUtils.discoverMapping(cfg)
+
+  override def name(): String = {
+    parameters.getOrElse(ConfigurationOptions.OPENSEARCH_RESOURCE_READ,
+      parameters.getOrElse(ConfigurationOptions.OPENSEARCH_RESOURCE, ""))
+  }
+
+  override def schema(): StructType = userSchema.getOrElse(lazySchema.struct)
+
+  override def capabilities(): JSet[TableCapability] = {
+    if (SparkSqlStreamingConfigs.getSinkFencingEnabled(settings)) {
+      Set(TableCapability.MICRO_BATCH_READ, TableCapability.STREAMING_WRITE).asJava
+    } else {
+      Set(TableCapability.MICRO_BATCH_READ).asJava
+    }
+  }
+
+  override def newScanBuilder(options: CaseInsensitiveStringMap): ScanBuilder = new ScanBuilder {
+    override def build(): Scan = new Scan {
+      override def readSchema(): StructType = schema()
+
+      override def toMicroBatchStream(checkpointLocation: String): MicroBatchStream = {
+        StructuredStreamingVersionLock.checkCompatibility(SparkSession.active)
+        new OpenSearchMicroBatchStream(readSettings(), lazySchema, readSchema())
+      }
+    }
+  }
+
+  override def newWriteBuilder(info: LogicalWriteInfo): WriteBuilder = new WriteBuilder {
+    override def build(): Write = new Write {
+      override def toStreaming: StreamingWrite = {
+        StructuredStreamingVersionLock.checkCompatibility(SparkSession.active)
+        val settings = cfg.copy()
+        settings.setProperty(INTERNAL_TRANSPORT_POOLING_KEY, UUID.randomUUID().toString)
+        OpenSearchStreamingWrite.configure(settings)
+        InitializationUtils.checkIdForOperation(settings)
+        InitializationUtils.checkIndexExistence(settings)
+        new OpenSearchStreamingWrite(settings.save(), info.schema())
+      }
+    }
+  }
+
+  /**
+   * Settings for reading all the columns of the schema, following [[OpenSearchRelation#buildScan]].
+   */
+  private def readSettings() = {
+    val settings = cfg.copy()
+    val requiredColumns = schema().fieldNames
+    var sourceColumns = requiredColumns
+    if (settings.getReadMetadata) {
+      val metadata = settings.getReadMetadataField
+      if (requiredColumns.contains(metadata)) {
+        sourceColumns = requiredColumns.filter(_ != metadata)
+      } else {
+        settings.setProperty(ConfigurationOptions.OPENSEARCH_READ_METADATA, false.toString)
+      }
+    }
+    settings.setProperty(InternalConfigurationOptions.INTERNAL_OPENSEARCH_TARGET_FIELDS,
+      StringUtils.concatenate(sourceColumns.asInstanceOf[Array[Object]], StringUtils.DEFAULT_DELIMITER))
+    settings.setProperty(Utils.DATA_SOURCE_REQUIRED_COLUMNS,
+      StringUtils.concatenate(requiredColumns.asInstanceOf[Array[Object]], StringUtils.DEFAULT_DELIMITER))
+    settings
+  }
+}
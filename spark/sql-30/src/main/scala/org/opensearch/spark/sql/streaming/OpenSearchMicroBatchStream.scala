@@ -0,0 +1,248 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql.streaming
+
+import scala.collection.JavaConverters._
+
+import org.apache.commons.logging.Log
+import org.apache.commons.logging.LogFactory
+import org.apache.spark.TaskContext
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.catalyst.encoders.ExpressionEncoder
+import org.apache.spark.sql.catalyst.encoders.RowEncoder
+import org.apache.spark.sql.connector.read.InputPartition
+import org.apache.spark.sql.connector.read.PartitionReader
+import org.apache.spark.sql.connector.read.PartitionReaderFactory
+import org.apache.spark.sql.connector.read.streaming.MicroBatchStream
+import org.apache.spark.sql.connector.read.streaming.Offset
+import org.apache.spark.sql.connector.read.streaming.ReadLimit
+import org.apache.spark.sql.connector.read.streaming.ReadMaxRows
+import org.apache.spark.sql.connector.read.streaming.SupportsAdmissionControl
+import org.apache.spark.sql.types.StructType
+import org.opensearch.hadoop.cfg.ConfigurationOptions
+import org.opensearch.hadoop.cfg.InternalConfigurationOptions
+import org.opensearch.hadoop.cfg.Settings
+import org.opensearch.hadoop.rest.PartitionDefinition
+import org.opensearch.hadoop.rest.RestClient
+import org.opensearch.hadoop.rest.RestService
+import org.opensearch.hadoop.rest.query.BoolQueryBuilder
+import org.opensearch.hadoop.rest.query.QueryUtils
+import org.opensearch.hadoop.rest.query.RawQueryBuilder
+import org.opensearch.hadoop.serialization.FieldType
+import org.opensearch.hadoop.util.IOUtils
+import org.opensearch.spark.sql.ScalaOpenSearchRowRDDIterator
+import org.opensearch.spark.sql.SchemaUtils
+
+/**
+ * Micro-batch source tailing the documents of the read resource by a field whose values increase monotonically
+ * with new documents (such as an ingest timestamp or a sequence number).
+ *
+ * The offset holds, per shard, the last value read. Each trigger pages through every shard with
+ * {@code search_after} to find the new end position (bounded by the maximum number of documents per trigger), and
+ * the batch then reads only the documents in between through a range filter.
+ */
+private[sql] class OpenSearchMicroBatchStream(settings: Settings, mapping: SchemaUtils.Schema, schema: StructType)
+  extends MicroBatchStream with SupportsAdmissionControl {
+
+  private val logger: Log = LogFactory.getLog(classOf[OpenSearchMicroBatchStream])
+
+  private val field = SparkSqlStreamingConfigs.getSourceField(settings)
+  private val maxDocsPerTrigger = SparkSqlStreamingConfigs.getSourceMaxDocsPerTrigger(settings)
+  // dates sort by their epoch value, which the range filter has to be told to expect
+  private lazy val fieldType: FieldType = Option(mapping.mapping).map(_.flatten().get(field)).orNull
+
+  // the shards known so far, refreshed on every trigger to pick up new indices
+  private var shards: Map[String, PartitionDefinition] = Map.empty
+
+  private def refreshShards(): Map[String, PartitionDefinition] = {
+    val cfg = settings.copy()
+    // a single partition per shard, the deltas being small
+    cfg.setProperty(ConfigurationOptions.OPENSEARCH_MAX_DOCS_PER_PARTITION, "")
+    shards = RestService.findPartitions(cfg, logger).asScala
+      .map(partition => (OpenSearchSourceOffset.key(partition.getIndex, partition.getShardId), partition))
+      .toMap
+    shards
+  }
+
+  private def positionQuery = {
+    new BoolQueryBuilder()
+      .must(QueryUtils.parseQueryAndFilters(settings))
+      .filter(new RawQueryBuilder(s"""{"exists":{"field":"$field"}}""", false))
+  }
+
+  override def initialOffset(): Offset = {
+    SparkSqlStreamingConfigs.getSourceStartingPosition(settings) match {
+      case "latest" => advance(OpenSearchSourceOffset.EMPTY, 0)
+      case _ => OpenSearchSourceOffset.EMPTY
+    }
+  }
+
+  override def getDefaultReadLimit: ReadLimit = {
+    if (maxDocsPerTrigger > 0) ReadLimit.maxRows(maxDocsPerTrigger) else ReadLimit.allAvailable()
+  }
+
+  override def latestOffset(): Offset = {
+    throw new UnsupportedOperationException("latestOffset(Offset, ReadLimit) should be called instead")
+  }
+
+  override def latestOffset(start: Offset, limit: ReadLimit): Offset = {
+    val maxDocs = limit match {
+      case rows: ReadMaxRows => rows.maxRows()
+      case _ => 0L
+    }
+    advance(start.asInstanceOf[OpenSearchSourceOffset], maxDocs)
+  }
+
+  /**
+   * Finds the position of every shard after reading (up to) the given number of documents from the given offset.
+   */
+  private def advance(start: OpenSearchSourceOffset, maxDocs: Long): OpenSearchSourceOffset = {
+    val current = refreshShards()
+    if (current.isEmpty) {
+      return start
+    }
+    val perShard = if (maxDocs > 0) math.max(1L, (maxDocs + current.size - 1) / current.size).toInt else 0
+
+    val query = positionQuery
+    val client = new RestClient(settings)
+    try {
+      val positions = current.map { case (key, partition) =>
+        val from = start.positions.get(key)
+        val shard = partition.getShardId.toString
+        val end = if (perShard > 0) {
+          val values = client.sortValues(partition.getIndex, shard, query, field, true,
+            from.map(OpenSearchMicroBatchStream.toNumber).orNull, perShard).asScala
+          values.lastOption.map(String.valueOf)
+        } else {
+          // documents with values up to the current maximum
+          val values = client.sortValues(partition.getIndex, shard, query, field, false, null, 1).asScala
+          values.headOption.map(String.valueOf)
+            .filter(value => from.forall(f => BigDecimal(value) > BigDecimal(f)))
+        }
+        (key, end.orElse(from))
+      }.collect { case (key, Some(position)) => (key, position) }
+
+      // keep the positions of shards that went away, in case they come back
+      OpenSearchSourceOffset(start.positions ++ positions)
+    } finally {
+      client.close()
+    }
+  }
+
+  override def planInputPartitions(start: Offset, end: Offset): Array[InputPartition] = {
+    val from = start.asInstanceOf[OpenSearchSourceOffset].positions
+    val to = end.asInstanceOf[OpenSearchSourceOffset].positions
+
+    val changed = to.filter { case (key, position) => !from.get(key).contains(position) }
+    if (changed.keys.exists(key => !shards.contains(key))) {
+      // restarted on a batch planned by a previous run
+      refreshShards()
+    }
+
+    val partitions = changed.flatMap { case (key, position) =>
+      shards.get(key) match {
+        case Some(shard) =>
+          Some(OpenSearchStreamInputPartition(shard, OpenSearchMicroBatchStream.rangeFilter(field, fieldType, from.get(key), position)))
+        case None =>
+          logger.warn(s"Shard [$key] no longer exists; skipping its documents up to [$position]")
+          None
+      }
+    }.toArray[InputPartition]
+
+    if (logger.isDebugEnabled) {
+      logger.debug(s"Planned [${partitions.length}] partitions for the documents of [${settings.getResourceRead}] " +
+        s"from [${start.json()}] to [${end.json()}]")
+    }
+    partitions
+  }
+
+  override def createReaderFactory(): PartitionReaderFactory = new OpenSearchStreamReaderFactory(mapping, schema)
+
+  override def deserializeOffset(json: String): Offset = OpenSearchSourceOffset(json)
+
+  override def commit(end: Offset): Unit = {}
+
+  override def stop(): Unit = {}
+}
+
+private[sql] object OpenSearchMicroBatchStream {
+
+  /**
+   * Filter matching the documents past the start position (if any) and up to the end position (included).
+   * Positions on dates are the epoch values returned as sort values: milliseconds for dates and nanoseconds
+   * for nanosecond dates, the latter passed on as fractional milliseconds to keep their precision.
+   */
+  def rangeFilter(field: String, fieldType: FieldType, start: Option[String], end: String): String = {
+    val (bound, format): (String => String, String) = fieldType match {
+      case FieldType.DATE => (position => s""""$position"""", ""","format":"epoch_millis"""")
+      case FieldType.DATE_NANOS => (position => s""""${nanosToMillis(position)}"""", ""","format":"epoch_millis"""")
+      case _ => (position => position, "")
+    }
+    val from = start.map(position => s""""gt":${bound(position)},""").getOrElse("")
+    s"""{"range":{"$field":{$from"lte":${bound(end)}$format}}}"""
+  }
+
+  private def nanosToMillis(position: String): String = {
+    BigDecimal(position).bigDecimal.movePointLeft(6).toPlainString
+  }
+
+  def toNumber(position: String): Number = {
+    if (position.exists(c => c == '.' || c == 'e' || c == 'E')) java.lang.Double.valueOf(position)
+    else java.lang.Long.valueOf(position)
+  }
+}
+
+private[sql] case class OpenSearchStreamInputPartition(shard: PartitionDefinition, filter: String) extends InputPartition {
+  override def preferredLocations(): Array[String] = shard.getHostNames
+}
+
+private[sql] class OpenSearchStreamReaderFactory(mapping: SchemaUtils.Schema, schema: StructType)
+  extends PartitionReaderFactory {
+
+  override def createReader(partition: InputPartition): PartitionReader[InternalRow] = {
+    val input = partition.asInstanceOf[OpenSearchStreamInputPartition]
+    new OpenSearchStreamPartitionReader(
+      new OpenSearchStreamRowIterator(TaskContext.get(), input.shard, mapping, input.filter), schema)
+  }
+}
+
+private[sql] class OpenSearchStreamRowIterator(context: TaskContext, partition: PartitionDefinition,
+                                               mapping: SchemaUtils.Schema, filter: String)
+  extends ScalaOpenSearchRowRDDIterator(context, partition, mapping) {
+
+  override def getLogger(): Log = LogFactory.getLog(classOf[OpenSearchMicroBatchStream])
+
+  override def initReader(settings: Settings, log: Log): Unit = {
+    super.initReader(settings, log)
+    settings.setProperty(InternalConfigurationOptions.INTERNAL_OPENSEARCH_QUERY_FILTERS, IOUtils.serializeToBase64(Array(filter)))
+  }
+}
+
+private[sql] class OpenSearchStreamPartitionReader(rows: OpenSearchStreamRowIterator, schema: StructType)
+  extends PartitionReader[InternalRow] {
+
+  private val serializer: ExpressionEncoder.Serializer[Row] = RowEncoder(schema).createSerializer()
+  private var current: InternalRow = _
+
+  override def next(): Boolean = {
+    if (rows.hasNext) {
+      current = serializer.apply(rows.next())
+      true
+    } else {
+      false
+    }
+  }
+
+  override def get(): InternalRow = current
+
+  override def close(): Unit = rows.closeIfNeeded()
+}
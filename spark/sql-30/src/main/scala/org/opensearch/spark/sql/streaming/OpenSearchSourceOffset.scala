@@ -0,0 +1,50 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql.streaming
+
+import java.util.{TreeMap => JTreeMap}
+
+import scala.collection.JavaConverters._
+
+import org.apache.spark.sql.connector.read.streaming.Offset
+import org.opensearch.hadoop.serialization.OpenSearchHadoopSerializationException
+import org.opensearch.hadoop.thirdparty.codehaus.jackson.map.ObjectMapper
+
+/**
+ * Position of the streaming source: for each shard (keyed as "index/shard"), the last value of the tailed field
+ * that has been read. Shards without a position are read from the start.
+ */
+case class OpenSearchSourceOffset(positions: Map[String, String]) extends Offset {
+
+  override def json(): String = {
+    // sorted for a stable representation
+    OpenSearchSourceOffset.MAPPER.writeValueAsString(new JTreeMap[String, String](positions.asJava))
+  }
+}
+
+object OpenSearchSourceOffset {
+
+  private val MAPPER = new ObjectMapper()
+
+  val EMPTY: OpenSearchSourceOffset = OpenSearchSourceOffset(Map.empty[String, String])
+
+  def apply(json: String): OpenSearchSourceOffset = {
+    try {
+      val positions = MAPPER.readValue(json, classOf[java.util.Map[String, Object]])
+      OpenSearchSourceOffset(positions.asScala.map { case (k, v) => (k, String.valueOf(v)) }.toMap)
+    } catch {
+      case ex: java.io.IOException =>
+        throw new OpenSearchHadoopSerializationException(s"Cannot parse streaming source offset [$json]", ex)
+    }
+  }
+
+  def key(index: String, shard: Int): String = s"$index/$shard"
+}
@@ -36,29 +36,36 @@ import org.apache.spark.sql.catalyst.encoders.ExpressionEncoder
 import org.apache.spark.sql.catalyst.encoders.RowEncoder
 import org.apache.spark.sql.types.StructType
 import org.opensearch.spark.rdd.OpenSearchRDDWriter
-import org.opensearch.spark.sql.DataFrameFieldExtractor
-import org.opensearch.spark.sql.DataFrameValueWriter
+import org.opensearch.spark.sql.InternalRowFieldExtractor
+import org.opensearch.spark.sql.InternalRowValueWriter
 import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException
 import org.opensearch.hadoop.serialization.{BytesConverter, JdkBytesConverter}
 import org.opensearch.hadoop.serialization.builder.ValueWriter
 import org.opensearch.hadoop.serialization.field.FieldExtractor
-import org.opensearch.spark.sql.{DataFrameFieldExtractor, DataFrameValueWriter}
 
 /**
  * Takes in iterator of InternalRow objects from a partition of data, writes it to OpenSearch, and manages
  * the streaming commit protocol.
+ *
+ * The rows are serialized as they are, unless a custom value writer or field extractor is configured in which case
+ * they are converted to Rows first, as these expect. The default (InternalRow) writer and extractor accept Rows as well.
  */
 private [sql] class OpenSearchStreamQueryWriter(serializedSettings: String,
                                                 schema: StructType,
-                                                commitProtocol: OpenSearchCommitProtocol)
-  extends OpenSearchRDDWriter[InternalRow](serializedSettings) {
+                                                protected val commitProtocol: OpenSearchCommitProtocol,
+                                                runtimeMetadata: Boolean = false)
+  extends OpenSearchRDDWriter[InternalRow](serializedSettings, runtimeMetadata) {
 
-  override protected def valueWriter: Class[_ <: ValueWriter[_]] = classOf[DataFrameValueWriter]
+  override protected def valueWriter: Class[_ <: ValueWriter[_]] = classOf[InternalRowValueWriter]
   override protected def bytesConverter: Class[_ <: BytesConverter] = classOf[JdkBytesConverter]
-  override protected def fieldExtractor: Class[_ <: FieldExtractor] = classOf[DataFrameFieldExtractor]
+  override protected def fieldExtractor: Class[_ <: FieldExtractor] = classOf[InternalRowFieldExtractor]
+
+  private lazy val internalRows: Boolean =
+    settings.getSerializerValueWriterClassName == classOf[InternalRowValueWriter].getName &&
+      settings.getMappingDefaultClassExtractor == classOf[InternalRowFieldExtractor].getName
 
-  private val encoder: ExpressionEncoder[Row] = RowEncoder(schema).resolveAndBind()
-  private val deserializer: ExpressionEncoder.Deserializer[Row] = encoder.createDeserializer()
+  private lazy val deserializer: ExpressionEncoder.Deserializer[Row] =
+    RowEncoder(schema).resolveAndBind().createDeserializer()
 
   override def write(taskContext: TaskContext, data: Iterator[InternalRow]): Unit = {
     // Keep clients from using this method, doesn't return task commit information.
@@ -78,8 +85,10 @@ private [sql] class OpenSearchStreamQueryWriter(serializedSettings: String,
     commitProtocol.commitTask(taskInfo)
   }
 
-  override protected def processData(data: Iterator[InternalRow]): Any = {
-    val row = deserializer.apply(data.next())
+  override protected def processData(data: Iterator[InternalRow]): Any = processRow(data.next())
+
+  protected def processRow(next: InternalRow): Any = {
+    val row = if (internalRows) next else deserializer.apply(next)
     commitProtocol.recordSeen()
     (row, schema)
   }
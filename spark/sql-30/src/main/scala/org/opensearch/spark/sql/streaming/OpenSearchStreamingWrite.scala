@@ -0,0 +1,213 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql.streaming
+
+import java.util.ArrayList
+import java.util.EnumMap
+
+import org.apache.commons.logging.Log
+import org.apache.commons.logging.LogFactory
+import org.apache.spark.TaskContext
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.connector.write.DataWriter
+import org.apache.spark.sql.connector.write.PhysicalWriteInfo
+import org.apache.spark.sql.connector.write.WriterCommitMessage
+import org.apache.spark.sql.connector.write.streaming.StreamingDataWriterFactory
+import org.apache.spark.sql.connector.write.streaming.StreamingWrite
+import org.apache.spark.sql.types.StructType
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException
+import org.opensearch.hadoop.cfg.ConfigurationOptions
+import org.opensearch.hadoop.cfg.Settings
+import org.opensearch.hadoop.handler.HandlerResult
+import org.opensearch.hadoop.rest.HttpStatus
+import org.opensearch.hadoop.rest.RestService.PartitionWriter
+import org.opensearch.hadoop.rest.bulk.handler.BulkWriteErrorHandler
+import org.opensearch.hadoop.rest.bulk.handler.BulkWriteFailure
+import org.opensearch.hadoop.rest.bulk.handler.DelayableErrorCollector
+import org.opensearch.hadoop.rest.bulk.handler.impl.BulkWriteHandlerLoader
+import org.opensearch.hadoop.util.StringUtils
+import org.opensearch.spark.rdd.Metadata
+
+/**
+ * Data Source V2 streaming write, fencing every document written by a micro-batch with an external version derived
+ * from the batch (epoch) id and the position of the row within its partition.
+ *
+ * A batch that is replayed after a failure writes its documents again with the same versions; OpenSearch rejects the
+ * ones it already has with a version conflict, which is treated as a no-op instead of re-indexing them. Later batches
+ * always carry higher versions, so they overwrite the documents of earlier ones.
+ */
+private[sql] class OpenSearchStreamingWrite(serializedSettings: String, schema: StructType) extends StreamingWrite {
+
+  private val logger: Log = LogFactory.getLog(classOf[OpenSearchStreamingWrite])
+
+  override def createStreamingWriterFactory(info: PhysicalWriteInfo): StreamingDataWriterFactory = {
+    new OpenSearchStreamingDataWriterFactory(serializedSettings, schema)
+  }
+
+  override def commit(epochId: Long, messages: Array[WriterCommitMessage]): Unit = {
+    val stale = messages.collect { case message: OpenSearchWriterCommitMessage => message.stale }.sum
+    if (stale > 0) {
+      logger.warn(s"Skipped [$stale] documents of batch [$epochId] as stale; OpenSearch already holds them " +
+        "with the same or a later version, typically as the batch is replayed")
+    }
+    if (logger.isDebugEnabled) {
+      val written = messages.collect { case OpenSearchWriterCommitMessage(TaskCommit(Some(status)), _) => status.records }.sum
+      logger.debug(s"Committed batch [$epochId] with [$written] documents")
+    }
+  }
+
+  override def abort(epochId: Long, messages: Array[WriterCommitMessage]): Unit = {
+    logger.warn(s"Aborted batch [$epochId]; its documents are skipped when it is replayed if already written")
+  }
+}
+
+private[sql] object OpenSearchStreamingWrite {
+
+  val CONFLICT_HANDLER = "fencing"
+
+  // the version of the rows of a batch are above the ones of all the previous batches
+  private val POSITION_BITS = 32
+
+  /**
+   * The external version of the row at the given position of a partition of the given batch.
+   */
+  def version(epochId: Long, position: Long): Long = {
+    if (position >= (1L << POSITION_BITS)) {
+      throw new OpenSearchHadoopIllegalArgumentException(s"Cannot fence more than [${1L << POSITION_BITS}] rows per " +
+        s"partition; disable [${SparkSqlStreamingConfigs.OPENSEARCH_SINK_FENCING_ENABLED}] or repartition the stream")
+    }
+    // offset by one batch so that documents written without external versions are overwritten by the first one
+    ((epochId + 1) << POSITION_BITS) + position
+  }
+
+  /**
+   * Checks that the write can be fenced and registers the handler treating version conflicts as no-ops.
+   */
+  def configure(settings: Settings): Settings = {
+    val operation = settings.getOperation
+    if (operation != ConfigurationOptions.OPENSEARCH_OPERATION_INDEX) {
+      throw new OpenSearchHadoopIllegalArgumentException(s"Fencing streaming writes requires [${ConfigurationOptions.OPENSEARCH_WRITE_OPERATION}] " +
+        s"to be [${ConfigurationOptions.OPENSEARCH_OPERATION_INDEX}], not [$operation]")
+    }
+    if (StringUtils.hasText(settings.getMappingId) == false) {
+      throw new OpenSearchHadoopIllegalArgumentException(s"Fencing streaming writes requires [${ConfigurationOptions.OPENSEARCH_MAPPING_ID}] " +
+        "to be set, otherwise every replayed document is indexed again under a new id")
+    }
+    if (StringUtils.hasText(settings.getMappingVersion)) {
+      throw new OpenSearchHadoopIllegalArgumentException(s"Fencing streaming writes sets the version of the documents; " +
+        s"[${ConfigurationOptions.OPENSEARCH_MAPPING_VERSION}] cannot be set as well")
+    }
+
+    val handlers = new ArrayList[String](StringUtils.tokenize(settings.getProperty(BulkWriteHandlerLoader.OPENSEARCH_WRITE_REST_ERROR_HANDLERS)))
+    if (!handlers.contains(CONFLICT_HANDLER)) {
+      handlers.add(0, CONFLICT_HANDLER)
+      settings.setProperty(BulkWriteHandlerLoader.OPENSEARCH_WRITE_REST_ERROR_HANDLERS, StringUtils.concatenate(handlers))
+      settings.setProperty(BulkWriteHandlerLoader.OPENSEARCH_WRITE_REST_ERROR_HANDLER + "." + CONFLICT_HANDLER,
+        classOf[VersionConflictHandler].getName)
+    }
+    settings
+  }
+}
+
+private[sql] class OpenSearchStreamingDataWriterFactory(serializedSettings: String, schema: StructType)
+  extends StreamingDataWriterFactory {
+
+  override def createWriter(partitionId: Int, taskId: Long, epochId: Long): DataWriter[InternalRow] = {
+    new OpenSearchStreamingDataWriter(serializedSettings, schema, partitionId, epochId)
+  }
+}
+
+/**
+ * Writes the rows of a partition of a batch, tagging each of them with its fencing version.
+ */
+private[sql] class OpenSearchStreamingDataWriter(serializedSettings: String, schema: StructType, partitionId: Int, epochId: Long)
+  extends OpenSearchStreamQueryWriter(serializedSettings, schema, new OpenSearchCommitProtocol(null), true)
+    with DataWriter[InternalRow] {
+
+  private val taskInfo = TaskState(partitionId, settings.getResourceWrite)
+
+  private val metadata = new EnumMap[Metadata, AnyRef](classOf[Metadata])
+  metadata.put(Metadata.VERSION_TYPE, ConfigurationOptions.OPENSEARCH_MAPPING_VERSION_TYPE_EXTERNAL)
+
+  private var writer: PartitionWriter = _
+  private var position = 0L
+  private var aborted = false
+
+  override def write(record: InternalRow): Unit = {
+    if (writer == null) {
+      commitProtocol.initTask(taskInfo)
+      VersionConflictHandler.resetConflicts()
+      writer = open(TaskContext.get())
+    }
+    metadata.put(Metadata.VERSION, java.lang.Long.valueOf(OpenSearchStreamingWrite.version(epochId, position)))
+    position += 1
+    metaExtractor.setObject(metadata)
+    writer.repository.writeToIndex(processRow(record))
+  }
+
+  override def commit(): WriterCommitMessage = {
+    if (writer == null) {
+      OpenSearchWriterCommitMessage(TaskCommit(None))
+    } else {
+      // the batch is only committed once all of its documents are acknowledged
+      writer.repository.flush()
+      // rejected as version conflicts by the fencing handler
+      val stale = VersionConflictHandler.conflicts()
+      OpenSearchWriterCommitMessage(commitProtocol.commitTask(taskInfo), stale)
+    }
+  }
+
+  override def abort(): Unit = {
+    aborted = true
+    commitProtocol.abortTask(taskInfo)
+  }
+
+  override def close(): Unit = {
+    if (writer != null) {
+      if (aborted) {
+        // the batch is replayed as a whole, there is no point in writing the rest of this partition
+        writer.repository.discard()
+      }
+      writer.close()
+    }
+  }
+}
+
+private[sql] case class OpenSearchWriterCommitMessage(commit: TaskCommit, stale: Long = 0L) extends WriterCommitMessage
+
+/**
+ * Skips the documents rejected because OpenSearch already holds them with the same (or a later) version. With the
+ * external versions set by the fenced write, this is what every version conflict means; the skipped documents are
+ * counted per writing thread (bulk responses are handled by the thread flushing them) and reported as stale.
+ */
+class VersionConflictHandler extends BulkWriteErrorHandler {
+  override def onError(entry: BulkWriteFailure, collector: DelayableErrorCollector[Array[Byte]]): HandlerResult = {
+    if (entry.getResponseCode == HttpStatus.CONFLICT) {
+      VersionConflictHandler.skipped.set(VersionConflictHandler.skipped.get + 1L)
+      HandlerResult.HANDLED
+    }
+    else collector.pass("Not a version conflict")
+  }
+}
+
+private[sql] object VersionConflictHandler {
+
+  private val skipped = new ThreadLocal[java.lang.Long] {
+    override def initialValue(): java.lang.Long = 0L
+  }
+
+  /**
+   * Number of version conflicts skipped on the current thread since the last reset.
+   */
+  def conflicts(): Long = skipped.get
+
+  def resetConflicts(): Unit = skipped.set(0L)
+}
@@ -29,6 +29,7 @@
 
 package org.opensearch.spark.sql.streaming
 
+import java.util.Locale
 import java.util.UUID
 import java.util.concurrent.TimeUnit
 
@@ -62,6 +63,17 @@ object SparkSqlStreamingConfigs {
   val OPENSEARCH_SINK_LOG_COMPACT_INTERVAL: String = "opensearch.spark.sql.streaming.sink.log.compactInterval"
   val OPENSEARCH_SINK_LOG_COMPACT_INTERVAL_DEFAULT: Int = 10
 
+  val OPENSEARCH_SINK_FENCING_ENABLED: String = "opensearch.spark.sql.streaming.sink.fencing.enabled"
+  val OPENSEARCH_SINK_FENCING_ENABLED_DEFAULT: Boolean = false
+
+  val OPENSEARCH_SOURCE_FIELD: String = "opensearch.spark.sql.streaming.source.field"
+
+  val OPENSEARCH_SOURCE_MAX_DOCS_PER_TRIGGER: String = "opensearch.spark.sql.streaming.source.maxDocsPerTrigger"
+  val OPENSEARCH_SOURCE_MAX_DOCS_PER_TRIGGER_DEFAULT: Long = 0
+
+  val OPENSEARCH_SOURCE_STARTING_POSITION: String = "opensearch.spark.sql.streaming.source.startingPosition"
+  val OPENSEARCH_SOURCE_STARTING_POSITION_DEFAULT: String = "earliest"
+
   /**
    * Determines if we should use the commit log for writes, or if we should go without one.
    * @param settings connector settings
@@ -195,4 +207,50 @@ object SparkSqlStreamingConfigs {
       .orElse(SQLConf.FILE_SINK_LOG_COMPACT_INTERVAL.defaultValue)
       .getOrElse(OPENSEARCH_SINK_LOG_COMPACT_INTERVAL_DEFAULT)
 
+  /**
+   * Determines if streaming writes go through the Data Source V2 sink, which versions the documents by batch so that
+   * replayed batches are skipped by OpenSearch. The versions are tied to the batch ids of the checkpoint, so a query
+   * started over with a new checkpoint should not write to the same documents.
+   * @param settings connector settings
+   * @return true if the writes should be fenced, false if they go through the commit log based sink
+   */
+  def getSinkFencingEnabled(settings: Settings): Boolean = {
+    Option(settings.getProperty(OPENSEARCH_SINK_FENCING_ENABLED)).map(_.toBoolean)
+      .getOrElse(OPENSEARCH_SINK_FENCING_ENABLED_DEFAULT)
+  }
+
+  /**
+   * The field the streaming source tails the index by; its values need to increase monotonically with new documents
+   * @param settings connector settings
+   * @return the field name
+   */
+  def getSourceField(settings: Settings): String =
+    Option(settings.getProperty(OPENSEARCH_SOURCE_FIELD)).filter(_.trim.nonEmpty).map(_.trim)
+      .getOrElse(throw new OpenSearchHadoopIllegalArgumentException(s"Reading a stream requires [$OPENSEARCH_SOURCE_FIELD] " +
+        "to be set to a field whose values increase monotonically with new documents (such as an ingest timestamp)"))
+
+  /**
+   * The maximum number of documents to read per trigger, across all shards
+   * @param settings connector settings
+   * @return the maximum number of documents or 0 if unbounded
+   */
+  def getSourceMaxDocsPerTrigger(settings: Settings): Long =
+    Option(settings.getProperty(OPENSEARCH_SOURCE_MAX_DOCS_PER_TRIGGER)).map(_.toLong)
+      .getOrElse(OPENSEARCH_SOURCE_MAX_DOCS_PER_TRIGGER_DEFAULT)
+
+  /**
+   * Where a new streaming query starts reading from: the existing documents ("earliest") or new ones only ("latest")
+   * @param settings connector settings
+   * @return the starting position
+   */
+  def getSourceStartingPosition(settings: Settings): String = {
+    val position = Option(settings.getProperty(OPENSEARCH_SOURCE_STARTING_POSITION))
+      .getOrElse(OPENSEARCH_SOURCE_STARTING_POSITION_DEFAULT).trim.toLowerCase(Locale.ROOT)
+    if (position != "earliest" && position != "latest") {
+      throw new OpenSearchHadoopIllegalArgumentException(s"Invalid [$OPENSEARCH_SOURCE_STARTING_POSITION] value [$position]; " +
+        "expected [earliest] or [latest]")
+    }
+    position
+  }
+
 }
\ No newline at end of file
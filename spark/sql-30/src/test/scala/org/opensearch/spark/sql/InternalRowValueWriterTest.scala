@@ -0,0 +1,179 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql
+
+import java.io.ByteArrayOutputStream
+import java.sql.Date
+import java.sql.Timestamp
+import java.util.Arrays
+
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.catalyst.encoders.RowEncoder
+import org.apache.spark.sql.types.ArrayType
+import org.apache.spark.sql.types.BinaryType
+import org.apache.spark.sql.types.BooleanType
+import org.apache.spark.sql.types.ByteType
+import org.apache.spark.sql.types.DateType
+import org.apache.spark.sql.types.DecimalType
+import org.apache.spark.sql.types.DoubleType
+import org.apache.spark.sql.types.FloatType
+import org.apache.spark.sql.types.IntegerType
+import org.apache.spark.sql.types.LongType
+import org.apache.spark.sql.types.MapType
+import org.apache.spark.sql.types.ShortType
+import org.apache.spark.sql.types.StringType
+import org.apache.spark.sql.types.StructField
+import org.apache.spark.sql.types.StructType
+import org.apache.spark.sql.types.TimestampType
+import org.junit.Assert._
+import org.junit.Test
+import org.opensearch.hadoop.cfg.ConfigurationOptions
+import org.opensearch.hadoop.cfg.Settings
+import org.opensearch.hadoop.serialization.OpenSearchHadoopSerializationException
+import org.opensearch.hadoop.serialization.builder.FilteringValueWriter
+import org.opensearch.hadoop.serialization.field.ConstantFieldExtractor
+import org.opensearch.hadoop.serialization.json.JacksonJsonGenerator
+import org.opensearch.hadoop.util.TestSettings
+
+class InternalRowValueWriterTest {
+
+  private val nested = StructType(Seq(StructField("jkey", StringType), StructField("ignoreme", StringType)))
+
+  private val schema = StructType(Seq(
+    StructField("string", StringType),
+    StructField("binary", BinaryType),
+    StructField("boolean", BooleanType),
+    StructField("byte", ByteType),
+    StructField("short", ShortType),
+    StructField("int", IntegerType),
+    StructField("long", LongType),
+    StructField("double", DoubleType),
+    StructField("float", FloatType),
+    StructField("timestamp", TimestampType),
+    StructField("old", TimestampType),
+    StructField("date", DateType),
+    StructField("skey", nested),
+    StructField("array", ArrayType(IntegerType)),
+    StructField("structs", ArrayType(nested)),
+    StructField("map", MapType(StringType, ArrayType(StringType))),
+    StructField("missing", StringType)))
+
+  private val row = Row(
+    "\"quoted\"\ttäxt ☃",
+    Array[Byte](1, 2, 3),
+    true,
+    1.toByte,
+    2.toShort,
+    3,
+    4L,
+    5.5d,
+    6.5f,
+    Timestamp.valueOf("2023-04-05 06:07:08.123456"),
+    Timestamp.valueOf("1582-10-04 12:00:00"),
+    Date.valueOf("2023-04-05"),
+    Row("value", "value"),
+    Seq(1, null, 3),
+    Seq(Row("a", "b"), Row("c", null)),
+    Map("k" -> Seq("v"), "n" -> Seq()),
+    null)
+
+  private def toInternal(value: Row, schema: StructType): InternalRow = {
+    RowEncoder(schema).createSerializer().apply(value).copy()
+  }
+
+  private def serialize(writer: FilteringValueWriter[Any], value: Any, settings: Settings): String = {
+    val out = new ByteArrayOutputStream()
+    val generator = new JacksonJsonGenerator(out)
+    writer.setSettings(settings)
+    val result = writer.write(value, generator)
+    if (result.isSuccesful == false) {
+      throw new OpenSearchHadoopSerializationException("Could not serialize [" + result.getUnknownValue + "]")
+    }
+    generator.flush()
+    new String(out.toByteArray, "UTF-8")
+  }
+
+  private def assertSameAsRow(value: Row, schema: StructType, settings: Settings): String = {
+    val expected = serialize(new DataFrameValueWriter().asInstanceOf[FilteringValueWriter[Any]], (value, schema), settings)
+    val actual = serialize(new InternalRowValueWriter(), (toInternal(value, schema), schema), settings)
+    assertEquals(expected, actual)
+    actual
+  }
+
+  @Test
+  def testSameOutputAsRow(): Unit = {
+    assertSameAsRow(row, schema, new TestSettings())
+  }
+
+  @Test
+  def testSameOutputAsRowWithNullValues(): Unit = {
+    val settings = new TestSettings()
+    settings.setProperty(ConfigurationOptions.OPENSEARCH_SPARK_DATAFRAME_WRITE_NULL_VALUES, "true")
+    assertTrue(assertSameAsRow(row, schema, settings).endsWith(""","missing":null}"""))
+  }
+
+  @Test
+  def testFieldExclusion(): Unit = {
+    val settings = new TestSettings()
+    settings.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_EXCLUDE, "skey.ignoreme,map.n,long")
+
+    val serialized = assertSameAsRow(row, schema, settings)
+    assertTrue(serialized.contains(""""skey":{"jkey":"value"}"""))
+    assertTrue(serialized.contains(""""map":{"k":["v"]}"""))
+    assertFalse(serialized.contains(""""long""""))
+  }
+
+  @Test
+  def testStringSlice(): Unit = {
+    val schema = StructType(Seq(StructField("a", StringType), StructField("b", StringType)))
+    // the strings of an unsafe row share the buffer of the row
+    assertEquals("""{"a":"first","b":"second"}""", assertSameAsRow(Row("first", "second"), schema, new TestSettings()))
+  }
+
+  @Test(expected = classOf[OpenSearchHadoopSerializationException])
+  def testDecimal(): Unit = {
+    val schema = StructType(Seq(StructField("a", DecimalType(10, 2))))
+    serialize(new InternalRowValueWriter(), (toInternal(Row(BigDecimal("1.25").bigDecimal), schema), schema), new TestSettings())
+  }
+
+  @Test
+  def testTimestampMillis(): Unit = {
+    for (value <- Seq("2023-04-05 06:07:08.999999", "1970-01-01 00:00:00", "1969-12-31 23:59:59.9995",
+      "1900-01-01 00:00:00", "1582-10-04 12:00:00", "0001-01-01 00:00:00")) {
+      val timestamp = Timestamp.valueOf(value)
+      val schema = StructType(Seq(StructField("ts", TimestampType)))
+      val micros = toInternal(Row(timestamp), schema).getLong(0)
+      assertEquals(value, timestamp.getTime, InternalRowValueWriter.timestampMillis(micros))
+    }
+  }
+
+  @Test
+  def testFieldExtractor(): Unit = {
+    val internal = toInternal(row, schema)
+
+    def extract(field: String): AnyRef = {
+      val settings = new TestSettings()
+      settings.setProperty(ConstantFieldExtractor.PROPERTY, field)
+      val extractor = new InternalRowFieldExtractor()
+      extractor.setSettings(settings)
+      extractor.field((internal, schema))
+    }
+
+    assertEquals("\"quoted\"\ttäxt ☃", extract("string"))
+    assertEquals(Timestamp.valueOf("2023-04-05 06:07:08.123456"), extract("timestamp"))
+    assertEquals(Date.valueOf("2023-04-05"), extract("date"))
+    assertEquals("value", extract("skey.jkey"))
+    assertEquals(Row("value", "value"), extract("skey"))
+    assertTrue(Arrays.equals(Array[Byte](1, 2, 3), extract("binary").asInstanceOf[Array[Byte]]))
+    assertNull(extract("missing"))
+  }
+}
@@ -0,0 +1,65 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql.streaming
+
+import org.junit.Assert._
+import org.junit.Test
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException
+import org.opensearch.hadoop.serialization.FieldType
+import org.opensearch.hadoop.util.TestSettings
+
+class OpenSearchMicroBatchStreamTest {
+
+  @Test
+  def testOffsetRoundTrip(): Unit = {
+    val offset = OpenSearchSourceOffset(Map(OpenSearchSourceOffset.key("logs", 1) -> "1650000000000",
+      OpenSearchSourceOffset.key("logs", 0) -> "2.5"))
+    assertEquals("""{"logs/0":"2.5","logs/1":"1650000000000"}""", offset.json())
+    assertEquals(offset, OpenSearchSourceOffset(offset.json()))
+    assertEquals(OpenSearchSourceOffset.EMPTY, OpenSearchSourceOffset("{}"))
+  }
+
+  @Test
+  def testRangeFilter(): Unit = {
+    assertEquals("""{"range":{"ts":{"lte":10}}}""", OpenSearchMicroBatchStream.rangeFilter("ts", FieldType.LONG, None, "10"))
+    assertEquals("""{"range":{"ts":{"gt":5,"lte":10}}}""", OpenSearchMicroBatchStream.rangeFilter("ts", FieldType.LONG, Some("5"), "10"))
+    assertEquals("""{"range":{"ts":{"gt":"1650000000000","lte":"1650000001000","format":"epoch_millis"}}}""",
+      OpenSearchMicroBatchStream.rangeFilter("ts", FieldType.DATE, Some("1650000000000"), "1650000001000"))
+    assertEquals("""{"range":{"ts":{"gt":"1650000000000.123456","lte":"1650000000001.000000","format":"epoch_millis"}}}""",
+      OpenSearchMicroBatchStream.rangeFilter("ts", FieldType.DATE_NANOS, Some("1650000000000123456"), "1650000000001000000"))
+  }
+
+  @Test
+  def testToNumber(): Unit = {
+    assertEquals(java.lang.Long.valueOf(1650000000000L), OpenSearchMicroBatchStream.toNumber("1650000000000"))
+    assertEquals(java.lang.Double.valueOf(2.5), OpenSearchMicroBatchStream.toNumber("2.5"))
+    assertEquals(java.lang.Double.valueOf(1.0E10), OpenSearchMicroBatchStream.toNumber("1.0E10"))
+  }
+
+  @Test
+  def testSourceSettings(): Unit = {
+    val settings = new TestSettings()
+    assertEquals(0L, SparkSqlStreamingConfigs.getSourceMaxDocsPerTrigger(settings))
+    assertEquals("earliest", SparkSqlStreamingConfigs.getSourceStartingPosition(settings))
+
+    settings.setProperty(SparkSqlStreamingConfigs.OPENSEARCH_SOURCE_FIELD, " ingest_ts ")
+    settings.setProperty(SparkSqlStreamingConfigs.OPENSEARCH_SOURCE_MAX_DOCS_PER_TRIGGER, "1000")
+    settings.setProperty(SparkSqlStreamingConfigs.OPENSEARCH_SOURCE_STARTING_POSITION, "Latest")
+    assertEquals("ingest_ts", SparkSqlStreamingConfigs.getSourceField(settings))
+    assertEquals(1000L, SparkSqlStreamingConfigs.getSourceMaxDocsPerTrigger(settings))
+    assertEquals("latest", SparkSqlStreamingConfigs.getSourceStartingPosition(settings))
+  }
+
+  @Test(expected = classOf[OpenSearchHadoopIllegalArgumentException])
+  def testSourceFieldRequired(): Unit = {
+    SparkSqlStreamingConfigs.getSourceField(new TestSettings())
+  }
+}
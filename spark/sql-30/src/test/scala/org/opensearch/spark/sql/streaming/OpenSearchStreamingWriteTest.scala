@@ -0,0 +1,163 @@
+/*
+ * SPDX-License-Identifier: Apache-2.0
+ *
+ * The OpenSearch Contributors require contributions made to
+ * this file be licensed under the Apache-2.0 license or a
+ *
+ * Modifications Copyright OpenSearch Contributors. See
+ * GitHub history for details.
+ */
+
+package org.opensearch.spark.sql.streaming
+
+import java.util.EnumMap
+
+import org.apache.spark.sql.Row
+import org.apache.spark.sql.catalyst.encoders.RowEncoder
+import org.apache.spark.sql.types.IntegerType
+import org.apache.spark.sql.types.StringType
+import org.apache.spark.sql.types.StructField
+import org.apache.spark.sql.types.StructType
+import org.junit.Assert._
+import org.junit.Test
+import org.opensearch.hadoop.OpenSearchHadoopIllegalArgumentException
+import org.opensearch.hadoop.cfg.ConfigurationOptions
+import org.opensearch.hadoop.cfg.Settings
+import org.opensearch.hadoop.handler.HandlerResult
+import org.opensearch.hadoop.rest.HttpStatus
+import org.opensearch.hadoop.rest.bulk.handler.BulkWriteErrorCollector
+import org.opensearch.hadoop.rest.bulk.handler.BulkWriteFailure
+import org.opensearch.hadoop.rest.bulk.handler.impl.BulkWriteHandlerLoader
+import org.opensearch.hadoop.serialization.bulk.BulkCommands
+import org.opensearch.hadoop.util.BytesArray
+import org.opensearch.hadoop.util.OpenSearchMajorVersion
+import org.opensearch.hadoop.util.TestSettings
+import org.opensearch.spark.rdd.Metadata
+import org.opensearch.spark.serialization.ScalaMetadataExtractor
+import org.opensearch.spark.sql.DataFrameFieldExtractor
+import org.opensearch.spark.sql.DataFrameValueWriter
+import org.opensearch.spark.sql.InternalRowFieldExtractor
+import org.opensearch.spark.sql.InternalRowValueWriter
+
+class OpenSearchStreamingWriteTest {
+
+  private def settings(): Settings = {
+    val settings = new TestSettings()
+    settings.setResourceWrite("events")
+    settings.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_ID, "id")
+    settings
+  }
+
+  @Test
+  def testVersionsIncreaseWithBatches(): Unit = {
+    assertTrue(OpenSearchStreamingWrite.version(0, 0) > 1L)
+    assertTrue(OpenSearchStreamingWrite.version(0, 1) > OpenSearchStreamingWrite.version(0, 0))
+    assertTrue(OpenSearchStreamingWrite.version(1, 0) > OpenSearchStreamingWrite.version(0, (1L << 32) - 1))
+    assertEquals(OpenSearchStreamingWrite.version(7, 3), OpenSearchStreamingWrite.version(7, 3))
+  }
+
+  @Test(expected = classOf[OpenSearchHadoopIllegalArgumentException])
+  def testVersionPositionOverflow(): Unit = {
+    OpenSearchStreamingWrite.version(0, 1L << 32)
+  }
+
+  @Test
+  def testConfigureRegistersConflictHandlerFirst(): Unit = {
+    val cfg = settings()
+    cfg.setProperty(BulkWriteHandlerLoader.OPENSEARCH_WRITE_REST_ERROR_HANDLERS, "fail")
+    OpenSearchStreamingWrite.configure(cfg)
+    OpenSearchStreamingWrite.configure(cfg)
+
+    assertEquals("fencing,fail", cfg.getProperty(BulkWriteHandlerLoader.OPENSEARCH_WRITE_REST_ERROR_HANDLERS))
+    assertEquals(classOf[VersionConflictHandler].getName,
+      cfg.getProperty(BulkWriteHandlerLoader.OPENSEARCH_WRITE_REST_ERROR_HANDLER + ".fencing"))
+
+    val handlers = new BulkWriteHandlerLoader()
+    handlers.setSettings(cfg)
+    assertTrue(handlers.loadHandlers().get(0).isInstanceOf[VersionConflictHandler])
+  }
+
+  @Test(expected = classOf[OpenSearchHadoopIllegalArgumentException])
+  def testConfigureRequiresId(): Unit = {
+    val cfg = settings()
+    cfg.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_ID, "")
+    OpenSearchStreamingWrite.configure(cfg)
+  }
+
+  @Test(expected = classOf[OpenSearchHadoopIllegalArgumentException])
+  def testConfigureRequiresIndexOperation(): Unit = {
+    val cfg = settings()
+    cfg.setProperty(ConfigurationOptions.OPENSEARCH_WRITE_OPERATION, ConfigurationOptions.OPENSEARCH_OPERATION_UPSERT)
+    OpenSearchStreamingWrite.configure(cfg)
+  }
+
+  @Test(expected = classOf[OpenSearchHadoopIllegalArgumentException])
+  def testConfigureRejectsUserVersion(): Unit = {
+    val cfg = settings()
+    cfg.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_VERSION, "ts")
+    OpenSearchStreamingWrite.configure(cfg)
+  }
+
+  @Test
+  def testConflictHandler(): Unit = {
+    VersionConflictHandler.resetConflicts()
+    val handler = new VersionConflictHandler()
+    val conflict = new BulkWriteFailure(HttpStatus.CONFLICT, new Exception("version conflict"), new BytesArray("{}"), 1, new java.util.ArrayList[String]())
+    assertEquals(HandlerResult.HANDLED, handler.onError(conflict, new BulkWriteErrorCollector()))
+    assertEquals(HandlerResult.HANDLED, handler.onError(conflict, new BulkWriteErrorCollector()))
+
+    val invalid = new BulkWriteFailure(HttpStatus.BAD_REQUEST, new Exception("mapper parsing"), new BytesArray("{}"), 1, new java.util.ArrayList[String]())
+    assertEquals(HandlerResult.PASS, handler.onError(invalid, new BulkWriteErrorCollector()))
+
+    // only the conflicts are reported as stale
+    assertEquals(2L, VersionConflictHandler.conflicts())
+    VersionConflictHandler.resetConflicts()
+    assertEquals(0L, VersionConflictHandler.conflicts())
+  }
+
+  private val schema = StructType(Seq(StructField("id", StringType), StructField("count", IntegerType)))
+
+  private def bulkEntry(valueWriter: Class[_], extractor: Class[_], data: AnyRef, version: Long = -1L): String = {
+    val cfg = settings()
+    cfg.setInternalVersion(OpenSearchMajorVersion.LATEST)
+    cfg.setProperty(ConfigurationOptions.OPENSEARCH_SERIALIZATION_WRITER_VALUE_CLASS, valueWriter.getName)
+    cfg.setProperty(ConfigurationOptions.OPENSEARCH_MAPPING_DEFAULT_EXTRACTOR_CLASS, extractor.getName)
+
+    val metaExtractor = new ScalaMetadataExtractor()
+    metaExtractor.setSettings(cfg)
+    val command = BulkCommands.create(cfg, metaExtractor, OpenSearchMajorVersion.LATEST)
+
+    val metadata = new EnumMap[Metadata, AnyRef](classOf[Metadata])
+    if (version >= 0) {
+      metadata.put(Metadata.VERSION_TYPE, ConfigurationOptions.OPENSEARCH_MAPPING_VERSION_TYPE_EXTERNAL)
+      metadata.put(Metadata.VERSION, java.lang.Long.valueOf(version))
+    }
+    metaExtractor.setObject(metadata)
+
+    val ba = new BytesArray(1024)
+    command.write(data).copyTo(ba)
+    ba.toString
+  }
+
+  @Test
+  def testFencedBulkEntry(): Unit = {
+    val row = RowEncoder(schema).createSerializer().apply(Row("a", 1)).copy()
+    assertEquals("""{"index":{"_id":"a","version":12884901893,"version_type":"external"}}""" + "\n" +
+      """{"id":"a","count":1}""" + "\n",
+      bulkEntry(classOf[InternalRowValueWriter], classOf[InternalRowFieldExtractor], (row, schema), OpenSearchStreamingWrite.version(2, 5)))
+  }
+
+  @Test
+  def testCustomValueWriterWithDefaultExtractor(): Unit = {
+    // a custom value writer has the rows converted, which the default extractor still reads
+    assertEquals("""{"index":{"_id":"a"}}""" + "\n" + """{"id":"a","count":1}""" + "\n",
+      bulkEntry(classOf[DataFrameValueWriter], classOf[InternalRowFieldExtractor], (Row("a", 1), schema)))
+  }
+
+  @Test
+  def testCustomExtractorWithDefaultValueWriter(): Unit = {
+    // a custom extractor has the rows converted, which the default value writer still writes
+    assertEquals("""{"index":{"_id":"a"}}""" + "\n" + """{"id":"a","count":1}""" + "\n",
+      bulkEntry(classOf[InternalRowValueWriter], classOf[DataFrameFieldExtractor], (Row("a", 1), schema)))
+  }
+}